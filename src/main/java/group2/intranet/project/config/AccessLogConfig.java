@@ -0,0 +1,40 @@
+package group2.intranet.project.config;
+
+import group2.intranet.project.services.accesslog.AccessLogFilter;
+import group2.intranet.project.services.accesslog.AccessLogProperties;
+import group2.intranet.project.services.accesslog.AccessLogRingBuffer;
+import group2.intranet.project.services.accesslog.AccessLogSampler;
+import group2.intranet.project.services.accesslog.AccessLogWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/// Asenkron access log: filtre isteği ring buffer'a bırakır, yazma işini arka plandaki writer yapar.
+/// Filtre Spring Security zincirinden önce çalışır; böylece 401/403 yanıtları da loglanır.
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+@ConditionalOnProperty(prefix = "access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AccessLogWriter accessLogWriter(AccessLogProperties properties) {
+        return new AccessLogWriter(new AccessLogRingBuffer(properties.getBufferCapacity()), properties.getIdleInterval());
+    }
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLogProperties properties, AccessLogWriter writer) {
+        AccessLogSampler sampler = new AccessLogSampler(
+                properties.getSampleRates(),
+                properties.getDefaultSampleRate(),
+                properties.isAlwaysLogErrors());
+
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter(sampler, writer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,20 @@
+package group2.intranet.project.config;
+
+import group2.intranet.project.services.storage.BlobStore;
+import group2.intranet.project.services.storage.FileSystemBlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/// Doküman içerikleri veritabanında değil, içerik adresli (SHA-256) blob store'da tutulur.
+/// Başka bir backend (ör. S3) eklemek için yalnızca bu bean değiştirilir.
+@Configuration
+public class BlobStoreConfig {
+
+    @Bean
+    public BlobStore blobStore(@Value("${storage.blob.root}") String root) {
+        return new FileSystemBlobStore(Path.of(root));
+    }
+}
@@ -0,0 +1,22 @@
+package group2.intranet.project.config;
+
+import group2.intranet.project.services.downloadstats.DownloadStatsProperties;
+import group2.intranet.project.services.downloadstats.DownloadTracker;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/// İndirme sayaçları bellekte tutulur (sabit boyutlu sketch'ler); tabloya yalnızca periyodik checkpoint yazılır.
+@Configuration
+@EnableConfigurationProperties(DownloadStatsProperties.class)
+public class DownloadStatsConfig {
+
+    @Bean
+    public DownloadTracker downloadTracker(NamedParameterJdbcTemplate jdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           DownloadStatsProperties properties) {
+        return new DownloadTracker(jdbcTemplate, transactionManager, properties);
+    }
+}
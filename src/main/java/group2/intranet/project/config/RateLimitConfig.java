@@ -0,0 +1,27 @@
+package group2.intranet.project.config;
+
+import group2.intranet.project.services.ratelimit.RateLimitFilter;
+import group2.intranet.project.services.ratelimit.RateLimitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/// RateLimitFilter yalnızca Spring Security zincirinde (JwtAuthFilter'dan sonra) çalışmalı;
+/// kullanıcı kimliği ancak orada bellidir. Bu yüzden servlet container'a ayrıca kaydedilmez.
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties) {
+        return new RateLimitFilter(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -2,6 +2,9 @@ package group2.intranet.project.config;
 
 import group2.intranet.project.services.CustomUserDetailsService;
 import group2.intranet.project.services.jwt.JwtAuthFilter;
+import group2.intranet.project.services.ratelimit.RateLimitFilter;
+import group2.intranet.project.services.ratelimit.UploadAdmissionFilter;
+import group2.intranet.project.services.signedurl.SignedUrlFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -21,10 +24,18 @@ import org.springframework.web.multipart.support.StandardServletMultipartResolve
 @EnableMethodSecurity
 public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final UploadAdmissionFilter uploadAdmissionFilter;
+    private final SignedUrlFilter signedUrlFilter;
     private final CustomUserDetailsService userDetailsService;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter, CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, RateLimitFilter rateLimitFilter,
+                          UploadAdmissionFilter uploadAdmissionFilter, SignedUrlFilter signedUrlFilter,
+                          CustomUserDetailsService userDetailsService) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.uploadAdmissionFilter = uploadAdmissionFilter;
+        this.signedUrlFilter = signedUrlFilter;
         this.userDetailsService = userDetailsService;
     }
 
@@ -68,6 +79,8 @@ public class SecurityConfig {
 //                    /// organizationChart endpoint authorizations
 //                        .requestMatchers("/chart").hasRole("HR")
 //                        .requestMatchers("/chart/**").hasAnyRole("HR","EMPLOYEE")
+//                    /// admin endpoint authorizations
+//                        .requestMatchers("/admin/**").hasRole("HR")
                     //.anyRequest().authenticated()
                    .requestMatchers("/**").permitAll() //for test
                 )
@@ -77,6 +90,12 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 ///İstekten önce JWT token'ı kontrol eder ve güvenliği sağlar.
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                ///İmzalı indirme URL'leri tek bir HMAC ile doğrulanır; kimlik kurulduğu için JwtAuthFilter DB'ye gitmez.
+                .addFilterBefore(signedUrlFilter, JwtAuthFilter.class)
+                ///Kimlik belli olduktan sonra kullanıcı (id claim) veya IP başına istek sınırı uygulanır.
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class)
+                ///Yüklemeler gövde okunmadan önce Content-Length kadar bayt bütçesinden yer ayırır.
+                .addFilterAfter(uploadAdmissionFilter, RateLimitFilter.class)
                 .build();
     }
 
@@ -0,0 +1,40 @@
+package group2.intranet.project.config;
+
+import group2.intranet.project.services.signedurl.SignedUrlFilter;
+import group2.intranet.project.services.signedurl.SignedUrlProperties;
+import group2.intranet.project.services.signedurl.SignedUrlSigner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/// SignedUrlFilter kimlik kurduğu için JwtAuthFilter'dan önce, Spring Security zincirinde çalışır;
+/// servlet container'a ayrıca kaydedilmez.
+@Configuration
+@EnableConfigurationProperties(SignedUrlProperties.class)
+public class SignedUrlConfig {
+
+    @Bean
+    public SignedUrlSigner signedUrlSigner(SignedUrlProperties properties, @Value("${jwt.secret}") String jwtSecret) {
+        byte[] key = StringUtils.hasText(properties.getSecret())
+                ? properties.getSecret().getBytes(StandardCharsets.UTF_8)
+                : SignedUrlSigner.deriveKey(jwtSecret);
+        return new SignedUrlSigner(key, properties.getTtl(), properties.getGranularity());
+    }
+
+    @Bean
+    public SignedUrlFilter signedUrlFilter(SignedUrlSigner signedUrlSigner, SignedUrlProperties properties) {
+        return new SignedUrlFilter(signedUrlSigner, properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SignedUrlFilter> signedUrlFilterRegistration(SignedUrlFilter signedUrlFilter) {
+        FilterRegistrationBean<SignedUrlFilter> registration = new FilterRegistrationBean<>(signedUrlFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,27 @@
+package group2.intranet.project.config;
+
+import group2.intranet.project.services.ratelimit.UploadAdmissionFilter;
+import group2.intranet.project.services.ratelimit.UploadAdmissionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/// UploadAdmissionFilter da kullanıcı bütçesi için kimliğe ihtiyaç duyar; RateLimitFilter gibi
+/// yalnızca Spring Security zincirinde çalışır, servlet container'a ayrıca kaydedilmez.
+@Configuration
+@EnableConfigurationProperties(UploadAdmissionProperties.class)
+public class UploadAdmissionConfig {
+
+    @Bean
+    public UploadAdmissionFilter uploadAdmissionFilter(UploadAdmissionProperties properties) {
+        return new UploadAdmissionFilter(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<UploadAdmissionFilter> uploadAdmissionFilterRegistration(UploadAdmissionFilter uploadAdmissionFilter) {
+        FilterRegistrationBean<UploadAdmissionFilter> registration = new FilterRegistrationBean<>(uploadAdmissionFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -1,17 +1,27 @@
 package group2.intranet.project.controllers;
 
+import group2.intranet.project.domain.dtos.DownloadWindowStats;
 import group2.intranet.project.services.EmployeeService;
+import group2.intranet.project.services.downloadstats.DownloadTracker;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/admin")
 public class AdminController {
 
     private final EmployeeService employeeService;
+    private final DownloadTracker downloadTracker;
 
-    public AdminController(EmployeeService employeeService) {
+    public AdminController(EmployeeService employeeService, DownloadTracker downloadTracker) {
         this.employeeService = employeeService;
+        this.downloadTracker = downloadTracker;
     }
 
 //    @PostMapping("/migrate-passwords")
@@ -19,4 +29,15 @@ public class AdminController {
 //        employeeService.migratePasswords();
 //        return ResponseEntity.ok("Passwords migrated successfully.");
 //    }
+
+    /// En çok indirilen doküman ve haber görselleri; açık pencere önce, ardından kapanmış pencereler (en yeni önce).
+    /// Önbellek boyutu ve depolama katmanı planlaması için; sayılar tahmindir (bkz. DownloadWindowStats).
+    @GetMapping("/downloads/top")
+    public ResponseEntity<List<DownloadWindowStats>> topDownloads(@RequestParam(value = "limit", defaultValue = "20") int limit,
+                                                                  @RequestParam(value = "windows", defaultValue = "1") int windows) {
+        if (limit < 1 || windows < 1) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok(downloadTracker.top(limit, windows));
+    }
 }
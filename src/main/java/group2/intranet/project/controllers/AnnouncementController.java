@@ -1,8 +1,8 @@
 package group2.intranet.project.controllers;
 
 import group2.intranet.project.domain.dtos.AnnouncementDTO;
-import group2.intranet.project.domain.entities.Employee;
 import group2.intranet.project.services.AnnouncementService;
+import group2.intranet.project.services.jwt.AuthenticatedUser;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.HttpStatus;
@@ -60,7 +60,7 @@ public class AnnouncementController {
 
         try {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            Employee loggedInEmployee = (Employee) auth.getPrincipal();
+            AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
             Integer userId = loggedInEmployee.getId();
 
             dto.setCreatedById(Math.toIntExact(userId));
@@ -80,7 +80,7 @@ public class AnnouncementController {
 
         try {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            Employee loggedInEmployee = (Employee) auth.getPrincipal();
+            AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
             id = loggedInEmployee.getId();
 
             dto.setCreatedById(Math.toIntExact(id));
@@ -2,75 +2,99 @@ package group2.intranet.project.controllers;
 
 import group2.intranet.project.domain.dtos.LoginRequest;
 import group2.intranet.project.domain.dtos.LoginResponseDto;
-import group2.intranet.project.domain.entities.Employee;
-import group2.intranet.project.services.CustomUserDetailsService;
+import group2.intranet.project.services.LoginService;
 import group2.intranet.project.services.jwt.JwtService;
+import group2.intranet.project.services.jwt.TokenRevocationService;
+import group2.intranet.project.services.jwt.VerifiedToken;
+import group2.intranet.project.services.login.LoginCapacityExceededException;
+import group2.intranet.project.services.login.LoginHashingExecutor;
+import group2.intranet.project.services.login.LoginThrottle;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
-    private final AuthenticationManager authenticationManager;
+    private final LoginService loginService;
     private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
+    private final LoginHashingExecutor loginHashingExecutor;
 
-    public AuthController(AuthenticationManager authenticationManager,
+    public AuthController(LoginService loginService,
                           JwtService jwtService,
-                          CustomUserDetailsService userDetailsService) {
-        this.authenticationManager = authenticationManager;
+                          TokenRevocationService tokenRevocationService,
+                          LoginThrottle loginThrottle,
+                          LoginHashingExecutor loginHashingExecutor) {
+        this.loginService = loginService;
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.loginThrottle = loginThrottle;
+        this.loginHashingExecutor = loginHashingExecutor;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDto> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<LoginResponseDto> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
 
         if (loginRequest.getEmail() == null || loginRequest.getPassword() == null) {
             return ResponseEntity.badRequest().build();
         }
 
-        LoginResponseDto response = null;
+        // Throttle kontrolü hash hesaplanmadan önce yapılır; reddedilen deneme CPU harcamaz.
+        long retryAfter = loginThrottle.tryAcquire(loginRequest.getEmail(), request.getRemoteAddr());
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .build();
+        }
 
         try {
-            Authentication auth = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-            );
-            if(!auth.isAuthenticated()){
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            Employee employee = (Employee) userDetailsService.loadUserByUsername(loginRequest.getEmail());
-
-            if(employee == null){
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-            }
-            UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getEmail());
-
-            String token = jwtService.generateToken(userDetails, Long.valueOf(employee.getId())); //Id'yi de token'a ekledik
-
-            response = new LoginResponseDto(token, employee.getId(), employee.getEmail(), employee.getRole(),employee.getFirstName(),employee.getLastName());
+            LoginResponseDto response = loginService.login(loginRequest.getEmail(), loginRequest.getPassword());
+            loginThrottle.recordSuccess(loginRequest.getEmail());
 
             return ResponseEntity.ok(response);
 
+        } catch (LoginCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginHashingExecutor.retryAfterSeconds()))
+                    .build();
         } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(loginRequest.getEmail());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         } catch (UsernameNotFoundException e) {
+            loginThrottle.recordFailure(loginRequest.getEmail());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
 
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            VerifiedToken token = jwtService.verify(authHeader.substring(7));
+
+            if (!tokenRevocationService.revoke(token)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+            return ResponseEntity.noContent().build();
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
 }
@@ -1,11 +1,28 @@
 package group2.intranet.project.controllers;
 
+import group2.intranet.project.domain.dtos.ArchiveEntryResult;
+import group2.intranet.project.domain.dtos.DocumentContent;
 import group2.intranet.project.domain.dtos.DocumentDto;
-import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.domain.dtos.DocumentMetadata;
+import group2.intranet.project.domain.dtos.DocumentVersionDto;
 import group2.intranet.project.services.DocumentService;
+import group2.intranet.project.services.downloadstats.DownloadKind;
+import group2.intranet.project.services.downloadstats.DownloadTracker;
+import group2.intranet.project.services.jwt.AuthenticatedUser;
+import group2.intranet.project.services.signedurl.SignedUrlSigner;
+import group2.intranet.project.services.storage.BlobCodec;
+import group2.intranet.project.services.storage.FileExtensions;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Min;
 import lombok.extern.java.Log;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -13,8 +30,19 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Validated
 @Log
@@ -22,12 +50,26 @@ import java.util.List;
 @RequestMapping(path = "/documents")
 public class DocumentController {
 
+    /// Bir sürümün içeriği değişmez, bu yüzden tarayıcı bir yıl boyunca yeniden doğrulamadan
+    /// önbellekten kullanabilir. Yetki gerektirdiği için yalnızca private önbellek.
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+
+    /// Dokümanın güncel içeriği yeni sürümle değişebilir: tarayıcı saklar ama her kullanımda ETag ile
+    /// doğrular; içerik aynıysa yanıt blob açılmadan 304'tür.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private DocumentService documentService;
+    private SignedUrlSigner signedUrlSigner;
+    private DownloadTracker downloadTracker;
 
-    public DocumentController(DocumentService documentService) {
+    public DocumentController(DocumentService documentService, SignedUrlSigner signedUrlSigner, DownloadTracker downloadTracker) {
         this.documentService = documentService;
+        this.signedUrlSigner = signedUrlSigner;
+        this.downloadTracker = downloadTracker;
     }
 
+    /// Her dokümana imzalı downloadUrl eklenir; istemci dosyayı bearer başlığı olmadan (ve ara önbellekten) çeker.
+    /// URL içerik hash'ini taşır, yeni sürüm yüklenince URL de değişir.
     @GetMapping
     public ResponseEntity<List<DocumentDto>> getAll(){
         List<DocumentDto> docs = documentService.getAllDocuments();
@@ -36,6 +78,9 @@ public class DocumentController {
             log.info("Document not found");
             return ResponseEntity.noContent().build(); // 204 No Content
         }
+        for (DocumentDto doc : docs) {
+            doc.setDownloadUrl(signedUrlSigner.sign("/documents/download/" + doc.getId(), doc.getContentHash()));
+        }
         log.info("Documanlar Gönderildi");
         return ResponseEntity.ok(docs); // 200 OK
     }
@@ -52,18 +97,225 @@ public class DocumentController {
         return ResponseEntity.ok(document); //200 OK
     }
 
+    /// Dosya belleğe alınmadan akıtılır. Range isteklerinde Spring MVC Resource gövdesini 206 parçalı yanıta çevirir;
+    /// tarayıcının PDF görüntüleyicisi sayfaları ihtiyaç oldukça çeker, yarım kalan indirme kaldığı yerden devam eder.
     @GetMapping("/download/{id}")
-    public ResponseEntity<byte[]> downloadDocument(@PathVariable Integer id) {
-        DocumentDto documentDto = documentService.getDocumentById(id);
+    public ResponseEntity<Resource> downloadDocument(@PathVariable Integer id,
+                                                     HttpMethod method,
+                                                     @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                     @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                     @RequestParam(value = SignedUrlSigner.VERSION, required = false) String version) throws IOException {
+        // 304 ve sürüm kontrolü için blob açılmaz; birincil anahtarla tek kolonluk bir sorgu yeterlidir.
+        String hash = ifNoneMatch != null || version != null ? documentService.getDocumentContentHash(id) : null;
+        if (version != null && !version.equals(hash)) {
+            // İmzalı URL başka bir içerik için verilmişti; yeni baytlar eski URL altında public önbelleğe girmemeli.
+            return ResponseEntity.status(HttpStatus.GONE).cacheControl(CacheControl.noStore()).build();
+        }
+        if (ifNoneMatch != null) {
+            String matched = hash != null ? matchingETag(ifNoneMatch, representationETags(hash)) : null;
+            if (matched != null) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(matched)
+                        .cacheControl(REVALIDATE)
+                        .build();
+            }
+        }
+
+        DocumentContent content = documentService.getDocumentContent(id);
 
-        if (documentDto.getFileData() == null) {
+        if (content == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        if (content.getResource() == null) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
         }
+        if (version != null && !version.equals(content.getContentHash())) {
+            // Hash sorgusundan sonra yeni bir sürüm yüklendi.
+            return ResponseEntity.status(HttpStatus.GONE).cacheControl(CacheControl.noStore()).build();
+        }
+        // Yalnızca içerik gönderilen indirmeler sayılır (304 ve HEAD sayılmaz); görüntüleyicinin çektiği her
+        // parça ayrı bir indirme değildir. Sayaç bellekte, veritabanına yazılmaz.
+        if (method == HttpMethod.GET && startsAtFirstByte(range)) {
+            downloadTracker.record(DownloadKind.DOCUMENT, id);
+        }
+
+        String etag = content.getContentHash() != null ? "\"" + content.getContentHash() + "\"" : null;
+        Instant lastModified = content.getUploadedAt() != null
+                ? content.getUploadedAt().atZone(ZoneId.systemDefault()).toInstant()
+                : null;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(content.getContentType() != null
+                        ? MediaType.parseMediaType(content.getContentType())
+                        : MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(content, ""))
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag != null) {
+            response.eTag(etag).cacheControl(REVALIDATE);
+        }
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+
+        if (content.getCodec() != null && content.getCodec().contentEncoding() != null) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (range == null && accepts(acceptEncoding, content.getCodec().contentEncoding())) {
+                // Sıkıştırılmış baytlar sunucuda açılmadan gönderilir. Bu temsilin ETag'i
+                // orijinal içerikten ayrı olmalıdır, aksi halde önbellekler iki gövdeyi karıştırır.
+                if (etag != null) {
+                    response.eTag(encodedETag(content.getContentHash(), content.getCodec()));
+                }
+                if (content.getStoredSize() != null) {
+                    response.contentLength(content.getStoredSize());
+                }
+                return response
+                        .header(HttpHeaders.CONTENT_ENCODING, content.getCodec().contentEncoding())
+                        .body(new InputStreamResource(content.getStoredResource().getInputStream()));
+            }
+        }
+
+        Resource body = content.getResource();
+        if (range != null && ifRange != null && !ifRangeMatches(ifRange, etag, lastModified)) {
+            // If-Range tutmuyorsa dosya değişmiş demektir: Range yok sayılır, tam içerik 200 ile döner.
+            // InputStreamResource Spring'in Range işlemesine girmez.
+            if (content.getContentSize() != null) {
+                response.contentLength(content.getContentSize());
+            }
+            body = new InputStreamResource(content.getResource().getInputStream());
+        }
+
+        return response.body(body);
+    }
+
+    /// Seçilen dokümanları (ids) ya da bir departmana bağlı tüm dokümanları tek ZIP olarak indirir.
+    /// Arşiv yanıt akışına yazılırken oluşturulur; boyutu önceden bilinmediği için Content-Length gönderilmez.
+    /// Gövde başka bir thread'de yazıldığından status ve header'lar dönmeden önce commit edilir; filtreler
+    /// (ör. HeaderWriterFilter) header'larını istek thread'inde yazar, response'a iki thread aynı anda dokunmaz.
+    @GetMapping("/archive")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(@RequestParam(value = "ids", required = false) List<Integer> ids,
+                                                                 @RequestParam(value = "departmentId", required = false) Integer departmentId,
+                                                                 HttpServletResponse response) throws IOException {
+        boolean byIds = ids != null && !ids.isEmpty();
+        if (byIds == (departmentId != null)) {
+            log.info("Archive download needs either ids or departmentId.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        List<DocumentMetadata> entries = documentService.getArchiveEntries(ids, departmentId);
+
+        if (entries.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
 
+        String filename = byIds ? "documents.zip" : "department-" + departmentId + "-documents.zip";
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        response.flushBuffer();
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_PDF)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + documentDto.getTitle() + ".pdf\"")
-                .body(documentDto.getFileData());
+                .body(out -> documentService.writeArchive(entries, out));
+    }
+
+    /// Aynı içeriğin her temsili (orijinal ve her codec ile kodlanmış hali) kendi güçlü ETag'ini taşır.
+    private static List<String> representationETags(String hash) {
+        List<String> etags = new ArrayList<>();
+        etags.add("\"" + hash + "\"");
+        for (BlobCodec codec : BlobCodec.values()) {
+            if (codec.contentEncoding() != null) {
+                etags.add(encodedETag(hash, codec));
+            }
+        }
+        return etags;
+    }
+
+    private static String encodedETag(String hash, BlobCodec codec) {
+        return "\"" + hash + "-" + codec.contentEncoding() + "\"";
+    }
+
+    /// Dosya adı başlıktan, uzantısı içerik türünden türetilir. Başlık header'a ham eklenmez: tırnaklar kaçırılır,
+    /// ASCII dışı adlar UTF-8 filename* ile gönderilir.
+    private static String attachment(DocumentContent content, String suffix) {
+        String title = content.getTitle() != null ? content.getTitle().replaceAll("\\p{Cntrl}", "_") : "document-" + content.getId();
+        String filename = title + suffix + FileExtensions.forContentType(content.getContentType());
+        ContentDisposition.Builder disposition = ContentDisposition.attachment();
+        if (StandardCharsets.US_ASCII.newEncoder().canEncode(filename)) {
+            disposition.filename(filename);
+        } else {
+            disposition.filename(filename, StandardCharsets.UTF_8);
+        }
+        return disposition.build().toString();
+    }
+
+    /// If-None-Match zayıf karşılaştırma kullanır (RFC 9110 13.1.2); eşleşen ETag'i, yoksa null döner.
+    private static String matchingETag(String ifNoneMatch, List<String> etags) {
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            for (String etag : etags) {
+                if (candidate.isWildcard() || candidate.compare(ETag.create(etag), false)) {
+                    return etag;
+                }
+            }
+        }
+        return null;
+    }
+
+    /// Range yoksa ya da ilk aralık 0. bayttan başlıyorsa istek bir indirmenin başlangıcıdır; sonek (bytes=-500)
+    /// ve geçersiz aralıklar sayılmaz.
+    private static boolean startsAtFirstByte(String range) {
+        if (range == null) {
+            return true;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            return !ranges.isEmpty() && ranges.get(0).getRangeStart(Long.MAX_VALUE) == 0;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /// Accept-Encoding başlığında codec'in (ya da *) q=0 olmadan geçip geçmediğine bakar.
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String name = tokens[0].trim();
+            if (!name.equalsIgnoreCase(coding) && !name.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) == 0.0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            return !rejected;
+        }
+        return false;
+    }
+
+    private static boolean ifRangeMatches(String ifRange, String etag, Instant lastModified) {
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            // If-Range yalnızca güçlü (strong) ETag karşılaştırması kabul eder.
+            return etag != null && etag.equals(value);
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            long since = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return since == lastModified.getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
     }
 
 
@@ -78,7 +330,7 @@ public class DocumentController {
         try {
 
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            Employee loggedInEmployee = (Employee) auth.getPrincipal();
+            AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
             Integer userId = loggedInEmployee.getId();
 
             documentDTO.setUploadedById(Math.toIntExact(userId));
@@ -94,6 +346,122 @@ public class DocumentController {
 
     }
 
+    /// Politika paketleri gibi çok sayıda dosya tek ZIP ile yüklenir. Gövde multipart değil, doğrudan
+    /// application/zip olarak okunur; departmentIds ve documentType tüm dosyalara uygulanır.
+    /// Yanıt dosya başına sonucu içerir; en az bir doküman oluştuysa 201 döner.
+    @PostMapping(path = "/archive", consumes = "application/zip")
+    public ResponseEntity<List<ArchiveEntryResult>> uploadArchive(@RequestParam(value = "departmentIds", required = false) List<Integer> departmentIds,
+                                                                  @RequestParam(value = "documentType", required = false) String documentType,
+                                                                  InputStream archive) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
+
+        List<ArchiveEntryResult> results;
+        try {
+            results = documentService.importArchive(archive, loggedInEmployee.getId(), departmentIds, documentType);
+        } catch (IllegalArgumentException e) {
+            log.warning(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        boolean created = results.stream().anyMatch(result -> result.status() == ArchiveEntryResult.Status.CREATED);
+        log.info("Archive upload: " + results.size() + " files, created: " + created);
+        return ResponseEntity.status(created ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST).body(results);
+    }
+
+    /// İki aşamalı yükleme: istemci önce içeriğin SHA-256'sını ve boyutunu gönderir.
+    /// İçerik zaten kayıtlıysa dosya aktarılmadan yeni doküman oluşturulur (201);
+    /// değilse 404 döner ve istemci dosyayı /documents/upload ile gönderir.
+    @PostMapping("/link")
+    public ResponseEntity<DocumentDto> linkDocument(@RequestBody DocumentDto documentDTO){
+
+        if (documentDTO.getContentHash() == null || documentDTO.getContentSize() == null) {
+            log.info("Content hash and size are required to link a document.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
+        documentDTO.setUploadedById(loggedInEmployee.getId());
+        if (documentDTO.getDepartmentIds() == null) {
+            documentDTO.setDepartmentIds(List.of());
+        }
+
+        DocumentDto linkedDocument = documentService.linkDocument(documentDTO);
+
+        if (linkedDocument == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(linkedDocument);
+    }
+
+    /// Mevcut dokümana yeni sürüm yükler; doküman kimliği, başlığı ve departmanları aynı kalır.
+    /// Önceki sürümlerle ortak parçalar yeniden saklanmaz (newBytes yalnızca eklenen baytlardır).
+    @PostMapping(path = "/{id}/versions", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DocumentVersionDto> uploadVersion(@PathVariable Integer id, @ModelAttribute DocumentDto documentDTO) {
+
+        if (documentDTO.getFile() == null || documentDTO.getFile().isEmpty()) {
+            log.info("No document version was uploaded.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
+        documentDTO.setUploadedById(loggedInEmployee.getId());
+
+        DocumentVersionDto version;
+        try {
+            version = documentService.addDocumentVersion(id, documentDTO);
+        } catch (IllegalStateException e) {
+            // Aynı dokümana eşzamanlı başka bir sürüm yüklendi; istemci güncel sürümü görüp yeniden denemeli.
+            log.warning(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IOException e) {
+            log.warning("Error while saving document version : " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        if (version == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        log.info("Document " + id + " version " + version.getVersionNumber() + " stored, new bytes: " + version.getNewBytes());
+        return ResponseEntity.status(HttpStatus.CREATED).body(version);
+    }
+
+    @GetMapping("/{id}/versions")
+    public ResponseEntity<List<DocumentVersionDto>> getVersions(@PathVariable Integer id) {
+        List<DocumentVersionDto> versions = documentService.getDocumentVersions(id);
+
+        if (versions == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(versions);
+    }
+
+    /// Sürüm içeriği parçalardan birleştirilerek akıtılır; Range istekleri ilgisiz parçaları açmadan atlar.
+    /// Sürümün içeriği hiç değişmediği için yanıt immutable olarak önbelleğe alınabilir.
+    @GetMapping("/{id}/versions/{version}/download")
+    public ResponseEntity<Resource> downloadVersion(@PathVariable Integer id, @PathVariable Integer version) {
+        DocumentContent content = documentService.getDocumentVersionContent(id, version);
+
+        if (content == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(content.getContentType() != null
+                        ? MediaType.parseMediaType(content.getContentType())
+                        : MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(content, " (v" + version + ")"))
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag("\"" + content.getContentHash() + "\"")
+                .cacheControl(IMMUTABLE);
+        if (content.getUploadedAt() != null) {
+            response.lastModified(content.getUploadedAt().atZone(ZoneId.systemDefault()).toInstant());
+        }
+        return response.body(content.getResource());
+    }
+
 //    /// Document without file
 //    @PostMapping
 //    public ResponseEntity<DocumentDto> createDocument(@RequestBody @Valid DocumentDto documentDto) {
@@ -1,8 +1,8 @@
 package group2.intranet.project.controllers;
 
 import group2.intranet.project.domain.dtos.EventDto;
-import group2.intranet.project.domain.entities.Employee;
 import group2.intranet.project.services.EventService;
+import group2.intranet.project.services.jwt.AuthenticatedUser;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.extern.java.Log;
@@ -61,7 +61,7 @@ public class EventController {
                     .map(GrantedAuthority::getAuthority)
                     .orElse(null);
 
-            Employee loggedInEmployee = (Employee) auth.getPrincipal();
+            AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
             Integer id = loggedInEmployee.getId();
             dto.setCreatedById(Math.toIntExact(id));
 
@@ -102,7 +102,7 @@ public class EventController {
                     .map(GrantedAuthority::getAuthority)
                     .orElse(null);
 
-            Employee loggedInEmployee = (Employee) auth.getPrincipal();
+            AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
             eventToBeUpdated.setCreatedById(loggedInEmployee.getId());
 
             if (role == null) {
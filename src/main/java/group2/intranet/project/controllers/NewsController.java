@@ -1,10 +1,19 @@
 package group2.intranet.project.controllers;
 
 import group2.intranet.project.domain.dtos.NewsDTO;
-import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.domain.dtos.NewsImageContent;
 import group2.intranet.project.services.NewsService;
+import group2.intranet.project.services.downloadstats.DownloadKind;
+import group2.intranet.project.services.downloadstats.DownloadTracker;
+import group2.intranet.project.services.jwt.AuthenticatedUser;
+import group2.intranet.project.services.signedurl.SignedUrlSigner;
 import jakarta.validation.constraints.Min;
 import lombok.extern.java.Log;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,15 +31,22 @@ import java.util.List;
 @RequestMapping(path = "/news", method = RequestMethod.POST)
 public class NewsController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private NewsService newsService;
+    private SignedUrlSigner signedUrlSigner;
+    private DownloadTracker downloadTracker;
 
-    public NewsController(NewsService newsService) {
+    public NewsController(NewsService newsService, SignedUrlSigner signedUrlSigner, DownloadTracker downloadTracker) {
         this.newsService = newsService;
+        this.signedUrlSigner = signedUrlSigner;
+        this.downloadTracker = downloadTracker;
     }
 
     @GetMapping
     public ResponseEntity<List<NewsDTO>> getAll(){
         List<NewsDTO> newsList = newsService.getAllNews();
+        addImageUrls(newsList);
 
 //        if (newsList.isEmpty()){
 //            log.warning("News Not Found. News are empty!");
@@ -62,23 +78,73 @@ public class NewsController {
             log.info("News of type was not found!");
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build(); // 404 Not Found
         }
+        addImageUrls(newsList);
 
         return ResponseEntity.ok(newsList); //200 OK
     }
 
+    /// Haber güncellenince görsel aynı URL'de değişebilir; tarayıcı her seferinde yeniden doğrular (no-cache),
+    /// görsel değişmemişse hash sorgusuyla 304 döner ve görsel veritabanından okunmaz.
+    /// Görsel byte[] olarak kopyalanmadan, önbellekteki off-heap buffer'dan yanıta yazılır.
     @GetMapping("/{id}/image")
-    public ResponseEntity<byte[]> getNewsImageById(@PathVariable Integer id) {
+    public ResponseEntity<Resource> getNewsImageById(@PathVariable Integer id,
+                                                     HttpMethod method,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                     @RequestParam(value = SignedUrlSigner.VERSION, required = false) String version) {
+
+        String hash = ifNoneMatch != null || version != null ? newsService.getNewsImageHash(id) : null;
+        if (version != null && !version.equals(hash)) {
+            // İmzalı URL eski görsel için verilmişti; yeni görsel eski URL altında public önbelleğe girmemeli.
+            return ResponseEntity.status(HttpStatus.GONE).cacheControl(CacheControl.noStore()).build();
+        }
+        if (ifNoneMatch != null) {
+            if (hash != null && matches(ifNoneMatch, "\"" + hash + "\"")) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag("\"" + hash + "\"")
+                        .cacheControl(REVALIDATE)
+                        .build();
+            }
+        }
 
-        NewsDTO news = newsService.getNewsById(id);
+        NewsImageContent image = newsService.getNewsImage(id);
 
-        if (news == null)
+        if (image == null)
             return ResponseEntity.notFound().build();
+        if (version != null && !version.equals(image.getHash()))
+            return ResponseEntity.status(HttpStatus.GONE).cacheControl(CacheControl.noStore()).build();
 
-        return ResponseEntity.ok()
+        if (method == HttpMethod.GET) {
+            downloadTracker.record(DownloadKind.NEWS_IMAGE, id);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(MediaType.IMAGE_PNG)
                 .contentType(MediaType.IMAGE_JPEG)
                 .contentType(MediaType.IMAGE_GIF)
-                .body(news.getCover_image());
+                .cacheControl(REVALIDATE);
+        if (image.getHash() != null) {
+            response.eTag("\"" + image.getHash() + "\"");
+        }
+        return response.body(image.getResource());
+    }
+
+    /// Görseli olan haberlere imzalı imageUrl eklenir; URL görselin hash'ini taşır, görsel değişince URL de değişir.
+    private void addImageUrls(List<NewsDTO> newsList) {
+        for (NewsDTO news : newsList) {
+            if (news.getCoverImageHash() != null) {
+                news.setImageUrl(signedUrlSigner.sign("/news/" + news.getId() + "/image", news.getCoverImageHash()));
+            }
+        }
+    }
+
+    /// If-None-Match zayıf karşılaştırma kullanır (RFC 9110 13.1.2).
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.compare(ETag.create(etag), false)) {
+                return true;
+            }
+        }
+        return false;
     }
 
 
@@ -91,7 +157,7 @@ public class NewsController {
 
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
-            Employee loggedInEmployee = (Employee) auth.getPrincipal();
+            AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
             Integer id = loggedInEmployee.getId();
 
             newsDTO.setCreatedById(id);
@@ -135,7 +201,7 @@ public class NewsController {
                     .orElse(null);
 
 
-            Employee loggedInEmployee = (Employee) auth.getPrincipal();
+            AuthenticatedUser loggedInEmployee = (AuthenticatedUser) auth.getPrincipal();
             newsDto.setCreatedById(loggedInEmployee.getId());
 
             NewsDTO existingNews = newsService.getNewsById(id);
@@ -0,0 +1,27 @@
+package group2.intranet.project.domain.dtos;
+
+/// ZIP ile toplu yüklemede her dosya için sonuç satırı (manifest).
+/// CREATED satırlarında documentId dolu; SKIPPED ve FAILED satırlarında message nedeni açıklar.
+public record ArchiveEntryResult(
+        String name,
+        Status status,
+        Integer documentId,
+        String contentHash,
+        Long contentSize,
+        String message
+) {
+
+    public enum Status { CREATED, SKIPPED, FAILED }
+
+    public static ArchiveEntryResult created(String name, Integer documentId, String contentHash, Long contentSize) {
+        return new ArchiveEntryResult(name, Status.CREATED, documentId, contentHash, contentSize, null);
+    }
+
+    public static ArchiveEntryResult skipped(String name, String message) {
+        return new ArchiveEntryResult(name, Status.SKIPPED, null, null, null, message);
+    }
+
+    public static ArchiveEntryResult failed(String name, String message) {
+        return new ArchiveEntryResult(name, Status.FAILED, null, null, null, message);
+    }
+}
@@ -0,0 +1,32 @@
+package group2.intranet.project.domain.dtos;
+
+import group2.intranet.project.services.storage.BlobCodec;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+
+import java.time.LocalDateTime;
+
+/// İndirme için doküman içeriği: dosya belleğe alınmaz, Resource üzerinden akıtılır.
+/// contentHash (SHA-256) ETag olarak, uploadedAt Last-Modified olarak kullanılır.
+@Getter
+@Builder
+@AllArgsConstructor
+public class DocumentContent {
+
+    private Integer id;
+    private String title;
+    private String contentType;
+    private Long contentSize;
+    private String contentHash;
+    private LocalDateTime uploadedAt;
+
+    /// İçerik yoksa null. Sıkıştırılmış blob'larda akış halinde açılan orijinal içeriktir.
+    private Resource resource;
+
+    /// Diskteki temsil ve codec'i; istemci kabul ediyorsa sıkıştırılmış baytlar açılmadan gönderilir.
+    private BlobCodec codec;
+    private Resource storedResource;
+    private Long storedSize;
+}
@@ -1,6 +1,7 @@
 package group2.intranet.project.domain.dtos;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import group2.intranet.project.services.processing.DocumentProcessingStatus;
 import lombok.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,8 +22,17 @@ public class DocumentDto {
     private LocalDateTime uploadedAt;
     private Integer uploadedById;
     private List<Integer> departmentIds;
+    private String contentHash;
+    private Long contentSize;
+    private String contentType;
+    private Integer currentVersion;
+    private DocumentProcessingStatus processingStatus;
+    private String detectedContentType;
+    private Integer pageCount;
+
+    /// Listelemede doldurulur: bearer başlığı gerektirmeyen, kısa ömürlü imzalı indirme URL'si.
+    private String downloadUrl;
 
     @JsonIgnore
     private MultipartFile file; // for upload
-    private byte[] fileData;    // for download
 }
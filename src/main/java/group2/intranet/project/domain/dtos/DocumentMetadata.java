@@ -0,0 +1,24 @@
+package group2.intranet.project.domain.dtos;
+
+import group2.intranet.project.services.processing.DocumentProcessingStatus;
+
+import java.time.LocalDateTime;
+
+/// Listeleme için yalnızca metadata kolonlarını seçen JPQL projeksiyonu.
+/// İçerik, yükleyen Employee ve departman ilişkileri yüklenmez.
+public record DocumentMetadata(
+        Integer id,
+        String title,
+        String description,
+        String documentType,
+        LocalDateTime uploadedAt,
+        Integer uploadedById,
+        String contentHash,
+        Long contentSize,
+        String contentType,
+        DocumentProcessingStatus processingStatus,
+        String detectedContentType,
+        Integer pageCount,
+        Integer currentVersion
+) {
+}
@@ -0,0 +1,24 @@
+package group2.intranet.project.domain.dtos;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentVersionDto {
+
+    private Integer documentId;
+    private Integer versionNumber;
+    private String contentHash;
+    private Long contentSize;
+    private String contentType;
+    private Integer chunkCount;
+    /// Bu sürümün depoya eklediği bayt; önceki sürümlerle ortak parçalar sayılmaz.
+    private Long newBytes;
+    private Integer uploadedById;
+    private LocalDateTime uploadedAt;
+}
@@ -0,0 +1,19 @@
+package group2.intranet.project.domain.dtos;
+
+import group2.intranet.project.services.downloadstats.DownloadKind;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/// Bir zaman penceresindeki en çok indirilen doküman ve haber görselleri (en çok indirilen önce).
+/// downloads tahmindir ve gerçek sayıdan az olamaz; guaranteedDownloads gerçek sayının alt sınırıdır.
+public record DownloadWindowStats(
+        LocalDateTime windowStart,
+        LocalDateTime windowEnd,
+        long totalDownloads,
+        List<Item> top
+) {
+
+    public record Item(DownloadKind kind, Integer id, long downloads, long guaranteedDownloads) {
+    }
+}
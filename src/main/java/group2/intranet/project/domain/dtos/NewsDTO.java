@@ -23,6 +23,12 @@ public class NewsDTO {
 
     private byte[] cover_image; // for download
 
+    @JsonIgnore
+    private String coverImageHash;
+
+    /// Listelemede doldurulur: görsel için bearer başlığı gerektirmeyen, kısa ömürlü imzalı URL.
+    private String imageUrl;
+
     //private MultipartFile file; // for upload
 
     private String newsType;
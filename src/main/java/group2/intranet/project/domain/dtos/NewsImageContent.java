@@ -0,0 +1,20 @@
+package group2.intranet.project.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+
+/// Kapak görseli yanıtı için: görsel DTO'ya byte[] olarak kopyalanmaz, Resource üzerinden yazılır.
+/// Sık istenen görseller off-heap önbellekteki buffer'dan gelir; hash ETag olarak kullanılır.
+@Getter
+@Builder
+@AllArgsConstructor
+public class NewsImageContent {
+
+    private Integer id;
+    private String hash;
+
+    /// Haberin görseli yoksa null.
+    private Resource resource;
+}
@@ -1,5 +1,6 @@
 package group2.intranet.project.domain.entities;
 
+import group2.intranet.project.services.processing.DocumentProcessingStatus;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -7,7 +8,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "documents")
+@Table(name = "documents",
+        indexes = @Index(name = "idx_documents_processing_status", columnList = "processing_status"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,8 +24,16 @@ public class Document {
 
     private String description;
 
-    @Column(name = "file_data", columnDefinition = "BYTEA")
-    private byte[] fileData;
+    /// İçerik blob store'da tutulur; satırda yalnızca SHA-256 anahtarı, boyut ve MIME tipi kalır.
+    /// Eski BYTEA içerik (file_data) bu entity'de map'lenmez, yalnızca DocumentBinary üzerinden okunur.
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "content_size")
+    private Long contentSize;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
 
     @Column(name = "document_type", length = 30)
     private String documentType;
@@ -31,9 +41,32 @@ public class Document {
     @Column(name = "uploaded_at")
     private LocalDateTime uploadedAt;
 
+    /// Yeni sürüm yüklenmişse güncel sürümün numarası; içerik o sürümün parçalarından okunur
+    /// (DocumentVersionStore). Hiç sürüm yüklenmemiş dokümanlarda null kalır.
+    @Column(name = "current_version")
+    private Integer currentVersion;
+
+    /// Yüklemeden sonra arka planda doldurulur (DocumentProcessingWorker): içerikten tespit edilen
+    /// MIME tipi ve PDF sayfa sayısı. İçeriği olmayan eski kayıtlarda durum null kalır.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", length = 16)
+    private DocumentProcessingStatus processingStatus;
+
+    @Column(name = "detected_content_type", length = 100)
+    private String detectedContentType;
+
+    @Column(name = "page_count")
+    private Integer pageCount;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
     @PrePersist
     public void prePersist() {
         this.uploadedAt = LocalDateTime.now();
+        if (this.contentHash != null && this.processingStatus == null) {
+            this.processingStatus = DocumentProcessingStatus.PENDING;
+        }
     }
 
     //Relationships
@@ -0,0 +1,24 @@
+package group2.intranet.project.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/// documents tablosundaki eski BYTEA içeriğin (file_data) salt okunur görünümü.
+///
+/// Document entity'si bu kolonu map'lemez; böylece listeleme ve detay sorguları PDF içeriğini hiç okumaz.
+/// Yalnızca henüz blob store'a taşınmamış bir doküman indirilirken, id ile tek satır olarak yüklenir.
+@Entity
+@Immutable
+@Table(name = "documents")
+@Getter
+@NoArgsConstructor
+public class DocumentBinary {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "file_data", columnDefinition = "BYTEA", insertable = false, updatable = false)
+    private byte[] fileData;
+}
@@ -0,0 +1,44 @@
+package group2.intranet.project.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/// Doküman işleme kuyruğu; her PENDING doküman için tek satır (document_id unique).
+/// Satırlar DocumentProcessingQueue tarafından JDBC ile okunup yazılır, entity yalnızca tabloyu tanımlar.
+/// Bir worker görevi aldığında leased_until'e kadar kiralar; süre dolarsa görev başka bir worker'a geçer.
+/// Denemeler tükenince next_attempt_at boşaltılır ve satır son hatayla birlikte saklanır.
+@Entity
+@Table(name = "document_processing_tasks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_document_processing_tasks_document", columnNames = "document_id"),
+        indexes = @Index(name = "idx_document_processing_tasks_due", columnList = "next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentProcessingTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "document_id", nullable = false)
+    private Integer documentId;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
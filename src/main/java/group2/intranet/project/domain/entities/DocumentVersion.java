@@ -0,0 +1,53 @@
+package group2.intranet.project.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/// Bir dokümanın sürüm zinciri: (document_id, version_number) tekildir, en yenisi documents.current_version'dır.
+/// İçerik bütün dosya olarak değil, document_version_chunks'taki parça listesi olarak tutulur;
+/// parçalar blob store'da hash'leriyle saklandığı için sürümler arasında ortak parçalar bir kez yazılır.
+/// content_hash tüm dosyanın SHA-256'sıdır (ETag); new_bytes bu sürümün blob store'a eklediği parça baytlarıdır.
+@Entity
+@Table(name = "document_versions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_document_versions_number", columnNames = {"document_id", "version_number"}),
+        indexes = @Index(name = "idx_document_versions_hash", columnList = "content_hash"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "document_id", nullable = false)
+    private Integer documentId;
+
+    @Column(name = "version_number", nullable = false)
+    private Integer versionNumber;
+
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "content_size", nullable = false)
+    private Long contentSize;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount;
+
+    @Column(name = "new_bytes", nullable = false)
+    private Long newBytes;
+
+    @Column(name = "uploaded_by")
+    private Integer uploadedById;
+
+    @Column(name = "uploaded_at")
+    private LocalDateTime uploadedAt;
+}
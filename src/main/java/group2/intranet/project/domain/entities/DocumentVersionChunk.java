@@ -0,0 +1,32 @@
+package group2.intranet.project.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/// Sürüm içeriğinin sıralı parça listesi; satırlar DocumentVersionStore tarafından JDBC batch ile yazılıp okunur.
+@Entity
+@Table(name = "document_version_chunks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_document_version_chunks_index", columnNames = {"version_id", "chunk_index"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentVersionChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "version_id", nullable = false)
+    private Integer versionId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    @Column(name = "chunk_hash", length = 64, nullable = false)
+    private String chunkHash;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+}
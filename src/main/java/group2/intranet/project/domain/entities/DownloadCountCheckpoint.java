@@ -0,0 +1,49 @@
+package group2.intranet.project.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/// İndirme sayacının periyodik kaydı: her zaman penceresi için en çok indirilen öğeler (kind + item_id).
+/// Satırlar DownloadTracker tarafından JDBC ile yazılır, entity yalnızca tabloyu tanımlar.
+/// Açık pencerenin satırları her checkpoint'te yenilenir; window_total pencerenin toplam indirme sayısıdır.
+@Entity
+@Table(name = "download_count_checkpoints",
+        uniqueConstraints = @UniqueConstraint(name = "uk_download_count_checkpoints_item",
+                columnNames = {"window_start", "kind", "item_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DownloadCountCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    private LocalDateTime windowEnd;
+
+    @Column(name = "kind", nullable = false, length = 20)
+    private String kind;
+
+    @Column(name = "item_id", nullable = false)
+    private Integer itemId;
+
+    @Column(name = "downloads", nullable = false)
+    private Long downloads;
+
+    @Column(name = "guaranteed_downloads", nullable = false)
+    private Long guaranteedDownloads;
+
+    @Column(name = "window_total", nullable = false)
+    private Long windowTotal;
+
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+}
@@ -1,5 +1,7 @@
 package group2.intranet.project.domain.entities;
 
+import group2.intranet.project.services.cache.PrincipalCacheInvalidator;
+import group2.intranet.project.services.jwt.AuthenticatedUser;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,12 +16,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "employees")
+@EntityListeners(PrincipalCacheInvalidator.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Employee implements UserDetails {
+public class Employee implements UserDetails, AuthenticatedUser {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,7 +3,10 @@ package group2.intranet.project.domain.entities;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
 
 @Entity
@@ -28,12 +31,33 @@ public class News {
     @Column(name = "cover_image", columnDefinition = "BYTEA")
     private byte[] cover_image;
 
+    /// Kapak görselinin SHA-256'sı; görsel okunmadan ETag / If-None-Match kontrolü için kullanılır.
+    @Column(name = "cover_image_hash", length = 64)
+    private String coverImageHash;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @PrePersist
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
+        this.coverImageHash = sha256Hex(cover_image);
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.coverImageHash = sha256Hex(cover_image);
+    }
+
+    public static String sha256Hex(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     //Relationships
@@ -0,0 +1,49 @@
+package group2.intranet.project.domain.entities;
+
+import group2.intranet.project.services.storage.BlobCodec;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/// Blob store'daki her içerik için tek satır; hash üzerindeki unique index aynı dosyanın iki kez
+/// kaydedilmesini engeller. Birden fazla Document aynı hash'e bağlanabilir.
+@Entity
+@Table(name = "stored_blobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stored_blobs_hash", columnNames = "hash"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "hash", length = 64, nullable = false)
+    private String hash;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    /// Diskteki temsilin codec işareti ve boyutu; null olan eski kayıtlar sıkıştırılmamıştır.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "codec", length = 16)
+    private BlobCodec codec;
+
+    @Column(name = "stored_size")
+    private Long storedSize;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -1,38 +1,45 @@
 package group2.intranet.project.mappers;
 
 import group2.intranet.project.domain.dtos.DocumentDto;
+import group2.intranet.project.domain.dtos.DocumentMetadata;
+import group2.intranet.project.domain.dtos.DocumentVersionDto;
 import group2.intranet.project.domain.entities.Department;
 import group2.intranet.project.domain.entities.Document;
+import group2.intranet.project.domain.entities.DocumentVersion;
 import group2.intranet.project.domain.entities.Employee;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public interface DocumentMapper {
     @Mapping(target = "file", ignore = true)
+    @Mapping(target = "downloadUrl", ignore = true)
     @Mapping(target = "uploadedById", source = "uploadedBy.id")
     @Mapping(target = "departmentIds", expression = "java(mapDepartmentIds(document.getDepartments()))")
     DocumentDto toDto(Document document);
 
-    @Mapping(target = "fileData", expression = "java(getBytes(document.getFile()))")
+    @Mapping(target = "file", ignore = true)
+    @Mapping(target = "downloadUrl", ignore = true)
+    @Mapping(target = "departmentIds", source = "departmentIds")
+    DocumentDto toDto(DocumentMetadata metadata, List<Integer> departmentIds);
+
+    DocumentVersionDto toDto(DocumentVersion version);
+
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "contentSize", ignore = true)
+    @Mapping(target = "contentType", ignore = true)
+    @Mapping(target = "processingStatus", ignore = true)
+    @Mapping(target = "detectedContentType", ignore = true)
+    @Mapping(target = "pageCount", ignore = true)
+    @Mapping(target = "processedAt", ignore = true)
+    @Mapping(target = "currentVersion", ignore = true)
     @Mapping(target = "uploadedBy", expression = "java(mapEmployee(document.getUploadedById()))")
     @Mapping(target = "departments", expression = "java(mapDepartments(document.getDepartmentIds()))")
     Document toEntity(DocumentDto document);
 
-    default byte[] getBytes(MultipartFile file) {
-        try {
-            return file != null ? file.getBytes() : null;
-        } catch (IOException e) {
-            // log atılabilir ya da özel hata yönetimi yapılabilir
-            return null;
-        }
-    }
-
     // Bu metodlar Service içinde inject edilen repo'larla override edilebilir:
     default Employee mapEmployee(Integer id) {
         Employee emp = new Employee();
@@ -3,6 +3,7 @@ package group2.intranet.project.mappers;
 import group2.intranet.project.domain.dtos.NewsDTO;
 import group2.intranet.project.domain.entities.Department;
 import group2.intranet.project.domain.entities.News;
+import org.mapstruct.InheritConfiguration;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -16,13 +17,21 @@ public interface NewsMapper {
     //@Mapping(target = "file", ignore = true)
     @Mapping(source = "departments", target = "departmentIds")
     @Mapping(source = "createdBy.id", target = "createdById")
+    @Mapping(target = "imageUrl", ignore = true)
     NewsDTO toDto(News news);
 
+    /// Listeler için: görsel gövdede taşınmaz, istemci imzalı imageUrl'den indirir.
+    @InheritConfiguration(name = "toDto")
+    @Mapping(target = "cover_image", ignore = true)
+    NewsDTO toListDto(News news);
+
     //@Mapping(target = "cover_image", expression = "java(getBytes(newsDTO.getFile()))")
     @Mapping(source = "departmentIds", target = "departments")
     @Mapping(source = "createdById", target = "createdBy.id")
+    @Mapping(target = "coverImageHash", ignore = true)
     News toEntity(NewsDTO newsDTO);
 
+    @Mapping(target = "coverImageHash", ignore = true)
     void updateNewsFromDto(NewsDTO dto, @MappingTarget News entity);
 
 //    default String encodeImage(byte[] imageData) {
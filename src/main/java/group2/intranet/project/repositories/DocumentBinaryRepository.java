@@ -0,0 +1,7 @@
+package group2.intranet.project.repositories;
+
+import group2.intranet.project.domain.entities.DocumentBinary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DocumentBinaryRepository extends JpaRepository<DocumentBinary, Integer> {
+}
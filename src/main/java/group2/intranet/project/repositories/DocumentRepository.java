@@ -1,9 +1,42 @@
 package group2.intranet.project.repositories;
 
+import group2.intranet.project.domain.dtos.DocumentMetadata;
 import group2.intranet.project.domain.entities.Document;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface DocumentRepository extends JpaRepository<Document,Integer> {
 
+    /// Listeleme: tek sorgu, yalnızca metadata kolonları (uploadedBy için sadece FK okunur).
+    @Query("SELECT new group2.intranet.project.domain.dtos.DocumentMetadata(" +
+            "d.id, d.title, d.description, d.documentType, d.uploadedAt, d.uploadedBy.id, " +
+            "d.contentHash, d.contentSize, d.contentType, d.processingStatus, d.detectedContentType, d.pageCount, d.currentVersion) " +
+            "FROM Document d ORDER BY d.id")
+    List<DocumentMetadata> findAllMetadata();
+
+    /// Toplu indirme: seçilen dokümanların metadata'sı, id sırasıyla.
+    @Query("SELECT new group2.intranet.project.domain.dtos.DocumentMetadata(" +
+            "d.id, d.title, d.description, d.documentType, d.uploadedAt, d.uploadedBy.id, " +
+            "d.contentHash, d.contentSize, d.contentType, d.processingStatus, d.detectedContentType, d.pageCount, d.currentVersion) " +
+            "FROM Document d WHERE d.id IN :ids ORDER BY d.id")
+    List<DocumentMetadata> findMetadataByIdIn(@Param("ids") List<Integer> ids);
+
+    /// Toplu indirme: department_document üzerinden bir departmana bağlı tüm dokümanlar.
+    @Query("SELECT new group2.intranet.project.domain.dtos.DocumentMetadata(" +
+            "d.id, d.title, d.description, d.documentType, d.uploadedAt, d.uploadedBy.id, " +
+            "d.contentHash, d.contentSize, d.contentType, d.processingStatus, d.detectedContentType, d.pageCount, d.currentVersion) " +
+            "FROM Document d JOIN d.departments dep WHERE dep.id = :departmentId ORDER BY d.id")
+    List<DocumentMetadata> findMetadataByDepartmentId(@Param("departmentId") Integer departmentId);
+
+    /// If-None-Match kontrolü için: birincil anahtar üzerinden yalnızca hash kolonu okunur.
+    @Query("SELECT d.contentHash FROM Document d WHERE d.id = :id")
+    Optional<String> findContentHashById(@Param("id") Integer id);
 
+    /// Tüm doküman-departman bağlantıları tek sorguda: [documentId, departmentId].
+    @Query("SELECT d.id, dep.id FROM Document d JOIN d.departments dep")
+    List<Object[]> findAllDepartmentLinks();
 }
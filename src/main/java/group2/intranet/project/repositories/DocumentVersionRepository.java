@@ -0,0 +1,14 @@
+package group2.intranet.project.repositories;
+
+import group2.intranet.project.domain.entities.DocumentVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface DocumentVersionRepository extends JpaRepository<DocumentVersion, Integer> {
+
+    List<DocumentVersion> findByDocumentIdOrderByVersionNumberAsc(Integer documentId);
+
+    Optional<DocumentVersion> findByDocumentIdAndVersionNumber(Integer documentId, Integer versionNumber);
+}
@@ -1,6 +1,7 @@
 package group2.intranet.project.repositories;
 
 import group2.intranet.project.domain.entities.Employee;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,5 +18,8 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     List<Employee> findByManagerId(Integer managerId);
 
+    /// Login ve JWT filtresi için: department ve manager aynı sorguda join ile gelir,
+    /// EAGER ilişkiler için ayrı SELECT atılmaz.
+    @EntityGraph(attributePaths = {"department", "manager"}, type = EntityGraph.EntityGraphType.LOAD)
     Employee findByEmail(String email);
 }
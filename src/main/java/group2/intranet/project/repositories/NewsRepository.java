@@ -2,11 +2,22 @@ package group2.intranet.project.repositories;
 
 import group2.intranet.project.domain.entities.News;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface NewsRepository extends JpaRepository<News, Integer> {
 
     List<News> findByNewsType(String newsType);
 
+    /// If-None-Match kontrolü için: yalnızca hash kolonu, görsel okunmaz.
+    @Query("SELECT n.coverImageHash FROM News n WHERE n.id = :id")
+    Optional<String> findCoverImageHashById(@Param("id") Integer id);
+
+    /// Görsel indirme için yalnızca BYTEA kolonu; haber satırı ve ilişkileri yüklenmez.
+    @Query("SELECT n.cover_image FROM News n WHERE n.id = :id")
+    Optional<byte[]> findCoverImageById(@Param("id") Integer id);
+
 }
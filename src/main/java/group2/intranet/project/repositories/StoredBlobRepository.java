@@ -0,0 +1,36 @@
+package group2.intranet.project.repositories;
+
+import group2.intranet.project.domain.entities.StoredBlob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, Integer> {
+
+    /// Kendi kısa transaction'ında çalışır; transaction dışı (NOT_SUPPORTED) bir kapsamdan çağrıldığında
+    /// bağlantı kapsam sonuna kadar tutulmaz, sorgu bitince havuza döner.
+    @Transactional(readOnly = true)
+    Optional<StoredBlob> findByHash(String hash);
+
+    /// Hiçbir dokümanın ya da sürümün içeriği olmayan kayıtlı blob'lar, en eski kayıttan başlayarak.
+    @Transactional(readOnly = true)
+    @Query("SELECT b.hash FROM StoredBlob b "
+            + "WHERE NOT EXISTS (SELECT d.id FROM Document d WHERE d.contentHash = b.hash) "
+            + "AND NOT EXISTS (SELECT v.id FROM DocumentVersion v WHERE v.contentHash = b.hash) "
+            + "ORDER BY b.id")
+    List<String> findUnreferencedHashes(Limit limit);
+
+    /// Kaydı yalnızca blob hâlâ referanssızsa siler; arada bağlanan içerik korunur.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StoredBlob b WHERE b.hash = :hash "
+            + "AND NOT EXISTS (SELECT d.id FROM Document d WHERE d.contentHash = :hash) "
+            + "AND NOT EXISTS (SELECT v.id FROM DocumentVersion v WHERE v.contentHash = :hash)")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -2,8 +2,11 @@ package group2.intranet.project.services;
 
 import group2.intranet.project.domain.entities.Employee;
 import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.cache.PrincipalCache;
+import group2.intranet.project.services.jwt.JwtPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -11,16 +14,28 @@ public class CustomUserDetailsService implements UserDetailsService {
 
 
     private final EmployeeRepository employeeRepository;
+    private final PrincipalCache principalCache;
 
-    public CustomUserDetailsService(EmployeeRepository employeeRepository) {
+    public CustomUserDetailsService(EmployeeRepository employeeRepository, PrincipalCache principalCache) {
         this.employeeRepository = employeeRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) {
 
-        return employeeRepository.findByEmail(email);
+        Employee employee = employeeRepository.findByEmail(email);
+        if (employee == null) {
+            throw new UsernameNotFoundException("User not found: " + email);
+        }
+        return employee;
+
+    }
 
+    /// JwtAuthFilter için: önce PrincipalCache'e bakar, yoksa veritabanından yükler.
+    /// Login akışı her zaman loadUserByUsername ile güncel şifre hash'ini okur.
+    public JwtPrincipal loadPrincipal(String email) {
+        return principalCache.get(email, employeeRepository::findByEmail);
     }
 
     public Employee getEmployeeByEmail(String email) {
@@ -1,8 +1,14 @@
 package group2.intranet.project.services;
 
+import group2.intranet.project.domain.dtos.ArchiveEntryResult;
+import group2.intranet.project.domain.dtos.DocumentContent;
 import group2.intranet.project.domain.dtos.DocumentDto;
+import group2.intranet.project.domain.dtos.DocumentMetadata;
+import group2.intranet.project.domain.dtos.DocumentVersionDto;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface DocumentService {
@@ -11,9 +17,39 @@ public interface DocumentService {
 
     DocumentDto getDocumentById(Integer id);
 
+    DocumentContent getDocumentContent(Integer id);
+
+    /// İçeriğin SHA-256'sı (ETag); doküman yoksa ya da içerik henüz blob store'a taşınmadıysa null.
+    String getDocumentContentHash(Integer id);
+
+    /// Toplu indirmeye girecek dokümanlar: ids verilmişse onlar, yoksa departmana bağlı olanlar.
+    List<DocumentMetadata> getArchiveEntries(List<Integer> ids, Integer departmentId);
+
+    /// Dokümanları sırayla blob store'dan akıtarak ZIP olarak yazar; bellek kullanımı arşiv boyutundan bağımsızdır.
+    void writeArchive(List<DocumentMetadata> entries, OutputStream out) throws IOException;
+
     DocumentDto createDocument(DocumentDto documentDto);
 
     void deleteDocument(Integer id);
 
     DocumentDto saveDocument(DocumentDto dto) throws IOException;
+
+    /// ZIP içindeki her dosyayı ayrı doküman olarak kaydeder ve dosya başına sonuç (manifest) döner.
+    /// Arşiv istek akışından okunur; ne arşivin tamamı ne de bir dosyanın tamamı belleğe alınır.
+    List<ArchiveEntryResult> importArchive(InputStream archive, Integer uploadedById, List<Integer> departmentIds, String documentType);
+
+    /// İçerik zaten kayıtlıysa (hash ve boyut eşleşirse) dosya gönderilmeden yeni Document oluşturur;
+    /// içerik bilinmiyorsa null döner ve istemci dosyayı /documents/upload ile gönderir.
+    DocumentDto linkDocument(DocumentDto dto);
+
+    /// Dosyayı dokümanın yeni sürümü olarak kaydeder ve güncel içerik yapar; doküman yoksa null döner.
+    /// İçerik parçalara bölünür, önceki sürümlerle ortak parçalar yeniden yazılmaz.
+    /// Aynı anda başka bir sürüm eklenmişse IllegalStateException fırlatır.
+    DocumentVersionDto addDocumentVersion(Integer id, DocumentDto dto) throws IOException;
+
+    /// Sürüm zinciri, eskiden yeniye; doküman yoksa null. Hiç sürüm yüklenmemiş dokümanlarda boştur.
+    List<DocumentVersionDto> getDocumentVersions(Integer id);
+
+    /// Belirli bir sürümün içeriği; parçalar indirme sırasında tek tek açılarak akıtılır.
+    DocumentContent getDocumentVersionContent(Integer id, Integer versionNumber);
 }
@@ -1,16 +1,55 @@
 package group2.intranet.project.services;
 
+import group2.intranet.project.domain.dtos.ArchiveEntryResult;
+import group2.intranet.project.domain.dtos.DocumentContent;
 import group2.intranet.project.domain.dtos.DocumentDto;
+import group2.intranet.project.domain.dtos.DocumentMetadata;
+import group2.intranet.project.domain.dtos.DocumentVersionDto;
 import group2.intranet.project.domain.entities.Document;
+import group2.intranet.project.domain.entities.DocumentBinary;
+import group2.intranet.project.domain.entities.DocumentVersion;
+import group2.intranet.project.domain.entities.StoredBlob;
 import group2.intranet.project.mappers.DocumentMapper;
+import group2.intranet.project.repositories.DocumentBinaryRepository;
 import group2.intranet.project.repositories.DocumentRepository;
+import group2.intranet.project.repositories.DocumentVersionRepository;
 import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.cache.BinaryContentCache;
+import group2.intranet.project.services.processing.DocumentProcessingWorker;
+import group2.intranet.project.services.storage.BlobCodec;
+import group2.intranet.project.services.storage.BlobDescriptor;
+import group2.intranet.project.services.storage.BlobStore;
+import group2.intranet.project.services.storage.CompressionTrial;
+import group2.intranet.project.services.storage.DecodedBlobResource;
+import group2.intranet.project.services.storage.DocumentArchiveImporter;
+import group2.intranet.project.services.storage.DocumentVersionStore;
+import group2.intranet.project.services.storage.FileExtensions;
+import group2.intranet.project.services.storage.StoredBlobRegistry;
 import lombok.extern.java.Log;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 @Transactional
@@ -20,23 +59,62 @@ public class DocumentServiceImpl implements DocumentService{
     private DocumentRepository documentRepository;
     private EmployeeRepository employeeRepository;
     private DocumentMapper documentMapper;
+    private DocumentBinaryRepository documentBinaryRepository;
+    private BlobStore blobStore;
+    private StoredBlobRegistry storedBlobRegistry;
+    private BinaryContentCache contentCache;
+    private DocumentArchiveImporter archiveImporter;
+    private DocumentProcessingWorker processingWorker;
+    private DocumentVersionStore versionStore;
+    private DocumentVersionRepository versionRepository;
 
-    public DocumentServiceImpl(DocumentMapper documentMapper, DocumentRepository documentRepository, EmployeeRepository employeeRepository) {
+    public DocumentServiceImpl(DocumentMapper documentMapper, DocumentRepository documentRepository, EmployeeRepository employeeRepository,
+                               DocumentBinaryRepository documentBinaryRepository, BlobStore blobStore, StoredBlobRegistry storedBlobRegistry,
+                               BinaryContentCache contentCache, DocumentArchiveImporter archiveImporter,
+                               DocumentProcessingWorker processingWorker, DocumentVersionStore versionStore,
+                               DocumentVersionRepository versionRepository) {
         this.documentMapper = documentMapper;
         this.documentRepository = documentRepository;
         this.employeeRepository = employeeRepository;
+        this.documentBinaryRepository = documentBinaryRepository;
+        this.blobStore = blobStore;
+        this.storedBlobRegistry = storedBlobRegistry;
+        this.contentCache = contentCache;
+        this.archiveImporter = archiveImporter;
+        this.processingWorker = processingWorker;
+        this.versionStore = versionStore;
+        this.versionRepository = versionRepository;
     }
 
+    /// Yükleme iki aşamalıdır ve sınıf seviyesindeki transaction burada bilerek kapatılır:
+    /// 1. Multipart içerik 64 KB'lık buffer ile blob store'un staging dosyasına akıtılır, SHA-256 aynı anda hesaplanır.
+    ///    Bu sırada ne dosyanın tamamı heap'e alınır ne de havuzdan bağlantı tutulur.
+    /// 2. Yalnızca metadata insert'i repository'nin kendi kısa transaction'ında çalışır.
+    /// MIME tespiti, sağlama ve sayfa sayısı istekte yapılmaz; doküman PENDING kaydedilir ve worker uyandırılır.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DocumentDto saveDocument(DocumentDto dto){
 
         try {
 
             Document documentEntity = documentMapper.toEntity(dto);
 
-            documentEntity.setFileData(dto.getFile().getBytes()); // PDF dosyasını DB'ye koy..
+            // Dosya DB'ye değil blob store'a akıtılır; satırda yalnızca hash, boyut ve tip tutulur.
+            // Codec dosya başına, ilk 64 KB'lık deneme sıkıştırmasına göre seçilir.
+            BlobDescriptor blob;
+            try (BufferedInputStream content = new BufferedInputStream(dto.getFile().getInputStream(), CompressionTrial.SAMPLE_SIZE)) {
+                blob = blobStore.put(content, CompressionTrial.choose(content));
+            }
+            String contentType = dto.getFile().getContentType() != null
+                    ? dto.getFile().getContentType()
+                    : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+            storedBlobRegistry.register(blob, contentType);
+            documentEntity.setContentHash(blob.hash());
+            documentEntity.setContentSize(blob.size());
+            documentEntity.setContentType(contentType);
 
             Document savedDocument = documentRepository.save(documentEntity);
+            processingWorker.wakeUp();
 
             return documentMapper.toDto(savedDocument);
 
@@ -46,12 +124,42 @@ public class DocumentServiceImpl implements DocumentService{
         }
     }
 
+    /// İki aşamalı yüklemenin ilk adımı: istemcinin gönderdiği SHA-256 ve boyut kayıtlı bir içerikle
+    /// eşleşirse aynı blob'a bağlı yeni bir Document oluşturulur; eşleşmezse null döner.
     @Override
+    public DocumentDto linkDocument(DocumentDto dto) {
+        if (dto.getContentHash() == null || dto.getContentSize() == null) {
+            return null;
+        }
+        StoredBlob stored = storedBlobRegistry.find(dto.getContentHash().toLowerCase(Locale.ROOT));
+        if (stored == null || !stored.getSize().equals(dto.getContentSize()) || !blobStore.exists(stored.getHash())) {
+            return null;
+        }
+
+        Document documentEntity = documentMapper.toEntity(dto);
+        documentEntity.setContentHash(stored.getHash());
+        documentEntity.setContentSize(stored.getSize());
+        documentEntity.setContentType(stored.getContentType());
+
+        Document savedDocument = documentRepository.save(documentEntity);
+        processingWorker.wakeUp();
+        return documentMapper.toDto(savedDocument);
+    }
+
+    /// Listeleme iki sorguyla yapılır: metadata projeksiyonu ve departman bağlantıları.
+    /// Dosya içeriği, yükleyen Employee ve departman entity'leri yüklenmez.
+    @Override
+    @Transactional(readOnly = true)
     public List<DocumentDto> getAllDocuments() {
-        List<Document> docs = documentRepository.findAll();
+        List<DocumentMetadata> docs = documentRepository.findAllMetadata();
+
+        Map<Integer, List<Integer>> departmentIds = new HashMap<>();
+        for (Object[] link : documentRepository.findAllDepartmentLinks()) {
+            departmentIds.computeIfAbsent((Integer) link[0], k -> new ArrayList<>()).add((Integer) link[1]);
+        }
 
         return docs.stream()
-                .map(documentMapper::toDto)
+                .map(doc -> documentMapper.toDto(doc, departmentIds.getOrDefault(doc.id(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
@@ -62,6 +170,238 @@ public class DocumentServiceImpl implements DocumentService{
         return documentMapper.toDto(document);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public DocumentContent getDocumentContent(Integer id) {
+        Document document = documentRepository.findById(id).orElse(null);
+
+        if (document == null) {
+            return null;
+        }
+
+        Resource resource = null;
+        Resource storedResource = null;
+        BlobCodec codec = null;
+        Long size = document.getContentSize();
+        Long storedSize = null;
+        if (document.getCurrentVersion() != null) {
+            // Sürümlü doküman: içerik parçalardan birleştirilir. Sıkıştırma parça başına olduğu için
+            // diskteki temsil tek parça halinde gönderilemez; codec null kalır.
+            resource = cachedVersion(document.getId(), document.getContentHash(), document.getCurrentVersion());
+        } else if (document.getContentHash() != null) {
+            // Sık indirilen dokümanların diskteki baytları off-heap önbellekten gelir; anahtar id + hash.
+            storedResource = cachedBlob(document.getId(), document.getContentHash());
+            if (!storedResource.exists()) {
+                // Satır blob'u gösteriyor ama dosya diskte yok; var olmayan dosyayı akıtmaya çalışıp 500 dönmek yerine
+                // doküman bulunamamış sayılır.
+                log.warning("Blob of document " + id + " is missing from the blob store: " + document.getContentHash());
+                return null;
+            }
+            codec = blobStore.codec(document.getContentHash());
+            resource = codec == BlobCodec.GZIP
+                    ? new DecodedBlobResource(storedResource, codec, size)
+                    : storedResource;
+            storedSize = storedSize(storedResource);
+        } else {
+            // Henüz blob store'a taşınmamış eski kayıt; BYTEA içerik yalnızca burada okunur.
+            byte[] legacy = documentBinaryRepository.findById(id)
+                    .map(DocumentBinary::getFileData)
+                    .orElse(null);
+            if (legacy != null) {
+                resource = new ByteArrayResource(legacy);
+                size = (long) legacy.length;
+            }
+        }
+
+        return DocumentContent.builder()
+                .id(document.getId())
+                .title(document.getTitle())
+                .contentType(document.getContentType())
+                .contentSize(size)
+                .contentHash(document.getContentHash())
+                .uploadedAt(document.getUploadedAt())
+                .resource(resource)
+                .codec(codec)
+                .storedResource(storedResource)
+                .storedSize(storedSize)
+                .build();
+    }
+
+    /// Parçalar blob store'a istek transaction'ı dışında yazılır; sürüm satırları ve dokümanın güncel
+    /// içeriği DocumentVersionStore'un tek kısa transaction'ında güncellenir. Yeni içerik yeniden işlenir.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DocumentVersionDto addDocumentVersion(Integer id, DocumentDto dto) throws IOException {
+        String contentType = dto.getFile().getContentType() != null
+                ? dto.getFile().getContentType()
+                : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        DocumentVersion version;
+        try (InputStream content = dto.getFile().getInputStream()) {
+            version = versionStore.addVersion(id, content, contentType, dto.getUploadedById());
+        }
+        if (version == null) {
+            return null;
+        }
+        processingWorker.wakeUp();
+        return documentMapper.toDto(version);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DocumentVersionDto> getDocumentVersions(Integer id) {
+        if (!documentRepository.existsById(id)) {
+            return null;
+        }
+        return versionRepository.findByDocumentIdOrderByVersionNumberAsc(id).stream()
+                .map(documentMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DocumentContent getDocumentVersionContent(Integer id, Integer versionNumber) {
+        Document document = documentRepository.findById(id).orElse(null);
+        DocumentVersion version = document != null
+                ? versionRepository.findByDocumentIdAndVersionNumber(id, versionNumber).orElse(null)
+                : null;
+        if (version == null) {
+            return null;
+        }
+
+        return DocumentContent.builder()
+                .id(document.getId())
+                .title(document.getTitle())
+                .contentType(version.getContentType())
+                .contentSize(version.getContentSize())
+                .contentHash(version.getContentHash())
+                .uploadedAt(version.getUploadedAt())
+                .resource(versionStore.resource(version))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getDocumentContentHash(Integer id) {
+        return documentRepository.findContentHashById(id).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DocumentMetadata> getArchiveEntries(List<Integer> ids, Integer departmentId) {
+        if (ids != null && !ids.isEmpty()) {
+            return documentRepository.findMetadataByIdIn(ids);
+        }
+        if (departmentId != null) {
+            return documentRepository.findMetadataByDepartmentId(departmentId);
+        }
+        return List.of();
+    }
+
+    /// Arşiv yanıt akışına doğrudan yazılır; her doküman blob store'dan akış olarak okunur, aynı anda
+    /// yalnızca bir dosya açıktır. Yazma uzun sürebileceği için transaction açılmaz ve bağlantı tutulmaz.
+    /// Yükleme sırasında sıkıştırılamaz bulunan içerik ZIP içinde yeniden sıkıştırılmaya çalışılmaz.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeArchive(List<DocumentMetadata> entries, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Set<String> names = new HashSet<>();
+        for (DocumentMetadata entry : entries) {
+            BlobCodec codec = entry.currentVersion() == null && entry.contentHash() != null
+                    ? blobStore.codec(entry.contentHash())
+                    : null;
+            try (InputStream content = openContent(entry, codec)) {
+                if (content == null) {
+                    log.warning("Skipping document without content in archive: " + entry.id());
+                    continue;
+                }
+                ZipEntry zipEntry = new ZipEntry(archiveEntryName(entry, names));
+                if (entry.uploadedAt() != null) {
+                    zipEntry.setTimeLocal(entry.uploadedAt());
+                }
+                zip.setLevel(codec == BlobCodec.IDENTITY ? Deflater.NO_COMPRESSION : Deflater.BEST_SPEED);
+                zip.putNextEntry(zipEntry);
+                content.transferTo(zip);
+                zip.closeEntry();
+            }
+        }
+        // Yanıt akışını container kapatır; burada yalnızca ZIP'in merkezi dizini yazılır.
+        zip.finish();
+        zip.flush();
+    }
+
+    /// Dosyalar okunurken transaction açılmaz; satırlar importer'ın kısa batch transaction'larında yazılır.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ArchiveEntryResult> importArchive(InputStream archive, Integer uploadedById, List<Integer> departmentIds, String documentType) {
+        List<ArchiveEntryResult> results = archiveImporter.importArchive(archive, uploadedById, departmentIds != null ? departmentIds : List.of(), documentType);
+        processingWorker.wakeUp();
+        return results;
+    }
+
+    /// getDocumentContent ile aynı sırayla seçilir: sürümlü doküman parçalardan, diğerleri tek blob'dan,
+    /// taşınmamış eski kayıtlar BYTEA kolonundan okunur. Codec'i bulunamayan (diskte olmayan) blob atlanır.
+    private InputStream openContent(DocumentMetadata entry, BlobCodec codec) throws IOException {
+        if (entry.currentVersion() != null) {
+            DocumentVersion version = versionRepository
+                    .findByDocumentIdAndVersionNumber(entry.id(), entry.currentVersion())
+                    .orElse(null);
+            return version != null ? versionStore.resource(version).getInputStream() : null;
+        }
+        if (entry.contentHash() != null) {
+            return codec != null ? blobStore.open(entry.contentHash()) : null;
+        }
+        return documentBinaryRepository.findById(entry.id())
+                .map(DocumentBinary::getFileData)
+                .map(ByteArrayInputStream::new)
+                .orElse(null);
+    }
+
+    /// Dosya adı doküman başlığından, uzantısı içerik türünden türetilir; yol ayırıcıları temizlenir,
+    /// aynı başlıklı dokümanlar "(2)", "(3)" ile ayrılır.
+    private static String archiveEntryName(DocumentMetadata entry, Set<String> names) {
+        String base = entry.title() != null ? entry.title().replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").strip() : "";
+        if (base.isEmpty() || base.chars().allMatch(c -> c == '.')) {
+            base = "document-" + entry.id();
+        }
+        String extension = FileExtensions.forContentType(entry.contentType());
+        String name = base + extension;
+        for (int n = 2; !names.add(name.toLowerCase(Locale.ROOT)); n++) {
+            name = base + " (" + n + ")" + extension;
+        }
+        return name;
+    }
+
+    private Resource cachedBlob(Integer id, String hash) {
+        try {
+            return contentCache.get(BinaryContentCache.Kind.DOCUMENT, id, hash, () -> blobStore.resource(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /// Parça listesi yalnızca önbellekte yoksa okunur; önbelleğe birleştirilmiş içerik alınır.
+    private Resource cachedVersion(Integer id, String hash, Integer versionNumber) {
+        try {
+            return contentCache.get(BinaryContentCache.Kind.DOCUMENT, id, hash, () -> versionRepository
+                    .findByDocumentIdAndVersionNumber(id, versionNumber)
+                    .map(versionStore::resource)
+                    .orElse(null));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Long storedSize(Resource stored) {
+        if (!stored.exists()) {
+            return null;
+        }
+        try {
+            return stored.contentLength();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot stat blob " + stored.getDescription(), e);
+        }
+    }
+
     @Override
     public DocumentDto createDocument(DocumentDto documentDto) {
         try {
@@ -81,8 +421,11 @@ public class DocumentServiceImpl implements DocumentService{
         }
     }
 
+    /// Blob ve stored_blobs kaydı silinmez: aynı içerik başka dokümanlarca paylaşılıyor olabilir (tekilleştirme, /link).
+    /// Hiçbir dokümanın ya da sürümün kullanmadığı blob'lar DocumentBlobReclaimCommand ile geri kazanılır.
     @Override
     public void deleteDocument(Integer id) {
+        versionStore.deleteVersions(id);
         documentRepository.deleteById(id);
     }
 }
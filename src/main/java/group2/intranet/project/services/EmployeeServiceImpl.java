@@ -5,9 +5,10 @@ import group2.intranet.project.domain.dtos.EmployeeDTO;
 import group2.intranet.project.domain.entities.Employee;
 import group2.intranet.project.mappers.EmployeeMapper;
 import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.migration.PasswordMigrationJob;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -39,16 +40,13 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordMigrationJob passwordMigrationJob;
 
+    /// Uzun tek bir transaction açılmaz; iş her chunk'ı kendi kısa transaction'ında commit eder.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void migratePasswords() {
-        List<Employee> employees = repo.findAll();
-        for (Employee emp : employees) {
-            String hashed = passwordEncoder.encode(emp.getPasswordHash());
-            emp.setPasswordHash(hashed);
-            repo.save(emp);
-        }
+        passwordMigrationJob.run();
     }
 
 }
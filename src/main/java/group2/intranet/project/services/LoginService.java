@@ -0,0 +1,7 @@
+package group2.intranet.project.services;
+
+import group2.intranet.project.domain.dtos.LoginResponseDto;
+
+public interface LoginService {
+    LoginResponseDto login(String email, String password);
+}
@@ -0,0 +1,48 @@
+package group2.intranet.project.services;
+
+import group2.intranet.project.domain.dtos.LoginResponseDto;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.services.jwt.JwtService;
+import group2.intranet.project.services.login.LoginHashingExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+/// Login akışı: kimlik doğrulama, token üretimi ve yanıtın oluşturulması tek bir yüklenmiş
+/// Employee üzerinden yapılır.
+///
+/// DaoAuthenticationProvider çalışanı zaten yüklediği için sonuçtaki principal tekrar kullanılır,
+/// veritabanına ikinci kez gidilmez.
+@Service
+public class LoginServiceImpl implements LoginService {
+
+    private final AuthenticationManager authenticationManager;
+    private final LoginHashingExecutor loginHashingExecutor;
+    private final JwtService jwtService;
+
+    public LoginServiceImpl(AuthenticationManager authenticationManager,
+                            LoginHashingExecutor loginHashingExecutor,
+                            JwtService jwtService) {
+        this.authenticationManager = authenticationManager;
+        this.loginHashingExecutor = loginHashingExecutor;
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    public LoginResponseDto login(String email, String password) {
+        // BCrypt kontrolü Tomcat thread'inde değil, sınırlı hashing havuzunda çalışır.
+        Authentication auth = loginHashingExecutor.execute(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(email, password)
+        ));
+
+        if (!auth.isAuthenticated() || !(auth.getPrincipal() instanceof Employee employee)) {
+            throw new BadCredentialsException("Authentication failed");
+        }
+
+        String token = jwtService.generateToken(employee, Long.valueOf(employee.getId())); //Id'yi de token'a ekledik
+
+        return new LoginResponseDto(token, employee.getId(), employee.getEmail(), employee.getRole(), employee.getFirstName(), employee.getLastName());
+    }
+}
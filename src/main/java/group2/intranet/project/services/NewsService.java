@@ -1,6 +1,7 @@
 package group2.intranet.project.services;
 
 import group2.intranet.project.domain.dtos.NewsDTO;
+import group2.intranet.project.domain.dtos.NewsImageContent;
 
 import java.util.List;
 
@@ -10,6 +11,12 @@ public interface NewsService {
 
     NewsDTO getNewsById(Integer id);
 
+    /// Kapak görselinin hash'i (ETag); haber ya da görsel yoksa null.
+    String getNewsImageHash(Integer id);
+
+    /// Kapak görseli ve hash'i; haber yoksa null.
+    NewsImageContent getNewsImage(Integer id);
+
     List<NewsDTO> getNewsByType(String type);
 
     NewsDTO saveNews(NewsDTO newsDTO);
@@ -1,16 +1,22 @@
 package group2.intranet.project.services;
 
 import group2.intranet.project.domain.dtos.NewsDTO;
+import group2.intranet.project.domain.dtos.NewsImageContent;
 import group2.intranet.project.domain.entities.Employee;
 import group2.intranet.project.domain.entities.News;
 import group2.intranet.project.mappers.NewsMapper;
 import group2.intranet.project.repositories.DepartmentRepository;
 import group2.intranet.project.repositories.EmployeeRepository;
 import group2.intranet.project.repositories.NewsRepository;
+import group2.intranet.project.services.cache.BinaryContentCache;
 import lombok.extern.java.Log;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,12 +29,15 @@ public class NewsServiceImpl implements NewsService {
     private NewsRepository newsRepository;
     private EmployeeRepository employeeRepository;
     private DepartmentRepository departmentRepository;
+    private BinaryContentCache contentCache;
 
-    public NewsServiceImpl(NewsMapper newsMapper, NewsRepository newsRepository, EmployeeRepository employeeRepository, DepartmentRepository departmentRepository) {
+    public NewsServiceImpl(NewsMapper newsMapper, NewsRepository newsRepository, EmployeeRepository employeeRepository, DepartmentRepository departmentRepository,
+                           BinaryContentCache contentCache) {
         this.newsMapper = newsMapper;
         this.newsRepository = newsRepository;
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
+        this.contentCache = contentCache;
     }
 
     @Override
@@ -37,7 +46,7 @@ public class NewsServiceImpl implements NewsService {
         List<News> newsList = newsRepository.findAll();
 
         return newsList.stream()
-                .map(newsMapper::toDto)
+                .map(newsMapper::toListDto)
                 .collect(Collectors.toList());
 
     }
@@ -54,6 +63,47 @@ public class NewsServiceImpl implements NewsService {
         return newsMapper.toDto(newsById);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getNewsImageHash(Integer id) {
+        return newsRepository.findCoverImageHashById(id).orElse(null);
+    }
+
+    /// Önbellekte varsa görsel için tek sorgu (hash) çalışır; yoksa BYTEA kolonu okunup off-heap önbelleğe alınır.
+    /// Hash'i henüz doldurulmamış eski kayıtlar (bkz. NewsImageHashBackfill) önbelleğe alınmaz, hash görselden hesaplanır.
+    /// İki sorgu arasında görsel güncellenirse okunan baytların hash'i tutmaz; yeni görsel eski hash anahtarıyla
+    /// önbelleğe alınmaz, kendi hash'iyle önbelleksiz döner.
+    @Override
+    @Transactional(readOnly = true)
+    public NewsImageContent getNewsImage(Integer id) {
+        String storedHash = newsRepository.findCoverImageHashById(id).orElse(null);
+        byte[][] changed = new byte[1][];
+        Resource image;
+        try {
+            image = contentCache.get(BinaryContentCache.Kind.NEWS_IMAGE, id, storedHash, () -> {
+                byte[] bytes = newsRepository.findCoverImageById(id).orElse(null);
+                if (bytes != null && storedHash != null && !storedHash.equals(News.sha256Hex(bytes))) {
+                    changed[0] = bytes;
+                    return null;
+                }
+                return bytes != null ? new ByteArrayResource(bytes) : null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (changed[0] != null) {
+            return new NewsImageContent(id, News.sha256Hex(changed[0]), new ByteArrayResource(changed[0]));
+        }
+        String hash = storedHash;
+        if (image == null) {
+            return newsRepository.existsById(id) ? new NewsImageContent(id, null, null) : null;
+        }
+        if (hash == null && image instanceof ByteArrayResource bytes) {
+            hash = News.sha256Hex(bytes.getByteArray());
+        }
+        return new NewsImageContent(id, hash, image);
+    }
 
     @Override
     public List<NewsDTO> getNewsByType(String type) {
@@ -67,7 +117,7 @@ public class NewsServiceImpl implements NewsService {
         }
 
         return newsListByType.stream()
-                .map(newsMapper::toDto)
+                .map(newsMapper::toListDto)
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,13 @@
+package group2.intranet.project.services.accesslog;
+
+/// Tamamlanmış tek istek; istek thread'inde yakalanır, writer tarafından sonra biçimlendirilir.
+/// Yakalama az nesne ayırsın diye yalnızca primitive'ler ve maskelenmiş string'ler tutulur.
+public record AccessLogEvent(
+        long timestampMillis,
+        String method,
+        String path,
+        int status,
+        long durationNanos,
+        String remoteAddress
+) {
+}
@@ -0,0 +1,78 @@
+package group2.intranet.project.services.accesslog;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/// Her isteğin süresini ölçer, örneklenmiş ve maskelenmiş AccessLogEvent'i asenkron writer'a verir.
+/// Başlıklar (Authorization dahil) hiç yakalanmaz.
+///
+/// Asenkron yanıtlarda (ör. akışlı ZIP arşivi) ilk dispatch döndüğünde yanıt henüz bitmemiştir; kayıt, gerçek
+/// status ve toplam süreyle AsyncListener.onComplete'te yazılır. Sonraki async dispatch'ler bu filtreden geçmez.
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogSampler sampler;
+    private final AccessLogWriter writer;
+
+    public AccessLogFilter(AccessLogSampler sampler, AccessLogWriter writer) {
+        this.sampler = sampler;
+        this.writer = writer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long started = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response.getStatus(), started);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, status, started);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long started) {
+        String uri = request.getRequestURI();
+        if (sampler.shouldLog(uri, status)) {
+            writer.submit(new AccessLogEvent(
+                    System.currentTimeMillis(),
+                    request.getMethod(),
+                    AccessLogRedactor.redactPath(uri, request.getQueryString()),
+                    status,
+                    System.nanoTime() - started,
+                    request.getRemoteAddr()
+            ));
+        }
+    }
+}
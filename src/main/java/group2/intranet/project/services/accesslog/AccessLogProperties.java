@@ -0,0 +1,31 @@
+package group2.intranet.project.services.accesslog;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    /// Halka tampon slot sayısı; ikinin kuvvetine yuvarlanır. Fazlası düşürülür.
+    private int bufferCapacity = 8192;
+
+    /// Tampon boşken writer'ın bekleme süresi.
+    private Duration idleInterval = Duration.ofMillis(20);
+
+    private double defaultSampleRate = 1.0;
+
+    /// Yol kalıbı -> örnekleme oranı (0.0 - 1.0); ilk eşleşen geçerlidir.
+    private Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    /// Rota seyreltilmiş olsa da 400 ve üzeri yanıtlar loglanır.
+    private boolean alwaysLogErrors = true;
+}
@@ -0,0 +1,29 @@
+package group2.intranet.project.services.accesslog;
+
+import java.util.regex.Pattern;
+
+/// Erişim loguna giren her şeyden kimlik bilgilerini temizler: yol ya da sorgudaki JWT biçimli değerler
+/// ve bilinen kimlik bilgisi parametrelerinin değerleri.
+public final class AccessLogRedactor {
+
+    static final String REDACTED = "[REDACTED]";
+
+    private static final Pattern JWT = Pattern.compile("eyJ[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]*");
+    private static final Pattern CREDENTIAL_PARAMETER = Pattern.compile(
+            "(?i)((?:^|[?&])(?:token|access_token|id_token|password|signature|sig)=)[^&]*");
+
+    private AccessLogRedactor() {
+    }
+
+    public static String redactPath(String uri, String queryString) {
+        String path = uri.indexOf("eyJ") >= 0 ? JWT.matcher(uri).replaceAll(REDACTED) : uri;
+        if (queryString == null || queryString.isEmpty()) {
+            return path;
+        }
+        String query = CREDENTIAL_PARAMETER.matcher(queryString).replaceAll("$1" + REDACTED);
+        if (query.indexOf("eyJ") >= 0) {
+            query = JWT.matcher(query).replaceAll(REDACTED);
+        }
+        return path + '?' + query;
+    }
+}
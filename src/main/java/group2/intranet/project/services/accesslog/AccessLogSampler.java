@@ -0,0 +1,51 @@
+package group2.intranet.project.services.accesslog;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/// Rota başına örnekleme: yolu eşleyen ilk kalıp oranı belirler, eşleşmeyenler varsayılan oranı kullanır.
+/// Hata yanıtları orandan bağımsız loglanabilir.
+public class AccessLogSampler {
+
+    private final List<Rule> rules;
+    private final double defaultRate;
+    private final boolean alwaysLogErrors;
+
+    public AccessLogSampler(Map<String, Double> sampleRates, double defaultRate, boolean alwaysLogErrors) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.rules = new ArrayList<>();
+        sampleRates.forEach((pattern, rate) -> rules.add(new Rule(parser.parse(pattern), rate)));
+        this.defaultRate = defaultRate;
+        this.alwaysLogErrors = alwaysLogErrors;
+    }
+
+    public boolean shouldLog(String path, int status) {
+        if (alwaysLogErrors && status >= 400) {
+            return true;
+        }
+        double rate = rateFor(path);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    double rateFor(String path) {
+        if (rules.isEmpty()) {
+            return defaultRate;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Rule rule : rules) {
+            if (rule.pattern().matches(container)) {
+                return rule.rate();
+            }
+        }
+        return defaultRate;
+    }
+
+    private record Rule(PathPattern pattern, double rate) {
+    }
+}
@@ -0,0 +1,119 @@
+package group2.intranet.project.services.accesslog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/// Halka tamponu boşaltıp her olay için access logger'ına bir key=value satırı yazan arka plan thread'i.
+/// İstek thread'leri yalnızca kuyruğa ekler; biçimlendirme ve I/O burada yapılır.
+/// Tampon doluyken yeni olaylar düşürülüp sayılır; writer son rapordan beri düşenleri yazar, böylece
+/// ani yük logun kendisinde görünür.
+public class AccessLogWriter implements MeterBinder {
+
+    private static final Logger ACCESS_LOG = Logger.getLogger("access");
+
+    private final AccessLogRingBuffer buffer;
+    private final long idleParkNanos;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+    private volatile boolean running;
+    private Thread thread;
+
+    public AccessLogWriter(AccessLogRingBuffer buffer, Duration idleInterval) {
+        this.buffer = buffer;
+        this.idleParkNanos = idleInterval.toNanos();
+    }
+
+    /// İstek thread'lerinden çağrılır; hiç beklemez.
+    public void submit(AccessLogEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    private void run() {
+        StringBuilder line = new StringBuilder(192);
+        while (running) {
+            if (drain(line) == 0) {
+                LockSupport.parkNanos(this, idleParkNanos);
+            }
+        }
+        drain(line);
+    }
+
+    private int drain(StringBuilder line) {
+        int count = 0;
+        AccessLogEvent event;
+        while ((event = buffer.poll()) != null) {
+            line.setLength(0);
+            ACCESS_LOG.info(format(event, line));
+            written.increment();
+            count++;
+        }
+        reportDrops();
+        return count;
+    }
+
+    private void reportDrops() {
+        long total = dropped.sum();
+        if (total != droppedReported) {
+            ACCESS_LOG.warning("access log buffer full, dropped=" + (total - droppedReported));
+            droppedReported = total;
+        }
+    }
+
+    static String format(AccessLogEvent event, StringBuilder line) {
+        return line.append("ts=").append(Instant.ofEpochMilli(event.timestampMillis()))
+                .append(" method=").append(event.method())
+                .append(" path=").append(event.path())
+                .append(" status=").append(event.status())
+                .append(" duration_us=").append(TimeUnit.NANOSECONDS.toMicros(event.durationNanos()))
+                .append(" remote=").append(event.remoteAddress())
+                .toString();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("access.log.written", written, LongAdder::sum).register(registry);
+        FunctionCounter.builder("access.log.dropped", dropped, LongAdder::sum)
+                .description("Access log events dropped because the ring buffer was full")
+                .register(registry);
+        Gauge.builder("access.log.buffer.depth", buffer, AccessLogRingBuffer::size).register(registry);
+    }
+}
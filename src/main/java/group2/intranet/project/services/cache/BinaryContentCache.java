@@ -0,0 +1,126 @@
+package group2.intranet.project.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/// Sık okunan ikili içeriğin (doküman blob'ları, haber kapak görselleri) direct, off-heap buffer'larda tutulduğu,
+/// bayt bütçeli önbellek.
+///
+/// Anahtar tür, varlık id'si ve içerik sürümüdür (içeriğin SHA-256'sı); değişen görsel ya da yeniden yüklenen doküman
+/// farklı anahtardır, eski baytlar hiç sunulmaz, eski sürümler kendiliğinden düşer. Atma, Caffeine'in boyut ağırlıklı
+/// W-TinyLFU'sudur: sıklık filtresi sayesinde tek seferlik indirme dalgası el kitabını önbellekten atmaz.
+/// maxEntryBytes'tan büyük içerik önbelleğe alınmaz, yüklenen resource'tan sunulur.
+///
+/// Buffer'lar açıkça serbest bırakılmaz: atılan buffer, ondan akan yanıtlar bitip erişilemez olunca bırakılır.
+/// Bütçe bu yüzden önbellekte duran baytları sınırlar; -XX:MaxDirectMemorySize bunun üstünde pay bırakmalıdır.
+/// İsabet/ıskalama sayıları cache.*{cache=binary-content}, ayrıca aynı etiketle cache.hit.ratio ve
+/// cache.resident.bytes olarak yayınlanır.
+@Component
+public class BinaryContentCache implements MeterBinder {
+
+    public enum Kind { DOCUMENT, NEWS_IMAGE }
+
+    public record Key(Kind kind, Integer id, String version) {
+    }
+
+    /// Iskalamada güncel içeriği yükler; içerik yoksa null dönebilir.
+    @FunctionalInterface
+    public interface Loader {
+        Resource load() throws IOException;
+    }
+
+    private static final String NAME = "binary-content";
+
+    private final Cache<Key, ByteBuffer> cache;
+    private final long maxEntryBytes;
+
+    public BinaryContentCache(@Value("${storage.content-cache.max-size:64MB}") DataSize maxSize,
+                              @Value("${storage.content-cache.max-entry-size:8MB}") DataSize maxEntrySize) {
+        this.maxEntryBytes = Math.min(maxEntrySize.toBytes(), Integer.MAX_VALUE);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<Key, ByteBuffer>weigher((key, buffer) -> buffer.capacity())
+                .recordStats()
+                .build();
+    }
+
+    /// Verilen sürümün içeriğini önbellekten döner; ıskalamada yükleyip önbelleğe alır. Aynı anahtardaki eş zamanlı
+    /// ıskalamalar tek yükleme yapar. Sürüm null ise ya da içerik yok veya çok büyükse yükleyicinin resource'u
+    /// önbelleğe alınmadan döner.
+    public Resource get(Kind kind, Integer id, String version, Loader loader) throws IOException {
+        if (version == null) {
+            return loader.load();
+        }
+        Resource[] uncached = new Resource[1];
+        ByteBuffer buffer;
+        try {
+            buffer = cache.get(new Key(kind, id, version), key -> {
+                try {
+                    Resource loaded = loader.load();
+                    if (loaded == null || !loaded.exists() || loaded.contentLength() > maxEntryBytes) {
+                        uncached[0] = loaded;
+                        return null;
+                    }
+                    return read(loaded);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return buffer != null ? new ByteBufferResource(buffer) : uncached[0];
+    }
+
+    public long residentBytes() {
+        cache.cleanUp();
+        return cache.policy().eviction().orElseThrow().weightedSize().orElse(0L);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", NAME)
+                .description("Fraction of lookups answered from the cache")
+                .register(registry);
+        Gauge.builder("cache.resident.bytes", this, BinaryContentCache::residentBytes)
+                .tag("cache", NAME)
+                .description("Off-heap bytes held by cached entries")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /// İçeriği doğrudan direct buffer'a kopyalar; dosya tabanlı resource'lar kanalları üzerinden okunur.
+    private static ByteBuffer read(Resource resource) throws IOException {
+        int size = (int) resource.contentLength();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        try (ReadableByteChannel channel = resource.readableChannel()) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Content ended after " + buffer.position() + " of " + size + " bytes: "
+                            + resource.getDescription());
+                }
+            }
+        }
+        return buffer.flip();
+    }
+}
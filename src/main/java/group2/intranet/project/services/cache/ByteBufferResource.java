@@ -0,0 +1,124 @@
+package group2.intranet.project.services.cache;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/// Önbellekteki buffer'ın salt okunur Spring Resource görünümü.
+///
+/// Her akış ve kanal kendi duplicate()'i üzerinde çalışır; istenen sayıda yanıt aynı off-heap buffer'ı aynı anda
+/// okuyabilir. Spring MVC resource gövdesini transferTo ile yazar; burada içerik heap'e alınmadan tek küçük parça
+/// üzerinden kopyalanacak şekilde ezilir. Range istekleri skip ile yalnızca konumu ilerletir.
+public class ByteBufferResource extends AbstractResource {
+
+    private static final int TRANSFER_CHUNK = 16 * 1024;
+
+    private final ByteBuffer buffer;
+
+    public ByteBufferResource(ByteBuffer buffer) {
+        this.buffer = buffer.asReadOnlyBuffer();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public boolean isReadable() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new BufferInputStream(buffer.duplicate());
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() {
+        return Channels.newChannel(getInputStream());
+    }
+
+    @Override
+    public String getDescription() {
+        return "cached buffer [" + buffer.remaining() + " bytes]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            long transferred = buffer.remaining();
+            if (out instanceof WritableByteChannel channel) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                return transferred;
+            }
+            byte[] chunk = new byte[(int) Math.min(TRANSFER_CHUNK, transferred)];
+            while (buffer.hasRemaining()) {
+                int n = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, n);
+                out.write(chunk, 0, n);
+            }
+            return transferred;
+        }
+    }
+}
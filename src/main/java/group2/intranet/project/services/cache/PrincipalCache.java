@@ -0,0 +1,87 @@
+package group2.intranet.project.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.services.jwt.JwtPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/// JWT filtresinin EmployeeRepository.findByEmail çağrısının önündeki, e-posta anahtarlı, boyutu ve süresi
+/// sınırlı kimlik önbelleği. Entity yerine değişmez bir JwtPrincipal anlık görüntüsü tutulur; istek thread'leri
+/// arasında paylaşılan nesnede lazy ilişki ya da setter yoktur. Employee JPA ile güncellenince ya da silinince kayıt PrincipalCacheInvalidator
+/// tarafından atılır; JPA dışındaki değişikliklerde eskimeyi TTL sınırlar.
+/// İsabet/ıskalama/atma sayıları cache.*{cache=principals} metrikleriyle yayınlanır.
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final Cache<String, JwtPrincipal> cache;
+
+    /// id → önbellekteki e-posta; e-postası değişen çalışanın eski anahtarı taramadan bulunur.
+    private final Map<Integer, String> emailsById = new ConcurrentHashMap<>();
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((String email, JwtPrincipal principal, RemovalCause cause) ->
+                        emailsById.remove(principal.getId(), email))
+                .recordStats()
+                .build();
+    }
+
+    /// Önbellekteki kimliği döner, yoksa yükler; null sonuç önbelleğe alınmaz.
+    public JwtPrincipal get(String email, Function<String, Employee> loader) {
+        return cache.get(email, key -> {
+            Employee employee = loader.apply(key);
+            if (employee == null) {
+                return null;
+            }
+            emailsById.put(employee.getId(), key);
+            return new JwtPrincipal(employee.getId(), employee.getEmail(), employee.getRole());
+        });
+    }
+
+    public void evict(Employee employee) {
+        if (employee.getEmail() != null) {
+            cache.invalidate(employee.getEmail());
+        }
+        // E-posta da değişmiş olabilir; eski anahtar altındaki kayıt da atılır.
+        if (employee.getId() != null) {
+            String cachedEmail = emailsById.remove(employee.getId());
+            if (cachedEmail != null) {
+                cache.invalidate(cachedEmail);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        emailsById.clear();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principals");
+    }
+}
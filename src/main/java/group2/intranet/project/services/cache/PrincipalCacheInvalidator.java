@@ -0,0 +1,41 @@
+package group2.intranet.project.services.cache;
+
+import group2.intranet.project.domain.entities.Employee;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/// PrincipalCache'i employees tablosuyla tutarlı tutan JPA entity listener'ı; rol, e-posta ya da şifre
+/// değişince önbellekteki kimlik geçersiz olur.
+///
+/// Hibernate tarafından Spring bean container'ı üzerinden oluşturulur. Önbellek tembel alınır, çünkü
+/// dilim testleri (ör. @DataJpaTest) onsuz çalışır.
+public class PrincipalCacheInvalidator {
+
+    @Autowired
+    private ObjectProvider<PrincipalCache> principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onEmployeeChanged(Employee employee) {
+        if (principalCache == null) {
+            return;
+        }
+        principalCache.ifAvailable(cache -> {
+            cache.evict(employee);
+
+            // Flush ile commit arasında bir istek eski satırı yeniden yükleyebilir; değişiklik görünür olunca tekrar atılır.
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        cache.evict(employee);
+                    }
+                });
+            }
+        });
+    }
+}
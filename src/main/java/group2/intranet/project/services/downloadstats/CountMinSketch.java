@@ -0,0 +1,59 @@
+package group2.intranet.project.services.downloadstats;
+
+/// Conservative update'li, long anahtarlar üzerinde Count-Min Sketch.
+///
+/// depth satır, her satırda width sayaç; anahtar her satırda bir sayacı artırır, tahmini bunların en küçüğüdür.
+/// Tahmin hiç eksik saymaz ve 1 - e^-depth olasılıkla toplamın en fazla e / width kadarı fazla sayar. Conservative
+/// update yalnızca yeni tahminin altındaki sayaçları yükseltir; çakışmalar birbirini şişirmez. Thread-safe değildir;
+/// DownloadTracker korur.
+final class CountMinSketch {
+
+    private final long[] counters;
+    private final int depth;
+    private final int mask;
+    private final int[] indexes;
+
+    CountMinSketch(int width, int depth) {
+        int columns = width <= 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = Math.max(1, depth);
+        this.mask = columns - 1;
+        this.counters = new long[this.depth * columns];
+        this.indexes = new int[this.depth];
+    }
+
+    /// increment'i key'e ekler ve yeni tahminini döner.
+    long add(long key, long increment) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(key, row);
+            indexes[row] = index;
+            estimate = Math.min(estimate, counters[index]);
+        }
+        long updated = estimate + increment;
+        for (int row = 0; row < depth; row++) {
+            if (counters[indexes[row]] < updated) {
+                counters[indexes[row]] = updated;
+            }
+        }
+        return updated;
+    }
+
+    long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(key, row)]);
+        }
+        return estimate;
+    }
+
+    /// Her satır için anahtar farklı bir sabitle SplitMix64'ten geçirilir; satırlar birbirinden bağımsız dağılır.
+    private int index(long key, int row) {
+        long h = key + (row + 1) * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return row * (mask + 1) + (int) (h & mask);
+    }
+}
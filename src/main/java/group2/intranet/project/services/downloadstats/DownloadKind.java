@@ -0,0 +1,7 @@
+package group2.intranet.project.services.downloadstats;
+
+/// İndirilen şey; entity id ile birlikte izlenen anahtarı oluşturur.
+public enum DownloadKind {
+    DOCUMENT,
+    NEWS_IMAGE
+}
@@ -0,0 +1,107 @@
+package group2.intranet.project.services.downloadstats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/// İndirme kayıtlarının pencereye işlenmeden önce beklediği kilitsiz, şeritli tampon.
+///
+/// Her şerit Vyukov'un dizi tabanlı MPMC halkasıdır (AccessLogRingBuffer ile aynı tasarım) ve anahtarla kayıt zamanını
+/// tutar; thread'ler kimliklerine göre farklı şeritlere dağılır. offer hiç beklemez: şerit doluysa false döner ve
+/// DownloadTracker tamponu kilit altında boşaltır.
+final class DownloadRecordBuffer {
+
+    interface Sink {
+        void accept(long key, long millis);
+    }
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    DownloadRecordBuffer(int stripeCount, int stripeCapacity) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        int capacity = Integer.highestOneBit(Math.max(1, stripeCapacity - 1)) << 1;
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    boolean offer(long key, long millis) {
+        long probe = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (probe >>> 32) & stripeMask].offer(key, millis);
+    }
+
+    /// Tüm şeritlerdeki kayıtları sink'e verir; aynı şeritten gelenlerin sırası korunur.
+    int drain(Sink sink) {
+        int drained = 0;
+        for (Stripe stripe : stripes) {
+            drained += stripe.drain(sink);
+        }
+        return drained;
+    }
+
+    private static final class Stripe {
+
+        private final int mask;
+        private final AtomicLongArray keys;
+        private final AtomicLongArray times;
+        private final AtomicLongArray sequences;
+        private final AtomicLong enqueuePosition = new AtomicLong();
+        private final AtomicLong dequeuePosition = new AtomicLong();
+
+        Stripe(int capacity) {
+            this.mask = capacity - 1;
+            this.keys = new AtomicLongArray(capacity);
+            this.times = new AtomicLongArray(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(long key, long millis) {
+            long position = enqueuePosition.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (enqueuePosition.compareAndSet(position, position + 1)) {
+                        keys.lazySet(index, key);
+                        times.lazySet(index, millis);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = enqueuePosition.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = enqueuePosition.get();
+                }
+            }
+        }
+
+        int drain(Sink sink) {
+            int drained = 0;
+            long position = dequeuePosition.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - (position + 1);
+                if (difference == 0) {
+                    if (dequeuePosition.compareAndSet(position, position + 1)) {
+                        long key = keys.get(index);
+                        long millis = times.get(index);
+                        sequences.set(index, position + mask + 1);
+                        sink.accept(key, millis);
+                        drained++;
+                    }
+                    position = dequeuePosition.get();
+                } else if (difference < 0) {
+                    return drained;
+                } else {
+                    position = dequeuePosition.get();
+                }
+            }
+        }
+    }
+}
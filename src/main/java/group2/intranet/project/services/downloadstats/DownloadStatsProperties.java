@@ -0,0 +1,39 @@
+package group2.intranet.project.services.downloadstats;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "download-stats")
+public class DownloadStatsProperties {
+
+    private boolean enabled = true;
+
+    /// Tumbling pencerenin uzunluğu; pencereler epoch'a hizalıdır, örneğin tam saatler.
+    private Duration window = Duration.ofHours(1);
+
+    /// Admin endpoint'i için bellekte tutulan kapanmış pencereler (yalnızca en üst öğeler).
+    private int retainedWindows = 24;
+
+    /// Açık pencerenin Space-Saving sayaçları; indirmelerin 1/capacity'sinden fazlasını alan her öğe izlenir.
+    private int capacity = 1000;
+
+    /// Satır başına Count-Min Sketch sayacı (ikinin kuvvetine yuvarlanır).
+    private int sketchWidth = 8192;
+
+    /// Count-Min Sketch satır sayısı.
+    private int sketchDepth = 4;
+
+    /// Kayıt tamponunun şerit başına kapasitesi; şerit dolunca kaydeden thread tamponu kilit altında boşaltır.
+    private int bufferSize = 256;
+
+    /// Pencere kapandıktan sonra tutulan ve her checkpoint'te yazılan pencere başına öğe sayısı.
+    private int checkpointTop = 100;
+
+    /// Bundan eski checkpoint satırları silinir.
+    private Duration history = Duration.ofDays(90);
+}
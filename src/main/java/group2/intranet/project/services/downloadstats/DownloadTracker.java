@@ -0,0 +1,254 @@
+package group2.intranet.project.services.downloadstats;
+
+import group2.intranet.project.domain.dtos.DownloadWindowStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/// En çok indirilen dokümanları ve haber görsellerini sınırlı bellekte, indirme başına veritabanı yazmadan izler.
+///
+/// İndirmeler download-stats.window uzunluğundaki tumbling pencerelerde sayılır. Açık pencere capacity sayaçlı bir
+/// SpaceSaving özeti ve bir CountMinSketch tutar; kapanmış pencereler yalnızca checkpoint-top öğelerini saklar ve en
+/// fazla retained-windows kadarı tutulur. Bellek doküman ya da indirme sayısıyla büyümez. Kayıt kilit almaz: anahtar
+/// ve zaman DownloadRecordBuffer'a yazılır, pencereler okuma, checkpoint, periyodik drain ya da şerit dolunca tek kilit
+/// altında toplu güncellenir.
+///
+/// Periyodik checkpoint son checkpoint'ten beri değişen her pencerenin en üst öğelerini download_count_checkpoints
+/// tablosuna yazar (o pencerenin satırlarını değiştirerek) ve history'den eski satırları siler. Açılışta tutulan
+/// pencereler tablodan geri yüklenir; yeniden başlatma en fazla bir checkpoint aralığı kaybettirir. Sayımlar
+/// instance başınadır: birden çok instance'ta her biri pencerenin satırlarını kendi sayımlarıyla ezer.
+@Log
+public class DownloadTracker {
+
+    private static final String SELECT_RETAINED =
+            "select window_start, window_end, kind, item_id, downloads, guaranteed_downloads, window_total "
+                    + "from download_count_checkpoints where window_start >= :since order by window_start desc, downloads desc";
+    private static final String DELETE_WINDOW = "delete from download_count_checkpoints where window_start = :windowStart";
+    private static final String INSERT_ITEM =
+            "insert into download_count_checkpoints (window_start, window_end, kind, item_id, downloads, guaranteed_downloads, window_total, checkpointed_at) "
+                    + "values (:windowStart, :windowEnd, :kind, :itemId, :downloads, :guaranteedDownloads, :windowTotal, :checkpointedAt)";
+    private static final String DELETE_BEFORE = "delete from download_count_checkpoints where window_start < :before";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final DownloadStatsProperties properties;
+    private final long windowMillis;
+
+    private final DownloadRecordBuffer buffer;
+
+    // Tümü this ile korunur; en yeni kapanmış pencere önde.
+    private DownloadWindow current;
+    private final Deque<DownloadWindow> closed = new ArrayDeque<>();
+
+    public DownloadTracker(NamedParameterJdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           DownloadStatsProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.windowMillis = properties.getWindow().toMillis();
+        this.buffer = new DownloadRecordBuffer(4 * Runtime.getRuntime().availableProcessors(), properties.getBufferSize());
+    }
+
+    public void record(DownloadKind kind, int id) {
+        record(kind, id, System.currentTimeMillis());
+    }
+
+    public void record(DownloadKind kind, int id, long nowMillis) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long key = DownloadWindow.key(kind, id);
+        if (!buffer.offer(key, nowMillis)) {
+            synchronized (this) {
+                drain();
+                window(nowMillis).record(key);
+            }
+        }
+    }
+
+    /// Tampondaki kayıtları pencerelere işler; pencere sınırında bekleyen kayıtlar kendi zamanlarının penceresine gider.
+    @Scheduled(fixedDelayString = "${download-stats.drain-interval:1s}")
+    public synchronized void drain() {
+        buffer.drain((key, millis) -> window(millis).record(key));
+    }
+
+    /// Açık pencerenin ve en fazla windows - 1 kapanmış pencerenin, en yeniden başlayarak en üst limit öğesi.
+    public List<DownloadWindowStats> top(int limit, int windows) {
+        return top(limit, windows, System.currentTimeMillis());
+    }
+
+    public synchronized List<DownloadWindowStats> top(int limit, int windows, long nowMillis) {
+        drain();
+        List<DownloadWindowStats> stats = new ArrayList<>();
+        stats.add(window(nowMillis).stats(limit));
+        for (DownloadWindow window : closed) {
+            if (stats.size() >= windows) {
+                break;
+            }
+            stats.add(window.stats(limit));
+        }
+        return stats;
+    }
+
+    /// Son checkpoint'inden beri sayımları değişen her pencereyi yazar ve eski satırları temizler.
+    @Scheduled(fixedDelayString = "${download-stats.checkpoint-interval:5m}",
+               initialDelayString = "${download-stats.checkpoint-interval:5m}")
+    public void checkpoint() {
+        checkpoint(System.currentTimeMillis());
+    }
+
+    public void checkpoint(long nowMillis) {
+        List<Snapshot> snapshots = new ArrayList<>();
+        synchronized (this) {
+            drain();
+            window(nowMillis);
+            collect(current, snapshots);
+            closed.forEach(window -> collect(window, snapshots));
+        }
+
+        Timestamp checkpointedAt = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp purgeBefore = Timestamp.valueOf(DownloadWindow.time(nowMillis - properties.getHistory().toMillis()));
+        try {
+            transaction.executeWithoutResult(status -> {
+                for (Snapshot snapshot : snapshots) {
+                    write(snapshot, checkpointedAt);
+                }
+                jdbcTemplate.update(DELETE_BEFORE, Map.of("before", purgeBefore));
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // Sayaçlar bellekte kalır; bir sonraki checkpoint aynı pencereleri yeniden yazar.
+            log.warning("Download stats checkpoint failed: " + e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            for (Snapshot snapshot : snapshots) {
+                snapshot.window().checkpointedTotal = snapshot.total();
+            }
+        }
+        log.fine("Download stats checkpointed: " + snapshots.size() + " windows");
+    }
+
+    /// Tutulan pencereleri son checkpoint'lerden yükler; açık pencere kendi sayımlarından devam eder.
+    @PostConstruct
+    public void restore() {
+        restore(System.currentTimeMillis());
+    }
+
+    public synchronized void restore(long nowMillis) {
+        long currentStart = nowMillis - Math.floorMod(nowMillis, windowMillis);
+        Timestamp since = Timestamp.valueOf(DownloadWindow.time(currentStart - properties.getRetainedWindows() * windowMillis));
+        Map<Long, List<CheckpointRow>> rows = new LinkedHashMap<>();
+        try {
+            jdbcTemplate.query(SELECT_RETAINED, Map.of("since", since), rs -> {
+                CheckpointRow row = new CheckpointRow(
+                        millis(rs.getTimestamp("window_start")),
+                        millis(rs.getTimestamp("window_end")),
+                        rs.getLong("window_total"),
+                        new DownloadWindowStats.Item(DownloadKind.valueOf(rs.getString("kind")), rs.getInt("item_id"),
+                                rs.getLong("downloads"), rs.getLong("guaranteed_downloads")));
+                rows.computeIfAbsent(row.start(), start -> new ArrayList<>()).add(row);
+            });
+        } catch (DataAccessException e) {
+            log.warning("Download stats could not be restored: " + e.getMessage());
+            return;
+        }
+
+        current = null;
+        closed.clear();
+        for (List<CheckpointRow> window : rows.values()) {
+            CheckpointRow first = window.get(0);
+            if (first.start() == currentStart) {
+                current = new DownloadWindow(first.start(), first.end(), properties);
+                window.forEach(row -> current.restore(row.item()));
+                current.total = first.total();
+                current.checkpointedTotal = first.total();
+            } else if (first.start() < currentStart && closed.size() < properties.getRetainedWindows()) {
+                List<DownloadWindowStats.Item> top = window.stream()
+                        .limit(properties.getCheckpointTop())
+                        .map(CheckpointRow::item)
+                        .toList();
+                closed.addLast(DownloadWindow.closed(first.start(), first.end(), first.total(), top));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    /// Açık pencere süresi dolmuşsa kapatılır ve yenisi başlar; boş geçen pencereler oluşturulmaz.
+    private DownloadWindow window(long nowMillis) {
+        if (current != null && nowMillis < current.end) {
+            return current;
+        }
+        if (current != null) {
+            current.close(properties.getCheckpointTop());
+            closed.addFirst(current);
+            while (closed.size() > properties.getRetainedWindows()) {
+                DownloadWindow dropped = closed.removeLast();
+                if (dropped.checkpointedTotal != dropped.total) {
+                    log.warning("Download stats window " + DownloadWindow.time(dropped.start) + " dropped before checkpoint");
+                }
+            }
+        }
+        long start = nowMillis - Math.floorMod(nowMillis, windowMillis);
+        current = new DownloadWindow(start, start + windowMillis, properties);
+        return current;
+    }
+
+    private void collect(DownloadWindow window, List<Snapshot> snapshots) {
+        if (window.total != window.checkpointedTotal) {
+            snapshots.add(new Snapshot(window, window.start, window.end, window.total,
+                    List.copyOf(window.top(properties.getCheckpointTop()))));
+        }
+    }
+
+    private void write(Snapshot snapshot, Timestamp checkpointedAt) {
+        Timestamp windowStart = Timestamp.valueOf(DownloadWindow.time(snapshot.start()));
+        Timestamp windowEnd = Timestamp.valueOf(DownloadWindow.time(snapshot.end()));
+        jdbcTemplate.update(DELETE_WINDOW, Map.of("windowStart", windowStart));
+        SqlParameterSource[] rows = snapshot.top().stream()
+                .map(item -> new MapSqlParameterSource()
+                        .addValue("windowStart", windowStart)
+                        .addValue("windowEnd", windowEnd)
+                        .addValue("kind", item.kind().name())
+                        .addValue("itemId", item.id())
+                        .addValue("downloads", item.downloads())
+                        .addValue("guaranteedDownloads", item.guaranteedDownloads())
+                        .addValue("windowTotal", snapshot.total())
+                        .addValue("checkpointedAt", checkpointedAt))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_ITEM, rows);
+    }
+
+    private static long millis(Timestamp timestamp) {
+        return timestamp.toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Snapshot(DownloadWindow window, long start, long end, long total, List<DownloadWindowStats.Item> top) {
+    }
+
+    private record CheckpointRow(long start, long end, long total, DownloadWindowStats.Item item) {
+    }
+}
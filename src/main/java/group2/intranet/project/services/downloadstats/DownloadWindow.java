@@ -0,0 +1,93 @@
+package group2.intranet.project.services.downloadstats;
+
+import group2.intranet.project.domain.dtos.DownloadWindowStats;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/// Tek bir tumbling pencerenin indirme sayımları.
+///
+/// Açıkken her indirme, hangi öğelerin heavy hitter olduğuna karar veren bir SpaceSaving özetine ve tahmini, çıkarılan
+/// sayacı devralan öğelerde özetin fazla sayımını sınırlayan bir CountMinSketch'e gider. Pencere kapanınca yalnızca en
+/// üst öğeleri kalır, iki yapı da bırakılır. Thread-safe değildir; DownloadTracker korur.
+final class DownloadWindow {
+
+    final long start;
+    final long end;
+    long total;
+    long checkpointedTotal;
+
+    private SpaceSaving summary;
+    private CountMinSketch sketch;
+    private List<DownloadWindowStats.Item> closedTop;
+
+    DownloadWindow(long start, long end, DownloadStatsProperties properties) {
+        this.start = start;
+        this.end = end;
+        this.summary = new SpaceSaving(properties.getCapacity());
+        this.sketch = new CountMinSketch(properties.getSketchWidth(), properties.getSketchDepth());
+    }
+
+    private DownloadWindow(long start, long end, long total, List<DownloadWindowStats.Item> top) {
+        this.start = start;
+        this.end = end;
+        this.total = total;
+        this.checkpointedTotal = total;
+        this.closedTop = top;
+    }
+
+    /// Checkpoint'ten geri yüklenen kapanmış pencere.
+    static DownloadWindow closed(long start, long end, long total, List<DownloadWindowStats.Item> top) {
+        return new DownloadWindow(start, end, total, top);
+    }
+
+    static long key(DownloadKind kind, int id) {
+        return ((long) kind.ordinal() << 32) | (id & 0xffffffffL);
+    }
+
+    void record(long key) {
+        summary.offer(key, 1);
+        sketch.add(key, 1);
+        total++;
+    }
+
+    /// Yeniden başlatmadan sonra checkpoint'teki sayımları açık pencereye geri ekler.
+    void restore(DownloadWindowStats.Item item) {
+        long key = key(item.kind(), item.id());
+        summary.offer(key, item.downloads(), item.downloads() - item.guaranteedDownloads());
+        sketch.add(key, item.downloads());
+    }
+
+    void close(int keep) {
+        closedTop = top(keep);
+        summary = null;
+        sketch = null;
+    }
+
+    List<DownloadWindowStats.Item> top(int limit) {
+        if (closedTop != null) {
+            return closedTop.subList(0, Math.min(limit, closedTop.size()));
+        }
+        // Sketch tahmini sıralamayı değiştirebilir; bu yüzden önce tüm sayaçlar düzeltilip sonra kesilir.
+        List<DownloadWindowStats.Item> items = new ArrayList<>();
+        for (SpaceSaving.Entry entry : summary.top(Integer.MAX_VALUE)) {
+            long downloads = Math.min(entry.count(), sketch.estimate(entry.key()));
+            items.add(new DownloadWindowStats.Item(DownloadKind.values()[(int) (entry.key() >>> 32)], (int) entry.key(),
+                    downloads, entry.count() - entry.error()));
+        }
+        items.sort(Comparator.comparingLong(DownloadWindowStats.Item::downloads).reversed());
+        return new ArrayList<>(items.subList(0, Math.min(limit, items.size())));
+    }
+
+    DownloadWindowStats stats(int limit) {
+        return new DownloadWindowStats(time(start), time(end), total, List.copyOf(top(limit)));
+    }
+
+    static LocalDateTime time(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
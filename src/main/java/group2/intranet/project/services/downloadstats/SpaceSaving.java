@@ -0,0 +1,117 @@
+package group2.intranet.project.services.downloadstats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Sabit sayıda sayaçla, long anahtarlar üzerinde Space-Saving top-k özeti.
+///
+/// İzlenen anahtar yerinde artırılır. İzlenmeyen anahtar en küçük sayaçlı sayacı devralır, o sayımı alır ve hata
+/// olarak kaydeder. Gerçek sayımı total / capacity'yi aşan her anahtarın izlendiği garantidir; izlenen anahtarın
+/// gerçek sayımı count - error ile count arasındadır. Sayaçlar ikili min-heap oluşturur, her güncelleme
+/// O(log capacity)'dir. Thread-safe değildir; DownloadTracker korur.
+final class SpaceSaving {
+
+    record Entry(long key, long count, long error) {
+    }
+
+    private static final class Counter {
+        long key;
+        long count;
+        long error;
+        int index;
+    }
+
+    private final Counter[] heap;
+    private final Map<Long, Counter> counters;
+    private int size;
+
+    SpaceSaving(int capacity) {
+        this.heap = new Counter[Math.max(1, capacity)];
+        this.counters = new HashMap<>(heap.length * 2);
+    }
+
+    void offer(long key, long increment) {
+        offer(key, increment, 0);
+    }
+
+    /// increment'i key'e ekler; error onun fazla sayılmış olabilecek kısmıdır.
+    void offer(long key, long increment, long error) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += increment;
+            counter.error += error;
+            siftDown(counter.index);
+            return;
+        }
+        if (size < heap.length) {
+            counter = new Counter();
+            counter.key = key;
+            counter.count = increment;
+            counter.error = error;
+            counter.index = size;
+            heap[size] = counter;
+            counters.put(key, counter);
+            siftUp(size++);
+            return;
+        }
+        counter = heap[0];
+        counters.remove(counter.key);
+        counter.key = key;
+        counter.error = counter.count + error;
+        counter.count += increment;
+        counters.put(key, counter);
+        siftDown(0);
+    }
+
+    /// En büyük limit sayaç, büyükten küçüğe.
+    List<Entry> top(int limit) {
+        Counter[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, Comparator.comparingLong((Counter c) -> c.count).reversed());
+        List<Entry> entries = new ArrayList<>(Math.min(limit, size));
+        for (int i = 0; i < sorted.length && i < limit; i++) {
+            entries.add(new Entry(sorted[i].key, sorted[i].count, sorted[i].error));
+        }
+        return entries;
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+}
@@ -0,0 +1,12 @@
+package group2.intranet.project.services.jwt;
+
+/// SecurityContext'teki principal'ın controller'ların ihtiyaç duyduğu ortak görünümü.
+///
+/// Veritabanından yüklenen Employee de, stateless modda claim'lerden kurulan JwtPrincipal de bunu uygular;
+/// controller'lar yalnızca bu arayüze cast eder.
+public interface AuthenticatedUser {
+
+    Integer getId();
+
+    String getEmail();
+}
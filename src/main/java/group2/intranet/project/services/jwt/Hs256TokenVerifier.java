@@ -0,0 +1,293 @@
+package group2.intranet.project.services.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Date;
+
+/// generateToken'ın ürettiği token'lar için hızlı doğrulama yolu.
+///
+/// Yalnızca tam olarak bizim ürettiğimiz biçimi kabul eder: {"alg":"HS256"} header'ı, boşluksuz JSON,
+/// sadece jti/sub/role/id/iat/exp claim'leri, escape içermeyen ASCII string'ler ve tamsayılar.
+/// Base64URL çözümü ve HMAC thread'e ait tekrar kullanılan buffer'larla yapılır; Map, Jackson ağacı
+/// veya Claims nesnesi oluşturulmaz.
+///
+/// Beklenmeyen herhangi bir durumda (farklı header, bilinmeyen claim, hatalı imza, süresi dolmuş token...)
+/// null döner ve JwtService jjwt ile tam doğrulamaya düşer. Böylece hata mesajları ve kenar durumları
+/// jjwt ile aynı kalır; bu sınıf hiçbir zaman jjwt'nin reddedeceği bir token'ı kabul etmez.
+public final class Hs256TokenVerifier {
+
+    /// Base64URL("{\"alg\":\"HS256\"}") — jjwt'nin HS256 için ürettiği header.
+    static final String HEADER = "eyJhbGciOiJIUzI1NiJ9";
+
+    private static final int MAX_TOKEN_LENGTH = 4096;
+    private static final int SIGNATURE_CHARS = 43;
+    private static final int SIGNATURE_BYTES = 32;
+    private static final int MAX_NUMBER_DIGITS = 15;
+
+    private static final byte[] BASE64URL = new byte[128];
+
+    private static final int JTI = 0, SUB = 1, ROLE = 2, ID = 3, IAT = 4, EXP = 5;
+    private static final byte[][] KEYS = {
+            ascii("jti"), ascii("sub"), ascii("role"), ascii("id"), ascii("iat"), ascii("exp")
+    };
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final ThreadLocal<Scratch> scratch;
+
+    public Hs256TokenVerifier(byte[] key) {
+        SecretKeySpec keySpec = new SecretKeySpec(key.clone(), "HmacSHA256");
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(keySpec));
+    }
+
+    /// Token hızlı yolda doğrulanabiliyorsa VerifiedToken, aksi halde null döner.
+    public VerifiedToken verify(String token) {
+        return verify(token, System.currentTimeMillis());
+    }
+
+    VerifiedToken verify(String token, long nowMillis) {
+        int length = token.length();
+        if (length > MAX_TOKEN_LENGTH || !token.startsWith(HEADER) || length <= HEADER.length()
+                || token.charAt(HEADER.length()) != '.') {
+            return null;
+        }
+        int signatureDot = length - SIGNATURE_CHARS - 1;
+        if (signatureDot <= HEADER.length() + 1 || token.charAt(signatureDot) != '.'
+                || token.indexOf('.', HEADER.length() + 1) != signatureDot) {
+            return null;
+        }
+
+        Scratch s = scratch.get();
+        byte[] chars = s.tokenBytes;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c >= 128) {
+                return null;
+            }
+            chars[i] = (byte) c;
+        }
+
+        int payloadStart = HEADER.length() + 1;
+        int payloadLength = decode(chars, payloadStart, signatureDot - payloadStart, s.payload);
+        if (payloadLength < 0 || decode(chars, signatureDot + 1, SIGNATURE_CHARS, s.signature) != SIGNATURE_BYTES) {
+            return null;
+        }
+
+        try {
+            s.mac.update(chars, 0, signatureDot);
+            s.mac.doFinal(s.expected, 0);
+        } catch (ShortBufferException e) {
+            s.mac.reset();
+            return null;
+        }
+        if (!constantTimeEquals(s.expected, s.signature)) {
+            return null;
+        }
+
+        if (!s.parse(payloadLength)) {
+            return null;
+        }
+        // jjwt: now > exp ise ExpiredJwtException; aynı sınır burada da uygulanır.
+        if (nowMillis > s.exp * 1000L) {
+            return null;
+        }
+        return new VerifiedToken(
+                s.jti,
+                s.sub,
+                s.role,
+                (s.seen & (1 << ID)) != 0 ? Long.valueOf(s.id) : null,
+                new Date(s.iat * 1000L),
+                new Date(s.exp * 1000L)
+        );
+    }
+
+    /// Padding'siz Base64URL çözer; geçersiz karakterde -1 döner.
+    /// Son karakterdeki artık bitler jjwt'de olduğu gibi yok sayılır.
+    private static int decode(byte[] src, int offset, int length, byte[] dst) {
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int out = 0;
+        int i = offset;
+        int end = offset + length;
+        while (end - i >= 4) {
+            int a = value(src[i]), b = value(src[i + 1]), c = value(src[i + 2]), d = value(src[i + 3]);
+            if ((a | b | c | d) < 0) {
+                return -1;
+            }
+            int bits = a << 18 | b << 12 | c << 6 | d;
+            dst[out++] = (byte) (bits >> 16);
+            dst[out++] = (byte) (bits >> 8);
+            dst[out++] = (byte) bits;
+            i += 4;
+        }
+        int remaining = end - i;
+        if (remaining >= 2) {
+            int a = value(src[i]), b = value(src[i + 1]);
+            int c = remaining == 3 ? value(src[i + 2]) : 0;
+            if ((a | b | c) < 0) {
+                return -1;
+            }
+            int bits = a << 18 | b << 12 | c << 6;
+            dst[out++] = (byte) (bits >> 16);
+            if (remaining == 3) {
+                dst[out++] = (byte) (bits >> 8);
+            }
+        }
+        return out;
+    }
+
+    private static int value(byte c) {
+        return c < 0 ? -1 : BASE64URL[c];
+    }
+
+    private static boolean constantTimeEquals(byte[] a, byte[] b) {
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_BYTES; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /// Thread başına bir kez oluşturulan Mac ve buffer'lar; parse sonuçları da burada tutulur.
+    private static final class Scratch {
+
+        private final Mac mac;
+        private final byte[] tokenBytes = new byte[MAX_TOKEN_LENGTH];
+        private final byte[] payload = new byte[MAX_TOKEN_LENGTH * 3 / 4];
+        private final byte[] signature = new byte[SIGNATURE_BYTES];
+        private final byte[] expected = new byte[SIGNATURE_BYTES];
+
+        private int position;
+        private int seen;
+        private String jti, sub, role;
+        private long id, iat, exp;
+
+        private Scratch(SecretKeySpec keySpec) {
+            try {
+                this.mac = Mac.getInstance("HmacSHA256");
+                this.mac.init(keySpec);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        }
+
+        /// {"key":value,...} — boşluksuz, yalnızca bilinen anahtarlar, her anahtar en fazla bir kez.
+        private boolean parse(int length) {
+            byte[] b = payload;
+            position = 0;
+            seen = 0;
+            jti = sub = role = null;
+            if (length < 2 || b[0] != '{' || b[length - 1] != '}') {
+                return false;
+            }
+            position = 1;
+            while (true) {
+                int key = readKey(length);
+                if (key < 0 || (seen & (1 << key)) != 0 || position >= length || b[position++] != ':') {
+                    return false;
+                }
+                seen |= 1 << key;
+                boolean ok = switch (key) {
+                    case JTI -> (jti = readString(length)) != null;
+                    case SUB -> (sub = readString(length)) != null;
+                    case ROLE -> (role = readString(length)) != null;
+                    case ID -> (id = readNumber(length)) >= 0;
+                    case IAT -> (iat = readNumber(length)) >= 0;
+                    default -> (exp = readNumber(length)) >= 0;
+                };
+                if (!ok || position >= length) {
+                    return false;
+                }
+                byte next = b[position++];
+                if (next == '}') {
+                    int required = (1 << SUB) | (1 << IAT) | (1 << EXP);
+                    return position == length && (seen & required) == required;
+                }
+                if (next != ',') {
+                    return false;
+                }
+            }
+        }
+
+        private int readKey(int length) {
+            byte[] b = payload;
+            if (position >= length || b[position] != '"') {
+                return -1;
+            }
+            int start = position + 1;
+            int end = start;
+            while (end < length && b[end] != '"') {
+                end++;
+            }
+            if (end >= length) {
+                return -1;
+            }
+            position = end + 1;
+            for (int k = 0; k < KEYS.length; k++) {
+                if (Arrays.equals(b, start, end, KEYS[k], 0, KEYS[k].length)) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+
+        private String readString(int length) {
+            byte[] b = payload;
+            if (position >= length || b[position] != '"') {
+                return null;
+            }
+            int start = position + 1;
+            int end = start;
+            while (end < length) {
+                byte c = b[end];
+                if (c == '"') {
+                    break;
+                }
+                // Escape, kontrol karakteri ve ASCII dışı baytlar jjwt'ye bırakılır.
+                if (c < 0x20 || c > 0x7E || c == '\\') {
+                    return null;
+                }
+                end++;
+            }
+            if (end >= length) {
+                return null;
+            }
+            position = end + 1;
+            return new String(b, start, end - start, StandardCharsets.US_ASCII);
+        }
+
+        /// Negatif olmayan, baştaki sıfırsız tamsayı; aksi halde -1.
+        private long readNumber(int length) {
+            byte[] b = payload;
+            int start = position;
+            long value = 0;
+            while (position < length && b[position] >= '0' && b[position] <= '9') {
+                value = value * 10 + (b[position] - '0');
+                position++;
+            }
+            int digits = position - start;
+            if (digits == 0 || digits > MAX_NUMBER_DIGITS || (digits > 1 && b[start] == '0')) {
+                return -1;
+            }
+            if (position < length && (b[position] == '.' || b[position] == 'e' || b[position] == 'E')) {
+                return -1;
+            }
+            return value;
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package group2.intranet.project.services.jwt;
 
-import group2.intranet.project.domain.entities.Employee;
 import group2.intranet.project.services.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,16 +16,24 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List;
 
-@Log
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthFilter(JwtService jwtService, CustomUserDetailsService userDetailsService) {
+    /// true ise her istekte Employee yüklenmez, kimlik yalnızca token claim'lerinden (id, email, role) kurulur.
+    private final boolean statelessMode;
+
+    public JwtAuthFilter(JwtService jwtService,
+                         CustomUserDetailsService userDetailsService,
+                         TokenRevocationService tokenRevocationService,
+                         @Value("${security.jwt.stateless:false}") boolean statelessMode) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.statelessMode = statelessMode;
     }
 
 
@@ -40,8 +47,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        log.info(">>> JwtAuthFilter çalıştı:" +  request.getRequestURI());
-
+        ///İstek loglaması AccessLogFilter'dadır (asenkron, örneklemeli, token'lar maskelenir); burada log yazılmaz.
         ///İstek Authorization: Bearer <token> başlığıyla gelmiş mi kontrol eder.
         final String authHeader = request.getHeader("Authorization");
 
@@ -51,42 +57,55 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
-        ///Token'dan Username, Role ve Id bilgilerini çıkar...
-        final String token = authHeader.substring(7);
-        final String username = jwtService.extractUsername(token);
-        final String role = jwtService.extractClaim(token, claims -> claims.get("role", String.class));
-        final Long userId = jwtService.extractClaim(token, claims -> claims.get("id", Long.class)); // ← id çekiyoruz
-
-        ///Güvenlik bağlamı boşsa ve kullanıcı geçerliyse → yetkilendirme yapılır ve kullanıcı daha önce authenticate edilmemişse işlem yapılır.
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            Employee userDetails = (Employee) userDetailsService.loadUserByUsername(username);
-            log.info("Token'daki ID: " + userId);
-            log.info("Veritabanındaki ID: " + userDetails.getId());
-
-            ///Token geçerliyse, kullanıcı ve rollerle birlikte Authentication objesi oluşturulur
-            if (jwtService.isTokenValid(token, userDetails)) {
-
-                List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
-
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
-
-                ///Spring Security, sonraki @PreAuthorize, hasRole, hasAuthority gibi kontrollerde bu kimliği kullanır.
-//                WebAuthenticationDetails customDetails = new WebAuthenticationDetails(request);
-//                authToken.setDetails(customDetails);
+        ///Kimlik daha önce kurulduysa (ör. SignedUrlFilter) token parse edilmez; süresi dolmuş ya da bozuk bir Bearer
+        ///başlığı imzalı isteği düşürmemelidir.
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        ///Token istek başına bir kez parse edilip doğrulanır; Username, Role ve Id bu nesneden okunur.
+        final String token = authHeader.substring(7);
+        final VerifiedToken verifiedToken = jwtService.verify(token);
+        final String username = verifiedToken.getSubject();
+        final String role = verifiedToken.getRole();
+        final Long userId = verifiedToken.getUserId(); // ← id çekiyoruz
+
+        ///Kullanıcı geçerliyse → yetkilendirme yapılır.
+        ///İptal edilmiş (logout) token'lar bellekteki indeksle elenir; bu kontrol veritabanına gitmez.
+        if (username != null && !tokenRevocationService.isRevoked(verifiedToken)) {
+
+            if (statelessMode) {
+                ///Stateless modda veritabanına gidilmez; principal doğrulanmış claim'lerden oluşturulur.
+                if (userId != null && role != null && !verifiedToken.isExpired()) {
+                    JwtPrincipal principal = new JwtPrincipal(Math.toIntExact(userId), username, role);
+                    authenticate(principal, role, request);
+                }
+            } else {
+                JwtPrincipal principal = userDetailsService.loadPrincipal(username);
+
+                ///Token geçerliyse, kullanıcı ve rollerle birlikte Authentication objesi oluşturulur
+                if (principal != null && jwtService.isTokenValid(verifiedToken, principal.getEmail())) {
+                    authenticate(principal, role, request);
+                }
             }
         }
-        log.info("Authorization Header: " + request.getHeader("Authorization"));
-        log.info("Request method:" + request.getMethod() + "  " + "Content-Type: " + request.getContentType());
-        log.info("Token içeriği:" + token);
 
         filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(Object principal, String role, HttpServletRequest request) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
 
+        ///Spring Security, sonraki @PreAuthorize, hasRole, hasAuthority gibi kontrollerde bu kimliği kullanır.
+//        WebAuthenticationDetails customDetails = new WebAuthenticationDetails(request);
+//        authToken.setDetails(customDetails);
 
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
     }
 
 }
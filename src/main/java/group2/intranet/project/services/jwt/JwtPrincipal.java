@@ -0,0 +1,27 @@
+package group2.intranet.project.services.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.security.Principal;
+
+/// Stateless modda (security.jwt.stateless=true) doğrulanmış token claim'lerinden oluşturulan hafif, değişmez principal.
+/// Varsayılan modda PrincipalCache de yüklenen Employee'nin anlık görüntüsünü bu tipte tutar.
+///
+/// JPA entity'si değildir; lazy ilişki taşımaz ve istek başına veritabanı erişimi gerektirmez.
+@Getter
+@ToString
+@AllArgsConstructor
+public final class JwtPrincipal implements AuthenticatedUser, Principal {
+
+    private final Integer id;
+    private final String email;
+    private final String role;
+
+    /// Authentication.getName() bu değeri döner.
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -2,6 +2,7 @@ package group2.intranet.project.services.jwt;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -12,23 +13,40 @@ import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtService {
 
+    /// HMAC anahtarı ve parser uygulama açılışında bir kez oluşturulur.
+    /// JwtParser immutable ve thread-safe olduğu için tüm istekler aynı örneği paylaşır.
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+
+    /// Kendi ürettiğimiz token'lar için hızlı yol; uymayan her token jjwt parser'ına düşer.
+    private final Hs256TokenVerifier fastVerifier;
+
     //// application.properties'den bu değer alınır.
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    public JwtService(@Value("${jwt.secret}") String secretKey) {
+        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.fastVerifier = new Hs256TokenVerifier(keyBytes);
+    }
 
 
     /// Bu metod:
     /// sub olarak kullanıcı adını (genellikle email) belirler.
     /// "role" claim'ine kullanıcının ilk yetkisini (ROLE_HR, ROLE_EMPLOYEE, vb.) yazar.
     /// 10 saatlik geçerlilik süresi tanımlar.
+    /// Her token'a iptal (revocation) için benzersiz bir jti verir.
     /// HS256 algoritması ile imzalar.
     public String generateToken(UserDetails userDetails, Long userId) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())                                            // jti
                 .setSubject(userDetails.getUsername()) // username (örneğin email) set edilir
                 .claim("role", userDetails.getAuthorities().iterator().next().getAuthority())  // rol eklenir
                 .claim("id", userId)
@@ -38,6 +56,19 @@ public class JwtService {
                 .compact();
     }
 
+    /// Token'ı tek seferde parse edip imzasını doğrular ve claim'leri VerifiedToken olarak döner.
+    ///
+    /// Filtre her istekte yalnızca bu metodu çağırır; sonraki tüm kontroller bu nesne üzerinden yapılır.
+    /// Önce Hs256TokenVerifier denenir; null dönerse (beklenmeyen biçim, hatalı imza, süresi dolmuş)
+    /// jjwt ile tam doğrulama yapılır ve hata aynı şekilde fırlatılır.
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = fastVerifier.verify(token);
+        if (verified != null) {
+            return verified;
+        }
+        return VerifiedToken.from(extractAllClaims(token));
+    }
+
     /// Token içindeki sub (subject) alanını yani username/email’i döner.
     public String extractUsername(String token) {
         return extractAllClaims(token).getSubject();
@@ -49,12 +80,19 @@ public class JwtService {
     ///
     /// Bu iki kriter sağlanıyorsa, token geçerlidir.
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
+    }
+
+    /// Daha önce doğrulanmış token için aynı kontrol, tekrar parse etmeden yapılır.
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return isTokenValid(token, userDetails.getUsername());
     }
 
-    /// Token’ın geçerlilik süresi geçmişse true döner.
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+    /// Önbellekteki principal'lar UserDetails değildir; eşleşme doğrudan kullanıcı adıyla yapılır.
+    public boolean isTokenValid(VerifiedToken token, String username) {
+        return token.getSubject() != null
+                && token.getSubject().equals(username)
+                && !token.isExpired();
     }
 
     /// JWT’yi parse edip tüm claim’leri döner.
@@ -62,9 +100,7 @@ public class JwtService {
     /// İmza doğrulaması da burada yapılır (secret key ile).
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (JwtException e) {
@@ -85,9 +121,8 @@ public class JwtService {
         return extractAllClaims(token).get("id", Long.class);
     }
 
-    /// Secret key byte dizisine dönüştürülüp HMAC algoritmasına uygun bir Key nesnesi oluşturulur.
+    /// Secret key'den türetilen HMAC anahtarı (constructor'da bir kez oluşturulur).
     private Key getSigningKey() {
-        byte[] keyBytes = SECRET_KEY.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 }
@@ -0,0 +1,70 @@
+package group2.intranet.project.services.jwt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// Revoke edilmiş token'ların bellek içi indeksi: Bloom filtresi + tam küme (jti → son geçerlilik zamanı).
+///
+/// Normal yol (token revoke edilmemiş) yalnızca Bloom filtresine bakar ve kilitsizdir; maliyeti kayıt sayısından bağımsızdır.
+/// Bloom filtresinden silme yapılamadığı için süresi dolan kayıtlar purgeExpired ile kümeden çıkarılır ve filtre yeniden kurulur.
+public class RevocationIndex {
+
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final ConcurrentHashMap<String, Long> entries = new ConcurrentHashMap<>();
+    private volatile RevocationBloomFilter bloomFilter;
+    private int bloomCapacity;
+
+    public RevocationIndex(int expectedRevocations, double falsePositiveRate) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomCapacity = expectedRevocations;
+        this.bloomFilter = new RevocationBloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String jti, long nowMillis) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = entries.get(jti);
+        return expiresAt != null && expiresAt > nowMillis;
+    }
+
+    /// Eklemeler yeniden kurulum ile aynı kilidi paylaşır; böylece yeni filtreye taşınırken hiçbir jti kaybolmaz.
+    public synchronized void add(String jti, long expiresAtMillis) {
+        entries.put(jti, expiresAtMillis);
+        if (entries.size() > bloomCapacity) {
+            rebuild();
+        } else {
+            bloomFilter.put(jti);
+        }
+    }
+
+    /// Tablodan okunan kayıtlar mevcut kümeyle birleştirilir (değiştirilmez): okuma ile birleştirme arasında
+    /// eklenen bir iptal böylece kaybolmaz. Kayıtlar kümeden yalnızca süreleri dolunca çıkar.
+    public synchronized void addAll(Map<String, Long> revocations) {
+        entries.putAll(revocations);
+        rebuild();
+    }
+
+    public synchronized int purgeExpired(long nowMillis) {
+        int before = entries.size();
+        entries.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        int removed = before - entries.size();
+        if (removed > 0) {
+            rebuild();
+        }
+        return removed;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void rebuild() {
+        bloomCapacity = Math.max(expectedRevocations, entries.size() * 2);
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(bloomCapacity, falsePositiveRate);
+        entries.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+}
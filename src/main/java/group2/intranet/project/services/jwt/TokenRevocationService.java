@@ -0,0 +1,78 @@
+package group2.intranet.project.services.jwt;
+
+import group2.intranet.project.domain.entities.RevokedToken;
+import group2.intranet.project.repositories.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/// Token iptal (revocation) alt sistemi.
+///
+/// İptal edilen jti'ler revoked_tokens tablosuna yazılır ve bellekteki RevocationIndex'e eklenir.
+/// JwtAuthFilter yalnızca bu indekse bakar; normal yolda veritabanı sorgusu yapılmaz.
+/// Periyodik görev süresi dolan kayıtları siler ve indeksi tablodan yeniden yükler
+/// (birden fazla instance çalışıyorsa diğerlerinin iptalleri de bu şekilde gelir).
+@Log
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationIndex revocationIndex;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${security.revocation.expected-revocations:100000}") int expectedRevocations,
+                                  @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationIndex = new RevocationIndex(expectedRevocations, falsePositiveRate);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        return revocationIndex.isRevoked(token.getTokenId(), System.currentTimeMillis());
+    }
+
+    /// jti taşımayan (eski) token'lar tek tek iptal edilemez; süreleri dolana kadar geçerlidir.
+    public boolean revoke(VerifiedToken token) {
+        if (token.getTokenId() == null || token.getExpiration() == null) {
+            return false;
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(token.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(token.getTokenId())
+                .employeeId(token.getUserId() != null ? Math.toIntExact(token.getUserId()) : null)
+                .expiresAt(expiresAt)
+                .build());
+
+        revocationIndex.add(token.getTokenId(), token.getExpiration().getTime());
+        return true;
+    }
+
+    @PostConstruct
+    public void reload() {
+        Map<String, Long> active = revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now()).stream()
+                .collect(Collectors.toMap(
+                        RevokedToken::getJti,
+                        t -> t.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        revocationIndex.addAll(active);
+        revocationIndex.purgeExpired(System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval:5m}",
+               initialDelayString = "${security.revocation.refresh-interval:5m}")
+    public void purgeAndRefresh() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        reload();
+        log.fine("Revocation index refreshed: " + revocationIndex.size() + " active, " + deleted + " expired removed");
+    }
+
+    public int activeRevocations() {
+        return revocationIndex.size();
+    }
+}
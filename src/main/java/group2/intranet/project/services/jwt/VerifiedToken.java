@@ -0,0 +1,38 @@
+package group2.intranet.project.services.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/// İmzası doğrulanmış bir JWT'nin değişmez (immutable) görünümü.
+///
+/// Token istek başına yalnızca bir kez parse edilir, filtre ve servisler
+/// claim'leri tekrar parse etmeden bu nesne üzerinden okur.
+@Getter
+@AllArgsConstructor
+public final class VerifiedToken {
+
+    private final String tokenId;
+    private final String subject;
+    private final String role;
+    private final Long userId;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("id", Long.class),
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,9 @@
+package group2.intranet.project.services.login;
+
+/// Giriş zamanında hash slotu alamadığında fırlatılır; Retry-After ile 503'e çevrilir.
+public class LoginCapacityExceededException extends RuntimeException {
+
+    public LoginCapacityExceededException(String message) {
+        super(message);
+    }
+}
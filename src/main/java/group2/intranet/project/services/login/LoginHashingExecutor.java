@@ -0,0 +1,123 @@
+package group2.intranet.project.services.login;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Şifre doğrulaması (BCrypt) için ayrılmış, boyutu sınırlı havuz; giriş fırtınası normal isteklerin
+/// tüm CPU'sunu alamaz. Aynı anda en çok threads hash çalışır, en çok queue-capacity bekler.
+/// Kuyruğa giremeyen ya da queue-timeout'tan uzun bekleyen giriş birikmek yerine
+/// LoginCapacityExceededException ile hemen düşer.
+@Component
+public class LoginHashingExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+    private final long queueTimeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+    private volatile Timer hashLatency;
+    private volatile Timer queueWait;
+
+    public LoginHashingExecutor(@Value("${security.login.hashing.threads:0}") int threads,
+                                @Value("${security.login.hashing.queue-capacity:64}") int queueCapacity,
+                                @Value("${security.login.hashing.queue-timeout:2s}") Duration queueTimeout) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+    }
+
+    /// İşi hash havuzunda çalıştırıp bekler; işin fırlattığı runtime exception'lar (ör. BadCredentialsException)
+    /// olduğu gibi yeniden fırlatılır.
+    public <T> T execute(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                record(queueWait, waited);
+                if (waited > queueTimeoutNanos) {
+                    rejected.increment();
+                    throw new LoginCapacityExceededException("Login waited too long for a hashing slot");
+                }
+                long started = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    record(hashLatency, System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new LoginCapacityExceededException("Login hashing queue is full");
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginCapacityExceededException("Interrupted while waiting for a hashing slot");
+        }
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(queueTimeoutNanos));
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("login.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("login.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        FunctionCounter.builder("login.hashing.rejected", rejected, LongAdder::sum)
+                .description("Logins answered with 503 because the hashing pool was saturated")
+                .register(registry);
+        hashLatency = Timer.builder("login.hashing.latency")
+                .description("Time spent authenticating (lookup + BCrypt) on the hashing pool")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        queueWait = Timer.builder("login.hashing.queue.wait")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
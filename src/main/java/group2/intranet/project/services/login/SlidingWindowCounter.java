@@ -0,0 +1,61 @@
+package group2.intranet.project.services.login;
+
+/// Yaklaşık kayan pencere sayacı: önceki sabit pencere, kayan pencereyle hâlâ örtüşen oranıyla ağırlıklandırılır.
+/// Anahtar başına sabit bellek.
+final class SlidingWindowCounter {
+
+    private final long windowMillis;
+    private long windowStart;
+    private long current;
+    private long previous;
+
+    SlidingWindowCounter(long windowMillis, long now) {
+        this.windowMillis = windowMillis;
+        this.windowStart = now - (now % windowMillis);
+    }
+
+    synchronized void increment(long now) {
+        roll(now);
+        current++;
+    }
+
+    synchronized double estimate(long now) {
+        roll(now);
+        double previousWeight = 1.0 - (double) (now - windowStart) / windowMillis;
+        return previous * previousWeight + current;
+    }
+
+    /// Tahmin limitin altındaysa denemeyi sayıp 0 döner; değilse saymadan, limitin altına inmesine kalan milisaniyeyi
+    /// (en az 1) döner. Kontrol ve sayma tek kilit altındadır; eş zamanlı denemeler limiti birlikte aşamaz.
+    synchronized long tryAcquire(long now, long limit) {
+        if (estimate(now) >= limit) {
+            return Math.max(1, millisUntilBelow(limit, now));
+        }
+        current++;
+        return 0;
+    }
+
+    /// Yeni deneme gelmezse tahminin limitin altına inmesine kalan milisaniye.
+    synchronized long millisUntilBelow(long limit, long now) {
+        roll(now);
+        if (current >= limit) {
+            return windowStart + 2 * windowMillis - now;
+        }
+        if (previous == 0) {
+            return 0;
+        }
+        // previous * (1 - t / window) + current < limit  =>  t > window * (1 - (limit - current) / previous)
+        double t = windowMillis * (1.0 - (double) (limit - current) / previous);
+        return Math.max(0, (long) Math.ceil(windowStart + t - now));
+    }
+
+    private void roll(long now) {
+        long start = now - (now % windowMillis);
+        if (start == windowStart) {
+            return;
+        }
+        previous = (start - windowStart == windowMillis) ? current : 0;
+        current = 0;
+        windowStart = start;
+    }
+}
@@ -0,0 +1,97 @@
+package group2.intranet.project.services.migration;
+
+import lombok.extern.java.Log;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/// cover_image_hash kolonu eklenmeden önce kaydedilmiş haberlerin kapak görseli hash'ini doldurur.
+/// Hash'i olmayan görseller 304 dönemez, off-heap önbelleğe alınmaz ve imzalı URL alamaz.
+/// Açılışta çalışır; id'ler parça parça okunur, görsel sonuçtan akıtılarak hash'lenir ve her satır
+/// ayrı güncellenir. Doldurulan satırlar tekrar seçilmez, yapılacak iş yoksa tek sorgudur.
+@Log
+@Component
+public class NewsImageHashBackfill implements ApplicationRunner {
+
+    private static final int ID_CHUNK = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NewsImageHashBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int filled = backfill();
+        if (filled > 0) {
+            log.info("News image hash backfill finished: " + filled + " news updated");
+        }
+    }
+
+    /// Hash'i doldurulan haber sayısını döner.
+    public int backfill() {
+        int filled = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "select id from news where cover_image is not null and cover_image_hash is null and id > ? order by id limit ?",
+                    Long.class, lastId, ID_CHUNK);
+            if (ids.isEmpty()) {
+                return filled;
+            }
+            for (Long id : ids) {
+                if (fill(id)) {
+                    filled++;
+                }
+                lastId = id;
+            }
+        }
+    }
+
+    private boolean fill(long id) {
+        String hash = jdbcTemplate.query(
+                "select cover_image from news where id = ?",
+                rs -> {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    try (InputStream image = rs.getBinaryStream(1)) {
+                        return image == null ? null : sha256Hex(image);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot read cover image of news " + id, e);
+                    }
+                },
+                id);
+        if (hash == null) {
+            return false;
+        }
+        // Görsel bu arada JPA ile güncellendiyse hash'i @PreUpdate yazmıştır; dokunulmaz.
+        return jdbcTemplate.update(
+                "update news set cover_image_hash = ? where id = ? and cover_image_hash is null", hash, id) == 1;
+    }
+
+    private static String sha256Hex(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (DigestInputStream digesting = new DigestInputStream(in, digest)) {
+            digesting.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,168 @@
+package group2.intranet.project.services.migration;
+
+import group2.intranet.project.services.cache.PrincipalCache;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/// employees tablosundaki düz metin şifreleri BCrypt ile yeniden hash'ler.
+///
+/// Satırlar keyset sırasıyla (id > lastId order by id limit n) okunur; bellek tablo boyutundan bağımsızdır.
+/// Her parça fork-join havuzunda paralel hash'lenir, tek JDBC batch'iyle yazılır ve checkpoint ile birlikte
+/// kendi kısa transaction'ında commit edilir. İş yarıda kalırsa sonraki çalıştırma son commit edilen
+/// id'den devam eder. Zaten BCrypt olan satırlar atlanır, tekrar çalıştırmak her zaman güvenlidir.
+@Log
+@Component
+public class PasswordMigrationJob {
+
+    static final String JOB_NAME = "password-bcrypt";
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final int chunkSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PasswordMigrationJob(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                PasswordEncoder passwordEncoder,
+                                PrincipalCache principalCache,
+                                @Value("${password-migration.chunk-size:500}") int chunkSize,
+                                @Value("${password-migration.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public PasswordMigrationResult run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Password migration is already running");
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Checkpoint checkpoint = resumePoint();
+            long startId = checkpoint.lastId();
+            long lastId = startId;
+            // processed checkpoint'te birikimli tutulur; scanned/attempted/migrated yalnızca bu çalıştırmayı sayar.
+            long processed = checkpoint.processed();
+            long scanned = 0;
+            long attempted = 0;
+            long migrated = 0;
+
+            while (true) {
+                List<PasswordRow> rows = readChunk(lastId);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<Object[]> updates = hash(pool, rows);
+                long chunkLastId = rows.get(rows.size() - 1).id();
+                long chunkProcessed = processed + rows.size();
+
+                int[] counts = chunkTransaction.execute(status -> {
+                    int[] updated = new int[0];
+                    if (!updates.isEmpty()) {
+                        // password_hash koşulu: migration sırasında şifresini değiştiren kullanıcının hash'i ezilmez.
+                        updated = jdbcTemplate.batchUpdate(
+                                "update employees set password_hash = ? where id = ? and password_hash = ?", updates);
+                    }
+                    saveCheckpoint(chunkLastId, chunkProcessed, false);
+                    return updated;
+                });
+
+                lastId = chunkLastId;
+                processed = chunkProcessed;
+                scanned += rows.size();
+                attempted += updates.size();
+                // Koşulu tutmayan (bu arada değişmiş) satırlar 0 döner ve sayılmaz.
+                migrated += Arrays.stream(counts).filter(count -> count > 0).sum();
+                log.info("Password migration: processed " + processed + " rows, last id " + lastId);
+            }
+
+            saveCheckpoint(lastId, processed, true);
+            if (migrated > 0) {
+                principalCache.invalidateAll();
+            }
+            return new PasswordMigrationResult(scanned, migrated, scanned - attempted, startId);
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+
+    static boolean isBcryptHash(String value) {
+        return value != null && BCRYPT.matcher(value).matches();
+    }
+
+    private List<PasswordRow> readChunk(long afterId) {
+        return jdbcTemplate.query(
+                "select id, password_hash from employees where id > ? order by id limit ?",
+                (rs, rowNum) -> new PasswordRow(rs.getLong("id"), rs.getString("password_hash")),
+                afterId, chunkSize);
+    }
+
+    private List<Object[]> hash(ForkJoinPool pool, List<PasswordRow> rows) {
+        try {
+            return pool.submit(() -> rows.parallelStream()
+                    .filter(row -> row.passwordHash() != null && !isBcryptHash(row.passwordHash()))
+                    .map(row -> new Object[]{passwordEncoder.encode(row.passwordHash()), row.id(), row.passwordHash()})
+                    .toList()
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password migration interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /// Tamamlanmamış bir checkpoint varsa oradan (işlenen satır sayısıyla birlikte) devam edilir; yoksa baştan başlanır.
+    private Checkpoint resumePoint() {
+        List<Checkpoint> pending = jdbcTemplate.query(
+                "select last_id, processed from migration_checkpoints where job_name = ? and completed_at is null",
+                (rs, rowNum) -> new Checkpoint(rs.getLong("last_id"), rs.getLong("processed")),
+                JOB_NAME);
+        return pending.isEmpty() ? new Checkpoint(0L, 0L) : pending.get(0);
+    }
+
+    private void saveCheckpoint(long lastId, long processed, boolean completed) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp completedAt = completed ? now : null;
+        int updated = jdbcTemplate.update(
+                "update migration_checkpoints set last_id = ?, processed = ?, updated_at = ?, completed_at = ? where job_name = ?",
+                lastId, processed, now, completedAt, JOB_NAME);
+        if (updated == 0) {
+            jdbcTemplate.update(
+                    "insert into migration_checkpoints (job_name, last_id, processed, updated_at, completed_at) values (?, ?, ?, ?, ?)",
+                    JOB_NAME, lastId, processed, now, completedAt);
+        }
+    }
+
+    private record PasswordRow(long id, String passwordHash) {
+    }
+
+    private record Checkpoint(long lastId, long processed) {
+    }
+}
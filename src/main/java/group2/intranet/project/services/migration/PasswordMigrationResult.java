@@ -0,0 +1,7 @@
+package group2.intranet.project.services.migration;
+
+/// PasswordMigrationJob'un tek çalıştırmasının sonucu: bu çalıştırmada okunan satırlar (scanned),
+/// düz metin şifresi BCrypt hash'iyle değiştirilenler (migrated; bu arada değişen satırlar sayılmaz),
+/// zaten BCrypt olanlar (skipped) ve başlanan checkpoint id'si (resumedFromId; yeni çalıştırmada 0).
+public record PasswordMigrationResult(long scanned, long migrated, long skipped, long resumedFromId) {
+}
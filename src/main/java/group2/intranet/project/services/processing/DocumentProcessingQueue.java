@@ -0,0 +1,148 @@
+package group2.intranet.project.services.processing;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/// document_processing_tasks tablosunda tutulan, doküman son işlemesi için kalıcı iş kuyruğu.
+///
+/// Doküman kuyruğa PENDING durumuyla girer: enqueuePending görevi olmayan her bekleyen doküman için görev ekler;
+/// yüklemeler, arşiv içe aktarmaları ve çökmeden kalan satırlar aynı yoldan geçer, yükleme kuyruğu hiç beklemez.
+/// Worker'lar vadesi gelen görevleri kira (lease) yazan koşullu bir update ile claim eder; eş zamanlı dağıtıcılar
+/// (ya da instance'lar) aynı görevi almaz, worker'ı ölen görev kira bitince yeniden vadesi gelir. Denemenin sonucu
+/// dokümanı yalnızca işlenen içerik hâlâ duruyorsa değiştirir: bu arada yüklenen yeni sürüm, kendi görevi için
+/// PENDING kalır. Düz JDBC, yoklama sorgularını persistence context'ten uzak tutar.
+@Component
+public class DocumentProcessingQueue {
+
+    public record Task(long id, int documentId, int attempts) {
+    }
+
+    public record Content(String hash, Long size) {
+    }
+
+    private static final String ENQUEUE_PENDING =
+            "insert into document_processing_tasks (document_id, attempts, next_attempt_at, created_at) "
+                    + "select d.id, 0, :now, :now from documents d where d.processing_status = 'PENDING' "
+                    + "and not exists (select 1 from document_processing_tasks t where t.document_id = d.id)";
+    private static final String SELECT_DUE =
+            "select id, document_id, attempts from document_processing_tasks "
+                    + "where next_attempt_at <= :now and (leased_until is null or leased_until < :now) "
+                    + "order by next_attempt_at, id limit :limit";
+    private static final String LEASE =
+            "update document_processing_tasks set leased_until = :leasedUntil "
+                    + "where id = :id and (leased_until is null or leased_until < :now)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public DocumentProcessingQueue(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /// Görevi olmayan her PENDING doküman için görev ekler; eklenen sayıyı döner.
+    public int enqueuePending(LocalDateTime now) {
+        return jdbcTemplate.update(ENQUEUE_PENDING, Map.of("now", Timestamp.valueOf(now)));
+    }
+
+    /// Vadesi gelen en fazla limit görevi, en eskiden başlayarak leasedUntil'e kadar kiralar.
+    public List<Task> claim(int limit, LocalDateTime now, LocalDateTime leasedUntil) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("leasedUntil", Timestamp.valueOf(leasedUntil))
+                .addValue("limit", limit);
+        List<Task> due = jdbcTemplate.query(SELECT_DUE, params,
+                (rs, row) -> new Task(rs.getLong("id"), rs.getInt("document_id"), rs.getInt("attempts")));
+        List<Task> claimed = new ArrayList<>(due.size());
+        for (Task task : due) {
+            if (jdbcTemplate.update(LEASE, new MapSqlParameterSource(params.getValues()).addValue("id", task.id())) == 1) {
+                setStatus(task.documentId(), DocumentProcessingStatus.PROCESSING);
+                claimed.add(task);
+            }
+        }
+        return claimed;
+    }
+
+    /// Görevin dokümanının saklanan içeriği; doküman silinmişse null.
+    public Content content(int documentId) {
+        List<Content> rows = jdbcTemplate.query("select content_hash, content_size from documents where id = :id",
+                Map.of("id", documentId),
+                (rs, row) -> new Content(rs.getString("content_hash"), rs.getObject("content_size", Long.class)));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /// processedHash için sonucu kaydeder; içerik o zamandan beri değiştiyse dokümana dokunmaz.
+    public void complete(Task task, String processedHash, DocumentProcessingResult result, LocalDateTime now) {
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("update documents set processing_status = :status, detected_content_type = :type, "
+                            + "page_count = :pages, processed_at = :now where id = :id and " + sameContent(processedHash),
+                    new MapSqlParameterSource()
+                            .addValue("status", DocumentProcessingStatus.DONE.name())
+                            .addValue("type", result.detectedContentType())
+                            .addValue("pages", result.pageCount(), Types.INTEGER)
+                            .addValue("now", Timestamp.valueOf(now))
+                            .addValue("id", task.documentId())
+                            .addValue("hash", processedHash));
+            remove(task);
+        });
+    }
+
+    /// Kirayı bırakır ve sonraki denemeyi planlar; doküman PENDING'e döner.
+    public void retry(Task task, String processedHash, String error, LocalDateTime nextAttemptAt) {
+        transaction.executeWithoutResult(status -> {
+            recordAttempt(task, error, nextAttemptAt);
+            setStatus(task.documentId(), processedHash, DocumentProcessingStatus.PENDING);
+        });
+    }
+
+    /// Dokümanı FAILED yapar; görev, sonraki denemesi olmadan hatanın kaydı olarak kalır.
+    public void fail(Task task, String processedHash, String error) {
+        transaction.executeWithoutResult(status -> {
+            recordAttempt(task, error, null);
+            setStatus(task.documentId(), processedHash, DocumentProcessingStatus.FAILED);
+        });
+    }
+
+    /// Artık var olmayan dokümanın görevini siler.
+    public void remove(Task task) {
+        jdbcTemplate.update("delete from document_processing_tasks where id = :id", Map.of("id", task.id()));
+    }
+
+    private void recordAttempt(Task task, String error, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update("update document_processing_tasks set attempts = :attempts, next_attempt_at = :next, "
+                        + "leased_until = null, last_error = :error where id = :id",
+                new MapSqlParameterSource()
+                        .addValue("attempts", task.attempts() + 1)
+                        .addValue("next", nextAttemptAt != null ? Timestamp.valueOf(nextAttemptAt) : null, Types.TIMESTAMP)
+                        .addValue("error", error != null && error.length() > 500 ? error.substring(0, 500) : error, Types.VARCHAR)
+                        .addValue("id", task.id()));
+    }
+
+    private void setStatus(int documentId, DocumentProcessingStatus status) {
+        jdbcTemplate.update("update documents set processing_status = :status where id = :id",
+                Map.of("status", status.name(), "id", documentId));
+    }
+
+    private void setStatus(int documentId, String processedHash, DocumentProcessingStatus status) {
+        jdbcTemplate.update("update documents set processing_status = :status where id = :id and " + sameContent(processedHash),
+                new MapSqlParameterSource()
+                        .addValue("status", status.name())
+                        .addValue("id", documentId)
+                        .addValue("hash", processedHash));
+    }
+
+    /// İşlenen içerik hâlâ dokümanın güncel içeriği mi; arada yeni sürüm yüklendiyse sonuç dokümana yazılmaz.
+    private static String sameContent(String processedHash) {
+        return processedHash != null ? "content_hash = :hash" : "content_hash is null";
+    }
+}
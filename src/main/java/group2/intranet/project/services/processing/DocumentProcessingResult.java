@@ -0,0 +1,6 @@
+package group2.intranet.project.services.processing;
+
+/// DocumentProcessor'ın doküman içeriğinden çıkardıkları: çözülmüş içeriğin hex SHA-256'sı ve bayt uzunluğu,
+/// magic byte'lardan tespit edilen MIME türü ve sayfa ağacı okunabilen PDF'lerin sayfa sayısı (diğerlerinde null).
+public record DocumentProcessingResult(String sha256, long size, String detectedContentType, Integer pageCount) {
+}
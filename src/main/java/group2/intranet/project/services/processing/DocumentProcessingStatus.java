@@ -0,0 +1,12 @@
+package group2.intranet.project.services.processing;
+
+/// Dokümanın son işleme durumu. İçeriği olmayan (ve işleme eklenmeden önce oluşturulmuş) satırların durumu yoktur.
+public enum DocumentProcessingStatus {
+    /// Worker bekliyor (denemeler arası dahil).
+    PENDING,
+    /// Bir worker'a kiralandı.
+    PROCESSING,
+    DONE,
+    /// Denemeler tükendi ya da saklanan içerik checksum'ıyla uyuşmuyor; görevin son hatasına bakılır.
+    FAILED
+}
@@ -0,0 +1,219 @@
+package group2.intranet.project.services.processing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/// Doküman son işlemesini istek yolunun dışında çalıştırır.
+///
+/// Yüklemeler dokümanı yalnızca PENDING yapıp wakeUp() çağırır; wakeUp dağıtımı tek dağıtıcı thread'e verip hemen
+/// döner (biri kuyruktayken gelen uyandırmalar birleşir). Dağıtım bekleyen dokümanları DocumentProcessingQueue'ya
+/// taşır, boş slot sayısı kadar vadesi gelen görevi kiralar ve sabit worker havuzuna verir. Slot sayısı
+/// workers + queue-capacity'dir; bellekte en fazla o kadar görev tutulur, kalanı tabloda bekler. Periyodik yoklama
+/// beklemesi dolan denemeleri ve başka instance'lardan ya da yeniden başlatmadan kalan işleri alır.
+///
+/// Başarısız denemeler üstel beklemeyle (retry-backoff'tan başlayıp her denemede ikiye katlanarak en fazla
+/// max-retry-backoff, jitter ile) max-attempts'e kadar tekrarlanır. Saklanan checksum ya da boyutla uyuşmayan
+/// içerik, tekrar denemek düzeltemeyeceği için hemen FAILED olur.
+@Log
+@Component
+public class DocumentProcessingWorker implements MeterBinder {
+
+    private final DocumentProcessingQueue queue;
+    private final DocumentProcessor processor;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration lease;
+    private final int slotCount;
+    private final Semaphore slots;
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor dispatcher;
+    private final AtomicBoolean moreDue = new AtomicBoolean();
+    private final LongAdder done = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public DocumentProcessingWorker(DocumentProcessingQueue queue,
+                                    DocumentProcessor processor,
+                                    @Value("${documents.processing.workers:2}") int workerCount,
+                                    @Value("${documents.processing.queue-capacity:32}") int queueCapacity,
+                                    @Value("${documents.processing.max-attempts:5}") int maxAttempts,
+                                    @Value("${documents.processing.retry-backoff:30s}") Duration retryBackoff,
+                                    @Value("${documents.processing.max-retry-backoff:1h}") Duration maxRetryBackoff,
+                                    @Value("${documents.processing.lease:10m}") Duration lease) {
+        this.queue = queue;
+        this.processor = processor;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.lease = lease;
+        this.slotCount = workerCount + queueCapacity;
+        this.slots = new Semaphore(slotCount);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("document-processing-"));
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new CustomizableThreadFactory("document-processing-dispatch-"),
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /// Dağıtım ister, beklemez. Transaction içindeyse istek commit sonrasına bırakılır; yeni doküman dağıtıcıya görünür.
+    public void wakeUp() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.execute(DocumentProcessingWorker.this::dispatch);
+                }
+            });
+            return;
+        }
+        dispatcher.execute(this::dispatch);
+    }
+
+    @Scheduled(fixedDelayString = "${documents.processing.poll-interval:30s}",
+               initialDelayString = "${documents.processing.poll-interval:30s}")
+    public void poll() {
+        wakeUp();
+    }
+
+    public int inFlight() {
+        return slotCount - slots.availablePermits();
+    }
+
+    private void dispatch() {
+        try {
+            // Kolonlar mikro saniye hassasiyetinde; yuvarlanan next_attempt_at aynı 'now' ile karşılaştırıldığında ileride kalmasın.
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            queue.enqueuePending(now);
+            int free = slots.availablePermits();
+            if (free == 0) {
+                moreDue.set(true);
+                return;
+            }
+            List<DocumentProcessingQueue.Task> tasks = queue.claim(free, now, now.plus(lease));
+            moreDue.set(tasks.size() == free);
+            for (DocumentProcessingQueue.Task task : tasks) {
+                slots.acquireUninterruptibly();
+                workers.execute(() -> run(task));
+            }
+        } catch (DataAccessException e) {
+            log.warning("Document processing dispatch failed: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void run(DocumentProcessingQueue.Task task) {
+        try {
+            process(task);
+        } catch (DataAccessException e) {
+            // Sonuç yazılamadı; kira süresi dolunca görev tekrar alınır.
+            log.warning("Could not record processing of document " + task.documentId() + ": " + e.getMostSpecificCause().getMessage());
+        } finally {
+            slots.release();
+            if (moreDue.compareAndSet(true, false)) {
+                wakeUp();
+            }
+        }
+    }
+
+    private void process(DocumentProcessingQueue.Task task) {
+        DocumentProcessingQueue.Content content = queue.content(task.documentId());
+        if (content == null) {
+            queue.remove(task);
+            return;
+        }
+        if (content.hash() == null) {
+            fail(task, null, "Document has no stored content");
+            return;
+        }
+        DocumentProcessingResult result;
+        try {
+            result = processor.process(content.hash());
+        } catch (IOException | RuntimeException e) {
+            retryOrFail(task, content.hash(), e);
+            return;
+        }
+        if (!result.sha256().equals(content.hash()) || (content.size() != null && result.size() != content.size())) {
+            fail(task, content.hash(), "Stored content does not match its checksum (" + result.sha256() + ", " + result.size() + " bytes)");
+            return;
+        }
+        queue.complete(task, content.hash(), result, LocalDateTime.now());
+        done.increment();
+    }
+
+    private void retryOrFail(DocumentProcessingQueue.Task task, String hash, Exception e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        int attempt = task.attempts() + 1;
+        if (attempt >= maxAttempts) {
+            log.log(Level.WARNING, "Giving up processing document " + task.documentId() + " after " + attempt + " attempts", e);
+            fail(task, hash, error);
+            return;
+        }
+        log.info("Processing document " + task.documentId() + " failed (attempt " + attempt + "), retrying: " + error);
+        queue.retry(task, hash, error, LocalDateTime.now().plus(backoff(attempt)));
+        retried.increment();
+    }
+
+    private void fail(DocumentProcessingQueue.Task task, String hash, String error) {
+        queue.fail(task, hash, error);
+        failed.increment();
+    }
+
+    /// Eşit jitter: gecikmenin yarısı sabit, yarısı rastgele; aynı anda düşen görevler yayılır.
+    private Duration backoff(int attempt) {
+        long base = retryBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long delay = Math.min(base, maxRetryBackoff.toMillis());
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            // Yarım kalan görevler kira süresi dolunca yeniden alınır.
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "done", done);
+        counter(registry, "retried", retried);
+        counter(registry, "failed", failed);
+        Gauge.builder("document.processing.in.flight", this, DocumentProcessingWorker::inFlight)
+                .description("Document processing tasks leased by this instance")
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String outcome, LongAdder count) {
+        FunctionCounter.builder("document.processing.attempts", count, LongAdder::sum)
+                .tag("outcome", outcome)
+                .description("Document processing attempts by outcome")
+                .register(registry);
+    }
+}
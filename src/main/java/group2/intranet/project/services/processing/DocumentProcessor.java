@@ -0,0 +1,73 @@
+package group2.intranet.project.services.processing;
+
+import group2.intranet.project.services.storage.BlobStore;
+import group2.intranet.project.services.storage.DocumentVersionStore;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/// Saklanan dokümanı çözerek bir kez okur; checksum, boyut, gerçek MIME türü ve (PDF'lerde) sayfa sayısını çıkarır.
+/// Bellekte yalnızca sabit boyutlu bir buffer ve magic byte örneği tutulur. Yeni sürüm olarak yüklenen içerik
+/// parçalarından okunur.
+@Component
+public class DocumentProcessor {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BlobStore blobStore;
+    private final DocumentVersionStore versionStore;
+
+    public DocumentProcessor(BlobStore blobStore, DocumentVersionStore versionStore) {
+        this.blobStore = blobStore;
+        this.versionStore = versionStore;
+    }
+
+    public DocumentProcessingResult process(String contentHash) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream content = new BufferedInputStream(open(contentHash), BUFFER_SIZE)) {
+            content.mark(MagicBytes.SAMPLE_SIZE);
+            byte[] sample = new byte[MagicBytes.SAMPLE_SIZE];
+            int sampled = content.readNBytes(sample, 0, sample.length);
+            content.reset();
+            String detectedType = MagicBytes.detect(sample, sampled);
+
+            PdfPageCounter pages = MagicBytes.PDF.equals(detectedType) ? new PdfPageCounter() : null;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            for (int n; (n = content.read(buffer)) != -1; ) {
+                digest.update(buffer, 0, n);
+                if (pages != null) {
+                    pages.update(buffer, 0, n);
+                }
+                size += n;
+            }
+            return new DocumentProcessingResult(HexFormat.of().formatHex(digest.digest()), size, detectedType,
+                    pages != null ? pages.pageCount() : null);
+        }
+    }
+
+    private InputStream open(String contentHash) throws IOException {
+        if (blobStore.exists(contentHash)) {
+            return blobStore.open(contentHash);
+        }
+        InputStream chunked = versionStore.openVersionContent(contentHash);
+        if (chunked == null) {
+            throw new NoSuchFileException(contentHash);
+        }
+        return chunked;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
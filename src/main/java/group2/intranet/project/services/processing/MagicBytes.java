@@ -0,0 +1,136 @@
+package group2.intranet.project.services.processing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/// Dosya adından ve istemcinin bildirdiği türden bağımsız olarak, dosyanın ilk baytlarından MIME türü tespit eder.
+///
+/// Kullanıcıların intranete gerçekten yüklediği biçimleri kapsar: PDF, yaygın görseller, OOXML ve OpenDocument
+/// (ZIP kabının ilk girdilerinden tanınır), eski OLE2 Office dosyaları, gzip, RTF ve XML. Diğerleri, örnek NUL
+/// içermeyen geçerli UTF-8 ise text/plain, değilse application/octet-stream olur.
+public final class MagicBytes {
+
+    /// Tespit için gereken bayt sayısı; daha kısa örnekler de çalışır ama genel bir türe düşebilir.
+    public static final int SAMPLE_SIZE = 8 * 1024;
+
+    public static final String PDF = "application/pdf";
+    public static final String OCTET_STREAM = "application/octet-stream";
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final byte[] OLE2 = {(byte) 0xd0, (byte) 0xcf, 0x11, (byte) 0xe0, (byte) 0xa1, (byte) 0xb1, 0x1a, (byte) 0xe1};
+    private static final byte[] ZIP = {'P', 'K', 3, 4};
+
+    private MagicBytes() {
+    }
+
+    public static String detect(byte[] sample, int length) {
+        if (startsWith(sample, length, 0, "%PDF-")) {
+            return PDF;
+        }
+        if (startsWith(sample, length, 0, PNG)) {
+            return "image/png";
+        }
+        if (length >= 3 && (sample[0] & 0xff) == 0xff && (sample[1] & 0xff) == 0xd8 && (sample[2] & 0xff) == 0xff) {
+            return "image/jpeg";
+        }
+        if (startsWith(sample, length, 0, "GIF87a") || startsWith(sample, length, 0, "GIF89a")) {
+            return "image/gif";
+        }
+        if (startsWith(sample, length, 0, "RIFF") && startsWith(sample, length, 8, "WEBP")) {
+            return "image/webp";
+        }
+        if (startsWith(sample, length, 0, "II*\0") || startsWith(sample, length, 0, "MM\0*")) {
+            return "image/tiff";
+        }
+        if (startsWith(sample, length, 0, ZIP)) {
+            return zipType(sample, length);
+        }
+        if (startsWith(sample, length, 0, OLE2)) {
+            // Word, Excel and PowerPoint 97-2003 share this container; telling them apart needs the directory.
+            return "application/x-ole-storage";
+        }
+        if (length >= 2 && (sample[0] & 0xff) == 0x1f && (sample[1] & 0xff) == 0x8b) {
+            return "application/gzip";
+        }
+        if (startsWith(sample, length, 0, "{\\rtf")) {
+            return "application/rtf";
+        }
+        int textStart = startsWith(sample, length, 0, new byte[]{(byte) 0xef, (byte) 0xbb, (byte) 0xbf}) ? 3 : 0;
+        if (startsWith(sample, length, textStart, "<?xml")) {
+            return "application/xml";
+        }
+        return isText(sample, textStart, length) ? "text/plain" : OCTET_STREAM;
+    }
+
+    /// OpenDocument stores its type uncompressed as the first entry ("mimetype" at offset 30, content
+    /// after the name); OOXML is recognised by its part folders in the local file headers of the sample.
+    private static String zipType(byte[] sample, int length) {
+        if (startsWith(sample, length, 30, "mimetype")) {
+            int size = (sample[18] & 0xff) | (sample[19] & 0xff) << 8 | (sample[20] & 0xff) << 16 | (sample[21] & 0xff) << 24;
+            if (size > 0 && size <= 100 && 38 + size <= length) {
+                return new String(sample, 38, size, StandardCharsets.US_ASCII);
+            }
+        }
+        String names = new String(sample, 0, length, StandardCharsets.ISO_8859_1);
+        if (names.contains("word/")) {
+            return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        }
+        if (names.contains("xl/")) {
+            return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+        }
+        if (names.contains("ppt/")) {
+            return "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+        }
+        return "application/zip";
+    }
+
+    private static boolean isText(byte[] sample, int start, int length) {
+        if (length == start) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            if (sample[i] == 0) {
+                return false;
+            }
+        }
+        // A full sample may end inside a multi-byte character.
+        int tolerance = length == SAMPLE_SIZE ? 3 : 0;
+        for (int cut = 0; cut <= tolerance && length - cut > start; cut++) {
+            if (isUtf8(sample, start, length - cut)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUtf8(byte[] sample, int start, int end) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            decoder.decode(ByteBuffer.wrap(sample, start, end - start));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    private static boolean startsWith(byte[] sample, int length, int offset, String prefix) {
+        return startsWith(sample, length, offset, prefix.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static boolean startsWith(byte[] sample, int length, int offset, byte[] prefix) {
+        if (length < offset + prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (sample[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,81 @@
+package group2.intranet.project.services.processing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// PDF'ler için akışlı sayfa sayacı; içerik hash'lenirken parça parça beslenir.
+///
+/// Sayım /Type /Page işaretlerini saymak yerine belge yapısını izler: trailer'ın (ya da cross-reference akışının)
+/// /Root'u kataloğu, kataloğun /Pages'i sayfa ağacının kökünü gösterir; o düğümün /Count'u sayfa sayısıdır. Bir
+/// nesnenin son tanımı ve son /Root geçerlidir; artımlı güncellenen dosyalar güncel hâlini bildirir. Katalog
+/// çözülemezse en büyük sayfa ağacı /Count'u kullanılır. Sıkıştırılmış nesne akışlarındaki nesneler görünmez; bu
+/// dosyalar sayfa sayısı bildirmez.
+///
+/// Parçalar, incelenen en uzun yapıdan uzun olan OVERLAP karakterlik örtüşmeyle ISO-8859-1 metin olarak taranır;
+/// parçalar arasında bölünen sözlük tam bir kez görülür.
+public class PdfPageCounter {
+
+    private static final int MAX_OBJECT_HEAD = 1024;
+    private static final int OVERLAP = 2048;
+
+    private static final Pattern OBJECT = Pattern.compile("(?<!\\d)(\\d{1,10})\\s+\\d{1,5}\\s+obj\\b");
+    private static final Pattern ROOT = Pattern.compile("/Root\\s+(\\d{1,10})\\s+\\d{1,5}\\s+R");
+    private static final Pattern PAGES_TYPE = Pattern.compile("/Type\\s*/Pages\\b");
+    private static final Pattern CATALOG_TYPE = Pattern.compile("/Type\\s*/Catalog\\b");
+    private static final Pattern COUNT = Pattern.compile("/Count\\s+(\\d{1,9})");
+    private static final Pattern PAGES_REF = Pattern.compile("/Pages\\s+(\\d{1,10})\\s+\\d{1,5}\\s+R");
+
+    private final Map<Long, Integer> pageTreeCounts = new HashMap<>();
+    private final Map<Long, Long> catalogPages = new HashMap<>();
+    private Long root;
+    private String carry = "";
+
+    public void update(byte[] chunk, int offset, int length) {
+        String window = carry + new String(chunk, offset, length, StandardCharsets.ISO_8859_1);
+        int limit = Math.max(0, window.length() - OVERLAP);
+        scan(window, limit);
+        carry = window.substring(limit);
+    }
+
+    /// Dosyanın tamamı beslendikten sonraki sayfa sayısı; sayfa ağacı bulunamadıysa null.
+    public Integer pageCount() {
+        scan(carry, carry.length());
+        carry = "";
+        if (root != null && catalogPages.containsKey(root)) {
+            Integer count = pageTreeCounts.get(catalogPages.get(root));
+            if (count != null) {
+                return count;
+            }
+        }
+        return pageTreeCounts.values().stream().max(Integer::compare).orElse(null);
+    }
+
+    /// Yalnızca limit'ten önce başlayan eşleşmeler işlenir; gerisi bir sonraki pencerede tekrar görülür.
+    private void scan(String window, int limit) {
+        Matcher object = OBJECT.matcher(window);
+        while (object.find() && object.start() < limit) {
+            int end = Math.min(window.length(), object.end() + MAX_OBJECT_HEAD);
+            int endobj = window.indexOf("endobj", object.end());
+            String head = window.substring(object.end(), endobj >= 0 && endobj < end ? endobj : end);
+            long number = Long.parseLong(object.group(1));
+            if (PAGES_TYPE.matcher(head).find()) {
+                Matcher count = COUNT.matcher(head);
+                if (count.find()) {
+                    pageTreeCounts.put(number, Integer.parseInt(count.group(1)));
+                }
+            } else if (CATALOG_TYPE.matcher(head).find()) {
+                Matcher pages = PAGES_REF.matcher(head);
+                if (pages.find()) {
+                    catalogPages.put(number, Long.parseLong(pages.group(1)));
+                }
+            }
+        }
+        Matcher rootRef = ROOT.matcher(window);
+        while (rootRef.find() && rootRef.start() < limit) {
+            root = Long.parseLong(rootRef.group(1));
+        }
+    }
+}
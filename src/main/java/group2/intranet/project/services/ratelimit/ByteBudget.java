@@ -0,0 +1,89 @@
+package group2.intranet.project.services.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/// Aktarımdaki baytlar için global ve anahtar başına bütçe.
+///
+/// Global bütçe KiB cinsinden sayan adil bir Semaphore'dur (birkaç GiB'lık bütçe de int'e sığar); bekleyenler geliş
+/// sırasıyla alınır, büyük yükleme küçüklerin ardı arkası kesilmeyen akışı yüzünden aç kalmaz. Anahtar başına
+/// bütçeler hiç beklemeyen sayaçlardır: bir kullanıcının ani yükü, diğerlerinin ihtiyaç duyduğu kuyruk yerlerini
+/// tutmak yerine hemen reddedilir. Aktarımda baytı kalmayan anahtarlar silinir; map yalnızca o an yükleme yapanları tutar.
+public class ByteBudget {
+
+    public enum Outcome { ADMITTED, KEY_FULL, GLOBAL_FULL, TOO_LARGE }
+
+    private final Semaphore global;
+    private final int globalKib;
+    private final long perKeyKib;
+    private final Map<String, Long> inFlightByKey = new ConcurrentHashMap<>();
+
+    public ByteBudget(long globalBytes, long perKeyBytes) {
+        this.globalKib = (int) Math.min(Integer.MAX_VALUE, toKib(globalBytes));
+        this.perKeyKib = toKib(perKeyBytes);
+        this.global = new Semaphore(globalKib, true);
+    }
+
+    /// Anahtar için bayt ayırır; global kapasite için en fazla maxWaitNanos bekler. Bütçelerden birine hiç sığamayacak
+    /// ayırma TOO_LARGE döner.
+    public Outcome acquire(String key, long bytes, long maxWaitNanos) throws InterruptedException {
+        long kib = toKib(bytes);
+        if (kib > globalKib || kib > perKeyKib) {
+            return Outcome.TOO_LARGE;
+        }
+        if (!reserveForKey(key, kib)) {
+            return Outcome.KEY_FULL;
+        }
+        boolean admitted = false;
+        try {
+            admitted = global.tryAcquire((int) kib, maxWaitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            if (!admitted) {
+                releaseForKey(key, kib);
+            }
+        }
+        return admitted ? Outcome.ADMITTED : Outcome.GLOBAL_FULL;
+    }
+
+    public void release(String key, long bytes) {
+        long kib = toKib(bytes);
+        global.release((int) kib);
+        releaseForKey(key, kib);
+    }
+
+    public long inFlightBytes() {
+        return (long) (globalKib - global.availablePermits()) * 1024;
+    }
+
+    public int queued() {
+        return global.getQueueLength();
+    }
+
+    public int activeKeys() {
+        return inFlightByKey.size();
+    }
+
+    private boolean reserveForKey(String key, long kib) {
+        boolean[] reserved = new boolean[1];
+        inFlightByKey.compute(key, (k, current) -> {
+            long used = current != null ? current : 0L;
+            if (used + kib > perKeyKib) {
+                return current;
+            }
+            reserved[0] = true;
+            return used + kib;
+        });
+        return reserved[0];
+    }
+
+    private void releaseForKey(String key, long kib) {
+        inFlightByKey.computeIfPresent(key, (k, current) -> current - kib > 0 ? current - kib : null);
+    }
+
+    /// Yukarı yuvarlar; boş gövdeler de bir yükleme sayılsın diye en az 1 KiB ayırır.
+    private static long toKib(long bytes) {
+        return Math.max(1, (bytes + 1023) / 1024);
+    }
+}
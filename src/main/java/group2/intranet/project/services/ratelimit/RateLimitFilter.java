@@ -0,0 +1,120 @@
+package group2.intranet.project.services.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import group2.intranet.project.services.jwt.AuthenticatedUser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/// JwtAuthFilter'dan sonra çalışan istek sınırlayıcı.
+///
+/// Her kural için kullanıcı başına (JWT id claim'i) veya IP başına bir token bucket tutulur.
+/// Bucket'lar Caffeine tablosunda durur; belli bir süre kullanılmayanlar otomatik silinir.
+/// Limit aşılırsa 429 ve Retry-After döner, red sayaçları Micrometer'a yazılır.
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final boolean enabled;
+    private final List<CompiledRule> rules;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.rules = new ArrayList<>();
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        for (int i = 0; i < properties.getRules().size(); i++) {
+            RateLimitProperties.Rule rule = properties.getRules().get(i);
+            rules.add(new CompiledRule(i, rule.getPattern(), parser.parse(rule.getPattern()), rule.getScope(),
+                    TimeUnit.MINUTES.toNanos(1) / rule.getPermitsPerMinute(), rule.getBurst()));
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CompiledRule rule = match(request.getRequestURI());
+        if (rule != null) {
+            String key = rule.key(request);
+            TokenBucket bucket = buckets.get(key, k -> new TokenBucket(rule.emissionIntervalNanos(), rule.burst()));
+            long waitNanos = bucket.tryConsume(System.nanoTime());
+            if (waitNanos > 0) {
+                rule.rejected().increment();
+                long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private CompiledRule match(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (CompiledRule rule : rules) {
+            if (rule.pattern().matches(container)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CompiledRule rule : rules) {
+            FunctionCounter.builder("rate.limit.rejected", rule.rejected(), LongAdder::sum)
+                    .tag("rule", rule.source())
+                    .description("Requests answered with 429 by the rate limiter")
+                    .register(registry);
+        }
+        Gauge.builder("rate.limit.buckets", buckets, Cache::estimatedSize)
+                .register(registry);
+    }
+
+    private record CompiledRule(int index, String source, PathPattern pattern, RateLimitProperties.Scope scope,
+                                long emissionIntervalNanos, int burst, LongAdder rejected) {
+
+        CompiledRule(int index, String source, PathPattern pattern, RateLimitProperties.Scope scope,
+                     long emissionIntervalNanos, int burst) {
+            this(index, source, pattern, scope, emissionIntervalNanos, burst, new LongAdder());
+        }
+
+        String key(HttpServletRequest request) {
+            if (scope == RateLimitProperties.Scope.USER) {
+                Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+                if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+                    return index + ":u:" + user.getId();
+                }
+            }
+            return index + ":ip:" + request.getRemoteAddr();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package group2.intranet.project.services.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /// Tüm kurallar için bellekte tutulan en fazla kova sayısı.
+    private long maxTrackedKeys = 100_000;
+
+    /// Bu süre dokunulmayan kova atılır (zaten yeniden dolmuş olurdu).
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    /// Sırayla denenir; kalıbı istek yolunu eşleyen ilk kural uygulanır.
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum Scope {
+        /// Anahtar JWT'deki id claim'idir; anonim isteklerde istemci IP'sine düşülür.
+        USER,
+        /// Anahtar her zaman istemci IP'sidir; anonim çağrılara açık rotalar için.
+        IP
+    }
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private String pattern;
+        private Scope scope = Scope.USER;
+        private int permitsPerMinute = 120;
+        private int burst = 30;
+    }
+}
@@ -0,0 +1,35 @@
+package group2.intranet.project.services.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/// GCRA (generic cell rate algorithm) ile token bucket: tüm durum tek bir AtomicLong'daki, CAS ile güncellenen
+/// "teorik varış zamanı"dır; kovalar kilitsizdir ve 16 bayt durum tutar.
+/// Teorik varış zamanı şimdiden en fazla burst aralık ilerideyken istek kabul edilir; kabul edilen her istek
+/// onu bir aralık ileri iter.
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(long emissionIntervalNanos, int burst) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstWindowNanos = emissionIntervalNanos * burst;
+    }
+
+    /// Bir token harcar. İzin verilirse 0, aksi halde token açılana kadar kalan nanosaniyeyi döner.
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = (tat == Long.MIN_VALUE || tat - nowNanos < 0) ? nowNanos : tat;
+            long next = base + emissionIntervalNanos;
+            long excess = next - nowNanos - burstWindowNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package group2.intranet.project.services.ratelimit;
+
+import group2.intranet.project.services.jwt.AuthenticatedUser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Yükleme uçları için bayt bütçeli kabul kontrolü; RateLimitFilter'dan sonra çalışır.
+///
+/// Gövde okunmadan (multipart ayrıştırma DispatcherServlet'te yapılır) Content-Length kadar yer
+/// hem genel bütçeden hem kullanıcının (JWT id claim'i, yoksa IP) bütçesinden ayrılır ve istek
+/// bitince geri verilir. Kullanıcı bütçesi dolarsa hemen, genel bütçe dolarsa en fazla maxWait
+/// kadar sırada bekledikten sonra 503 ve Retry-After döner. Tek başına bütçeye sığmayan istek 413 alır.
+/// ZIP arşivi gibi gövdeyi parça parça akıtan uçlar en fazla streamingReservation kadar yer ayırır;
+/// bellekte aynı anda yalnızca bir dosya bulunduğundan büyük arşivler kullanıcı bütçesine takılmaz.
+public class UploadAdmissionFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final Set<String> BODY_METHODS = Set.of("POST", "PUT", "PATCH");
+
+    private final boolean enabled;
+    private final List<PathPattern> patterns;
+    private final List<PathPattern> streamingPatterns;
+    private final long streamingReservation;
+    private final ByteBudget budget;
+    private final long unknownLengthReservation;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final Map<ByteBudget.Outcome, LongAdder> rejected = new EnumMap<>(ByteBudget.Outcome.class);
+
+    public UploadAdmissionFilter(UploadAdmissionProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.patterns = properties.getPatterns().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.streamingPatterns = properties.getStreamingPatterns().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.streamingReservation = properties.getStreamingReservation().toBytes();
+        this.budget = new ByteBudget(properties.getMaxInFlight().toBytes(), properties.getMaxInFlightPerUser().toBytes());
+        this.unknownLengthReservation = properties.getUnknownLengthReservation().toBytes();
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.retryAfterSeconds = Math.max(1, properties.getMaxWait().toSeconds());
+        for (ByteBudget.Outcome outcome : ByteBudget.Outcome.values()) {
+            if (outcome != ByteBudget.Outcome.ADMITTED) {
+                rejected.put(outcome, new LongAdder());
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !BODY_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return patterns.stream().noneMatch(pattern -> pattern.matches(path)) && !isStreaming(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        long reservation = length >= 0 ? length : unknownLengthReservation;
+        if (isStreaming(PathContainer.parsePath(request.getRequestURI()))) {
+            reservation = Math.min(reservation, streamingReservation);
+        }
+        String key = key(request);
+
+        ByteBudget.Outcome outcome;
+        try {
+            outcome = budget.acquire(key, reservation, maxWaitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = ByteBudget.Outcome.GLOBAL_FULL;
+        }
+        if (outcome != ByteBudget.Outcome.ADMITTED) {
+            reject(response, outcome);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            budget.release(key, reservation);
+        }
+    }
+
+    private boolean isStreaming(PathContainer path) {
+        return streamingPatterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    /// Gövde okunmadığı için bağlantı kapatılır; istemci gövdeyi boşuna göndermeye devam etmez.
+    private void reject(HttpServletResponse response, ByteBudget.Outcome outcome) {
+        rejected.get(outcome).increment();
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        if (outcome == ByteBudget.Outcome.TOO_LARGE) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+
+    private static String key(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return "u:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    public long inFlightBytes() {
+        return budget.inFlightBytes();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        rejected.forEach((outcome, count) ->
+                FunctionCounter.builder("upload.admission.rejected", count, LongAdder::sum)
+                        .tag("reason", reason(outcome))
+                        .description("Uploads refused before their body was read")
+                        .register(registry));
+        Gauge.builder("upload.admission.in.flight", budget, ByteBudget::inFlightBytes)
+                .baseUnit("bytes")
+                .description("Upload bytes reserved by requests being processed")
+                .register(registry);
+        Gauge.builder("upload.admission.queued", budget, ByteBudget::queued)
+                .description("Uploads waiting for global capacity")
+                .register(registry);
+        Gauge.builder("upload.admission.users", budget, ByteBudget::activeKeys)
+                .description("Users with uploads in flight")
+                .register(registry);
+    }
+
+    private static String reason(ByteBudget.Outcome outcome) {
+        return switch (outcome) {
+            case KEY_FULL -> "user";
+            case GLOBAL_FULL -> "global";
+            case TOO_LARGE -> "too_large";
+            case ADMITTED -> throw new IllegalArgumentException();
+        };
+    }
+}
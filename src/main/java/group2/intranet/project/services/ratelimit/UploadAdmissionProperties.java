@@ -0,0 +1,41 @@
+package group2.intranet.project.services.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "upload-admission")
+public class UploadAdmissionProperties {
+
+    private boolean enabled = true;
+
+    /// Yükleme rotaları (yol kalıpları); bütçeden yalnızca gövde taşıyan istekler (POST, PUT, PATCH) düşülür.
+    private List<String> patterns = new ArrayList<>(List.of(
+            "/documents/upload", "/documents/*/versions", "/news/create", "/news/update/**"));
+
+    /// Gövdesini biriktirmeden girdi girdi akıtan yükleme rotaları (ZIP içe aktarma). patterns gibi kabul edilir ama
+    /// en fazla streamingReservation ayırır; kullanıcı bütçesinden büyük arşiv de kabul edilir.
+    private List<String> streamingPatterns = new ArrayList<>(List.of("/documents/archive"));
+
+    /// Akışlı yüklemenin aynı anda tuttuğu en fazla bayt; arşiv içe aktarmanın girdi başına sınırı.
+    private DataSize streamingReservation = DataSize.ofMegabytes(10);
+
+    /// Tüm kullanıcılar için aynı anda aktarımda olabilecek yükleme baytı.
+    private DataSize maxInFlight = DataSize.ofMegabytes(64);
+
+    /// Tek kullanıcı (JWT id claim'i, anonimse istemci IP'si) için aynı anda aktarımda olabilecek yükleme baytı.
+    private DataSize maxInFlightPerUser = DataSize.ofMegabytes(20);
+
+    /// Content-Length'i olmayan (chunked gövdeli) istek için ayrılan bayt.
+    private DataSize unknownLengthReservation = DataSize.ofMegabytes(10);
+
+    /// İsteğin 503 almadan önce global kapasite için kuyrukta bekleyebileceği süre.
+    private Duration maxWait = Duration.ofSeconds(2);
+}
@@ -0,0 +1,168 @@
+package group2.intranet.project.services.signedurl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/// İmzalı indirme URL'lerini JwtAuthFilter'dan önce doğrular.
+///
+/// Yalnızca signature parametresi taşıyan GET/HEAD istekleri ele alınır; doğrulama tek bir HMAC'tir,
+/// token parse edilmez ve Employee yüklenmez. Geçerli istek ROLE_SIGNED_URL ile kimliklendirilir, böylece
+/// JwtAuthFilter (Bearer başlığı olsa bile) veritabanına gitmez. Hatalı ya da süresi dolmuş imza 403 alır;
+/// bearer ile yeniden denemeye düşülmez, istemci listeden yeni URL almalıdır.
+///
+/// İçerik sürümü URL'de imzalı olduğu (controller güncel hash'le eşleşmeyen sürüme 410 döner) için başarılı
+/// yanıt, URL'nin kalan ömrü boyunca public olarak önbelleğe alınabilir: 200/206/304 yanıtlarda controller'ın
+/// yazdığı Cache-Control burada "public, max-age=<kalan saniye>" ile değiştirilir.
+public class SignedUrlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String ROLE = "ROLE_SIGNED_URL";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+
+    private final SignedUrlSigner signer;
+    private final boolean enabled;
+    private final List<PathPattern> patterns;
+    private final Map<SignedUrlSigner.Verdict, LongAdder> verdicts = new EnumMap<>(SignedUrlSigner.Verdict.class);
+
+    public SignedUrlFilter(SignedUrlSigner signer, SignedUrlProperties properties) {
+        this.signer = signer;
+        this.enabled = properties.isEnabled();
+        this.patterns = properties.getPatterns().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        for (SignedUrlSigner.Verdict verdict : SignedUrlSigner.Verdict.values()) {
+            verdicts.put(verdict, new LongAdder());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !READ_METHODS.contains(request.getMethod())
+                || request.getParameter(SignedUrlSigner.SIGNATURE) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(path(request));
+        return patterns.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis() / 1000;
+        String expires = request.getParameter(SignedUrlSigner.EXPIRES);
+        SignedUrlSigner.Verdict verdict = signer.verify(path(request), request.getParameter(SignedUrlSigner.VERSION),
+                expires, request.getParameter(SignedUrlSigner.SIGNATURE), now);
+        verdicts.get(verdict).increment();
+        if (verdict != SignedUrlSigner.Verdict.VALID) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                path(request), null, List.of(new SimpleGrantedAuthority(ROLE)));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        filterChain.doFilter(request, new PublicCacheResponse(response, Long.parseLong(expires) - now));
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        verdicts.forEach((verdict, count) ->
+                FunctionCounter.builder("signed.url.requests", count, LongAdder::sum)
+                        .tag("outcome", verdict.name().toLowerCase())
+                        .description("Requests that presented a signed download URL")
+                        .register(registry));
+    }
+
+    /// Controller'ın Cache-Control değerini URL'nin kalan ömrüne göre public bir değerle değiştirir.
+    /// Yalnızca 200/206/304 yanıtlar public olur; hata yanıtlarında controller'ın değeri (yoksa no-store) kalır.
+    private static final class PublicCacheResponse extends HttpServletResponseWrapper {
+
+        private static final Set<Integer> CACHEABLE = Set.of(
+                HttpStatus.OK.value(), HttpStatus.PARTIAL_CONTENT.value(), HttpStatus.NOT_MODIFIED.value());
+
+        private final String cacheControl;
+        private String requested;
+
+        PublicCacheResponse(HttpServletResponse response, long maxAgeSeconds) {
+            super(response);
+            this.cacheControl = "public, max-age=" + maxAgeSeconds;
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            super.setStatus(sc);
+            applyCacheControl();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            super.setStatus(sc);
+            applyCacheControl();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            super.setStatus(sc);
+            applyCacheControl();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CACHE_CONTROL.equalsIgnoreCase(name)) {
+                requested = value;
+                applyCacheControl();
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CACHE_CONTROL.equalsIgnoreCase(name)) {
+                requested = requested == null ? value : requested + ", " + value;
+                applyCacheControl();
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        private void applyCacheControl() {
+            if (CACHEABLE.contains(getStatus())) {
+                super.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            } else {
+                super.setHeader(HttpHeaders.CACHE_CONTROL, requested != null ? requested : "no-store");
+            }
+        }
+    }
+}
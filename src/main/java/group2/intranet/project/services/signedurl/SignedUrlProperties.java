@@ -0,0 +1,30 @@
+package group2.intranet.project.services.signedurl;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "signed-url")
+public class SignedUrlProperties {
+
+    private boolean enabled = true;
+
+    /// Bearer token yerine imza kabul eden binary rotalar (path pattern); yalnızca GET ve HEAD.
+    private List<String> patterns = new ArrayList<>(List.of("/documents/download/*", "/news/*/image"));
+
+    /// Verilen URL'in en kısa ömrü.
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /// Bitiş süresi bunun katına yukarı yuvarlanır; aynı pencerede aynı içerik için verilen URL'ler birebir aynı olur,
+    /// önbellekleyen proxy her liste isteği için değil tek bir cache key görür.
+    private Duration granularity = Duration.ofMinutes(5);
+
+    /// HMAC anahtarı; boşsa jwt.secret'tan türetilir.
+    private String secret;
+}
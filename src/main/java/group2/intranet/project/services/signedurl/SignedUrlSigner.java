@@ -0,0 +1,109 @@
+package group2.intranet.project.services.signedurl;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+/// HMAC-SHA256 ile imzalanmış kısa ömürlü indirme URL'leri üretir ve doğrular.
+///
+/// İmza path'i, isteğe bağlı içerik sürümünü (içerik hash'i; controller uyuşmayan sürüme 410 döner) ve epoch saniye
+/// cinsinden bitişi kapsar: /documents/download/7?v=<hash>&expires=1767225600&signature=<base64url>. Doğrulama
+/// veritabanı ya da token çözümü gerektirmez, birkaç düzine bayt üzerinde tek HMAC yeter. Bitiş ayarlanan
+/// granularity'ye yukarı yuvarlanır; tekrarlanan liste istekleri aynı URL'i verir.
+public class SignedUrlSigner {
+
+    public static final String VERSION = "v";
+    public static final String EXPIRES = "expires";
+    public static final String SIGNATURE = "signature";
+
+    /// verify sonucu.
+    public enum Verdict { VALID, EXPIRED, INVALID }
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final int SIGNATURE_CHARS = 43;
+    private static final int MAX_VERSION_LENGTH = 128;
+
+    private final ThreadLocal<Mac> mac;
+    private final long ttlSeconds;
+    private final long granularitySeconds;
+
+    public SignedUrlSigner(byte[] key, Duration ttl, Duration granularity) {
+        SecretKeySpec keySpec = new SecretKeySpec(key.clone(), "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> newMac(keySpec));
+        this.ttlSeconds = Math.max(1, ttl.toSeconds());
+        this.granularitySeconds = Math.max(1, granularity.toSeconds());
+    }
+
+    /// URL anahtarını başka bir secret'tan türetir; JWT imza anahtarının kendisi hiç URL imzalamaz.
+    public static byte[] deriveKey(String secret) {
+        Mac mac = newMac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return mac.doFinal("signed-url".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /// path için en az ayarlanan TTL boyunca geçerli imzalı URL.
+    public String sign(String path, String version) {
+        return sign(path, version, System.currentTimeMillis());
+    }
+
+    public String sign(String path, String version, long nowMillis) {
+        long expires = expiresAt(nowMillis / 1000);
+        StringBuilder url = new StringBuilder(path).append('?');
+        if (version != null) {
+            url.append(VERSION).append('=').append(version).append('&');
+        }
+        return url.append(EXPIRES).append('=').append(expires)
+                .append('&').append(SIGNATURE).append('=').append(signature(path, version, expires))
+                .toString();
+    }
+
+    /// nowSeconds'ta verilen URL'in bitişi: now + TTL, granularity'ye yukarı yuvarlanmış.
+    public long expiresAt(long nowSeconds) {
+        long earliest = nowSeconds + ttlSeconds;
+        return Math.ceilDiv(earliest, granularitySeconds) * granularitySeconds;
+    }
+
+    /// İmzalı isteğin query parametrelerini doğrular; eksik ya da bozuk her değer INVALID'dir.
+    public Verdict verify(String path, String version, String expires, String signature, long nowSeconds) {
+        if (expires == null || signature == null || signature.length() != SIGNATURE_CHARS
+                || (version != null && version.length() > MAX_VERSION_LENGTH)) {
+            return Verdict.INVALID;
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(expires);
+        } catch (NumberFormatException e) {
+            return Verdict.INVALID;
+        }
+        // Süresi dolmuş olsa da imza önce doğrulanır; aksi halde "expired" cevabı sahte URL'lere de dönerdi.
+        byte[] expected = signature(path, version, expiresAt).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            return Verdict.INVALID;
+        }
+        return nowSeconds < expiresAt ? Verdict.VALID : Verdict.EXPIRED;
+    }
+
+    private String signature(String path, String version, long expires) {
+        Mac hmac = mac.get();
+        hmac.update(path.getBytes(StandardCharsets.UTF_8));
+        hmac.update((byte) '\n');
+        if (version != null) {
+            hmac.update(version.getBytes(StandardCharsets.UTF_8));
+        }
+        hmac.update((byte) '\n');
+        return ENCODER.encodeToString(hmac.doFinal(Long.toString(expires).getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static Mac newMac(SecretKeySpec keySpec) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(keySpec);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
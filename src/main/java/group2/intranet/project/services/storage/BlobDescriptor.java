@@ -0,0 +1,10 @@
+package group2.intranet.project.services.storage;
+
+/// Saklanan blob'un kimliği: orijinal içeriğin küçük harf hex SHA-256'sı ve bayt uzunluğu, ayrıca diskteki
+/// temsilin codec'i ve uzunluğu.
+public record BlobDescriptor(String hash, long size, long storedSize, BlobCodec codec) {
+
+    public BlobDescriptor(String hash, long size) {
+        this(hash, size, size, BlobCodec.IDENTITY);
+    }
+}
@@ -0,0 +1,35 @@
+package group2.intranet.project.services.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/// İçerik adresli ikili depolama. Blob'lar baytlarının küçük harf hex SHA-256'sıyla tanınır; aynı içerik iki kez
+/// saklanınca aynı anahtar döner ve tek kopya tutulur. Blob kodlanmış saklanabilir (bkz. BlobCodec); anahtar ve
+/// boyut her zaman orijinal içeriği gösterir.
+public interface BlobStore {
+
+    /// İçeriği kodlamadan store'a akıtır; akışı kapatmaz.
+    default BlobDescriptor put(InputStream content) throws IOException {
+        return put(content, BlobCodec.IDENTITY);
+    }
+
+    /// İçeriği codec ile kodlayarak store'a akıtır, hash ve boyutunu döner. İçerik zaten varsa mevcut temsil
+    /// korunur ve o döner. Akışı kapatmaz.
+    BlobDescriptor put(InputStream content, BlobCodec codec) throws IOException;
+
+    boolean exists(String hash);
+
+    /// Saklanan temsilin codec'i; bilinmeyen hash'ler için null.
+    BlobCodec codec(String hash);
+
+    /// Saklanan (kodlanmış olabilecek) baytlar için okunabilir resource; bilinmeyen hash'lerde exists() false'tur.
+    Resource resource(String hash);
+
+    /// Orijinal, çözülmüş içeriği açar.
+    InputStream open(String hash) throws IOException;
+
+    /// Blob'u siler; yoksa false döner.
+    boolean delete(String hash) throws IOException;
+}
@@ -0,0 +1,144 @@
+package group2.intranet.project.services.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/// BlobStore'da sıralı parçalar olarak saklanan, tek akış olarak geri okunan içerik.
+///
+/// Parçalar akış onlara ulaştıkça tek tek açılır; herhangi bir sürümü okumak tek parça dosyasını açık tutar ve
+/// içeriği belleğe almaz. skip tüm parçaları açmadan atlar; büyük bir sürümün derinine giden Range istekleri ucuz kalır.
+public class ChunkedContentResource extends AbstractResource {
+
+    public record Chunk(String hash, int size) {
+    }
+
+    private final BlobStore blobStore;
+    private final List<Chunk> chunks;
+    private final long size;
+    private final String description;
+
+    public ChunkedContentResource(BlobStore blobStore, List<Chunk> chunks, String description) {
+        this.blobStore = blobStore;
+        this.chunks = List.copyOf(chunks);
+        this.size = chunks.stream().mapToLong(Chunk::size).sum();
+        this.description = description;
+    }
+
+    public List<Chunk> chunks() {
+        return chunks;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ChunkInputStream();
+    }
+
+    @Override
+    public String getDescription() {
+        return "chunked content [" + description + ", " + chunks.size() + " chunks]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    private final class ChunkInputStream extends InputStream {
+
+        private int index;
+        private InputStream current;
+        /// Açık parçada kalan bayt; parça henüz açılmadıysa parçanın tamamı.
+        private long remainingInChunk = chunks.isEmpty() ? 0 : chunks.get(0).size();
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (index < chunks.size()) {
+                if (remainingInChunk == 0) {
+                    advance();
+                    continue;
+                }
+                if (current == null) {
+                    current = open(chunks.get(index), chunks.get(index).size() - remainingInChunk);
+                }
+                int n = current.read(b, off, (int) Math.min(len, remainingInChunk));
+                if (n == -1) {
+                    throw new IOException("Chunk " + chunks.get(index).hash() + " ended " + remainingInChunk + " bytes early");
+                }
+                remainingInChunk -= n;
+                return n;
+            }
+            return -1;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && index < chunks.size()) {
+                long step = Math.min(n - skipped, remainingInChunk);
+                if (current != null) {
+                    current.skipNBytes(step);
+                }
+                remainingInChunk -= step;
+                skipped += step;
+                if (remainingInChunk == 0) {
+                    advance();
+                }
+            }
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            index = chunks.size();
+        }
+
+        private void advance() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            index++;
+            remainingInChunk = index < chunks.size() ? chunks.get(index).size() : 0;
+        }
+
+        /// Atlanan bölüm parçanın ortasına denk geldiyse parça açılırken o kadar bayt geçilir.
+        private InputStream open(Chunk chunk, long offset) throws IOException {
+            InputStream in = blobStore.open(chunk.hash());
+            if (offset > 0) {
+                in.skipNBytes(offset);
+            }
+            return in;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package group2.intranet.project.services.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+
+/// Yüklemenin başından bir örneği deflate ederek doküman başına BlobCodec seçer.
+///
+/// Metin ağırlıklı PDF'ler ve düz dışa aktarımlar genelde iyi küçülür; JPEG taramalar, zaten sıkıştırılmış PDF
+/// akışları ve Office biçimleri (ZIP dosyalarıdır) küçülmez, onlarda gzip her yazma ve okumada yalnızca CPU harcar.
+/// Yalnızca örneği en az 1 - MAX_RATIO kazandıran içerik sıkıştırılmış saklanır. Deneme BlobCodec.GZIP ile aynı
+/// deflate seviyesini kullanır; örnekteki oran saklanacak oranı öngörür.
+public final class CompressionTrial {
+
+    /// Deneme için yüklemenin önünden okunan bayt sayısı.
+    public static final int SAMPLE_SIZE = 64 * 1024;
+
+    static final double MAX_RATIO = 0.9;
+    static final int MIN_SAMPLE = 1024;
+
+    private CompressionTrial() {
+    }
+
+    /// İçerikten en fazla SAMPLE_SIZE baytı deflate edip akışı geri sarar. Akış en az SAMPLE_SIZE okuma limitiyle
+    /// mark/reset desteklemelidir (ör. o boyutta bir BufferedInputStream).
+    public static BlobCodec choose(InputStream content) throws IOException {
+        content.mark(SAMPLE_SIZE);
+        byte[] sample = content.readNBytes(SAMPLE_SIZE);
+        content.reset();
+        return choose(sample, sample.length);
+    }
+
+    static BlobCodec choose(byte[] sample, int length) {
+        if (length < MIN_SAMPLE) {
+            // Küçük dosyalarda gzip başlığı kazancı yer; ayrıca indirme yolunda sıkıştırma gereksiz.
+            return BlobCodec.IDENTITY;
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(sample, 0, length);
+            deflater.finish();
+            byte[] out = new byte[8192];
+            long compressed = 0;
+            while (!deflater.finished()) {
+                compressed += deflater.deflate(out);
+            }
+            return compressed <= length * MAX_RATIO ? BlobCodec.GZIP : BlobCodec.IDENTITY;
+        } finally {
+            deflater.end();
+        }
+    }
+}
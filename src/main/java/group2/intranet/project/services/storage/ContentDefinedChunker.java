@@ -0,0 +1,107 @@
+package group2.intranet.project.services.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.SplittableRandom;
+
+/// Akışı içerik tanımlı parçalara böler; bir düzenleme yalnızca çevresindeki parçaları değiştirir, yeni sürümün
+/// kalanı öncekiyle tekilleşir.
+///
+/// Sınırlar Gear kayan hash'iyle (FastCDC) seçilir: her bayt hash'i sola kaydırıp bayta özgü rastgele bir sabit
+/// ekler; üst bitler yalnızca yaklaşık son 64 bayta bağlıdır. Maskelenmiş üst bitler sıfır olduğunda sınır konur.
+/// Parçalar en az MIN_SIZE (öncesinde hash hesaplanmaz), en fazla MAX_SIZE, ortalama yaklaşık AVG_SIZE bayttır:
+/// ortalama boyuttan önce sıkı, sonra gevşek maske kullanılır (normalised chunking); boyut dağılımı daralır,
+/// sınırlar içerikten kopmaz.
+///
+/// Gear tablosu sabit bir seed'den üretilir. Seed ya da maskeleri değiştirmek her sınırı değiştirir ve yeni
+/// yüklemelerin saklı parçalarla tekilleşmesini durdurur.
+public final class ContentDefinedChunker {
+
+    public static final int MIN_SIZE = 2 * 1024;
+    public static final int AVG_SIZE = 8 * 1024;
+    public static final int MAX_SIZE = 64 * 1024;
+
+    private static final long[] GEAR = new long[256];
+    /// Ortalama boyuttan önce 15 bit (bayt başına sınır olasılığı 1/32768), sonra 11 bit (1/2048).
+    private static final long MASK_STRICT = topBits(15);
+    private static final long MASK_LOOSE = topBits(11);
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5eed_c0de_2025L);
+        for (int i = 0; i < GEAR.length; i++) {
+            GEAR[i] = random.nextLong();
+        }
+    }
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[2 * MAX_SIZE];
+    private int start;
+    private int end;
+    private boolean eof;
+
+    public ContentDefinedChunker(InputStream in) {
+        this.in = in;
+    }
+
+    /// Sonraki parçayı en az MAX_SIZE bayt tutması gereken chunk'a okur; parça uzunluğunu, akış bittiyse -1 döner.
+    public int next(byte[] chunk) throws IOException {
+        fill();
+        int available = end - start;
+        if (available == 0) {
+            return -1;
+        }
+        int length = cutPoint(buffer, start, available);
+        System.arraycopy(buffer, start, chunk, 0, length);
+        start += length;
+        return length;
+    }
+
+    /// offset'te başlayan parçanın uzunluğu; available eldeki bayt sayısıdır (akış sonunda kalan tüm baytlar).
+    static int cutPoint(byte[] data, int offset, int available) {
+        if (available <= MIN_SIZE) {
+            return available;
+        }
+        int normal = Math.min(AVG_SIZE, available);
+        int max = Math.min(MAX_SIZE, available);
+        long hash = 0;
+        int i = MIN_SIZE;
+        for (; i < normal; i++) {
+            hash = (hash << 1) + GEAR[data[offset + i] & 0xff];
+            if ((hash & MASK_STRICT) == 0) {
+                return i + 1;
+            }
+        }
+        for (; i < max; i++) {
+            hash = (hash << 1) + GEAR[data[offset + i] & 0xff];
+            if ((hash & MASK_LOOSE) == 0) {
+                return i + 1;
+            }
+        }
+        return max;
+    }
+
+    /// Tampon en az MAX_SIZE bayt içerecek şekilde doldurulur (akış bitmediyse); böylece kesim noktası
+    /// tampon sınırına değil yalnızca içeriğe bağlıdır.
+    private void fill() throws IOException {
+        if (eof || end - start >= MAX_SIZE) {
+            return;
+        }
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, end - start);
+            end -= start;
+            start = 0;
+        }
+        while (end < buffer.length) {
+            int n = in.read(buffer, end, buffer.length - end);
+            if (n == -1) {
+                eof = true;
+                return;
+            }
+            end += n;
+        }
+    }
+
+    private static long topBits(int bits) {
+        return -1L << (Long.SIZE - bits);
+    }
+}
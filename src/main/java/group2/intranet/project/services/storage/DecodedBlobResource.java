@@ -0,0 +1,43 @@
+package group2.intranet.project.services.storage;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/// Kodlanmış blob'un orijinal içeriği; her getInputStream() çağrısında akış olarak çözülür.
+/// Çözülmüş uzunluk doküman satırından bilindiği için contentLength() akışı okumaz; böylece Content-Length ve
+/// Spring MVC'nin Range desteği çalışır: aralık, başlangıcına kadar çözülüp atlanarak sunulur.
+public class DecodedBlobResource extends AbstractResource {
+
+    private final Resource stored;
+    private final BlobCodec codec;
+    private final Long size;
+
+    public DecodedBlobResource(Resource stored, BlobCodec codec, Long size) {
+        this.stored = stored;
+        this.codec = codec;
+        this.size = size;
+    }
+
+    @Override
+    public boolean exists() {
+        return stored.exists();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return codec.decode(stored.getInputStream());
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return size != null ? size : super.contentLength();
+    }
+
+    @Override
+    public String getDescription() {
+        return codec + "-decoded " + stored.getDescription();
+    }
+}
@@ -0,0 +1,270 @@
+package group2.intranet.project.services.storage;
+
+import group2.intranet.project.domain.dtos.ArchiveEntryResult;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/// Dokümanlardan oluşan ZIP arşivini istek akışı üzerinden tek geçişte içeri alır.
+///
+/// Her girdi BlobStore'a akıtılır (tek yüklemedeki gibi sıkıştırma denemesi, SHA-256 ve geçici dosya) ve
+/// StoredBlobRegistry'ye kaydedilir; ne arşiv ne de bir girdinin tamamı belleğe alınır. Doküman satırları ve
+/// department_document bağlantıları BATCH_SIZE'lık JDBC batch'leriyle, batch başına kısa bir transaction'da
+/// yazılır; girdiler okunurken bağlantı tutulmaz. Başarısız batch girdi bazında raporlanır, içe aktarma durmaz.
+/// İçe aktarılan dokümanlar PENDING eklenir ve tek yüklemeler gibi işlenir.
+@Log
+@Component
+public class DocumentArchiveImporter {
+
+    static final int BATCH_SIZE = 50;
+
+    private static final String INSERT_DOCUMENT =
+            "insert into documents (title, document_type, uploaded_at, uploaded_by, content_hash, content_size, content_type, processing_status) "
+                    + "values (:title, :documentType, :uploadedAt, :uploadedBy, :contentHash, :contentSize, :contentType, 'PENDING')";
+    private static final String INSERT_LINK = "insert into department_document (document_id, department_id) values (?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final BlobStore blobStore;
+    private final StoredBlobRegistry storedBlobRegistry;
+    private final long maxEntryBytes;
+    private final int maxEntries;
+
+    public DocumentArchiveImporter(NamedParameterJdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   BlobStore blobStore,
+                                   StoredBlobRegistry storedBlobRegistry,
+                                   @Value("${storage.archive-import.max-entry-size:10MB}") DataSize maxEntrySize,
+                                   @Value("${storage.archive-import.max-entries:1000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blobStore = blobStore;
+        this.storedBlobRegistry = storedBlobRegistry;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.maxEntries = maxEntries;
+    }
+
+    /// Arşivdeki her dosyayı içe aktarır, arşiv sırasıyla dosya başına bir sonuç döner. Dizinler ve işletim sistemi
+    /// dosyaları (__MACOSX/, nokta ile başlayanlar) atlanır. documentType null ise tür dosya uzantısından türetilir.
+    /// Departmanlardan biri yoksa (arşiv okunmadan kontrol edilir) IllegalArgumentException fırlatılır.
+    public List<ArchiveEntryResult> importArchive(InputStream archive, Integer uploadedById,
+                                                  List<Integer> departmentIds, String documentType) {
+        requireDepartments(departmentIds);
+
+        List<ArchiveEntryResult> results = new ArrayList<>();
+        List<StagedEntry> staged = new ArrayList<>(BATCH_SIZE);
+        ZipInputStream zip = new ZipInputStream(archive);
+        String current = null;
+        try {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                current = entry.getName();
+                if (entry.isDirectory() || isMetadataFile(current)) {
+                    continue;
+                }
+                if (results.size() == maxEntries) {
+                    results.add(ArchiveEntryResult.failed(current, "Archive has more than " + maxEntries + " files"));
+                    break;
+                }
+                ArchiveEntryResult rejected = stage(zip, current, documentType, results.size(), staged);
+                results.add(rejected);
+                if (staged.size() == BATCH_SIZE) {
+                    flush(staged, results, uploadedById, departmentIds);
+                }
+            }
+        } catch (IOException e) {
+            // Bozuk arşiv: o ana kadar okunan dosyalar yine kaydedilir, okunamayan yer manifestte belirtilir.
+            log.warning("Archive import stopped at " + current + ": " + e.getMessage());
+            results.add(ArchiveEntryResult.failed(current != null ? current : "(archive)", "Unreadable archive: " + e.getMessage()));
+        }
+        flush(staged, results, uploadedById, departmentIds);
+        return results;
+    }
+
+    /// Dosyayı blob store'a akıtır; kaydedilecekse staged listesine ekleyip null, değilse sonucu döner.
+    private ArchiveEntryResult stage(ZipInputStream zip, String name, String documentType, int index,
+                                     List<StagedEntry> staged) throws IOException {
+        BlobDescriptor blob;
+        try {
+            BufferedInputStream content = new BufferedInputStream(new BoundedEntryStream(zip, maxEntryBytes), CompressionTrial.SAMPLE_SIZE);
+            blob = blobStore.put(content, CompressionTrial.choose(content));
+        } catch (EntryTooLargeException e) {
+            return ArchiveEntryResult.failed(name, e.getMessage());
+        }
+        if (blob.size() == 0) {
+            return ArchiveEntryResult.skipped(name, "Empty file");
+        }
+        String contentType = MediaTypeFactory.getMediaType(fileName(name))
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+        storedBlobRegistry.register(blob, contentType);
+        staged.add(new StagedEntry(index, name, title(name),
+                documentType != null ? documentType : extensionType(name), contentType, blob));
+        return null;
+    }
+
+    private void flush(List<StagedEntry> staged, List<ArchiveEntryResult> results,
+                       Integer uploadedById, List<Integer> departmentIds) {
+        if (staged.isEmpty()) {
+            return;
+        }
+        try {
+            List<Integer> ids = batchTransaction.execute(status -> insertBatch(staged, uploadedById, departmentIds));
+            for (int i = 0; i < staged.size(); i++) {
+                StagedEntry entry = staged.get(i);
+                results.set(entry.index(), ArchiveEntryResult.created(entry.name(), ids.get(i), entry.blob().hash(), entry.blob().size()));
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.warning("Archive import batch failed: " + e.getMostSpecificCause().getMessage());
+            for (StagedEntry entry : staged) {
+                results.set(entry.index(), ArchiveEntryResult.failed(entry.name(), "Could not save document"));
+            }
+        }
+        staged.clear();
+    }
+
+    private List<Integer> insertBatch(List<StagedEntry> staged, Integer uploadedById, List<Integer> departmentIds) {
+        Timestamp uploadedAt = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] rows = staged.stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("title", entry.title())
+                        .addValue("documentType", entry.documentType())
+                        .addValue("uploadedAt", uploadedAt)
+                        .addValue("uploadedBy", uploadedById)
+                        .addValue("contentHash", entry.blob().hash())
+                        .addValue("contentSize", entry.blob().size())
+                        .addValue("contentType", entry.contentType()))
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_DOCUMENT, rows, keys, new String[]{"id"});
+        List<Integer> ids = keys.getKeyList().stream()
+                .map(key -> ((Number) key.values().iterator().next()).intValue())
+                .toList();
+
+        if (!departmentIds.isEmpty()) {
+            List<Object[]> links = new ArrayList<>(ids.size() * departmentIds.size());
+            for (Integer id : ids) {
+                for (Integer departmentId : departmentIds) {
+                    links.add(new Object[]{id, departmentId});
+                }
+            }
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_LINK, links);
+        }
+        return ids;
+    }
+
+    private void requireDepartments(List<Integer> departmentIds) {
+        if (departmentIds.isEmpty()) {
+            return;
+        }
+        Set<Integer> missing = new HashSet<>(departmentIds);
+        missing.removeAll(jdbcTemplate.queryForList(
+                "select id from departments where id in (:ids)", Map.of("ids", departmentIds), Integer.class));
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Unknown department ids: " + missing);
+        }
+    }
+
+    private static boolean isMetadataFile(String name) {
+        return name.startsWith("__MACOSX/") || fileName(name).startsWith(".");
+    }
+
+    private static String fileName(String name) {
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    private static String title(String name) {
+        String file = fileName(name);
+        int dot = file.lastIndexOf('.');
+        return dot > 0 ? file.substring(0, dot) : file;
+    }
+
+    private static String extensionType(String name) {
+        String file = fileName(name);
+        int dot = file.lastIndexOf('.');
+        if (dot < 0 || dot == file.length() - 1) {
+            return null;
+        }
+        String extension = file.substring(dot + 1).toUpperCase(Locale.ROOT);
+        return extension.length() <= 30 ? extension : null;
+    }
+
+    private record StagedEntry(int index, String name, String title, String documentType, String contentType, BlobDescriptor blob) {
+    }
+
+    private static final class EntryTooLargeException extends IOException {
+        EntryTooLargeException(long limit) {
+            super("File is larger than " + limit + " bytes");
+        }
+    }
+
+    /// Açılmış boyutu sınırlar (zip bombası); blob store'un staging dosyası istisna ile silinir.
+    /// close() ZipInputStream'i kapatmaz, sonraki dosyaya geçilebilir.
+    private static final class BoundedEntryStream extends FilterInputStream {
+
+        private final long limit;
+        private long read;
+
+        BoundedEntryStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws EntryTooLargeException {
+            read += n;
+            if (read > limit) {
+                throw new EntryTooLargeException(limit);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package group2.intranet.project.services.storage;
+
+import lombok.extern.java.Log;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/// Eski documents.file_data BYTEA içeriğini BlobStore'a taşır.
+///
+/// Id'ler keyset sırasıyla okunur; her satırın baytları sonuç kümesinden doğrudan store'a akıtılır
+/// (CompressionTrial karlı buluyorsa sıkıştırılarak), kaydedilir ve satıra hash, boyut ve içerik türü yazılıp
+/// file_data temizlenir. Her satır ayrı küçük bir iştir; komut istenildiği an durdurulup yeniden çalıştırılabilir,
+/// taşınmış satırlar tekrar seçilmez. Sonunda hash'i olan her içerik, hash ile bağlanabilmesi için
+/// stored_blobs'a kaydedilir.
+@Log
+@Component
+public class DocumentBlobMigration {
+
+    /// Eski indirme endpoint'i tüm dokümanları PDF olarak sunuyordu.
+    static final String LEGACY_CONTENT_TYPE = "application/pdf";
+
+    private static final int ID_CHUNK = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+    private final StoredBlobRegistry storedBlobRegistry;
+
+    public DocumentBlobMigration(JdbcTemplate jdbcTemplate, BlobStore blobStore, StoredBlobRegistry storedBlobRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blobStore = blobStore;
+        this.storedBlobRegistry = storedBlobRegistry;
+    }
+
+    /// Blob store'a taşınan doküman sayısını döner.
+    public int run() {
+        int migrated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "select id from documents where file_data is not null and content_hash is null and id > ? order by id limit ?",
+                    Long.class, lastId, ID_CHUNK);
+            if (ids.isEmpty()) {
+                break;
+            }
+            for (Long id : ids) {
+                if (migrate(id)) {
+                    migrated++;
+                }
+                lastId = id;
+            }
+            log.info("Document blob migration: " + migrated + " documents moved, last id " + lastId);
+        }
+        int registered = registerHashedContent();
+        if (registered > 0) {
+            log.info("Document blob migration: " + registered + " blobs added to stored_blobs");
+        }
+        return migrated;
+    }
+
+    /// content_hash'i olup stored_blobs'ta kaydı bulunmayan içerikleri kaydeder (kayıt tablosundan önce
+    /// sıkıştırmasız yüklenenler). Sürümlü dokümanlar (current_version dolu) atlanır: hash'leri yalnızca parçalar
+    /// olarak saklanır, blob dosyası yoktur. Eş zamanlı bir yükleme aynı hash'i eklediyse unique index'e takılır,
+    /// komut tekrar çalıştırılabilir.
+    private int registerHashedContent() {
+        return jdbcTemplate.update(
+                "insert into stored_blobs (hash, size, content_type, codec, stored_size, created_at) "
+                        + "select d.content_hash, max(d.content_size), max(d.content_type), 'IDENTITY', max(d.content_size), current_timestamp "
+                        + "from documents d "
+                        + "where d.content_hash is not null "
+                        + "and d.current_version is null "
+                        + "and not exists (select 1 from stored_blobs b where b.hash = d.content_hash) "
+                        + "group by d.content_hash");
+    }
+
+    private boolean migrate(long id) {
+        BlobDescriptor blob = jdbcTemplate.query(
+                "select file_data from documents where id = ?",
+                rs -> {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    try (InputStream content = rs.getBinaryStream(1)) {
+                        if (content == null) {
+                            return null;
+                        }
+                        BufferedInputStream buffered = new BufferedInputStream(content, CompressionTrial.SAMPLE_SIZE);
+                        return blobStore.put(buffered, CompressionTrial.choose(buffered));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot store content of document " + id, e);
+                    }
+                },
+                id);
+        if (blob == null) {
+            return false;
+        }
+        storedBlobRegistry.register(blob, LEGACY_CONTENT_TYPE);
+        // Aynı anda başka bir süreç satırı değiştirdiyse (content_hash dolu) dokunulmaz.
+        return jdbcTemplate.update(
+                "update documents set content_hash = ?, content_size = ?, content_type = ?, file_data = null "
+                        + "where id = ? and content_hash is null",
+                blob.hash(), blob.size(), LEGACY_CONTENT_TYPE, id) == 1;
+    }
+}
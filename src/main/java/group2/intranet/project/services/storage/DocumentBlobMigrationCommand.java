@@ -0,0 +1,29 @@
+package group2.intranet.project.services.storage;
+
+import lombok.extern.java.Log;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/// Uygulama --migrate-document-blobs ile başlatıldığında DocumentBlobMigration'ı çalıştırır.
+@Log
+@Component
+public class DocumentBlobMigrationCommand implements ApplicationRunner {
+
+    static final String OPTION = "migrate-document-blobs";
+
+    private final DocumentBlobMigration migration;
+
+    public DocumentBlobMigrationCommand(DocumentBlobMigration migration) {
+        this.migration = migration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        int migrated = migration.run();
+        log.info("Document blob migration finished: " + migrated + " documents moved to the blob store");
+    }
+}
@@ -0,0 +1,60 @@
+package group2.intranet.project.services.storage;
+
+import lombok.extern.java.Log;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/// Uygulama --reclaim-document-blobs ile başlatıldığında hiçbir dokümanın ya da sürümün kullanmadığı blob'ları siler.
+///
+/// Doküman silme blob'a dokunmaz; içerik paylaşılıyor olabilir. Kayıt koşullu silinir, arada bağlanan içerik
+/// korunur; ancak kaydı silinmek üzere olan içerik aynı anda yeniden yüklenirse dosyası silinebilir. Komut bu
+/// yüzden yüklemelerin durduğu bir bakım penceresinde çalıştırılmalıdır. Sürüm parçaları stored_blobs'ta
+/// kayıtlı olmadığı için kapsam dışıdır.
+@Log
+@Component
+public class DocumentBlobReclaimCommand implements ApplicationRunner {
+
+    static final String OPTION = "reclaim-document-blobs";
+    private static final int BATCH = 100;
+
+    private final StoredBlobRegistry storedBlobRegistry;
+    private final BlobStore blobStore;
+
+    public DocumentBlobReclaimCommand(StoredBlobRegistry storedBlobRegistry, BlobStore blobStore) {
+        this.storedBlobRegistry = storedBlobRegistry;
+        this.blobStore = blobStore;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        int reclaimed = reclaim();
+        log.info("Document blob reclaim finished: " + reclaimed + " unreferenced blobs deleted");
+    }
+
+    /// Referanssız blob'ları kayıt önce olmak üzere siler; silinen blob sayısını döner.
+    public int reclaim() {
+        int reclaimed = 0;
+        List<String> hashes;
+        while (!(hashes = storedBlobRegistry.findUnreferenced(BATCH)).isEmpty()) {
+            for (String hash : hashes) {
+                if (storedBlobRegistry.unregisterIfUnreferenced(hash)) {
+                    try {
+                        blobStore.delete(hash);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot delete blob " + hash, e);
+                    }
+                    reclaimed++;
+                }
+            }
+        }
+        return reclaimed;
+    }
+}
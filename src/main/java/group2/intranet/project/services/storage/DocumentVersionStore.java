@@ -0,0 +1,221 @@
+package group2.intranet.project.services.storage;
+
+import group2.intranet.project.domain.entities.DocumentVersion;
+import lombok.extern.java.Log;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/// Doküman sürümlerini içerik tanımlı parçalar olarak saklar.
+///
+/// Yeni sürüm ContentDefinedChunker ile bölünür; her parça hash'lenir ve BlobStore'a yalnızca o hash'le parça
+/// yoksa yazılır, düzenlenen dosyanın değişmeyen kısımları yalnızca bir manifest satırına mal olur. Parçalar
+/// CompressionTrial uygun görürse tek tek sıkıştırılır. Sürüm satırı, parça manifesti ve dokümanın yeni güncel
+/// sürümü tüm parçalar saklandıktan sonra tek kısa transaction'da yazılır; yükleme okunurken bağlantı tutulmaz.
+///
+/// Tek blob olarak yüklenmiş dokümanın ilk yeni sürümü mevcut içeriği de sürüm 1 olarak kaydeder; zincir orijinalle
+/// başlar, sonraki sürümler parçalarını paylaşır. Tek blob store'da kalır; başka dokümanlar aynı içeriğe bağlı olabilir.
+@Log
+@Component
+public class DocumentVersionStore {
+
+    private static final String INSERT_VERSION =
+            "insert into document_versions (document_id, version_number, content_hash, content_size, content_type, "
+                    + "chunk_count, new_bytes, uploaded_by, uploaded_at) values (:documentId, :versionNumber, :contentHash, "
+                    + ":contentSize, :contentType, :chunkCount, :newBytes, :uploadedBy, :uploadedAt)";
+    private static final String INSERT_CHUNK =
+            "insert into document_version_chunks (version_id, chunk_index, chunk_hash, chunk_size) values (?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final BlobStore blobStore;
+
+    public DocumentVersionStore(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                BlobStore blobStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.blobStore = blobStore;
+    }
+
+    /// Saklanan parçalara bölünmüş içerik; newBytes daha önce saklanmamış parça baytlarını sayar.
+    public record ChunkedContent(String hash, long size, List<ChunkedContentResource.Chunk> chunks, long newBytes) {
+    }
+
+    /// content'i dokümanın sonraki sürümü olarak ekler ve güncel içerik yapar. Yeni sürümü, doküman yoksa null döner;
+    /// eş zamanlı başka bir sürüm eklendiyse IllegalStateException fırlatır.
+    public DocumentVersion addVersion(int documentId, InputStream content, String contentType, Integer uploadedById) throws IOException {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select content_hash, content_size, content_type, uploaded_by, uploaded_at, current_version from documents where id = :id",
+                Map.of("id", documentId));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> document = rows.get(0);
+        Integer currentVersion = (Integer) document.get("current_version");
+        String currentHash = (String) document.get("content_hash");
+
+        List<DocumentVersion> versions = new ArrayList<>(2);
+        List<ChunkedContent> contents = new ArrayList<>(2);
+        int next = currentVersion != null ? currentVersion + 1 : 1;
+        if (currentVersion == null && currentHash != null && blobStore.exists(currentHash)) {
+            ChunkedContent original;
+            try (InputStream in = blobStore.open(currentHash)) {
+                original = store(in);
+            }
+            Timestamp uploadedAt = (Timestamp) document.get("uploaded_at");
+            versions.add(version(documentId, next++, original, (String) document.get("content_type"),
+                    (Integer) document.get("uploaded_by"), uploadedAt != null ? uploadedAt.toLocalDateTime() : null));
+            contents.add(original);
+        }
+        ChunkedContent stored = store(content);
+        DocumentVersion added = version(documentId, next, stored, contentType, uploadedById, LocalDateTime.now());
+        versions.add(added);
+        contents.add(stored);
+
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < versions.size(); i++) {
+                insert(versions.get(i), contents.get(i));
+            }
+            int updated = jdbcTemplate.update("update documents set content_hash = :hash, content_size = :size, "
+                            + "content_type = :type, current_version = :version, processing_status = 'PENDING', "
+                            + "detected_content_type = null, page_count = null, processed_at = null "
+                            + "where id = :id and " + (currentVersion != null ? "current_version = :expected" : "current_version is null"),
+                    new MapSqlParameterSource()
+                            .addValue("hash", stored.hash())
+                            .addValue("size", stored.size())
+                            .addValue("type", contentType)
+                            .addValue("version", added.getVersionNumber())
+                            .addValue("id", documentId)
+                            .addValue("expected", currentVersion));
+            if (updated != 1) {
+                throw new IllegalStateException("Document " + documentId + " was changed by another upload");
+            }
+            // Önceki içerik için kalmış (ör. FAILED) görev yeni içeriğin kuyruğa alınmasını engellemesin.
+            jdbcTemplate.update("delete from document_processing_tasks where document_id = :id", Map.of("id", documentId));
+        });
+        return added;
+    }
+
+    /// content'i parçalara böler ve blob store'da henüz olmayanları saklar. Akışı kapatmaz.
+    public ChunkedContent store(InputStream content) throws IOException {
+        MessageDigest file = sha256();
+        ContentDefinedChunker chunker = new ContentDefinedChunker(content);
+        byte[] chunk = new byte[ContentDefinedChunker.MAX_SIZE];
+        List<ChunkedContentResource.Chunk> chunks = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        long size = 0;
+        long newBytes = 0;
+        for (int n; (n = chunker.next(chunk)) != -1; ) {
+            file.update(chunk, 0, n);
+            MessageDigest digest = sha256();
+            digest.update(chunk, 0, n);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            if (seen.add(hash) && !blobStore.exists(hash)) {
+                blobStore.put(new ByteArrayInputStream(chunk, 0, n), CompressionTrial.choose(chunk, n));
+                newBytes += n;
+            }
+            chunks.add(new ChunkedContentResource.Chunk(hash, n));
+            size += n;
+        }
+        return new ChunkedContent(HexFormat.of().formatHex(file.digest()), size, chunks, newBytes);
+    }
+
+    /// Saklanan sürümün parçalarından akıtılan içeriği.
+    public ChunkedContentResource resource(DocumentVersion version) {
+        return new ChunkedContentResource(blobStore, chunks(version.getId()),
+                "document " + version.getDocumentId() + " v" + version.getVersionNumber());
+    }
+
+    /// Yalnızca sürüm parçaları olarak var olan içeriği dosya hash'iyle açar; o içerikte sürüm yoksa null. Aynı hash
+    /// aynı bayt demek olduğundan hash'i taşıyan herhangi bir sürüm yeterlidir.
+    public InputStream openVersionContent(String contentHash) {
+        List<Integer> ids = jdbcTemplate.queryForList(
+                "select id from document_versions where content_hash = :hash order by id limit 1",
+                Map.of("hash", contentHash), Integer.class);
+        if (ids.isEmpty()) {
+            return null;
+        }
+        return new ChunkedContentResource(blobStore, chunks(ids.get(0)), "version content " + contentHash).getInputStream();
+    }
+
+    /// Silinen dokümanın sürüm zincirini kaldırır. Parçalar, tek bloblar gibi blob store'da kalır.
+    public void deleteVersions(int documentId) {
+        transaction.executeWithoutResult(status -> {
+            Map<String, Object> params = Map.of("id", documentId);
+            jdbcTemplate.update("delete from document_version_chunks where version_id in "
+                    + "(select id from document_versions where document_id = :id)", params);
+            jdbcTemplate.update("delete from document_versions where document_id = :id", params);
+        });
+    }
+
+    private List<ChunkedContentResource.Chunk> chunks(int versionId) {
+        return jdbcTemplate.query(
+                "select chunk_hash, chunk_size from document_version_chunks where version_id = :id order by chunk_index",
+                Map.of("id", versionId),
+                (rs, row) -> new ChunkedContentResource.Chunk(rs.getString("chunk_hash"), rs.getInt("chunk_size")));
+    }
+
+    private void insert(DocumentVersion version, ChunkedContent content) {
+        KeyHolder key = new GeneratedKeyHolder();
+        jdbcTemplate.update(INSERT_VERSION, new MapSqlParameterSource()
+                .addValue("documentId", version.getDocumentId())
+                .addValue("versionNumber", version.getVersionNumber())
+                .addValue("contentHash", version.getContentHash())
+                .addValue("contentSize", version.getContentSize())
+                .addValue("contentType", version.getContentType())
+                .addValue("chunkCount", version.getChunkCount())
+                .addValue("newBytes", version.getNewBytes())
+                .addValue("uploadedBy", version.getUploadedById())
+                .addValue("uploadedAt", version.getUploadedAt() != null ? Timestamp.valueOf(version.getUploadedAt()) : null),
+                key, new String[]{"id"});
+        version.setId(key.getKey().intValue());
+
+        List<Object[]> rows = new ArrayList<>(content.chunks().size());
+        for (int i = 0; i < content.chunks().size(); i++) {
+            ChunkedContentResource.Chunk chunk = content.chunks().get(i);
+            rows.add(new Object[]{version.getId(), i, chunk.hash(), chunk.size()});
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_CHUNK, rows);
+    }
+
+    private static DocumentVersion version(int documentId, int number, ChunkedContent content, String contentType,
+                                           Integer uploadedById, LocalDateTime uploadedAt) {
+        return DocumentVersion.builder()
+                .documentId(documentId)
+                .versionNumber(number)
+                .contentHash(content.hash())
+                .contentSize(content.size())
+                .contentType(contentType)
+                .chunkCount(content.chunks().size())
+                .newBytes(content.newBytes())
+                .uploadedById(uploadedById)
+                .uploadedAt(uploadedAt)
+                .build();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
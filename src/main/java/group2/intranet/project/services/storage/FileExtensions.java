@@ -0,0 +1,44 @@
+package group2.intranet.project.services.storage;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/// İçerik türünden dosya uzantısı türetir; arşiv girdileri ve indirme dosya adları aynı kuralı kullanır.
+public final class FileExtensions {
+
+    /// Alt türü uzantı olmayan içerik türleri (text/plain, Office belgeleri) için denenen uzantılar.
+    private static final List<String> CANDIDATES = List.of(
+            "txt", "csv", "docx", "doc", "xlsx", "xls", "pptx", "ppt", "odt", "ods", "odp", "svg");
+
+    private FileExtensions() {
+    }
+
+    /// MediaTypeFactory yalnızca uzantıdan türe eşler; tersi için önce alt tür, sonra yaygın uzantılar denenir ve
+    /// MediaTypeFactory'nin aynı türe eşlediği ilk uzantı seçilir. Türü olmayan eski kayıtlar PDF'tir.
+    public static String forContentType(String contentType) {
+        if (contentType == null) {
+            return ".pdf";
+        }
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return ".pdf";
+        }
+        List<String> candidates = new ArrayList<>();
+        if (type.getSubtype().matches("[a-z0-9]{1,10}")) {
+            candidates.add(type.getSubtype());
+        }
+        candidates.addAll(CANDIDATES);
+        for (String extension : candidates) {
+            if (MediaTypeFactory.getMediaTypes("file." + extension).stream().anyMatch(type::equalsTypeAndSubtype)) {
+                return "." + extension;
+            }
+        }
+        return ".pdf";
+    }
+}
@@ -0,0 +1,154 @@
+package group2.intranet.project.services.storage;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/// Yerel dosya sistemindeki BlobStore.
+///
+/// abcdef... hash'li blob <root>/ab/cd/abcdef... yolundadır; dizinler küçük kalır. Yazma, hash hesaplanırken
+/// <root>/tmp altındaki geçici dosyaya yapılır, fsync edilir ve atomik olarak yerine taşınır; okuyan yarım
+/// blob görmez. Hedef zaten varsa geçici dosya silinir (tekilleştirme).
+/// Kodlanmış blob'lar codec'in dosya ekini taşır (abcdef....gz); ek diskteki codec işaretidir, blob veritabanına
+/// bakmadan okunabilir.
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tmp;
+
+    public FileSystemBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.tmp = this.root.resolve("tmp");
+        try {
+            Files.createDirectories(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create blob store at " + this.root, e);
+        }
+    }
+
+    @Override
+    public BlobDescriptor put(InputStream content, BlobCodec codec) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            long size = 0;
+            long storedSize;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                try (OutputStream out = codec.encode(Channels.newOutputStream(channel))) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = content.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                        out.write(buffer, 0, read);
+                        size += read;
+                    }
+                }
+                channel.force(true);
+                storedSize = channel.size();
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            BlobCodec existing = codec(hash);
+            if (existing != null) {
+                return new BlobDescriptor(hash, size, Files.size(pathFor(hash, existing)), existing);
+            }
+            Path target = pathFor(hash, codec);
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new BlobDescriptor(hash, size, storedSize, codec);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return isValid(hash) && codec(hash) != null;
+    }
+
+    @Override
+    public BlobCodec codec(String hash) {
+        requireValid(hash);
+        for (BlobCodec codec : BlobCodec.values()) {
+            if (Files.isRegularFile(pathFor(hash, codec))) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Resource resource(String hash) {
+        BlobCodec codec = codec(hash);
+        return new FileSystemResource(pathFor(hash, codec != null ? codec : BlobCodec.IDENTITY));
+    }
+
+    @Override
+    public InputStream open(String hash) throws IOException {
+        BlobCodec codec = codec(hash);
+        if (codec == null) {
+            throw new NoSuchFileException(pathFor(hash).toString());
+        }
+        return codec.decode(Files.newInputStream(pathFor(hash, codec)));
+    }
+
+    @Override
+    public boolean delete(String hash) throws IOException {
+        requireValid(hash);
+        boolean deleted = false;
+        for (BlobCodec codec : BlobCodec.values()) {
+            deleted |= Files.deleteIfExists(pathFor(hash, codec));
+        }
+        return deleted;
+    }
+
+    Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    Path pathFor(String hash, BlobCodec codec) {
+        Path path = pathFor(hash);
+        return codec == BlobCodec.IDENTITY ? path : path.resolveSibling(hash + codec.fileSuffix());
+    }
+
+    private static boolean isValid(String hash) {
+        return hash != null && SHA256_HEX.matcher(hash).matches();
+    }
+
+    private static void requireValid(String hash) {
+        if (!isValid(hash)) {
+            throw new IllegalArgumentException("Not a SHA-256 blob key: " + hash);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
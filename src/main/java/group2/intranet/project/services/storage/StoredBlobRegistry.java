@@ -0,0 +1,62 @@
+package group2.intranet.project.services.storage;
+
+import group2.intranet.project.domain.entities.StoredBlob;
+import group2.intranet.project.repositories.StoredBlobRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/// BlobStore'daki içeriklerin kaydı; her hash için bir StoredBlob satırı.
+///
+/// Kayıt kilitsiz ve yarışsızdır: eş zamanlı iki insert'ten hangisinin kazanacağına hash üzerindeki unique index
+/// karar verir, kaybeden kazananın satırını okur. Her çağrı çağıranın transaction'ı dışında çalışır; kaybedilen
+/// yarış dıştaki transaction'ı rollback-only yapmaz.
+@Component
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StoredBlobRegistry {
+
+    private final StoredBlobRepository storedBlobRepository;
+
+    public StoredBlobRegistry(StoredBlobRepository storedBlobRepository) {
+        this.storedBlobRepository = storedBlobRepository;
+    }
+
+    /// Hash için kayıtlı blob'u döner; içerik bilinmiyorsa null.
+    public StoredBlob find(String hash) {
+        return storedBlobRepository.findByHash(hash).orElse(null);
+    }
+
+    /// Blob kayıtlı değilse kaydeder; (önceden var olabilecek) satırı döner.
+    public StoredBlob register(BlobDescriptor blob, String contentType) {
+        StoredBlob existing = find(blob.hash());
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            return storedBlobRepository.saveAndFlush(StoredBlob.builder()
+                    .hash(blob.hash())
+                    .size(blob.size())
+                    .contentType(contentType)
+                    .codec(blob.codec())
+                    .storedSize(blob.storedSize())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Aynı içerik başka bir istekle eş zamanlı kaydedildi; kazanan satır kullanılır.
+            return storedBlobRepository.findByHash(blob.hash()).orElseThrow(() -> e);
+        }
+    }
+
+    /// Hiçbir dokümanın ya da sürümün kullanmadığı en fazla limit kayıtlı blob'un hash'i.
+    public List<String> findUnreferenced(int limit) {
+        return storedBlobRepository.findUnreferencedHashes(Limit.of(limit));
+    }
+
+    /// Blob hâlâ referanssızsa kaydını siler; silindiyse true döner.
+    public boolean unregisterIfUnreferenced(String hash) {
+        return storedBlobRepository.deleteIfUnreferenced(hash) == 1;
+    }
+}
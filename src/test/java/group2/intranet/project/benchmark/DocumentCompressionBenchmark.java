@@ -0,0 +1,161 @@
+package group2.intranet.project.benchmark;
+
+import group2.intranet.project.services.storage.BlobCodec;
+import group2.intranet.project.services.storage.CompressionTrial;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/// İntranetteki her doküman türünden 1 MiB'lık örnek üzerinde depolama sıkıştırması; işlem başına süre MB başına
+/// CPU maliyetidir. store yükleme yoludur (64 KiB deneme ve seçilen codec ile kodlama), read gzip kabul etmeyen
+/// istemcinin indirmesidir (çözme). Tür başına kazanılan alan kurulumda bir kez yazdırılır.
+///
+/// Örnekler deterministik üretilir:
+/// - textPdf: rapor araçlarının çıkardığı gibi düz yazılı, sıkıştırılmamış PDF sayfa akışları
+/// - csvExport: bordro/İK tarzı CSV dışa aktarımı
+/// - officeExport: .docx benzeri ZIP kabı (zaten deflate edilmiş)
+/// - scannedPdf: yüksek entropili görüntü verisini saran PDF
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentCompressionBenchmark {
+
+    private static final int SIZE = 1024 * 1024;
+    private static final String[] WORDS = {
+            "employee", "leave", "policy", "department", "manager", "approval", "annual", "request", "the", "of",
+            "and", "to", "in", "is", "for", "on", "with", "as", "by", "travel", "expense", "reimbursement",
+            "health", "insurance", "remote", "work", "office", "hours", "overtime", "training", "security",
+            "confidential", "information", "must", "be", "submitted", "within", "days", "after", "before"
+    };
+
+    @Param({"textPdf", "csvExport", "officeExport", "scannedPdf"})
+    public String kind;
+
+    private byte[] original;
+    private byte[] stored;
+    private BlobCodec codec;
+
+    @Setup
+    public void setup() throws IOException {
+        original = switch (kind) {
+            case "textPdf" -> textPdf();
+            case "csvExport" -> csvExport();
+            case "officeExport" -> officeExport();
+            default -> scannedPdf();
+        };
+        codec = CompressionTrial.choose(new BufferedInputStream(new ByteArrayInputStream(original), CompressionTrial.SAMPLE_SIZE));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encoded = codec.encode(out)) {
+            encoded.write(original);
+        }
+        stored = out.toByteArray();
+        System.out.printf("%n%s: %d -> %d bytes, codec %s, %.1f%% saved%n",
+                kind, original.length, stored.length, codec, 100.0 * (original.length - stored.length) / original.length);
+    }
+
+    @Benchmark
+    public void store(Blackhole blackhole) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(new ByteArrayInputStream(original), CompressionTrial.SAMPLE_SIZE);
+        BlobCodec chosen = CompressionTrial.choose(in);
+        try (OutputStream out = chosen.encode(OutputStream.nullOutputStream())) {
+            in.transferTo(out);
+        }
+        blackhole.consume(chosen);
+    }
+
+    @Benchmark
+    public long read() throws IOException {
+        try (InputStream in = codec.decode(new ByteArrayInputStream(stored))) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static byte[] textPdf() {
+        Random random = new Random(1);
+        StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+        int object = 1;
+        while (pdf.length() < SIZE) {
+            StringBuilder page = new StringBuilder("BT /F1 11 Tf 72 760 Td 14 TL\n");
+            for (int line = 0; line < 48; line++) {
+                page.append('(');
+                for (int w = 0; w < 11; w++) {
+                    page.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                }
+                page.append(") Tj T*\n");
+            }
+            page.append("ET\n");
+            pdf.append(object++).append(" 0 obj\n<< /Length ").append(page.length()).append(" >>\nstream\n")
+                    .append(page).append("endstream\nendobj\n");
+        }
+        return truncate(pdf.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] csvExport() {
+        Random random = new Random(2);
+        StringBuilder csv = new StringBuilder("id,first_name,last_name,department,job_title,salary,date_of_joining\n");
+        for (int id = 1; csv.length() < SIZE; id++) {
+            csv.append(id).append(',')
+                    .append(WORDS[random.nextInt(WORDS.length)]).append(',')
+                    .append(WORDS[random.nextInt(WORDS.length)]).append(',')
+                    .append("Dept ").append(random.nextInt(40)).append(',')
+                    .append(WORDS[random.nextInt(WORDS.length)]).append(' ').append(WORDS[random.nextInt(WORDS.length)]).append(',')
+                    .append(30_000 + random.nextInt(90_000)).append(',')
+                    .append(2010 + random.nextInt(15)).append('-').append(1 + random.nextInt(12)).append('-').append(1 + random.nextInt(28))
+                    .append('\n');
+        }
+        return truncate(csv.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] officeExport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int part = 0; out.size() < SIZE; part++) {
+                zip.putNextEntry(new ZipEntry("word/document" + part + ".xml"));
+                zip.write(csvExport());
+                zip.write(textPdf());
+                zip.closeEntry();
+            }
+        }
+        return truncate(out.toByteArray());
+    }
+
+    private static byte[] scannedPdf() {
+        byte[] data = new byte[SIZE];
+        new Random(3).nextBytes(data);
+        byte[] header = "%PDF-1.4\n1 0 obj\n<< /Type /XObject /Subtype /Image /Filter /DCTDecode >>\nstream\n"
+                .getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, data, 0, header.length);
+        return data;
+    }
+
+    private static byte[] truncate(byte[] bytes) {
+        byte[] exact = new byte[SIZE];
+        System.arraycopy(bytes, 0, exact, 0, Math.min(SIZE, bytes.length));
+        return exact;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DocumentCompressionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,181 @@
+package group2.intranet.project.benchmark;
+
+import group2.intranet.project.services.storage.ContentDefinedChunker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/// Düzenlenmiş PDF serisi üzerinde doküman sürümlerinin depolama verimi.
+///
+/// Seri ~2 MiB'lık metin PDF'iyle başlar ve sırayla on iki tipik politika düzenlemesi uygular: sayfa ortasına cümle
+/// ekleme, sayfa yeniden yazma, sayfa silme ve artımlı güncelleme ekleme (PDF editörlerinin kaydettiği gibi %%EOF
+/// sonrasına yeni nesneler, xref ve trailer). Setup her parçalama stratejisi için sürüm başına tam kopyanın
+/// saklayacağı baytı benzersiz parça baytlarıyla karşılaştırarak yazdırır. fixedSize karşılaştırma için her
+/// ContentDefinedChunker.AVG_SIZE baytta keser: ekleme ya da silme sonraki tüm sınırları kaydırır, yalnızca ilk
+/// böyle düzenlemeden önceki parçalar paylaşılır. Benchmark tüm serinin parçalanmasını ve SHA-256 hash'ini, yani
+/// on üç sürümü saklamanın CPU maliyetini ölçer.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentVersionStorageBenchmark {
+
+    private static final int PAGES = 500;
+    private static final int EDITS = 12;
+    private static final String[] WORDS = {
+            "employee", "leave", "policy", "department", "manager", "approval", "annual", "request", "the", "of",
+            "and", "to", "in", "is", "for", "on", "with", "as", "by", "travel", "expense", "reimbursement",
+            "health", "insurance", "remote", "work", "office", "hours", "overtime", "training", "security",
+            "confidential", "information", "must", "be", "submitted", "within", "days", "after", "before"
+    };
+
+    @Param({"contentDefined", "fixedSize"})
+    public String chunking;
+
+    private List<byte[]> versions;
+
+    @Setup
+    public void setup() throws IOException {
+        versions = series();
+        long total = 0;
+        long stored = 0;
+        Set<String> seen = new HashSet<>();
+        for (byte[] version : versions) {
+            total += version.length;
+            for (byte[] chunk : chunks(version)) {
+                if (seen.add(sha256(chunk, chunk.length))) {
+                    stored += chunk.length;
+                }
+            }
+        }
+        System.out.printf("%n%s: %d versions, %d bytes as full copies -> %d bytes of unique chunks, %.1f%% saved%n",
+                chunking, versions.size(), total, stored, 100.0 * (total - stored) / total);
+    }
+
+    @Benchmark
+    public int chunkSeries() throws IOException {
+        Set<String> seen = new HashSet<>();
+        byte[] chunk = new byte[ContentDefinedChunker.MAX_SIZE];
+        for (byte[] version : versions) {
+            InputStream in = new ByteArrayInputStream(version);
+            if (chunking.equals("contentDefined")) {
+                ContentDefinedChunker chunker = new ContentDefinedChunker(in);
+                for (int n; (n = chunker.next(chunk)) != -1; ) {
+                    seen.add(sha256(chunk, n));
+                }
+            } else {
+                for (int n; (n = in.readNBytes(chunk, 0, ContentDefinedChunker.AVG_SIZE)) > 0; ) {
+                    seen.add(sha256(chunk, n));
+                }
+            }
+        }
+        return seen.size();
+    }
+
+    private List<byte[]> chunks(byte[] content) throws IOException {
+        List<byte[]> chunks = new ArrayList<>();
+        byte[] chunk = new byte[ContentDefinedChunker.MAX_SIZE];
+        InputStream in = new ByteArrayInputStream(content);
+        if (chunking.equals("contentDefined")) {
+            ContentDefinedChunker chunker = new ContentDefinedChunker(in);
+            for (int n; (n = chunker.next(chunk)) != -1; ) {
+                chunks.add(Arrays.copyOf(chunk, n));
+            }
+        } else {
+            for (int n; (n = in.readNBytes(chunk, 0, ContentDefinedChunker.AVG_SIZE)) > 0; ) {
+                chunks.add(Arrays.copyOf(chunk, n));
+            }
+        }
+        return chunks;
+    }
+
+    /// Orijinal ve her düzenleme için bir sürüm; her sayfa kendi content stream nesnesidir.
+    private static List<byte[]> series() {
+        Random random = new Random(7);
+        List<String> objects = new ArrayList<>();
+        int next = 1;
+        while (next <= PAGES) {
+            objects.add(object(next++, page(random)));
+        }
+        List<byte[]> versions = new ArrayList<>();
+        StringBuilder updates = new StringBuilder();
+        versions.add(pdf(objects, next, updates));
+        for (int edit = 0; edit < EDITS; edit++) {
+            int at = random.nextInt(objects.size());
+            switch (edit % 4) {
+                case 0 -> {
+                    String object = objects.get(at);
+                    int line = object.indexOf(") Tj T*\n", object.length() / 2);
+                    objects.set(at, object.substring(0, line) + " This paragraph was revised by the board" + object.substring(line));
+                }
+                case 1 -> objects.set(at, object(next++, page(random)));
+                case 2 -> objects.remove(at);
+                default -> updates.append(next++).append(" 0 obj\n<< /Type /Annot /Subtype /Text /Contents (Approved ")
+                        .append(random.nextInt(1000)).append(") >>\nendobj\nxref\n0 1\n0000000000 65535 f \ntrailer\n<< /Size ")
+                        .append(next).append(" /Prev ").append(random.nextInt(1 << 20))
+                        .append(" /Root 1 0 R >>\nstartxref\n").append(random.nextInt(1 << 21)).append("\n%%EOF\n");
+            }
+            versions.add(pdf(objects, next, updates));
+        }
+        return versions;
+    }
+
+    private static String page(Random random) {
+        StringBuilder page = new StringBuilder("BT /F1 11 Tf 72 760 Td 14 TL\n");
+        for (int line = 0; line < 48; line++) {
+            page.append('(');
+            for (int w = 0; w < 11; w++) {
+                page.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            page.append(") Tj T*\n");
+        }
+        return page.append("ET\n").toString();
+    }
+
+    private static String object(int number, String page) {
+        return number + " 0 obj\n<< /Length " + page.length() + " >>\nstream\n" + page + "endstream\nendobj\n";
+    }
+
+    private static byte[] pdf(List<String> objects, int size, CharSequence updates) {
+        StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+        objects.forEach(pdf::append);
+        pdf.append("trailer\n<< /Size ").append(size).append(" /Root 1 0 R >>\n%%EOF\n").append(updates);
+        return pdf.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String sha256(byte[] chunk, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(chunk, 0, length);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DocumentVersionStorageBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
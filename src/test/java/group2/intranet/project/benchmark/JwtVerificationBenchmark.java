@@ -0,0 +1,105 @@
+package group2.intranet.project.benchmark;
+
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.services.jwt.JwtService;
+import group2.intranet.project.services.jwt.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/// JwtAuthFilter'daki bearer token doğrulamasının istek başına maliyeti.
+///
+/// legacyFilter eski çağrı sırasını (extractUsername, iki extractClaim, isTokenValid) her seferinde yeni
+/// anahtar ve parser kurarak tekrarlar; cachedJjwtParser önbellekteki jjwt parser ile tek parse'tır (yedek yol);
+/// verifiedToken ise generateToken'ın ürettiği token'lar için az nesne ayıran HS256 yolunu kullanan
+/// JwtService.verify'dır.
+///
+/// mvn test-compile sonrası main ile çalıştırılır; GC profiler açık olduğundan rapor istek başına
+/// gc.alloc.rate.norm değerini de içerir.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class JwtVerificationBenchmark {
+
+    static final String SECRET = "srgkjhsdtgkjshdae?rl?aeor?hgaelrjgh?ru?ghfhtduky8756hyhsrth435u46";
+
+    private JwtService jwtService;
+    private JwtParser cachedParser;
+    private Employee employee;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(SECRET);
+        employee = Employee.builder()
+                .id(1)
+                .email("john@test.com")
+                .role("HR")
+                .build();
+        token = jwtService.generateToken(employee, 1L);
+        cachedParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    @Benchmark
+    public void legacyFilter(Blackhole bh) {
+        String username = legacyClaims(token).getSubject();
+        String role = legacyClaims(token).get("role", String.class);
+        Long userId = legacyClaims(token).get("id", Long.class);
+        boolean valid = legacyClaims(token).getSubject().equals(employee.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+        bh.consume(username);
+        bh.consume(role);
+        bh.consume(userId);
+        bh.consume(valid);
+    }
+
+    @Benchmark
+    public void cachedJjwtParser(Blackhole bh) {
+        Claims claims = cachedParser.parseClaimsJws(token).getBody();
+        bh.consume(claims.get("role", String.class));
+        bh.consume(claims.get("id", Long.class));
+        bh.consume(claims.getSubject().equals(employee.getUsername()) && !claims.getExpiration().before(new Date()));
+    }
+
+    @Benchmark
+    public void verifiedToken(Blackhole bh) {
+        VerifiedToken verified = jwtService.verify(token);
+        bh.consume(verified.getRole());
+        bh.consume(verified.getUserId());
+        bh.consume(jwtService.isTokenValid(verified, employee));
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
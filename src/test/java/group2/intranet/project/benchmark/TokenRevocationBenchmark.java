@@ -0,0 +1,68 @@
+package group2.intranet.project.benchmark;
+
+import group2.intranet.project.services.jwt.RevocationIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/// JwtAuthFilter'ın her istekte yaptığı iptal kontrolünün, iptal edilmiş (süresi dolmamış) token sayısı
+/// sıfırdan 100 bine çıkarken maliyeti. activeToken normal yoldur (Bloom filter yanıtlar); revokedToken
+/// kesin kümeye de bakar. İkisi de revoked arttıkça sabit kalmalıdır.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TokenRevocationBenchmark {
+
+    @Param({"0", "1000", "100000"})
+    public int revoked;
+
+    private RevocationIndex index;
+    private String[] activeIds;
+    private String[] revokedIds;
+    private long now;
+
+    @Setup
+    public void setup() {
+        index = new RevocationIndex(100_000, 0.001);
+        now = System.currentTimeMillis();
+        revokedIds = new String[Math.max(1, revoked)];
+        for (int i = 0; i < revoked; i++) {
+            revokedIds[i] = UUID.randomUUID().toString();
+            index.add(revokedIds[i], now + TimeUnit.HOURS.toMillis(10));
+        }
+        if (revoked == 0) {
+            revokedIds[0] = UUID.randomUUID().toString();
+        }
+        activeIds = new String[4096];
+        for (int i = 0; i < activeIds.length; i++) {
+            activeIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public boolean activeToken() {
+        return index.isRevoked(activeIds[ThreadLocalRandom.current().nextInt(activeIds.length)], now);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return index.isRevoked(revokedIds[ThreadLocalRandom.current().nextInt(revokedIds.length)], now);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TokenRevocationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,143 @@
+package group2.intranet.project.controller;
+
+import group2.intranet.project.domain.entities.Department;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.domain.entities.News;
+import group2.intranet.project.repositories.DepartmentRepository;
+import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.repositories.NewsRepository;
+import group2.intranet.project.support.SqlStatementCounter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=group2.intranet.project.support.SqlStatementCounter")
+public class ConditionalDownloadQueryTests {
+
+    private static final String CONTENT_HASH = "d".repeat(64);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department department;
+    private Employee employee;
+    private News news;
+    private Integer documentId;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate.update("insert into documents (title, content_hash, content_size, content_type) values ('conditional-blob', ?, 12, 'application/pdf')",
+                CONTENT_HASH);
+        documentId = jdbcTemplate.queryForObject("select id from documents where title = 'conditional-blob'", Integer.class);
+
+        department = departmentRepository.save(Department.builder()
+                .name("Conditional Department")
+                .location("Test Location")
+                .email("conditional@department.com")
+                .build());
+        employee = employeeRepository.save(Employee.builder()
+                .email("conditional@test.com")
+                .passwordHash("test")
+                .firstName("Conditional")
+                .lastName("Get")
+                .department(department)
+                .dateOfJoining(LocalDate.of(2025, 4, 8))
+                .role("HR")
+                .build());
+        news = newsRepository.save(News.builder()
+                .title("Conditional news")
+                .content("content")
+                .newsType("type")
+                .cover_image("cover image bytes".getBytes(StandardCharsets.US_ASCII))
+                .createdBy(employee)
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from documents where title = 'conditional-blob'");
+        newsRepository.delete(news);
+        employeeRepository.delete(employee);
+        departmentRepository.delete(department);
+    }
+
+    @Test
+    public void DocumentController_DownloadDocument_AnswersIfNoneMatchWithOneHashLookup() throws Exception {
+        // Arrange
+        SqlStatementCounter.reset();
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", documentId)
+                        .header("If-None-Match", "\"" + CONTENT_HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + CONTENT_HASH + "\""));
+
+        Assertions.assertThat(SqlStatementCounter.statements())
+                .hasSize(1)
+                .allMatch(sql -> sql.contains("content_hash") && !sql.contains("file_data"));
+    }
+
+    @Test
+    public void NewsController_GetNewsImage_AnswersIfNoneMatchWithoutReadingImage() throws Exception {
+        // Arrange
+        String hash = News.sha256Hex("cover image bytes".getBytes(StandardCharsets.US_ASCII));
+        SqlStatementCounter.reset();
+
+        // Act & Assert
+        mockMvc.perform(get("/news/{id}/image", news.getId())
+                        .header("If-None-Match", "\"" + hash + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + hash + "\""));
+
+        Assertions.assertThat(SqlStatementCounter.statements())
+                .hasSize(1)
+                .allMatch(sql -> sql.contains("cover_image_hash") && !sql.replace("cover_image_hash", "").contains("cover_image"));
+    }
+
+    @Test
+    public void NewsController_GetNewsImage_ServesRepeatedRequestsFromContentCache() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/news/{id}/image", news.getId())).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+
+        // Act & Assert
+        mockMvc.perform(get("/news/{id}/image", news.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes("cover image bytes".getBytes(StandardCharsets.US_ASCII)));
+
+        Assertions.assertThat(SqlStatementCounter.statements())
+                .as("hash lookup only")
+                .hasSize(1)
+                .allMatch(sql -> !sql.replace("cover_image_hash", "").contains("cover_image"));
+    }
+}
@@ -1,9 +1,18 @@
 package group2.intranet.project.controller;
 
 import group2.intranet.project.controllers.DocumentController;
+import group2.intranet.project.domain.dtos.ArchiveEntryResult;
+import group2.intranet.project.domain.dtos.DocumentContent;
 import group2.intranet.project.domain.dtos.DocumentDto;
+import group2.intranet.project.domain.dtos.DocumentMetadata;
 import group2.intranet.project.domain.entities.Employee;
 import group2.intranet.project.services.DocumentService;
+import group2.intranet.project.services.jwt.JwtPrincipal;
+import group2.intranet.project.services.downloadstats.DownloadKind;
+import group2.intranet.project.services.downloadstats.DownloadTracker;
+import group2.intranet.project.services.signedurl.SignedUrlSigner;
+import group2.intranet.project.services.storage.BlobCodec;
+import group2.intranet.project.services.storage.DecodedBlobResource;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +21,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
@@ -21,15 +31,28 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +67,9 @@ public class DocumentControllerTests {
     @Autowired
     private DocumentService documentService;
 
+    @Autowired
+    private DownloadTracker downloadTracker;
+
     @TestConfiguration
     static class TestConfig {
         @Bean
@@ -51,8 +77,20 @@ public class DocumentControllerTests {
         public DocumentService documentService() {
             return mock(DocumentService.class);
         }
+
+        @Bean
+        public SignedUrlSigner signedUrlSigner() {
+            return new SignedUrlSigner(SignedUrlSigner.deriveKey("test-secret"), Duration.ofMinutes(10), Duration.ofMinutes(5));
+        }
+
+        @Bean
+        public DownloadTracker downloadTracker() {
+            return mock(DownloadTracker.class);
+        }
     }
 
+    private static final String CONTENT_HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
     private DocumentDto documentDto1;
     private DocumentDto documentDto2;
 
@@ -65,7 +103,6 @@ public class DocumentControllerTests {
                 .documentType("PDF")
                 .uploadedAt(LocalDateTime.of(2025, 1, 15, 10, 30))
                 .uploadedById(1)
-                .fileData("Test PDF content 1".getBytes())
                 .departmentIds(List.of(1, 2))
                 .build();
 
@@ -76,7 +113,6 @@ public class DocumentControllerTests {
                 .documentType("DOCX")
                 .uploadedAt(LocalDateTime.of(2025, 1, 16, 11, 45))
                 .uploadedById(2)
-                .fileData("Test DOCX content 2".getBytes())
                 .departmentIds(List.of(1))
                 .build();
     }
@@ -115,7 +151,9 @@ public class DocumentControllerTests {
                 .andExpect(jsonPath("$[0].documentType").value("PDF"))
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].title").value("Test Document 2"))
-                .andExpect(jsonPath("$[1].documentType").value("DOCX"));
+                .andExpect(jsonPath("$[1].documentType").value("DOCX"))
+                .andExpect(jsonPath("$[0].downloadUrl").value(org.hamcrest.Matchers.startsWith("/documents/download/1?")))
+                .andExpect(jsonPath("$[0].downloadUrl").value(org.hamcrest.Matchers.containsString("&signature=")));
     }
 
     @Test
@@ -186,13 +224,105 @@ public class DocumentControllerTests {
     public void DocumentController_DownloadDocument_ReturnsFileData() throws Exception {
         // Arrange
         Integer documentId = 1;
-        when(documentService.getDocumentById(documentId)).thenReturn(documentDto1);
+        when(documentService.getDocumentContent(documentId)).thenReturn(storedContent("Test PDF content 1"));
 
         // Act & Assert
         mockMvc.perform(get("/documents/download/{id}", documentId))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_PDF))
                 .andExpect(header().string("Content-Disposition", "attachment; filename=\"Test Document 1.pdf\""))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("ETag", "\"" + CONTENT_HASH + "\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(content().bytes("Test PDF content 1".getBytes()));
+        verify(downloadTracker, atLeastOnce()).record(DownloadKind.DOCUMENT, 1);
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadVersion_NamesFileByContentTypeAndEscapesTitle() throws Exception {
+        // Arrange
+        byte[] bytes = "sheet".getBytes();
+        when(documentService.getDocumentVersionContent(44, 3)).thenReturn(DocumentContent.builder()
+                .id(44)
+                .title("Q1 \"final\" plan")
+                .contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                .contentSize((long) bytes.length)
+                .contentHash(CONTENT_HASH)
+                .resource(new ByteArrayResource(bytes))
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/{id}/versions/{version}/download", 44, 3))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"Q1 \\\"final\\\" plan (v3).xlsx\""));
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_ReturnsPartialContent_ForRange() throws Exception {
+        // Arrange
+        Integer documentId = 1;
+        when(documentService.getDocumentContent(documentId)).thenReturn(storedContent("Test PDF content 1"));
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", documentId)
+                        .header("Range", "bytes=5-7"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 5-7/18"))
+                .andExpect(content().bytes("PDF".getBytes()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_CountsOnlyDownloadsStartingAtFirstByte() throws Exception {
+        // Arrange
+        when(documentService.getDocumentContent(41)).thenReturn(storedContent("Test PDF content 1"));
+        when(documentService.getDocumentContent(42)).thenReturn(storedContent("Test PDF content 1"));
+
+        // Act
+        mockMvc.perform(get("/documents/download/{id}", 41).header("Range", "bytes=5-7"))
+                .andExpect(status().isPartialContent());
+        mockMvc.perform(get("/documents/download/{id}", 41).header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent());
+        mockMvc.perform(head("/documents/download/{id}", 41))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/documents/download/{id}", 42).header("Range", "bytes=0-3"))
+                .andExpect(status().isPartialContent());
+
+        // Assert
+        verify(downloadTracker, never()).record(DownloadKind.DOCUMENT, 41);
+        verify(downloadTracker, times(1)).record(DownloadKind.DOCUMENT, 42);
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_HonoursRange_WhenIfRangeMatches() throws Exception {
+        // Arrange
+        Integer documentId = 1;
+        when(documentService.getDocumentContent(documentId)).thenReturn(storedContent("Test PDF content 1"));
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", documentId)
+                        .header("Range", "bytes=9-")
+                        .header("If-Range", "\"" + CONTENT_HASH + "\""))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("content 1".getBytes()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_ReturnsFullContent_WhenIfRangeIsStale() throws Exception {
+        // Arrange
+        Integer documentId = 1;
+        when(documentService.getDocumentContent(documentId)).thenReturn(storedContent("Test PDF content 1"));
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", documentId)
+                        .header("Range", "bytes=5-7")
+                        .header("If-Range", "\"some-older-version\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Length", "18"))
                 .andExpect(content().bytes("Test PDF content 1".getBytes()));
     }
 
@@ -201,18 +331,259 @@ public class DocumentControllerTests {
     public void DocumentController_DownloadDocument_ReturnsNoContent_WhenNoFileData() throws Exception {
         // Arrange
         Integer documentId = 1;
-        DocumentDto documentWithoutFile = DocumentDto.builder()
+        DocumentContent documentWithoutFile = DocumentContent.builder()
                 .id(1)
                 .title("Test Document")
-                .fileData(null)
+                .resource(null)
                 .build();
-        when(documentService.getDocumentById(documentId)).thenReturn(documentWithoutFile);
+        when(documentService.getDocumentContent(documentId)).thenReturn(documentWithoutFile);
 
         // Act & Assert
         mockMvc.perform(get("/documents/download/{id}", documentId))
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_ReturnsNotFound_WhenDocumentMissing() throws Exception {
+        // Arrange
+        when(documentService.getDocumentContent(99)).thenReturn(null);
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", 99))
+                .andExpect(status().isNotFound());
+        verify(downloadTracker, never()).record(DownloadKind.DOCUMENT, 99);
+    }
+
+    @Test
+    public void DocumentController_UploadArchive_ReturnsCreatedWithManifest() throws Exception {
+        // Arrange
+        setupAuthenticationWithUserId(1L);
+        byte[] archive = "PK zip body".getBytes();
+        when(documentService.importArchive(any(InputStream.class), eq(1), eq(List.of(2, 3)), eq(null))).thenReturn(List.of(
+                ArchiveEntryResult.created("pack/leave.pdf", 10, CONTENT_HASH, 12L),
+                ArchiveEntryResult.skipped("pack/empty.pdf", "Empty file")));
+
+        // Act & Assert
+        mockMvc.perform(post("/documents/archive")
+                        .param("departmentIds", "2", "3")
+                        .contentType("application/zip")
+                        .content(archive))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].documentId").value(10))
+                .andExpect(jsonPath("$[1].status").value("SKIPPED"))
+                .andExpect(jsonPath("$[1].message").value("Empty file"));
+    }
+
+    @Test
+    public void DocumentController_UploadArchive_ReturnsBadRequest_ForUnknownDepartment() throws Exception {
+        // Arrange
+        setupAuthenticationWithUserId(1L);
+        when(documentService.importArchive(any(InputStream.class), eq(1), eq(List.of(99)), eq("PDF")))
+                .thenThrow(new IllegalArgumentException("Unknown department ids: [99]"));
+
+        // Act & Assert
+        mockMvc.perform(post("/documents/archive")
+                        .param("departmentIds", "99")
+                        .param("documentType", "PDF")
+                        .contentType("application/zip")
+                        .content(new byte[]{1}))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadArchive_StreamsZipForDepartment() throws Exception {
+        // Arrange
+        List<DocumentMetadata> entries = List.of(
+                new DocumentMetadata(1, "Handbook", null, "PDF", null, 1, CONTENT_HASH, 12L, "application/pdf", null, null, null, null));
+        when(documentService.getArchiveEntries(null, 3)).thenReturn(entries);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("zip-bytes".getBytes());
+            return null;
+        }).when(documentService).writeArchive(eq(entries), any(OutputStream.class));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/documents/archive").param("departmentId", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"department-3-documents.zip\""))
+                .andExpect(content().bytes("zip-bytes".getBytes()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadArchive_CommitsHeadersBeforeTheBodyStreams() throws Exception {
+        // Arrange
+        when(documentService.getArchiveEntries(null, 4)).thenReturn(List.of(
+                new DocumentMetadata(2, "Policy", null, "PDF", null, 1, CONTENT_HASH, 12L, "application/pdf", null, null, null, null)));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/documents/archive").param("departmentId", "4"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        assertTrue(started.getResponse().isCommitted());
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadArchive_ReturnsBadRequest_WithoutSingleSelection() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/documents/archive"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/documents/archive").param("ids", "1,2").param("departmentId", "3"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadArchive_ReturnsNotFound_WhenNoDocumentsMatch() throws Exception {
+        // Arrange
+        when(documentService.getArchiveEntries(List.of(40, 41), null)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/archive").param("ids", "40,41"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_ReturnsNotModified_FromHashLookupOnly() throws Exception {
+        // Arrange
+        when(documentService.getDocumentContentHash(8)).thenReturn(CONTENT_HASH);
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", 8)
+                        .header("If-None-Match", "\"" + CONTENT_HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + CONTENT_HASH + "\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+        mockMvc.perform(get("/documents/download/{id}", 8)
+                        .header("If-None-Match", "W/\"" + CONTENT_HASH + "-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + CONTENT_HASH + "-gzip\""));
+        verify(documentService, never()).getDocumentContent(8);
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_ReturnsGone_WhenSignedVersionIsNotCurrent() throws Exception {
+        // Arrange
+        when(documentService.getDocumentContentHash(43)).thenReturn(CONTENT_HASH);
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", 43).param("v", "an-older-hash"))
+                .andExpect(status().isGone())
+                .andExpect(header().string("Cache-Control", "no-store"));
+        verify(documentService, never()).getDocumentContent(43);
+        verify(downloadTracker, never()).record(DownloadKind.DOCUMENT, 43);
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_ReturnsContent_WhenIfNoneMatchIsStale() throws Exception {
+        // Arrange
+        when(documentService.getDocumentContentHash(1)).thenReturn(CONTENT_HASH);
+        when(documentService.getDocumentContent(1)).thenReturn(storedContent("Test PDF content 1"));
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", 1)
+                        .header("If-None-Match", "\"an-older-hash\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(content().bytes("Test PDF content 1".getBytes()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_SendsStoredGzip_WhenClientAcceptsIt() throws Exception {
+        // Arrange
+        byte[] gzipped = gzip("Test PDF content 1");
+        when(documentService.getDocumentContent(1)).thenReturn(gzippedContent("Test PDF content 1", gzipped));
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", 1)
+                        .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Length", String.valueOf(gzipped.length)))
+                .andExpect(header().string("ETag", "\"" + CONTENT_HASH + "-gzip\""))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(content().bytes(gzipped));
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void DocumentController_DownloadDocument_InflatesGzip_ForRangeOrUnsupportedClients() throws Exception {
+        // Arrange
+        byte[] gzipped = gzip("Test PDF content 1");
+        when(documentService.getDocumentContent(1)).thenReturn(gzippedContent("Test PDF content 1", gzipped));
+
+        // Act & Assert
+        mockMvc.perform(get("/documents/download/{id}", 1)
+                        .header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(content().bytes("Test PDF content 1".getBytes()));
+        mockMvc.perform(get("/documents/download/{id}", 1)
+                        .header("Accept-Encoding", "gzip")
+                        .header("Range", "bytes=5-7"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes("PDF".getBytes()));
+    }
+
+    private static DocumentContent gzippedContent(String body, byte[] gzipped) {
+        ByteArrayResource stored = new ByteArrayResource(gzipped);
+        return DocumentContent.builder()
+                .id(1)
+                .title("Test Document 1")
+                .contentType("application/pdf")
+                .contentSize((long) body.length())
+                .contentHash(CONTENT_HASH)
+                .uploadedAt(LocalDateTime.of(2025, 4, 8, 12, 30))
+                .resource(new DecodedBlobResource(stored, BlobCodec.GZIP, (long) body.length()))
+                .codec(BlobCodec.GZIP)
+                .storedResource(stored)
+                .storedSize((long) gzipped.length)
+                .build();
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body.getBytes());
+        }
+        return out.toByteArray();
+    }
+
+    private static DocumentContent storedContent(String body) {
+        byte[] bytes = body.getBytes();
+        return DocumentContent.builder()
+                .id(1)
+                .title("Test Document 1")
+                .contentType("application/pdf")
+                .contentSize((long) bytes.length)
+                .contentHash(CONTENT_HASH)
+                .uploadedAt(LocalDateTime.of(2025, 4, 8, 12, 30))
+                .resource(new ByteArrayResource(bytes))
+                .build();
+    }
+
     @Test
     public void DocumentController_UploadDocument_ReturnsCreatedDocument() throws Exception {
         // Arrange
@@ -232,7 +603,6 @@ public class DocumentControllerTests {
                 .documentType("PDF")
                 .uploadedAt(LocalDateTime.now())
                 .uploadedById(1)
-                .fileData("Test PDF content".getBytes())
                 .build();
 
         when(documentService.saveDocument(any(DocumentDto.class))).thenReturn(savedDocument);
@@ -250,6 +620,109 @@ public class DocumentControllerTests {
                 .andExpect(jsonPath("$.title").value("Uploaded Document"));
     }
 
+    @Test
+    public void DocumentController_LinkDocument_ReturnsCreated_WhenContentIsKnown() throws Exception {
+        // Arrange
+        setupAuthenticationWithUserId(1L);
+        DocumentDto linked = DocumentDto.builder()
+                .id(5)
+                .title("Policy")
+                .uploadedById(1)
+                .contentHash(CONTENT_HASH)
+                .contentSize(18L)
+                .build();
+        when(documentService.linkDocument(any(DocumentDto.class))).thenReturn(linked);
+
+        // Act & Assert
+        mockMvc.perform(post("/documents/link")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Policy\",\"contentHash\":\"" + CONTENT_HASH + "\",\"contentSize\":18}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.contentHash").value(CONTENT_HASH));
+    }
+
+    @Test
+    public void DocumentController_LinkDocument_ReturnsNotFound_WhenContentIsUnknown() throws Exception {
+        // Arrange
+        setupAuthenticationWithUserId(1L);
+        when(documentService.linkDocument(any(DocumentDto.class))).thenReturn(null);
+
+        // Act & Assert
+        mockMvc.perform(post("/documents/link")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Policy\",\"contentHash\":\"" + CONTENT_HASH + "\",\"contentSize\":18}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void DocumentController_LinkDocument_ReturnsBadRequest_WhenHashIsMissing() throws Exception {
+        // Arrange
+        setupAuthenticationWithUserId(1L);
+
+        // Act & Assert
+        mockMvc.perform(post("/documents/link")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Policy\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void DocumentController_UploadVersion_ReturnsConflict_WhenAnotherVersionWasAdded() throws Exception {
+        // Arrange
+        setupAuthenticationWithUserId(1L);
+        MockMultipartFile file = new MockMultipartFile("file", "policy.pdf", "application/pdf", "Test PDF content v2".getBytes());
+        when(documentService.addDocumentVersion(eq(4), any(DocumentDto.class)))
+                .thenThrow(new IllegalStateException("Document 4 was changed by another upload"));
+
+        // Act & Assert
+        mockMvc.perform(multipart("/documents/{id}/versions", 4).file(file))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void DocumentController_UploadVersion_ReturnsBadRequest_WhenFileIsEmpty() throws Exception {
+        // Arrange
+        setupAuthenticationWithUserId(1L);
+        MockMultipartFile file = new MockMultipartFile("file", "policy.pdf", "application/pdf", new byte[0]);
+
+        // Act & Assert
+        mockMvc.perform(multipart("/documents/{id}/versions", 6).file(file))
+                .andExpect(status().isBadRequest());
+        verify(documentService, never()).addDocumentVersion(eq(6), any());
+    }
+
+    @Test
+    public void DocumentController_UploadDocument_AcceptsClaimsOnlyPrincipal() throws Exception {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtPrincipal(5, "hr@company.com", "ROLE_HR"),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_HR"))
+        ));
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.pdf",
+                "application/pdf",
+                "Test PDF content".getBytes()
+        );
+
+        when(documentService.saveDocument(any(DocumentDto.class))).thenAnswer(invocation -> {
+            DocumentDto dto = invocation.getArgument(0);
+            dto.setId(3);
+            return dto;
+        });
+
+        // Act & Assert
+        mockMvc.perform(multipart("/documents/upload")
+                        .file(file)
+                        .param("title", "Uploaded Document"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(3))
+                .andExpect(jsonPath("$.uploadedById").value(5));
+    }
+
     @Test
     @WithMockUser(roles = {"HR"})
     public void DocumentController_UploadDocument_ReturnsBadRequest_WhenNoFile() throws Exception {
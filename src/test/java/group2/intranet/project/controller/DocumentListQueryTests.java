@@ -0,0 +1,64 @@
+package group2.intranet.project.controller;
+
+import group2.intranet.project.support.SqlStatementCounter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=group2.intranet.project.support.SqlStatementCounter")
+public class DocumentListQueryTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        byte[] legacy = "%PDF-1.4 legacy list document".getBytes(StandardCharsets.US_ASCII);
+        jdbcTemplate.update("insert into documents (title, file_data) values ('list-legacy', ?)", (Object) legacy);
+        jdbcTemplate.update("insert into documents (title, content_hash, content_size, content_type) values ('list-blob', ?, 12, 'application/pdf')",
+                "c".repeat(64));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from documents where title in ('list-legacy', 'list-blob')");
+    }
+
+    @Test
+    public void DocumentController_GetAll_NeverReadsFileData() throws Exception {
+        // Arrange
+        SqlStatementCounter.reset();
+
+        // Act & Assert
+        mockMvc.perform(get("/documents"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].fileData").doesNotExist())
+                .andExpect(jsonPath("$[1].contentSize").value(12));
+
+        Assertions.assertThat(SqlStatementCounter.statements())
+                .as("metadata projection and department links only")
+                .hasSize(2)
+                .noneMatch(sql -> sql.contains("file_data"));
+        Assertions.assertThat(SqlStatementCounter.selectsOn("employees")).isZero();
+    }
+}
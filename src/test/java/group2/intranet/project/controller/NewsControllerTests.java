@@ -3,8 +3,12 @@ package group2.intranet.project.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import group2.intranet.project.controllers.NewsController;
 import group2.intranet.project.domain.dtos.NewsDTO;
+import group2.intranet.project.domain.dtos.NewsImageContent;
 import group2.intranet.project.domain.entities.Employee;
 import group2.intranet.project.services.NewsService;
+import group2.intranet.project.services.downloadstats.DownloadKind;
+import group2.intranet.project.services.downloadstats.DownloadTracker;
+import group2.intranet.project.services.signedurl.SignedUrlSigner;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +17,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,6 +27,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -30,6 +36,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +52,9 @@ public class NewsControllerTests {
     @Autowired
     private NewsService newsService;
 
+    @Autowired
+    private DownloadTracker downloadTracker;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -54,8 +65,20 @@ public class NewsControllerTests {
         public NewsService newsService() {
             return mock(NewsService.class);
         }
+
+        @Bean
+        public SignedUrlSigner signedUrlSigner() {
+            return new SignedUrlSigner(SignedUrlSigner.deriveKey("test-secret"), Duration.ofMinutes(10), Duration.ofMinutes(5));
+        }
+
+        @Bean
+        public DownloadTracker downloadTracker() {
+            return mock(DownloadTracker.class);
+        }
     }
 
+    private static final String IMAGE_HASH = "5f1c8a4e3b2d6f7a9c0e1d2b3a4f5e6d7c8b9a0f1e2d3c4b5a6f7e8d9c0b1a2f";
+
     private NewsDTO newsDto1;
     private NewsDTO newsDto2;
 
@@ -101,6 +124,7 @@ public class NewsControllerTests {
     @WithMockUser(roles = {"HR"})
     public void NewsController_GetAll_ReturnsNewsList() throws Exception {
         // Arrange
+        newsDto1.setCoverImageHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
         List<NewsDTO> newsList = Arrays.asList(newsDto1, newsDto2);
         when(newsService.getAllNews()).thenReturn(newsList);
 
@@ -110,6 +134,8 @@ public class NewsControllerTests {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].imageUrl").value(org.hamcrest.Matchers.startsWith("/news/1/image?v=9f86d081")))
+                .andExpect(jsonPath("$[1].imageUrl").doesNotExist())
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].title").value("Company Update"))
                 .andExpect(jsonPath("$[0].newsType").value("GENERAL"))
@@ -176,6 +202,51 @@ public class NewsControllerTests {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void NewsController_GetNewsImage_ReturnsImageWithETagAndNoCache() throws Exception {
+        // Arrange
+        byte[] image = "cover image bytes".getBytes();
+        when(newsService.getNewsImage(6)).thenReturn(new NewsImageContent(6, IMAGE_HASH, new ByteArrayResource(image)));
+
+        // Act & Assert
+        mockMvc.perform(get("/news/{id}/image", 6))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + IMAGE_HASH + "\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(content().bytes(image));
+        verify(downloadTracker).record(DownloadKind.NEWS_IMAGE, 6);
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void NewsController_GetNewsImage_ReturnsNotModified_WithoutLoadingImage() throws Exception {
+        // Arrange
+        when(newsService.getNewsImageHash(7)).thenReturn(IMAGE_HASH);
+
+        // Act & Assert
+        mockMvc.perform(get("/news/{id}/image", 7)
+                        .header("If-None-Match", "\"other\", W/\"" + IMAGE_HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + IMAGE_HASH + "\""))
+                .andExpect(content().bytes(new byte[0]));
+        verify(newsService, never()).getNewsImage(7);
+        verify(downloadTracker, never()).record(DownloadKind.NEWS_IMAGE, 7);
+    }
+
+    @Test
+    @WithMockUser(roles = {"HR"})
+    public void NewsController_GetNewsImage_ReturnsGone_WhenSignedVersionIsNotCurrent() throws Exception {
+        // Arrange
+        when(newsService.getNewsImageHash(8)).thenReturn(IMAGE_HASH);
+
+        // Act & Assert
+        mockMvc.perform(get("/news/{id}/image", 8).param("v", "an-older-hash"))
+                .andExpect(status().isGone())
+                .andExpect(header().string("Cache-Control", "no-store"));
+        verify(newsService, never()).getNewsImage(8);
+    }
+
     // @Test
     // public void NewsController_CreateNews_WithHRRole_ReturnsCreatedNews() throws Exception {
     //     // Arrange
@@ -1,6 +1,7 @@
 package group2.intranet.project.controller;
 
 import group2.intranet.project.services.jwt.JwtService;
+import group2.intranet.project.services.jwt.TokenRevocationService;
 import group2.intranet.project.services.CustomUserDetailsService;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -23,6 +24,9 @@ public class TestSecurityConfig {
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     @Bean
     @Primary
     public SecurityFilterChain testSecurityFilterChain(HttpSecurity http) throws Exception {
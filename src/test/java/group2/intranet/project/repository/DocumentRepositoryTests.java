@@ -1,5 +1,6 @@
 package group2.intranet.project.repository;
 
+import group2.intranet.project.domain.dtos.DocumentMetadata;
 import group2.intranet.project.domain.entities.Department;
 import group2.intranet.project.domain.entities.Document;
 import group2.intranet.project.domain.entities.Employee;
@@ -17,6 +18,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,7 +74,9 @@ public class DocumentRepositoryTests {
         Document document = Document.builder()
                 .title("Test Document " + number)
                 .description("Test Description " + number)
-                .fileData("Test file content".getBytes())
+                .contentHash("a".repeat(64))
+                .contentSize(17L)
+                .contentType("application/pdf")
                 .documentType("PDF")
                 .uploadedBy(testEmployee)
                 .build();
@@ -115,19 +119,54 @@ public class DocumentRepositoryTests {
 
         documentSave.setTitle("Updated Document Title");
         documentSave.setDescription("Updated Description");
-        documentSave.setFileData("Updated file content".getBytes());
+        documentSave.setContentHash("b".repeat(64));
         documentSave.setDocumentType("DOCX");
 
         Document updatedDocument = documentRepository.save(documentSave);
 
         Assertions.assertThat(updatedDocument.getTitle()).isNotNull();
         Assertions.assertThat(updatedDocument.getDescription()).isNotNull();
-        Assertions.assertThat(updatedDocument.getFileData()).isNotNull();
+        Assertions.assertThat(updatedDocument.getContentHash()).isEqualTo("b".repeat(64));
         Assertions.assertThat(updatedDocument.getDocumentType()).isNotNull();
         Assertions.assertThat(updatedDocument.getTitle()).isEqualTo("Updated Document Title");
         Assertions.assertThat(updatedDocument.getDocumentType()).isEqualTo("DOCX");
     }
 
+    @Test
+    public void DocumentRepository_FindAllMetadata_ReturnsMetadataAndDepartmentLinks() {
+        Document linked = createAndSaveTestDocument(1);
+        linked.setDepartments(new ArrayList<>(List.of(testDepartment)));
+        documentRepository.saveAndFlush(linked);
+        createAndSaveTestDocument(2);
+
+        List<DocumentMetadata> metadata = documentRepository.findAllMetadata();
+        List<Object[]> links = documentRepository.findAllDepartmentLinks();
+
+        Assertions.assertThat(metadata).hasSize(2);
+        Assertions.assertThat(metadata.get(0).title()).isEqualTo("Test Document 1");
+        Assertions.assertThat(metadata.get(0).uploadedById()).isEqualTo(testEmployee.getId());
+        Assertions.assertThat(metadata.get(0).contentSize()).isEqualTo(17L);
+        Assertions.assertThat(links).hasSize(1);
+        Assertions.assertThat(links.get(0)).containsExactly(linked.getId(), testDepartment.getId());
+    }
+
+    @Test
+    public void DocumentRepository_FindMetadataByDepartmentId_ReturnsOnlyLinkedDocuments() {
+        Document first = createAndSaveTestDocument(1);
+        Document unlinked = createAndSaveTestDocument(2);
+        Document second = createAndSaveTestDocument(3);
+        first.setDepartments(new ArrayList<>(List.of(testDepartment)));
+        second.setDepartments(new ArrayList<>(List.of(testDepartment)));
+        documentRepository.saveAndFlush(first);
+        documentRepository.saveAndFlush(second);
+
+        List<DocumentMetadata> byDepartment = documentRepository.findMetadataByDepartmentId(testDepartment.getId());
+        List<DocumentMetadata> byIds = documentRepository.findMetadataByIdIn(List.of(second.getId(), unlinked.getId()));
+
+        Assertions.assertThat(byDepartment).extracting(DocumentMetadata::id).containsExactly(first.getId(), second.getId());
+        Assertions.assertThat(byIds).extracting(DocumentMetadata::id).containsExactly(unlinked.getId(), second.getId());
+    }
+
     @Test
     public void DocumentRepository_DocumentDelete_ReturnDocumentIsEmpty() {
         Document savedTestDocument = createAndSaveTestDocument(1);
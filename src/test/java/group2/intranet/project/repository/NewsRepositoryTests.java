@@ -151,6 +151,26 @@ public class NewsRepositoryTests {
         Assertions.assertThat(updatedNews.getCreatedAt()).isNotNull();
     }
 
+    @Test
+    public void NewsRepository_FindCoverImageHashById_TracksImageChanges() {
+        News news = newsRepository.saveAndFlush(News.builder()
+                .title("title")
+                .content("content")
+                .newsType("type")
+                .cover_image("first image".getBytes())
+                .createdBy(testEmployee)
+                .build());
+
+        String firstHash = newsRepository.findCoverImageHashById(news.getId()).orElseThrow();
+        news.setCover_image("second image".getBytes());
+        newsRepository.saveAndFlush(news);
+        String secondHash = newsRepository.findCoverImageHashById(news.getId()).orElseThrow();
+
+        Assertions.assertThat(firstHash).isEqualTo(News.sha256Hex("first image".getBytes())).hasSize(64);
+        Assertions.assertThat(secondHash).isEqualTo(News.sha256Hex("second image".getBytes()));
+        Assertions.assertThat(newsRepository.findCoverImageHashById(Integer.MAX_VALUE)).isEmpty();
+    }
+
     @Test
     public void NewsRepository_NewsDelete_ReturnNewsIsEmpty() {
         News news = News.builder()
@@ -0,0 +1,86 @@
+package group2.intranet.project.repository;
+
+import group2.intranet.project.domain.entities.Department;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.repositories.DepartmentRepository;
+import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.cache.PrincipalCache;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(PrincipalCache.class)
+public class PrincipalCacheInvalidationTests {
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final PrincipalCache principalCache;
+    private Employee employee;
+
+    @Autowired
+    public PrincipalCacheInvalidationTests(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository, PrincipalCache principalCache) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.principalCache = principalCache;
+    }
+
+    @BeforeEach
+    public void setup() {
+        Department department = departmentRepository.save(
+                Department.builder()
+                        .name("Test Department")
+                        .location("Test Location")
+                        .email("test@department.com")
+                        .build()
+        );
+
+        employee = employeeRepository.saveAndFlush(
+                Employee.builder()
+                        .email("cached@test.com")
+                        .passwordHash("test")
+                        .firstName("test")
+                        .lastName("test")
+                        .department(department)
+                        .dateOfJoining(LocalDate.of(2025, 4, 8))
+                        .role("EMPLOYEE")
+                        .build()
+        );
+        principalCache.invalidateAll();
+    }
+
+    @Test
+    public void PrincipalCache_IsInvalidated_WhenEmployeeRoleChanges() {
+        // Arrange
+        principalCache.get("cached@test.com", employeeRepository::findByEmail);
+        Assertions.assertThat(principalCache.size()).isEqualTo(1);
+
+        // Act
+        employee.setRole("HR");
+        employeeRepository.saveAndFlush(employee);
+
+        // Assert
+        Assertions.assertThat(principalCache.size()).isZero();
+    }
+
+    @Test
+    public void PrincipalCache_IsInvalidated_WhenEmployeeIsDeleted() {
+        // Arrange
+        principalCache.get("cached@test.com", employeeRepository::findByEmail);
+
+        // Act
+        employeeRepository.delete(employee);
+        employeeRepository.flush();
+
+        // Assert
+        Assertions.assertThat(principalCache.size()).isZero();
+    }
+}
@@ -0,0 +1,75 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.accesslog.AccessLogEvent;
+import group2.intranet.project.services.accesslog.AccessLogRingBuffer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class AccessLogRingBufferTests {
+
+    private static AccessLogEvent event(int status) {
+        return new AccessLogEvent(0L, "GET", "/news", status, 0L, "127.0.0.1");
+    }
+
+    @Test
+    public void AccessLogRingBuffer_Offer_ReturnsFalseWhenFull() {
+        // Arrange
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThat(buffer.offer(event(i))).isTrue();
+        }
+
+        // Act
+        boolean accepted = buffer.offer(event(99));
+
+        // Assert
+        Assertions.assertThat(accepted).isFalse();
+        Assertions.assertThat(buffer.poll().status()).isZero();
+        Assertions.assertThat(buffer.offer(event(4))).isTrue();
+        Assertions.assertThat(buffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void AccessLogRingBuffer_ConcurrentProducers_DeliverEveryAcceptedEventOnce() throws Exception {
+        // Arrange
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> received = new HashSet<>();
+
+        // Act
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(event(base + i))) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        while (received.size() < producers * perProducer) {
+            AccessLogEvent event = buffer.poll();
+            if (event != null) {
+                Assertions.assertThat(received.add(event.status())).isTrue();
+            }
+        }
+        pool.shutdown();
+
+        // Assert
+        Assertions.assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(buffer.poll()).isNull();
+    }
+}
@@ -0,0 +1,121 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.cache.BinaryContentCache;
+import group2.intranet.project.services.cache.BinaryContentCache.Kind;
+import group2.intranet.project.services.cache.ByteBufferResource;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BinaryContentCacheTests {
+
+    private BinaryContentCache contentCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        contentCache = new BinaryContentCache(DataSize.ofKilobytes(64), DataSize.ofKilobytes(16));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void BinaryContentCache_Get_LoadsOnceIntoDirectBufferAndReportsHitRatio() throws Exception {
+        // Arrange
+        byte[] content = bytes(10_000, 1);
+
+        // Act
+        contentCache.get(Kind.DOCUMENT, 1, "v1", () -> load(content));
+        Resource cached = contentCache.get(Kind.DOCUMENT, 1, "v1", () -> load(content));
+
+        // Assert
+        Assertions.assertThat(cached).isInstanceOf(ByteBufferResource.class);
+        Assertions.assertThat(cached.contentLength()).isEqualTo(10_000);
+        try (InputStream in = cached.getInputStream()) {
+            Assertions.assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+        Assertions.assertThat(contentCache.stats().hitRate()).isEqualTo(0.5);
+        Assertions.assertThat(contentCache.residentBytes()).isEqualTo(10_000);
+    }
+
+    @Test
+    public void BinaryContentCache_Get_ReloadsWhenContentVersionChanges() throws Exception {
+        // Arrange
+        contentCache.get(Kind.NEWS_IMAGE, 2, "old", () -> load(bytes(100, 1)));
+
+        // Act
+        Resource current = contentCache.get(Kind.NEWS_IMAGE, 2, "new", () -> load(bytes(100, 2)));
+
+        // Assert
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+        try (InputStream in = current.getInputStream()) {
+            Assertions.assertThat(in.readAllBytes()).isEqualTo(bytes(100, 2));
+        }
+    }
+
+    @Test
+    public void BinaryContentCache_Get_ServesOversizedContentWithoutCaching() throws Exception {
+        // Arrange
+        byte[] large = bytes(20_000, 3);
+
+        // Act
+        Resource first = contentCache.get(Kind.DOCUMENT, 3, "v1", () -> load(large));
+        contentCache.get(Kind.DOCUMENT, 3, "v1", () -> load(large));
+
+        // Assert
+        Assertions.assertThat(first).isInstanceOf(ByteArrayResource.class);
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+        Assertions.assertThat(contentCache.residentBytes()).isZero();
+    }
+
+    @Test
+    public void BinaryContentCache_Get_KeepsResidentBytesWithinBudget() throws Exception {
+        // Act
+        for (int id = 0; id < 40; id++) {
+            contentCache.get(Kind.DOCUMENT, id, "v1", () -> load(bytes(8_000, 4)));
+        }
+
+        // Assert
+        Assertions.assertThat(contentCache.residentBytes()).isLessThanOrEqualTo(64 * 1024);
+    }
+
+    @Test
+    public void ByteBufferResource_Streams_SupportConcurrentReadersAndSkip() throws Exception {
+        // Arrange
+        byte[] content = bytes(50_000, 5);
+        Resource cached = contentCache.get(Kind.DOCUMENT, 5, "v1", () -> load(Arrays.copyOf(content, 15_000)));
+        InputStream ranged = cached.getInputStream();
+        ByteArrayOutputStream whole = new ByteArrayOutputStream();
+
+        // Act
+        long skipped = ranged.skip(10_000);
+        long transferred = cached.getInputStream().transferTo(whole);
+
+        // Assert
+        Assertions.assertThat(skipped).isEqualTo(10_000);
+        Assertions.assertThat(ranged.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, 10_000, 15_000));
+        Assertions.assertThat(transferred).isEqualTo(15_000);
+        Assertions.assertThat(whole.toByteArray()).isEqualTo(Arrays.copyOf(content, 15_000));
+    }
+
+    private Resource load(byte[] content) {
+        loads.incrementAndGet();
+        return new ByteArrayResource(content);
+    }
+
+    private static byte[] bytes(int size, int seed) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (seed * 31 + i);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,44 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.storage.BlobCodec;
+import group2.intranet.project.services.storage.CompressionTrial;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class CompressionTrialTests {
+
+    @Test
+    public void CompressionTrial_Choose_PicksGzipForTextAndRewindsStream() throws Exception {
+        // Arrange
+        byte[] text = "BT /F1 12 Tf 72 712 Td (Remote work policy) Tj ET\n".repeat(4000).getBytes(StandardCharsets.US_ASCII);
+        BufferedInputStream in = new BufferedInputStream(new ByteArrayInputStream(text), CompressionTrial.SAMPLE_SIZE);
+
+        // Act
+        BlobCodec codec = CompressionTrial.choose(in);
+
+        // Assert
+        Assertions.assertThat(codec).isEqualTo(BlobCodec.GZIP);
+        Assertions.assertThat(in.readAllBytes()).isEqualTo(text);
+    }
+
+    @Test
+    public void CompressionTrial_Choose_KeepsIncompressibleAndTinyContentAsIs() throws Exception {
+        // Arrange
+        byte[] random = new byte[200_000];
+        new Random(42).nextBytes(random);
+        byte[] tiny = "%PDF-1.4".getBytes(StandardCharsets.US_ASCII);
+
+        // Act
+        BlobCodec randomCodec = CompressionTrial.choose(new BufferedInputStream(new ByteArrayInputStream(random), CompressionTrial.SAMPLE_SIZE));
+        BlobCodec tinyCodec = CompressionTrial.choose(new BufferedInputStream(new ByteArrayInputStream(tiny), CompressionTrial.SAMPLE_SIZE));
+
+        // Assert
+        Assertions.assertThat(randomCodec).isEqualTo(BlobCodec.IDENTITY);
+        Assertions.assertThat(tinyCodec).isEqualTo(BlobCodec.IDENTITY);
+    }
+}
@@ -0,0 +1,97 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.storage.ContentDefinedChunker;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class ContentDefinedChunkerTests {
+
+    @Test
+    public void ContentDefinedChunker_Next_SplitsWithinSizeBoundsAndReassembles() throws Exception {
+        // Arrange
+        byte[] content = random(1_000_000, 3);
+
+        // Act
+        List<byte[]> chunks = chunks(content);
+
+        // Assert
+        ByteArrayOutputStream reassembled = new ByteArrayOutputStream();
+        for (int i = 0; i < chunks.size(); i++) {
+            byte[] chunk = chunks.get(i);
+            Assertions.assertThat(chunk.length).isLessThanOrEqualTo(ContentDefinedChunker.MAX_SIZE);
+            if (i < chunks.size() - 1) {
+                Assertions.assertThat(chunk.length).isGreaterThanOrEqualTo(ContentDefinedChunker.MIN_SIZE);
+            }
+            reassembled.write(chunk);
+        }
+        Assertions.assertThat(reassembled.toByteArray()).isEqualTo(content);
+        Assertions.assertThat(content.length / chunks.size())
+                .as("average chunk size")
+                .isBetween(ContentDefinedChunker.AVG_SIZE / 2, ContentDefinedChunker.AVG_SIZE * 2);
+    }
+
+    @Test
+    public void ContentDefinedChunker_Next_ResynchronizesAfterInsertion() throws Exception {
+        // Arrange
+        byte[] original = random(512 * 1024, 5);
+        byte[] inserted = "Section 4.2 was amended by the board.".getBytes();
+        byte[] edited = new byte[original.length + inserted.length];
+        int at = 100_000;
+        System.arraycopy(original, 0, edited, 0, at);
+        System.arraycopy(inserted, 0, edited, at, inserted.length);
+        System.arraycopy(original, at, edited, at + inserted.length, original.length - at);
+
+        // Act
+        Set<String> before = keys(chunks(original));
+        List<byte[]> after = chunks(edited);
+
+        // Assert
+        long changed = after.stream().filter(chunk -> !before.contains(Arrays.toString(chunk))).count();
+        Assertions.assertThat(changed)
+                .as("chunks not shared with the original after a small insertion")
+                .isBetween(1L, 3L);
+    }
+
+    @Test
+    public void ContentDefinedChunker_Next_ReturnsMinusOneForEmptyStream() throws Exception {
+        // Arrange
+        ContentDefinedChunker chunker = new ContentDefinedChunker(new ByteArrayInputStream(new byte[0]));
+
+        // Act & Assert
+        Assertions.assertThat(chunker.next(new byte[ContentDefinedChunker.MAX_SIZE])).isEqualTo(-1);
+    }
+
+    private static List<byte[]> chunks(byte[] content) throws IOException {
+        ContentDefinedChunker chunker = new ContentDefinedChunker(new ByteArrayInputStream(content));
+        byte[] buffer = new byte[ContentDefinedChunker.MAX_SIZE];
+        List<byte[]> chunks = new ArrayList<>();
+        for (int n; (n = chunker.next(buffer)) != -1; ) {
+            chunks.add(Arrays.copyOf(buffer, n));
+        }
+        return chunks;
+    }
+
+    private static Set<String> keys(List<byte[]> chunks) {
+        Set<String> keys = new HashSet<>();
+        for (byte[] chunk : chunks) {
+            keys.add(Arrays.toString(chunk));
+        }
+        return keys;
+    }
+
+    private static byte[] random(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+}
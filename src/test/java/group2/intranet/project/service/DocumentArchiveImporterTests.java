@@ -0,0 +1,178 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.dtos.ArchiveEntryResult;
+import group2.intranet.project.domain.dtos.ArchiveEntryResult.Status;
+import group2.intranet.project.domain.entities.Department;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.repositories.DepartmentRepository;
+import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.storage.BlobStore;
+import group2.intranet.project.services.storage.DocumentArchiveImporter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@SpringBootTest
+public class DocumentArchiveImporterTests {
+
+    @Autowired
+    private DocumentArchiveImporter archiveImporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department department;
+    private Employee employee;
+    private final List<ArchiveEntryResult> imported = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        department = departmentRepository.save(Department.builder()
+                .name("Archive Department")
+                .location("Test Location")
+                .email("archive@department.com")
+                .build());
+        employee = employeeRepository.save(Employee.builder()
+                .email("archive-import@test.com")
+                .passwordHash("test")
+                .firstName("Archive")
+                .lastName("Import")
+                .department(department)
+                .dateOfJoining(LocalDate.of(2025, 4, 8))
+                .role("HR")
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        for (ArchiveEntryResult result : imported) {
+            if (result.status() == Status.CREATED) {
+                jdbcTemplate.update("delete from department_document where document_id = ?", result.documentId());
+                jdbcTemplate.update("delete from documents where id = ?", result.documentId());
+                jdbcTemplate.update("delete from stored_blobs where hash = ?", result.contentHash());
+                blobStore.delete(result.contentHash());
+            }
+        }
+        employeeRepository.delete(employee);
+        departmentRepository.delete(department);
+    }
+
+    @Test
+    public void DocumentArchiveImporter_ImportArchive_CreatesDocumentsInBatchesWithDepartmentLinks() throws Exception {
+        // Arrange
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        files.put("policies/", null);
+        for (int i = 1; i <= 120; i++) {
+            files.put("policies/policy-" + i + ".pdf", ("%PDF-1.4 policy " + i).getBytes());
+        }
+        files.put("policies/empty.pdf", new byte[0]);
+        files.put("__MACOSX/policies/._policy-1.pdf", "resource fork".getBytes());
+        files.put("policies/bomb.txt", new byte[11 * 1024 * 1024]);
+        files.put("policies/notes.txt", "Read me first".getBytes());
+
+        // Act
+        imported.addAll(archiveImporter.importArchive(new ByteArrayInputStream(zip(files)), employee.getId(),
+                List.of(department.getId()), null));
+
+        // Assert
+        Assertions.assertThat(imported).hasSize(123);
+        Assertions.assertThat(imported).filteredOn(result -> result.status() == Status.CREATED).hasSize(121);
+        Assertions.assertThat(imported.get(0)).extracting(ArchiveEntryResult::name, ArchiveEntryResult::contentSize)
+                .containsExactly("policies/policy-1.pdf", 17L);
+        Assertions.assertThat(imported.get(120)).extracting(ArchiveEntryResult::name, ArchiveEntryResult::status)
+                .containsExactly("policies/empty.pdf", Status.SKIPPED);
+        Assertions.assertThat(imported.get(121)).extracting(ArchiveEntryResult::name, ArchiveEntryResult::status)
+                .containsExactly("policies/bomb.txt", Status.FAILED);
+        Assertions.assertThat(imported.get(122).status()).isEqualTo(Status.CREATED);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select title, document_type, content_type, uploaded_by from documents where id = ?", imported.get(122).documentId());
+        Assertions.assertThat(row.get("title")).isEqualTo("notes");
+        Assertions.assertThat(row.get("document_type")).isEqualTo("TXT");
+        Assertions.assertThat(row.get("content_type")).isEqualTo("text/plain");
+        Assertions.assertThat(row.get("uploaded_by")).isEqualTo(employee.getId());
+        Assertions.assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from department_document where department_id = ?", Integer.class, department.getId()))
+                .isEqualTo(121);
+    }
+
+    @Test
+    public void DocumentArchiveImporter_ImportArchive_RejectsUnknownDepartmentBeforeReading() {
+        // Arrange
+        ByteArrayInputStream archive = new ByteArrayInputStream(new byte[]{1, 2, 3});
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> archiveImporter.importArchive(archive, employee.getId(), List.of(Integer.MAX_VALUE), "PDF"))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(archive.available()).isEqualTo(3);
+    }
+
+    @Test
+    public void DocumentArchiveImporter_ImportArchive_AllocatesIndependentlyOfArchiveSize() throws Exception {
+        // Arrange
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        Random random = new Random(11);
+        for (int i = 1; i <= 4; i++) {
+            byte[] scan = new byte[8 * 1024 * 1024];
+            random.nextBytes(scan);
+            files.put("scan-" + i + ".pdf", scan);
+        }
+        byte[] archive = zip(files);
+        files.clear();
+        imported.addAll(archiveImporter.importArchive(new ByteArrayInputStream(zip(Map.of("warm-up.pdf", "warm-up".getBytes()))),
+                employee.getId(), List.of(), "PDF"));
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // Act
+        long before = threads.getCurrentThreadAllocatedBytes();
+        List<ArchiveEntryResult> results = archiveImporter.importArchive(new ByteArrayInputStream(archive), employee.getId(), List.of(), "PDF");
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        imported.addAll(results);
+
+        // Assert
+        Assertions.assertThat(results).extracting(ArchiveEntryResult::status).containsOnly(Status.CREATED);
+        Assertions.assertThat(allocated)
+                .as("bytes allocated while importing a 32 MB archive")
+                .isLessThan(4L * 1024 * 1024);
+    }
+
+    private static byte[] zip(Map<String, byte[]> files) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, byte[]> file : files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                if (file.getValue() != null) {
+                    zip.write(file.getValue());
+                }
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,73 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.storage.BlobStore;
+import group2.intranet.project.services.storage.DocumentBlobMigration;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+@SpringBootTest
+public class DocumentBlobMigrationTests {
+
+    @Autowired
+    private DocumentBlobMigration migration;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from stored_blobs where hash in (select content_hash from documents where title = 'legacy')");
+        jdbcTemplate.update("delete from documents where title = 'legacy'");
+    }
+
+    @Test
+    public void DocumentBlobMigration_Run_MovesByteaIntoBlobStoreAndClearsColumn() throws Exception {
+        // Arrange
+        byte[] content = "%PDF-1.4 legacy document".getBytes(StandardCharsets.US_ASCII);
+        jdbcTemplate.update("insert into documents (title, file_data) values ('legacy', ?)", (Object) content);
+
+        // Act
+        int migrated = migration.run();
+        int secondRun = migration.run();
+
+        // Assert
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select file_data, content_hash, content_size, content_type from documents where title = 'legacy'");
+        Assertions.assertThat(migrated).isEqualTo(1);
+        Assertions.assertThat(secondRun).isZero();
+        Assertions.assertThat(row.get("file_data")).isNull();
+        Assertions.assertThat(((Number) row.get("content_size")).longValue()).isEqualTo(content.length);
+        Assertions.assertThat(row.get("content_type")).isEqualTo("application/pdf");
+        Assertions.assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from stored_blobs where hash = ?", Integer.class, row.get("content_hash"))).isEqualTo(1);
+        try (InputStream in = blobStore.open((String) row.get("content_hash"))) {
+            Assertions.assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void DocumentBlobMigration_Run_DoesNotRegisterVersionedContent() {
+        // Arrange
+        String chunkedHash = "c".repeat(64);
+        jdbcTemplate.update("insert into documents (title, content_hash, content_size, content_type, current_version) "
+                + "values ('legacy', ?, 10, 'application/pdf', 2)", chunkedHash);
+
+        // Act
+        migration.run();
+
+        // Assert
+        Assertions.assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from stored_blobs where hash = ?", Integer.class, chunkedHash)).isZero();
+    }
+}
@@ -0,0 +1,63 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.storage.BlobDescriptor;
+import group2.intranet.project.services.storage.BlobStore;
+import group2.intranet.project.services.storage.DocumentBlobReclaimCommand;
+import group2.intranet.project.services.storage.StoredBlobRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+@SpringBootTest
+public class DocumentBlobReclaimCommandTests {
+
+    @Autowired
+    private DocumentBlobReclaimCommand command;
+
+    @Autowired
+    private StoredBlobRegistry storedBlobRegistry;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from stored_blobs where hash in (select content_hash from documents where title = 'reclaim')");
+        jdbcTemplate.update("delete from documents where title = 'reclaim'");
+    }
+
+    @Test
+    public void DocumentBlobReclaimCommand_Reclaim_DeletesOnlyBlobsNoDocumentUses() throws Exception {
+        // Arrange
+        // Test blob store çalıştırmalar arasında kalıcı; içerik her seferinde yeni olmalı.
+        BlobDescriptor kept = store("kept " + System.nanoTime());
+        BlobDescriptor orphan = store("orphan " + System.nanoTime());
+        jdbcTemplate.update("insert into documents (title, content_hash, content_size, content_type) values ('reclaim', ?, ?, 'text/plain')",
+                kept.hash(), kept.size());
+
+        // Act
+        int reclaimed = command.reclaim();
+
+        // Assert
+        Assertions.assertThat(reclaimed).isPositive();
+        Assertions.assertThat(storedBlobRegistry.find(orphan.hash())).isNull();
+        Assertions.assertThat(blobStore.exists(orphan.hash())).isFalse();
+        Assertions.assertThat(storedBlobRegistry.find(kept.hash())).isNotNull();
+        Assertions.assertThat(blobStore.exists(kept.hash())).isTrue();
+    }
+
+    private BlobDescriptor store(String content) throws Exception {
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)));
+        storedBlobRegistry.register(blob, "text/plain");
+        return blob;
+    }
+}
@@ -0,0 +1,279 @@
+package group2.intranet.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import group2.intranet.project.domain.dtos.DocumentDto;
+import group2.intranet.project.domain.entities.Department;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.repositories.DepartmentRepository;
+import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.jwt.JwtPrincipal;
+import group2.intranet.project.services.processing.DocumentProcessingResult;
+import group2.intranet.project.services.processing.DocumentProcessingStatus;
+import group2.intranet.project.services.processing.DocumentProcessingWorker;
+import group2.intranet.project.services.processing.DocumentProcessor;
+import group2.intranet.project.services.storage.BlobDescriptor;
+import group2.intranet.project.services.storage.BlobStore;
+import group2.intranet.project.services.storage.DocumentVersionStore;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DocumentProcessingWorkerTests {
+
+    private static final byte[] PDF = ("%PDF-1.4\n1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n"
+            + "2 0 obj\n<< /Type /Pages /Kids [3 0 R] /Count 1 >>\nendobj\n"
+            + "trailer\n<< /Size 4 /Root 1 0 R >>\n%%EOF\n").getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] TWO_PAGE_PDF = ("%PDF-1.4\n1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n"
+            + "2 0 obj\n<< /Type /Pages /Kids [3 0 R 4 0 R] /Count 2 >>\nendobj\n"
+            + "trailer\n<< /Size 5 /Root 1 0 R >>\n%%EOF\n").getBytes(StandardCharsets.ISO_8859_1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private DocumentProcessingWorker worker;
+
+    @Autowired
+    private DocumentVersionStore versionStore;
+
+    @MockitoSpyBean
+    private DocumentProcessor processor;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department department;
+    private Employee employee;
+    private final List<Integer> documentIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        department = departmentRepository.save(Department.builder()
+                .name("Processing Department")
+                .location("Test Location")
+                .email("processing@department.com")
+                .build());
+        employee = employeeRepository.save(Employee.builder()
+                .email("processing@test.com")
+                .passwordHash("test")
+                .firstName("Processing")
+                .lastName("Worker")
+                .department(department)
+                .dateOfJoining(LocalDate.of(2025, 4, 8))
+                .role("HR")
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Integer id : documentIds) {
+            jdbcTemplate.update("delete from document_version_chunks where version_id in "
+                    + "(select id from document_versions where document_id = ?)", id);
+            jdbcTemplate.update("delete from document_versions where document_id = ?", id);
+            jdbcTemplate.update("delete from document_processing_tasks where document_id = ?", id);
+            jdbcTemplate.update("delete from department_document where document_id = ?", id);
+            jdbcTemplate.update("delete from documents where id = ?", id);
+        }
+        employeeRepository.delete(employee);
+        departmentRepository.delete(department);
+    }
+
+    @Test
+    public void DocumentUpload_ReturnsBeforeProcessing_RegardlessOfProcessingTime() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(30, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(processor).process(anyString());
+        MockMultipartFile file = new MockMultipartFile("file", "policy.pdf", "application/octet-stream", PDF);
+
+        // Act
+        MvcResult upload = mockMvc.perform(multipart("/documents/upload")
+                        .file(file)
+                        .param("title", "Policy")
+                        .param("documentType", "PDF")
+                        .param("departmentIds", String.valueOf(department.getId()))
+                        .with(authentication(new UsernamePasswordAuthenticationToken(
+                                new JwtPrincipal(employee.getId(), employee.getEmail(), "ROLE_HR"), null, List.of()))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        boolean processingStillBlocked = release.getCount() == 1;
+        DocumentDto uploaded = objectMapper.readValue(upload.getResponse().getContentAsByteArray(), DocumentDto.class);
+        documentIds.add(uploaded.getId());
+
+        // Assert
+        Assertions.assertThat(processingStillBlocked).isTrue();
+        Assertions.assertThat(uploaded.getProcessingStatus()).isEqualTo(DocumentProcessingStatus.PENDING);
+        Assertions.assertThat(started.await(10, TimeUnit.SECONDS)).as("processing started after the upload returned").isTrue();
+        Assertions.assertThat(document(uploaded.getId()).get("processing_status")).isEqualTo("PROCESSING");
+
+        release.countDown();
+        Map<String, Object> processed = awaitStatus(uploaded.getId(), DocumentProcessingStatus.DONE);
+        Assertions.assertThat(processed.get("content_type")).isEqualTo("application/octet-stream");
+        Assertions.assertThat(processed.get("detected_content_type")).isEqualTo("application/pdf");
+        Assertions.assertThat(processed.get("page_count")).isEqualTo(1);
+        Assertions.assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from document_processing_tasks where document_id = ?", Integer.class, uploaded.getId())).isZero();
+    }
+
+    @Test
+    public void DocumentProcessingWorker_RetriesFailedAttemptWithBackoff() throws Exception {
+        // Arrange
+        doThrow(new IOException("disk unavailable")).doCallRealMethod().when(processor).process(anyString());
+        Integer id = insertPendingDocument();
+
+        // Act
+        worker.wakeUp();
+        Map<String, Object> task = awaitTask(id, 1);
+        Map<String, Object> afterFailure = document(id);
+        jdbcTemplate.update("update document_processing_tasks set next_attempt_at = ? where document_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), id);
+        worker.wakeUp();
+
+        // Assert
+        Assertions.assertThat(afterFailure.get("processing_status")).isEqualTo("PENDING");
+        Assertions.assertThat((String) task.get("last_error")).contains("disk unavailable");
+        Assertions.assertThat(((Timestamp) task.get("next_attempt_at")).toLocalDateTime())
+                .isAfter(LocalDateTime.now().plusSeconds(10));
+        Assertions.assertThat(task.get("leased_until")).isNull();
+        Assertions.assertThat(awaitStatus(id, DocumentProcessingStatus.DONE).get("page_count")).isEqualTo(1);
+    }
+
+    @Test
+    public void DocumentProcessingWorker_FailsAtOnce_WhenContentDoesNotMatchChecksum() throws Exception {
+        // Arrange
+        doReturn(new DocumentProcessingResult("0".repeat(64), PDF.length, "application/pdf", 1))
+                .when(processor).process(anyString());
+        Integer id = insertPendingDocument();
+
+        // Act
+        worker.wakeUp();
+        Map<String, Object> failed = awaitStatus(id, DocumentProcessingStatus.FAILED);
+
+        // Assert
+        Map<String, Object> task = awaitTask(id, 1);
+        Assertions.assertThat(failed.get("detected_content_type")).isNull();
+        Assertions.assertThat(task.get("next_attempt_at")).isNull();
+        Assertions.assertThat((String) task.get("last_error")).contains("does not match");
+    }
+
+    @Test
+    public void DocumentProcessingWorker_DoesNotMarkNewVersionDone_WithResultOfPreviousContent() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(30, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(processor).process(anyString());
+        Integer id = insertPendingDocument();
+        worker.wakeUp();
+        Assertions.assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        versionStore.addVersion(id, new ByteArrayInputStream(TWO_PAGE_PDF), "application/pdf", employee.getId());
+        release.countDown();
+        awaitIdle();
+        Map<String, Object> afterStaleResult = document(id);
+        worker.wakeUp();
+
+        // Assert
+        Assertions.assertThat(afterStaleResult.get("processing_status")).isEqualTo("PENDING");
+        Assertions.assertThat(afterStaleResult.get("page_count")).isNull();
+        Assertions.assertThat(awaitStatus(id, DocumentProcessingStatus.DONE).get("page_count")).isEqualTo(2);
+    }
+
+    private Integer insertPendingDocument() throws IOException {
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream(PDF));
+        jdbcTemplate.update("insert into documents (title, uploaded_by, content_hash, content_size, content_type, processing_status) "
+                + "values ('processing', ?, ?, ?, 'application/pdf', 'PENDING')", employee.getId(), blob.hash(), blob.size());
+        Integer id = jdbcTemplate.queryForObject("select max(id) from documents where title = 'processing'", Integer.class);
+        documentIds.add(id);
+        return id;
+    }
+
+    private Map<String, Object> document(Integer id) {
+        return jdbcTemplate.queryForMap(
+                "select processing_status, content_type, detected_content_type, page_count from documents where id = ?", id);
+    }
+
+    private Map<String, Object> awaitStatus(Integer id, DocumentProcessingStatus expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        Map<String, Object> row = document(id);
+        while (!expected.name().equals(row.get("processing_status")) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            row = document(id);
+        }
+        Assertions.assertThat(row.get("processing_status")).isEqualTo(expected.name());
+        return row;
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (worker.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertThat(worker.inFlight()).isZero();
+    }
+
+    private Map<String, Object> awaitTask(Integer id, int attempts) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String sql = "select attempts, next_attempt_at, leased_until, last_error from document_processing_tasks where document_id = ?";
+        while (System.nanoTime() < deadline) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, id);
+            if (!rows.isEmpty() && ((Number) rows.get(0).get("attempts")).intValue() == attempts) {
+                return rows.get(0);
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Task for document " + id + " did not reach " + attempts + " attempts");
+    }
+}
@@ -0,0 +1,112 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.processing.DocumentProcessingResult;
+import group2.intranet.project.services.processing.DocumentProcessor;
+import group2.intranet.project.services.storage.BlobCodec;
+import group2.intranet.project.services.storage.BlobDescriptor;
+import group2.intranet.project.services.storage.BlobStore;
+import group2.intranet.project.services.storage.DocumentVersionStore;
+import group2.intranet.project.services.storage.FileSystemBlobStore;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class DocumentProcessorTests {
+
+    @TempDir
+    Path blobRoot;
+
+    private BlobStore blobStore;
+    private DocumentProcessor processor;
+
+    @BeforeEach
+    void setup() {
+        blobStore = new FileSystemBlobStore(blobRoot);
+        processor = new DocumentProcessor(blobStore, Mockito.mock(DocumentVersionStore.class));
+    }
+
+    @Test
+    public void DocumentProcessor_Process_ReadsPageCountThroughTrailerAndIncrementalUpdate() throws Exception {
+        // Arrange
+        byte[] filler = new byte[200 * 1024];
+        new Random(3).nextBytes(filler);
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        write(pdf, "%PDF-1.4\n1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+        write(pdf, "2 0 obj\n<< /Type /Pages /Kids [5 0 R 6 0 R] /Count 3 >>\nendobj\n");
+        write(pdf, "5 0 obj\n<< /Type /Pages /Parent 2 0 R /Kids [7 0 R 8 0 R] /Count 2 >>\nendobj\n");
+        write(pdf, "9 0 obj\n<< /Length " + filler.length + " >>\nstream\n");
+        pdf.write(filler);
+        write(pdf, "\nendstream\nendobj\ntrailer\n<< /Size 10 /Root 1 0 R >>\nstartxref\n0\n%%EOF\n");
+        // Artımlı güncelleme: sayfa ağacı kökü yeniden tanımlanır, yeni trailer aynı kataloğu gösterir.
+        write(pdf, "2 0 obj\n<< /Type /Pages /Kids [5 0 R 6 0 R 10 0 R] /Count 4 >>\nendobj\n");
+        write(pdf, "trailer\n<< /Size 11 /Root 1 0 R /Prev 0 >>\nstartxref\n0\n%%EOF\n");
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream(pdf.toByteArray()), BlobCodec.GZIP);
+
+        // Act
+        DocumentProcessingResult result = processor.process(blob.hash());
+
+        // Assert
+        Assertions.assertThat(result.detectedContentType()).isEqualTo("application/pdf");
+        Assertions.assertThat(result.pageCount()).isEqualTo(4);
+        Assertions.assertThat(result.sha256()).isEqualTo(blob.hash());
+        Assertions.assertThat(result.size()).isEqualTo(pdf.size());
+    }
+
+    @Test
+    public void DocumentProcessor_Process_DetectsTypeFromMagicBytes() throws Exception {
+        // Arrange
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+        byte[] binary = new byte[4096];
+        new Random(5).nextBytes(binary);
+        ByteArrayOutputStream docx = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(docx)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write("<w:document/>".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Act & Assert
+        Assertions.assertThat(detect(png)).isEqualTo("image/png");
+        Assertions.assertThat(detect(docx.toByteArray()))
+                .isEqualTo("application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+        Assertions.assertThat(detect("Yıllık izin politikası".getBytes(StandardCharsets.UTF_8))).isEqualTo("text/plain");
+        Assertions.assertThat(detect(binary)).isEqualTo("application/octet-stream");
+    }
+
+    @Test
+    public void DocumentProcessor_Process_ReportsNoPageCountWhenPageTreeIsCompressed() throws Exception {
+        // Arrange
+        byte[] pdf = "%PDF-1.5\n12 0 obj\n<< /Type /ObjStm /N 2 /Length 4 /Filter /FlateDecode >>\nstream\nxxxx\nendstream\nendobj\n%%EOF\n"
+                .getBytes(StandardCharsets.ISO_8859_1);
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream(pdf));
+
+        // Act
+        DocumentProcessingResult result = processor.process(blob.hash());
+
+        // Assert
+        Assertions.assertThat(result.detectedContentType()).isEqualTo("application/pdf");
+        Assertions.assertThat(result.pageCount()).isNull();
+    }
+
+    private String detect(byte[] content) throws IOException {
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream(content));
+        return processor.process(blob.hash()).detectedContentType();
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
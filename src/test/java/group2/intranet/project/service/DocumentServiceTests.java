@@ -1,29 +1,64 @@
 package group2.intranet.project.service;
 
+import group2.intranet.project.domain.dtos.DocumentContent;
 import group2.intranet.project.domain.dtos.DocumentDto;
+import group2.intranet.project.domain.dtos.DocumentMetadata;
 import group2.intranet.project.domain.entities.Document;
+import group2.intranet.project.domain.entities.DocumentBinary;
+import group2.intranet.project.domain.entities.DocumentVersion;
 import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.domain.entities.StoredBlob;
 import group2.intranet.project.mappers.DocumentMapper;
+import group2.intranet.project.repositories.DocumentBinaryRepository;
 import group2.intranet.project.repositories.DocumentRepository;
+import group2.intranet.project.repositories.DocumentVersionRepository;
 import group2.intranet.project.repositories.EmployeeRepository;
 import group2.intranet.project.services.DocumentServiceImpl;
+import group2.intranet.project.services.cache.BinaryContentCache;
+import group2.intranet.project.services.cache.ByteBufferResource;
+import group2.intranet.project.services.processing.DocumentProcessingWorker;
+import group2.intranet.project.services.storage.BlobCodec;
+import group2.intranet.project.services.storage.BlobDescriptor;
+import group2.intranet.project.services.storage.BlobStore;
+import group2.intranet.project.services.storage.ChunkedContentResource;
+import group2.intranet.project.services.storage.DocumentArchiveImporter;
+import group2.intranet.project.services.storage.DocumentVersionStore;
+import group2.intranet.project.services.storage.FileSystemBlobStore;
+import group2.intranet.project.services.storage.StoredBlobRegistry;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.sun.management.ThreadMXBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
@@ -38,16 +73,42 @@ public class DocumentServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private DocumentBinaryRepository documentBinaryRepository;
+
+    @Mock
+    private StoredBlobRegistry storedBlobRegistry;
+
+    @Mock
+    private DocumentArchiveImporter archiveImporter;
+
+    @Mock
+    private DocumentProcessingWorker processingWorker;
+
+    @Mock
+    private DocumentVersionStore versionStore;
+
+    @Mock
+    private DocumentVersionRepository versionRepository;
+
     private DocumentMapper documentMapper; // Real mapper, not mocked
 
     private DocumentServiceImpl documentService;
 
+    @TempDir
+    Path blobRoot;
+
+    private BlobStore blobStore;
+    private BinaryContentCache contentCache;
+
     @BeforeEach
     void setup() {
         // Use the real MapStruct mapper
         documentMapper = Mappers.getMapper(DocumentMapper.class);
+        blobStore = new FileSystemBlobStore(blobRoot);
         // Manually inject dependencies
-        documentService = new DocumentServiceImpl(documentMapper, documentRepository, employeeRepository);
+        contentCache = new BinaryContentCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64));
+        documentService = new DocumentServiceImpl(documentMapper, documentRepository, employeeRepository, documentBinaryRepository, blobStore, storedBlobRegistry, contentCache, archiveImporter, processingWorker, versionStore, versionRepository);
     }
 
     @Test
@@ -84,24 +145,29 @@ public class DocumentServiceTests {
                 .title("Test Document")
                 .description("Test Description")
                 .documentType("PDF")
-                .fileData("Test PDF content".getBytes())
                 .uploadedAt(dateTime)
                 .uploadedBy(uploadedBy)
                 .departments(List.of()) // Empty list instead of null
                 .build();
 
         // Mocks
-        when(documentRepository.save(Mockito.any(Document.class))).thenReturn(savedDocument);
+        ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+        when(documentRepository.save(captor.capture())).thenReturn(savedDocument);
 
         // Act
         DocumentDto result = documentService.saveDocument(documentDto);
 
         // Assert
+        Document persisted = captor.getValue();
+        Assertions.assertThat(persisted.getContentSize()).isEqualTo("Test PDF content".length());
+        Assertions.assertThat(persisted.getContentType()).isEqualTo("application/pdf");
+        Assertions.assertThat(blobStore.exists(persisted.getContentHash())).isTrue();
         Assertions.assertThat(result).isNotNull();
         Assertions.assertThat(result.getTitle()).isEqualTo("Test Document");
         Assertions.assertThat(result.getDescription()).isEqualTo("Test Description");
         Assertions.assertThat(result.getDocumentType()).isEqualTo("PDF");
         Assertions.assertThat(result.getId()).isEqualTo(1);
+        verify(processingWorker).wakeUp();
     }
 
     @Test
@@ -110,39 +176,14 @@ public class DocumentServiceTests {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
         LocalDateTime dateTime = LocalDateTime.parse("2025-04-08 12:30", formatter);
 
-        Employee uploadedBy = Employee.builder()
-                .id(100)
-                .firstName("John")
-                .lastName("Doe")
-                .email("john@test.com")
-                .build();
-
-        Document document1 = Document.builder()
-                .id(1)
-                .title("Document 1")
-                .description("Description 1")
-                .documentType("PDF")
-                .fileData("Content 1".getBytes())
-                .uploadedAt(dateTime)
-                .uploadedBy(uploadedBy)
-                .departments(List.of()) // Empty list instead of null
-                .build();
-
-        Document document2 = Document.builder()
-                .id(2)
-                .title("Document 2")
-                .description("Description 2")
-                .documentType("DOCX")
-                .fileData("Content 2".getBytes())
-                .uploadedAt(dateTime)
-                .uploadedBy(uploadedBy)
-                .departments(List.of()) // Empty list instead of null
-                .build();
-
-        List<Document> documents = List.of(document1, document2);
+        DocumentMetadata document1 = new DocumentMetadata(
+                1, "Document 1", "Description 1", "PDF", dateTime, 100, null, null, null, null, null, null, null);
+        DocumentMetadata document2 = new DocumentMetadata(
+                2, "Document 2", "Description 2", "DOCX", dateTime, 100, null, null, null, null, null, null, null);
 
         // Mocks
-        when(documentRepository.findAll()).thenReturn(documents);
+        when(documentRepository.findAllMetadata()).thenReturn(List.of(document1, document2));
+        when(documentRepository.findAllDepartmentLinks()).thenReturn(List.<Object[]>of(new Object[]{2, 10}, new Object[]{2, 11}));
 
         // Act
         List<DocumentDto> result = documentService.getAllDocuments();
@@ -154,6 +195,10 @@ public class DocumentServiceTests {
         Assertions.assertThat(result.get(0).getDocumentType()).isEqualTo("PDF");
         Assertions.assertThat(result.get(1).getTitle()).isEqualTo("Document 2");
         Assertions.assertThat(result.get(1).getDocumentType()).isEqualTo("DOCX");
+        Assertions.assertThat(result.get(0).getUploadedById()).isEqualTo(100);
+        Assertions.assertThat(result.get(0).getDepartmentIds()).isEmpty();
+        Assertions.assertThat(result.get(1).getDepartmentIds()).containsExactly(10, 11);
+        verify(documentRepository, Mockito.never()).findAll();
     }
 
     @Test
@@ -175,7 +220,6 @@ public class DocumentServiceTests {
                 .title("Test Document")
                 .description("Test Description")
                 .documentType("PDF")
-                .fileData("Test content".getBytes())
                 .uploadedAt(dateTime)
                 .uploadedBy(uploadedBy)
                 .departments(List.of()) // Empty list instead of null
@@ -266,4 +310,276 @@ public class DocumentServiceTests {
         // Assert
         verify(documentRepository, times(1)).deleteById(documentId);
     }
+
+    @Test
+    public void DocumentService_GetDocumentContent_StreamsFromBlobStore() throws Exception {
+        // Arrange
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream("Blob content".getBytes()));
+        Document document = Document.builder()
+                .id(3)
+                .title("Handbook")
+                .contentHash(blob.hash())
+                .contentSize(blob.size())
+                .contentType("application/pdf")
+                .departments(List.of())
+                .build();
+        when(documentRepository.findById(3)).thenReturn(Optional.of(document));
+
+        // Act
+        DocumentContent content = documentService.getDocumentContent(3);
+
+        // Assert
+        Assertions.assertThat(content.getContentHash()).isEqualTo(blob.hash());
+        Assertions.assertThat(content.getResource().contentLength()).isEqualTo(12);
+        try (InputStream in = content.getResource().getInputStream()) {
+            Assertions.assertThat(in.readAllBytes()).isEqualTo("Blob content".getBytes());
+        }
+    }
+
+    @Test
+    public void DocumentService_GetDocumentContent_ReturnsNull_WhenBlobFileIsMissing() {
+        // Arrange
+        Document document = Document.builder()
+                .id(4)
+                .title("Lost")
+                .contentHash("d".repeat(64))
+                .contentSize(10L)
+                .contentType("application/pdf")
+                .departments(List.of())
+                .build();
+        when(documentRepository.findById(4)).thenReturn(Optional.of(document));
+
+        // Act
+        DocumentContent content = documentService.getDocumentContent(4);
+
+        // Assert
+        Assertions.assertThat(content).isNull();
+    }
+
+    @Test
+    public void DocumentService_GetDocumentContent_ServesRepeatedDownloadsFromContentCache() throws Exception {
+        // Arrange
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream("Holiday calendar".getBytes()));
+        Document document = Document.builder()
+                .id(7)
+                .title("Calendar")
+                .contentHash(blob.hash())
+                .contentSize(blob.size())
+                .contentType("application/pdf")
+                .departments(List.of())
+                .build();
+        when(documentRepository.findById(7)).thenReturn(Optional.of(document));
+        documentService.getDocumentContent(7);
+        blobStore.delete(blob.hash());
+
+        // Act
+        DocumentContent content = documentService.getDocumentContent(7);
+
+        // Assert
+        Assertions.assertThat(content.getResource()).isInstanceOf(ByteBufferResource.class);
+        Assertions.assertThat(content.getStoredSize()).isEqualTo(16L);
+        try (InputStream in = content.getResource().getInputStream()) {
+            Assertions.assertThat(in.readAllBytes()).isEqualTo("Holiday calendar".getBytes());
+        }
+        Assertions.assertThat(contentCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void DocumentService_GetDocumentContent_ReadsLegacyBytesOnlyForUnmigratedDocument() throws Exception {
+        // Arrange
+        Document document = Document.builder()
+                .id(4)
+                .title("Legacy")
+                .departments(List.of())
+                .build();
+        DocumentBinary binary = Mockito.mock(DocumentBinary.class);
+        when(binary.getFileData()).thenReturn("Legacy content".getBytes());
+        when(documentRepository.findById(4)).thenReturn(Optional.of(document));
+        when(documentBinaryRepository.findById(4)).thenReturn(Optional.of(binary));
+
+        // Act
+        DocumentContent content = documentService.getDocumentContent(4);
+
+        // Assert
+        Assertions.assertThat(content.getContentSize()).isEqualTo(14L);
+        try (InputStream in = content.getResource().getInputStream()) {
+            Assertions.assertThat(in.readAllBytes()).isEqualTo("Legacy content".getBytes());
+        }
+    }
+
+    @Test
+    public void DocumentService_LinkDocument_CreatesDocumentForKnownContent() throws Exception {
+        // Arrange
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream("Policy content".getBytes()));
+        StoredBlob stored = StoredBlob.builder().id(1).hash(blob.hash()).size(blob.size()).contentType("application/pdf").build();
+        when(storedBlobRegistry.find(blob.hash())).thenReturn(stored);
+        ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+        when(documentRepository.save(captor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        DocumentDto request = DocumentDto.builder()
+                .title("Policy")
+                .uploadedById(100)
+                .departmentIds(List.of(2))
+                .contentHash(blob.hash().toUpperCase())
+                .contentSize(blob.size())
+                .build();
+
+        // Act
+        DocumentDto result = documentService.linkDocument(request);
+
+        // Assert
+        Assertions.assertThat(result).isNotNull();
+        Assertions.assertThat(captor.getValue().getContentHash()).isEqualTo(blob.hash());
+        Assertions.assertThat(captor.getValue().getContentType()).isEqualTo("application/pdf");
+        Assertions.assertThat(result.getDepartmentIds()).containsExactly(2);
+    }
+
+    @Test
+    public void DocumentService_LinkDocument_ReturnsNull_WhenSizeDoesNotMatch() {
+        // Arrange
+        String hash = "d".repeat(64);
+        when(storedBlobRegistry.find(hash)).thenReturn(StoredBlob.builder().hash(hash).size(10L).build());
+        DocumentDto request = DocumentDto.builder().title("Policy").contentHash(hash).contentSize(11L).build();
+
+        // Act
+        DocumentDto result = documentService.linkDocument(request);
+
+        // Assert
+        Assertions.assertThat(result).isNull();
+        verify(documentRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void DocumentService_GetDocumentContent_DecodesCompressedBlobAsStream() throws Exception {
+        // Arrange
+        byte[] text = "BT (Expense policy) Tj ET\n".repeat(2000).getBytes();
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream(text), BlobCodec.GZIP);
+        Document document = Document.builder()
+                .id(6)
+                .title("Expenses")
+                .contentHash(blob.hash())
+                .contentSize(blob.size())
+                .contentType("application/pdf")
+                .departments(List.of())
+                .build();
+        when(documentRepository.findById(6)).thenReturn(Optional.of(document));
+
+        // Act
+        DocumentContent content = documentService.getDocumentContent(6);
+
+        // Assert
+        Assertions.assertThat(content.getCodec()).isEqualTo(BlobCodec.GZIP);
+        Assertions.assertThat(content.getStoredSize()).isEqualTo(blob.storedSize()).isLessThan(text.length);
+        Assertions.assertThat(content.getResource().contentLength()).isEqualTo(text.length);
+        try (InputStream in = content.getResource().getInputStream()) {
+            Assertions.assertThat(in.readAllBytes()).isEqualTo(text);
+        }
+    }
+
+    @Test
+    public void DocumentService_WriteArchive_StreamsEveryDocumentIntoZip() throws Exception {
+        // Arrange
+        byte[] policy = "BT (Leave policy) Tj ET\n".repeat(500).getBytes();
+        BlobDescriptor compressed = blobStore.put(new ByteArrayInputStream(policy), BlobCodec.GZIP);
+        BlobDescriptor plain = blobStore.put(new ByteArrayInputStream("Scanned form".getBytes()));
+        DocumentBinary legacy = Mockito.mock(DocumentBinary.class);
+        when(legacy.getFileData()).thenReturn("Legacy content".getBytes());
+        when(documentBinaryRepository.findById(3)).thenReturn(Optional.of(legacy));
+        List<DocumentMetadata> entries = List.of(
+                new DocumentMetadata(1, "Policy", null, "PDF", null, 1, compressed.hash(), compressed.size(), "application/pdf", null, null, null, null),
+                new DocumentMetadata(2, "Policy", null, "PDF", null, 1, plain.hash(), plain.size(), "application/pdf", null, null, null, null),
+                new DocumentMetadata(3, "../Legacy", null, "PDF", null, 1, null, null, null, null, null, null, null),
+                new DocumentMetadata(4, "Missing", null, "PDF", null, 1, "e".repeat(64), 5L, "application/pdf", null, null, null, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        documentService.writeArchive(entries, out);
+
+        // Assert
+        Map<String, byte[]> unzipped = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                unzipped.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        Assertions.assertThat(unzipped).containsOnlyKeys("Policy.pdf", "Policy (2).pdf", ".._Legacy.pdf");
+        Assertions.assertThat(unzipped.get("Policy.pdf")).isEqualTo(policy);
+        Assertions.assertThat(unzipped.get("Policy (2).pdf")).isEqualTo("Scanned form".getBytes());
+        Assertions.assertThat(unzipped.get(".._Legacy.pdf")).isEqualTo("Legacy content".getBytes());
+    }
+
+    @Test
+    public void DocumentService_WriteArchive_NamesEntriesByContentType() throws Exception {
+        // Arrange
+        BlobDescriptor blob = blobStore.put(new ByteArrayInputStream("Quarterly figures".getBytes()));
+        List<DocumentMetadata> entries = List.of(
+                new DocumentMetadata(1, "Figures", null, "XLSX", null, 1, blob.hash(), blob.size(),
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", null, null, null, null),
+                new DocumentMetadata(2, "Figures", null, "PNG", null, 1, blob.hash(), blob.size(), "image/png", null, null, null, null),
+                new DocumentMetadata(3, "Notes", null, "TXT", null, 1, blob.hash(), blob.size(), "text/plain;charset=UTF-8", null, null, null, null),
+                new DocumentMetadata(4, "Notes", null, "BIN", null, 1, blob.hash(), blob.size(), "application/octet-stream", null, null, null, null),
+                new DocumentMetadata(5, "Notes", null, "PDF", null, 1, blob.hash(), blob.size(), "not a media type", null, null, null, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        documentService.writeArchive(entries, out);
+
+        // Assert
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                names.add(entry.getName());
+            }
+        }
+        Assertions.assertThat(names).containsExactly("Figures.xlsx", "Figures.png", "Notes.txt", "Notes.pdf", "Notes (2).pdf");
+    }
+
+    @Test
+    public void DocumentService_WriteArchive_ReadsVersionedDocumentFromItsCurrentVersion() throws Exception {
+        // Arrange
+        DocumentVersion version = Mockito.mock(DocumentVersion.class);
+        ChunkedContentResource chunks = Mockito.mock(ChunkedContentResource.class);
+        when(versionRepository.findByDocumentIdAndVersionNumber(5, 2)).thenReturn(Optional.of(version));
+        when(versionStore.resource(version)).thenReturn(chunks);
+        when(chunks.getInputStream()).thenReturn(new ByteArrayInputStream("Second version".getBytes()));
+        List<DocumentMetadata> entries = List.of(
+                new DocumentMetadata(5, "Handbook", null, "PDF", null, 1, "f".repeat(64), 14L, "application/pdf",
+                        null, null, null, 2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        documentService.writeArchive(entries, out);
+
+        // Assert
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            Assertions.assertThat(zip.getNextEntry().getName()).isEqualTo("Handbook.pdf");
+            Assertions.assertThat(zip.readAllBytes()).isEqualTo("Second version".getBytes());
+        }
+        verify(versionStore, times(0)).openVersionContent(Mockito.anyString());
+    }
+
+    @Test
+    public void DocumentService_WriteArchive_AllocatesIndependentlyOfArchiveSize() throws Exception {
+        // Arrange
+        List<DocumentMetadata> entries = new ArrayList<>();
+        Random random = new Random(7);
+        for (int id = 1; id <= 4; id++) {
+            byte[] content = new byte[4 * 1024 * 1024];
+            random.nextBytes(content);
+            BlobDescriptor blob = blobStore.put(new ByteArrayInputStream(content));
+            entries.add(new DocumentMetadata(id, "Scan " + id, null, "PDF", null, 1, blob.hash(), blob.size(), "application/pdf", null, null, null, null));
+        }
+        documentService.writeArchive(entries.subList(0, 1), OutputStream.nullOutputStream());  // warm-up
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // Act
+        long before = threads.getCurrentThreadAllocatedBytes();
+        documentService.writeArchive(entries, OutputStream.nullOutputStream());
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert
+        Assertions.assertThat(allocated)
+                .as("bytes allocated while writing a 16 MB archive")
+                .isLessThan(1024 * 1024);
+    }
 }
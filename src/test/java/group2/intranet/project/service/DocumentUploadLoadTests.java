@@ -0,0 +1,268 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.dtos.DocumentDto;
+import group2.intranet.project.domain.entities.Department;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.repositories.DepartmentRepository;
+import group2.intranet.project.repositories.DocumentRepository;
+import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.DocumentService;
+import group2.intranet.project.services.storage.BlobStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// DocumentService.saveDocument için yük testi: yavaş istemcilerden eş zamanlı 50 adet 10 MB yükleme.
+///
+/// Yüklemeler getBytes() çağrısında hata fırlatan sentetik akışlardır; dosyanın tamamını belleğe alan her kod
+/// yolu doğrudan başarısız olur. Yükleme başına heap ayırımı thread allocation sayacıyla, bağlantı tutma süresi
+/// Hikari'nin hikaricp.connections.usage zamanlayıcısıyla ölçülür.
+@SpringBootTest
+public class DocumentUploadLoadTests {
+
+    private static final int UPLOADS = 50;
+    private static final long FILE_SIZE = 10L * 1024 * 1024;
+    private static final long MAX_ALLOCATED_PER_UPLOAD = 4L * 1024 * 1024;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Department department;
+    private Employee employee;
+    private final List<DocumentDto> saved = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        department = departmentRepository.save(
+                Department.builder()
+                        .name("Upload Department")
+                        .location("Test Location")
+                        .email("upload@department.com")
+                        .build()
+        );
+        employee = employeeRepository.save(
+                Employee.builder()
+                        .email("upload-load@test.com")
+                        .passwordHash("test")
+                        .firstName("Upload")
+                        .lastName("Load")
+                        .department(department)
+                        .dateOfJoining(LocalDate.of(2025, 4, 8))
+                        .role("HR")
+                        .build()
+        );
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        for (DocumentDto document : saved) {
+            documentRepository.deleteById(document.getId());
+            blobStore.delete(document.getContentHash());
+        }
+        employeeRepository.delete(employee);
+        departmentRepository.delete(department);
+    }
+
+    @Test
+    public void DocumentService_SaveDocument_StreamsConcurrentUploadsWithoutTransactionOrFullCopy() throws Exception {
+        // Arrange
+        Queue<String> violations = new ConcurrentLinkedQueue<>();
+        saved.add(documentService.saveDocument(upload(-1, 64 * 1024, violations)));  // warm-up: class loading, query plans
+
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+        Assertions.assertThat(usage).as("hikari usage timer").isNotNull();
+        long usageCountBefore = usage.count();
+        double usageNanosBefore = usage.totalTime(TimeUnit.NANOSECONDS);
+
+        AtomicLong maxAllocated = new AtomicLong();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(UPLOADS);
+        List<Future<DocumentDto>> results = new ArrayList<>();
+
+        // Act
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < UPLOADS; i++) {
+            int seed = i;
+            results.add(pool.submit(() -> {
+                start.await();
+                long before = allocatedBytes();
+                DocumentDto result = documentService.saveDocument(upload(seed, FILE_SIZE, violations));
+                maxAllocated.accumulateAndGet(allocatedBytes() - before, Math::max);
+                if (result == null) {
+                    failures.incrementAndGet();
+                }
+                return result;
+            }));
+        }
+        start.countDown();
+        for (Future<DocumentDto> result : results) {
+            DocumentDto document = result.get(5, TimeUnit.MINUTES);
+            if (document != null) {
+                saved.add(document);
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        pool.shutdown();
+
+        // Assert
+        long checkouts = usage.count() - usageCountBefore;
+        double meanHoldMillis = (usage.totalTime(TimeUnit.NANOSECONDS) - usageNanosBefore) / checkouts / 1_000_000;
+
+        Assertions.assertThat(failures.get()).isZero();
+        Assertions.assertThat(saved).hasSize(UPLOADS + 1);
+        Assertions.assertThat(saved).allMatch(document -> document.getContentSize() == FILE_SIZE || document.getContentSize() == 64 * 1024);
+        Assertions.assertThat(violations).as("transaction or connection bound while streaming").isEmpty();
+        Assertions.assertThat(maxAllocated.get())
+                .as("bytes allocated by one 10 MB upload")
+                .isLessThan(MAX_ALLOCATED_PER_UPLOAD);
+        Assertions.assertThat(checkouts).isGreaterThanOrEqualTo(UPLOADS);
+        Assertions.assertThat(meanHoldMillis)
+                .as("mean connection hold time vs %d ms for the whole load", elapsedNanos / 1_000_000)
+                .isLessThan(100.0);
+    }
+
+    private DocumentDto upload(int seed, long size, Queue<String> violations) {
+        return DocumentDto.builder()
+                .title("Load " + seed)
+                .description("Load test upload")
+                .documentType("PDF")
+                .uploadedById(employee.getId())
+                .departmentIds(List.of())
+                .file(new StreamingMultipartFile(seed, size, violations))
+                .build();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    /// Yavaş istemci: size kadar baytı anlık üretir, parçalar arasında bekler.
+    private static final class StreamingMultipartFile implements MultipartFile {
+
+        private final int seed;
+        private final long size;
+        private final Queue<String> violations;
+
+        StreamingMultipartFile(int seed, long size, Queue<String> violations) {
+            this.seed = seed;
+            this.size = size;
+            this.violations = violations;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new InputStream() {
+                private long position;
+                private int reads;
+
+                @Override
+                public int read() {
+                    byte[] one = new byte[1];
+                    return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (position >= size) {
+                        return -1;
+                    }
+                    if (TransactionSynchronizationManager.isActualTransactionActive()
+                            || !TransactionSynchronizationManager.getResourceMap().isEmpty()) {
+                        violations.add("upload " + seed + " at byte " + position);
+                    }
+                    if (++reads % 4 == 0) {
+                        pause();
+                    }
+                    int n = (int) Math.min(len, size - position);
+                    for (int i = 0; i < n; i++) {
+                        b[off + i] = (byte) (seed + position + i);
+                    }
+                    position += n;
+                    return n;
+                }
+            };
+        }
+
+        private static void pause() {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public byte[] getBytes() {
+            throw new UnsupportedOperationException("upload must be streamed, not buffered");
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "load-" + seed + ".pdf";
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/pdf";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public void transferTo(File dest) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
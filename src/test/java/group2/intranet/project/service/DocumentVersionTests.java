@@ -0,0 +1,207 @@
+package group2.intranet.project.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import group2.intranet.project.domain.dtos.DocumentDto;
+import group2.intranet.project.domain.dtos.DocumentVersionDto;
+import group2.intranet.project.domain.entities.Department;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.repositories.DepartmentRepository;
+import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.jwt.JwtPrincipal;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DocumentVersionTests {
+
+    private static final String[] WORDS = {"employee", "policy", "leave", "annual", "manager", "approval", "request",
+            "department", "section", "holiday", "travel", "expense", "reimbursement", "within", "days", "the", "of"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department department;
+    private Employee employee;
+    private final List<Integer> documentIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        department = departmentRepository.save(Department.builder()
+                .name("Versioning Department")
+                .location("Test Location")
+                .email("versioning@department.com")
+                .build());
+        employee = employeeRepository.save(Employee.builder()
+                .email("versioning@test.com")
+                .passwordHash("test")
+                .firstName("Version")
+                .lastName("Chain")
+                .department(department)
+                .dateOfJoining(LocalDate.of(2025, 4, 8))
+                .role("HR")
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Integer id : documentIds) {
+            jdbcTemplate.update("delete from document_version_chunks where version_id in "
+                    + "(select id from document_versions where document_id = ?)", id);
+            jdbcTemplate.update("delete from document_versions where document_id = ?", id);
+            jdbcTemplate.update("delete from document_processing_tasks where document_id = ?", id);
+            jdbcTemplate.update("delete from department_document where document_id = ?", id);
+            jdbcTemplate.update("delete from documents where id = ?", id);
+        }
+        employeeRepository.delete(employee);
+        departmentRepository.delete(department);
+    }
+
+    @Test
+    public void DocumentVersion_Upload_StoresOnlyChangedChunksAndStreamsEveryVersion() throws Exception {
+        // Arrange
+        // Test blob store çalıştırmalar arasında kalıcı; içerik her seferinde yeni olmalı ki parçalar önceden kayıtlı olmasın.
+        byte[] original = policy(400 * 1024, System.nanoTime());
+        byte[] edited = insert(original, 150_000, " Section 7 now also covers remote work.");
+        DocumentDto document = upload(original);
+
+        // Act
+        DocumentVersionDto added = objectMapper.readValue(mockMvc.perform(multipart("/documents/{id}/versions", document.getId())
+                        .file(new MockMultipartFile("file", "policy.pdf", "application/pdf", edited))
+                        .with(hr()))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray(), DocumentVersionDto.class);
+        List<DocumentVersionDto> versions = objectMapper.readValue(mockMvc.perform(get("/documents/{id}/versions", document.getId())
+                        .with(hr()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray(), new TypeReference<>() {
+        });
+
+        // Assert
+        Assertions.assertThat(added.getVersionNumber()).isEqualTo(2);
+        Assertions.assertThat(versions).extracting(DocumentVersionDto::getVersionNumber).containsExactly(1, 2);
+        Assertions.assertThat(versions.get(0).getContentHash()).isEqualTo(document.getContentHash());
+        Assertions.assertThat(versions.get(0).getUploadedById()).isEqualTo(employee.getId());
+        Assertions.assertThat(added.getContentSize()).isEqualTo(edited.length);
+        Assertions.assertThat(added.getNewBytes())
+                .as("bytes stored for a one-sentence edit")
+                .isPositive()
+                .isLessThan(edited.length / 10);
+
+        mockMvc.perform(get("/documents/{id}/versions/{version}/download", document.getId(), 1).with(hr()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + document.getContentHash() + "\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, private, immutable"))
+                .andExpect(content().bytes(original));
+        mockMvc.perform(get("/documents/{id}/versions/{version}/download", document.getId(), 2)
+                        .header("Range", "bytes=149990-150099")
+                        .with(hr()))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(edited, 149_990, 150_100)));
+        mockMvc.perform(get("/documents/download/{id}", document.getId()).with(hr()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + added.getContentHash() + "\""))
+                .andExpect(content().bytes(edited));
+        Assertions.assertThat(awaitProcessed(document.getId())).isEqualTo("DONE");
+    }
+
+    @Test
+    public void DocumentVersion_Upload_ReturnsNotFound_WhenDocumentIsMissing() throws Exception {
+        // Act & Assert
+        mockMvc.perform(multipart("/documents/{id}/versions", Integer.MAX_VALUE)
+                        .file(new MockMultipartFile("file", "policy.pdf", "application/pdf", policy(4096, 1)))
+                        .with(hr()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/documents/{id}/versions", Integer.MAX_VALUE).with(hr()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/documents/{id}/versions/{version}/download", Integer.MAX_VALUE, 1).with(hr()))
+                .andExpect(status().isNotFound());
+    }
+
+    private DocumentDto upload(byte[] content) throws Exception {
+        DocumentDto document = objectMapper.readValue(mockMvc.perform(multipart("/documents/upload")
+                        .file(new MockMultipartFile("file", "policy.pdf", "application/pdf", content))
+                        .param("title", "Leave Policy")
+                        .param("documentType", "PDF")
+                        .param("departmentIds", String.valueOf(department.getId()))
+                        .with(hr()))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray(), DocumentDto.class);
+        documentIds.add(document.getId());
+        return document;
+    }
+
+    private RequestPostProcessor hr() {
+        return authentication(new UsernamePasswordAuthenticationToken(
+                new JwtPrincipal(employee.getId(), employee.getEmail(), "ROLE_HR"), null, List.of()));
+    }
+
+    private String awaitProcessed(Integer id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String sql = "select processing_status from documents where id = ?";
+        String status = jdbcTemplate.queryForObject(sql, String.class, id);
+        while (!"DONE".equals(status) && !"FAILED".equals(status) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            status = jdbcTemplate.queryForObject(sql, String.class, id);
+        }
+        return status;
+    }
+
+    /// Sıkıştırılmamış metin akışlı PDF benzeri içerik; kelimeler tohumdan türetilir.
+    private static byte[] policy(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder("%PDF-1.4\n");
+        while (text.length() < size) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(8) == 0 ? ".\n" : " ");
+        }
+        text.setLength(size);
+        return text.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] insert(byte[] content, int at, String text) {
+        byte[] inserted = text.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] edited = new byte[content.length + inserted.length];
+        System.arraycopy(content, 0, edited, 0, at);
+        System.arraycopy(inserted, 0, edited, at, inserted.length);
+        System.arraycopy(content, at, edited, at + inserted.length, content.length - at);
+        return edited;
+    }
+}
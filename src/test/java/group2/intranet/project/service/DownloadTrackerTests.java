@@ -0,0 +1,182 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.dtos.DownloadWindowStats;
+import group2.intranet.project.services.downloadstats.DownloadKind;
+import group2.intranet.project.services.downloadstats.DownloadStatsProperties;
+import group2.intranet.project.services.downloadstats.DownloadTracker;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest
+public class DownloadTrackerTests {
+
+    // Diğer testlerin gerçek zamanlı checkpoint'leriyle karışmaması için pencereler 2030'da.
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 7, 9, 0);
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DownloadStatsProperties properties;
+    private long base;
+
+    @BeforeEach
+    void setup() {
+        properties = new DownloadStatsProperties();
+        properties.setRetainedWindows(2);
+        base = BASE.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from download_count_checkpoints where window_start >= ?", Timestamp.valueOf(BASE));
+    }
+
+    @Test
+    public void DownloadTracker_Top_FindsHeavyHittersWithinErrorBounds() {
+        // Arrange
+        properties.setCapacity(200);
+        properties.setSketchWidth(1024);
+        DownloadTracker tracker = new DownloadTracker(namedJdbcTemplate, transactionManager, properties);
+        Map<Integer, Integer> hot = new HashMap<>();
+        List<Integer> stream = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            hot.put(i + 1, 1000 - 40 * i);
+            stream.addAll(Collections.nCopies(1000 - 40 * i, i + 1));
+        }
+        Random random = new Random(11);
+        for (int i = 0; i < 30_000; i++) {
+            stream.add(1_000 + random.nextInt(20_000));
+        }
+        Collections.shuffle(stream, random);
+
+        // Act
+        stream.forEach(id -> tracker.record(DownloadKind.DOCUMENT, id, base + 1_000));
+        DownloadWindowStats window = tracker.top(20, 1, base + 2_000).get(0);
+
+        // Assert
+        long bound = stream.size() / properties.getCapacity();
+        Assertions.assertThat(window.totalDownloads()).isEqualTo(stream.size());
+        Assertions.assertThat(window.top()).extracting(DownloadWindowStats.Item::id)
+                .containsExactlyInAnyOrderElementsOf(hot.keySet());
+        for (DownloadWindowStats.Item item : window.top()) {
+            int actual = hot.get(item.id());
+            Assertions.assertThat(item.downloads()).isBetween((long) actual, actual + bound);
+            Assertions.assertThat(item.guaranteedDownloads()).isLessThanOrEqualTo(actual);
+        }
+        Assertions.assertThat(window.top().get(0).id()).isEqualTo(1);
+    }
+
+    @Test
+    public void DownloadTracker_Record_RollsWindowsAndKeepsOnlyRetainedOnes() {
+        // Arrange
+        DownloadTracker tracker = new DownloadTracker(namedJdbcTemplate, transactionManager, properties);
+
+        // Act
+        for (int hour = 0; hour < 4; hour++) {
+            for (int i = 0; i <= hour; i++) {
+                tracker.record(DownloadKind.DOCUMENT, 5, base + hour * HOUR + i);
+            }
+            tracker.record(DownloadKind.NEWS_IMAGE, 5, base + hour * HOUR);
+        }
+        List<DownloadWindowStats> windows = tracker.top(10, 10, base + 3 * HOUR + 10);
+
+        // Assert
+        Assertions.assertThat(windows).extracting(DownloadWindowStats::windowStart)
+                .containsExactly(BASE.plusHours(3), BASE.plusHours(2), BASE.plusHours(1));
+        Assertions.assertThat(windows).extracting(DownloadWindowStats::totalDownloads).containsExactly(5L, 4L, 3L);
+        Assertions.assertThat(windows.get(0).top()).containsExactly(
+                new DownloadWindowStats.Item(DownloadKind.DOCUMENT, 5, 4, 4),
+                new DownloadWindowStats.Item(DownloadKind.NEWS_IMAGE, 5, 1, 1));
+        Assertions.assertThat(windows.get(2).windowEnd()).isEqualTo(BASE.plusHours(2));
+    }
+
+    @Test
+    public void DownloadTracker_Record_CountsEveryConcurrentDownload() throws Exception {
+        // Arrange
+        properties.setBufferSize(16);
+        DownloadTracker tracker = new DownloadTracker(namedJdbcTemplate, transactionManager, properties);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int thread = 0; thread < 8; thread++) {
+            int id = thread + 1;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    tracker.record(DownloadKind.DOCUMENT, id, base + 1_000);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        DownloadWindowStats window = tracker.top(10, 1, base + 2_000).get(0);
+
+        // Assert
+        Assertions.assertThat(window.totalDownloads()).isEqualTo(40_000);
+        Assertions.assertThat(window.top()).hasSize(8).allSatisfy(item -> Assertions.assertThat(item.downloads()).isEqualTo(5_000));
+    }
+
+    @Test
+    public void DownloadTracker_Checkpoint_WritesTopItemsAndRestoresAfterRestart() {
+        // Arrange
+        DownloadTracker before = new DownloadTracker(namedJdbcTemplate, transactionManager, properties);
+        for (int i = 0; i < 5; i++) {
+            before.record(DownloadKind.DOCUMENT, 1, base + i);
+        }
+        for (int i = 0; i < 3; i++) {
+            before.record(DownloadKind.NEWS_IMAGE, 2, base + i);
+        }
+        before.record(DownloadKind.DOCUMENT, 1, base + HOUR);
+        before.record(DownloadKind.DOCUMENT, 1, base + HOUR + 1);
+
+        // Act
+        before.checkpoint(base + HOUR + 2);
+        DownloadTracker after = new DownloadTracker(namedJdbcTemplate, transactionManager, properties);
+        after.restore(base + HOUR + 3);
+        after.record(DownloadKind.DOCUMENT, 1, base + HOUR + 4);
+        after.checkpoint(base + HOUR + 5);
+
+        // Assert
+        List<DownloadWindowStats> windows = after.top(10, 10, base + HOUR + 6);
+        Assertions.assertThat(windows).extracting(DownloadWindowStats::totalDownloads).containsExactly(3L, 8L);
+        Assertions.assertThat(windows.get(0).top()).containsExactly(new DownloadWindowStats.Item(DownloadKind.DOCUMENT, 1, 3, 3));
+        Assertions.assertThat(windows.get(1).top()).containsExactly(
+                new DownloadWindowStats.Item(DownloadKind.DOCUMENT, 1, 5, 5),
+                new DownloadWindowStats.Item(DownloadKind.NEWS_IMAGE, 2, 3, 3));
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select kind, item_id, downloads, window_total from download_count_checkpoints "
+                        + "where window_start >= ? order by window_start, downloads desc", Timestamp.valueOf(BASE));
+        Assertions.assertThat(rows).extracting(row -> row.get("KIND") + ":" + row.get("ITEM_ID") + "=" + row.get("DOWNLOADS") + "/" + row.get("WINDOW_TOTAL"))
+                .containsExactly("DOCUMENT:1=5/8", "NEWS_IMAGE:2=3/8", "DOCUMENT:1=3/3");
+    }
+}
@@ -0,0 +1,113 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.storage.BlobCodec;
+import group2.intranet.project.services.storage.BlobDescriptor;
+import group2.intranet.project.services.storage.FileSystemBlobStore;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public class FileSystemBlobStoreTests {
+
+    @TempDir
+    Path root;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setup() {
+        blobStore = new FileSystemBlobStore(root);
+    }
+
+    @Test
+    public void FileSystemBlobStore_Put_StoresUnderShardedSha256Path() throws Exception {
+        // Act
+        BlobDescriptor blob = blobStore.put(stream("hello"));
+
+        // Assert
+        Assertions.assertThat(blob.hash()).isEqualTo("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824");
+        Assertions.assertThat(blob.size()).isEqualTo(5);
+        Assertions.assertThat(root.resolve("2c").resolve("f2").resolve(blob.hash())).hasContent("hello");
+        try (InputStream in = blobStore.open(blob.hash())) {
+            Assertions.assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("hello");
+        }
+    }
+
+    @Test
+    public void FileSystemBlobStore_Put_DeduplicatesAndLeavesNoTempFiles() throws Exception {
+        // Act
+        BlobDescriptor first = blobStore.put(stream("same content"));
+        BlobDescriptor second = blobStore.put(stream("same content"));
+
+        // Assert
+        Assertions.assertThat(second).isEqualTo(first);
+        try (Stream<Path> files = Files.walk(root)) {
+            Assertions.assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    public void FileSystemBlobStore_Put_DiscardsPartialWrite_WhenSourceFails() {
+        // Arrange
+        InputStream failing = new InputStream() {
+            private int remaining = 100_000;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- == 0) {
+                    throw new IOException("client went away");
+                }
+                return 'x';
+            }
+        };
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> blobStore.put(failing)).isInstanceOf(IOException.class);
+        Assertions.assertThat(root.resolve("tmp")).isEmptyDirectory();
+    }
+
+    @Test
+    public void FileSystemBlobStore_Put_Gzip_StoresEncodedBytesAndOpensDecoded() throws Exception {
+        // Arrange
+        String text = "BT /F1 12 Tf 72 712 Td (Annual leave policy) Tj ET\n".repeat(500);
+
+        // Act
+        BlobDescriptor blob = blobStore.put(stream(text), BlobCodec.GZIP);
+        BlobDescriptor again = blobStore.put(stream(text));
+
+        // Assert
+        Assertions.assertThat(blob.size()).isEqualTo(text.length());
+        Assertions.assertThat(blob.storedSize()).isLessThan(blob.size() / 10);
+        Assertions.assertThat(blobStore.codec(blob.hash())).isEqualTo(BlobCodec.GZIP);
+        Assertions.assertThat(again).isEqualTo(blob);
+        Assertions.assertThat(root.resolve(blob.hash().substring(0, 2)).resolve(blob.hash().substring(2, 4))
+                .resolve(blob.hash() + ".gz")).exists();
+        Assertions.assertThat(blobStore.resource(blob.hash()).contentLength()).isEqualTo(blob.storedSize());
+        try (InputStream in = blobStore.open(blob.hash())) {
+            Assertions.assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(text);
+        }
+        Assertions.assertThat(blobStore.delete(blob.hash())).isTrue();
+        Assertions.assertThat(blobStore.exists(blob.hash())).isFalse();
+    }
+
+    @Test
+    public void FileSystemBlobStore_RejectsKeysThatAreNotSha256() {
+        // Act & Assert
+        Assertions.assertThat(blobStore.exists("../../etc/passwd")).isFalse();
+        Assertions.assertThatThrownBy(() -> blobStore.open("../../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,168 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.services.jwt.Hs256TokenVerifier;
+import group2.intranet.project.services.jwt.JwtService;
+import group2.intranet.project.services.jwt.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.Random;
+
+/// Karşılaştırmalı test: hızlı yol herhangi bir token'ı reddedebilir, ama kabul ettiği her token jjwt
+/// tarafından da aynı claim'lerle kabul edilmelidir.
+public class Hs256TokenVerifierFuzzTests {
+
+    private static final String SECRET = "srgkjhsdtgkjshdae?rl?aeor?hgaelrjgh?ru?ghfhtduky8756hyhsrth435u46";
+    private static final String BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private Key key;
+    private JwtParser parser;
+    private Hs256TokenVerifier verifier;
+    private JwtService jwtService;
+    private Random random;
+
+    @BeforeEach
+    void setup() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        verifier = new Hs256TokenVerifier(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtService = new JwtService(SECRET);
+        random = new Random(20251017L);
+    }
+
+    @Test
+    public void Hs256TokenVerifier_AcceptsEveryTokenIssuedByGenerateToken() {
+        for (int i = 0; i < 500; i++) {
+            // Arrange
+            Employee employee = Employee.builder()
+                    .email(randomAscii(1 + random.nextInt(40)) + "@test.com")
+                    .role(random.nextBoolean() ? "HR" : "EMPLOYEE")
+                    .build();
+            long id = random.nextInt(Integer.MAX_VALUE);
+            String token = jwtService.generateToken(employee, id);
+
+            // Act
+            VerifiedToken fast = verifier.verify(token);
+
+            // Assert
+            Assertions.assertThat(fast).as(token).isNotNull();
+            assertSameAsJjwt(token, fast);
+        }
+    }
+
+    @Test
+    public void Hs256TokenVerifier_NeverAcceptsWhatJjwtRejects_AndAgreesOnClaims() {
+        int accepted = 0;
+        for (int i = 0; i < 20_000; i++) {
+            // Arrange
+            String token = mutate(randomToken());
+
+            // Act
+            VerifiedToken fast = verifier.verify(token);
+
+            // Assert
+            if (fast != null) {
+                accepted++;
+                assertSameAsJjwt(token, fast);
+            }
+        }
+        Assertions.assertThat(accepted).isPositive();
+    }
+
+    private void assertSameAsJjwt(String token, VerifiedToken fast) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (RuntimeException e) {
+            throw new AssertionError("fast path accepted a token jjwt rejects: " + token, e);
+        }
+        Assertions.assertThat(fast.getTokenId()).as(token).isEqualTo(claims.getId());
+        Assertions.assertThat(fast.getSubject()).as(token).isEqualTo(claims.getSubject());
+        Assertions.assertThat(fast.getRole()).as(token).isEqualTo(claims.get("role", String.class));
+        Assertions.assertThat(fast.getUserId()).as(token).isEqualTo(claims.get("id", Long.class));
+        Assertions.assertThat(fast.getIssuedAt()).as(token).isEqualTo(claims.getIssuedAt());
+        Assertions.assertThat(fast.getExpiration()).as(token).isEqualTo(claims.getExpiration());
+    }
+
+    private String randomToken() {
+        long now = System.currentTimeMillis();
+        JwtBuilder builder = Jwts.builder();
+        if (random.nextInt(4) != 0) {
+            builder.setId(randomAscii(random.nextInt(40)));
+        }
+        if (random.nextInt(10) != 0) {
+            builder.setSubject(random.nextInt(8) == 0 ? "jöhn\"\\\n@test.com" : randomAscii(random.nextInt(30)));
+        }
+        switch (random.nextInt(6)) {
+            case 0 -> { }
+            case 1 -> builder.claim("role", 42);
+            default -> builder.claim("role", "ROLE_" + randomAscii(1 + random.nextInt(8)));
+        }
+        switch (random.nextInt(6)) {
+            case 0 -> { }
+            case 1 -> builder.claim("id", "7");
+            case 2 -> builder.claim("id", -1L);
+            default -> builder.claim("id", (long) random.nextInt(Integer.MAX_VALUE));
+        }
+        if (random.nextInt(10) != 0) {
+            builder.setIssuedAt(new Date(now - random.nextInt(1000) * 1000L));
+        }
+        if (random.nextInt(10) != 0) {
+            // Sınırdaki (şu an ± birkaç saniye) değerler test sırasında iki taraf arasında değişebilir.
+            builder.setExpiration(new Date(random.nextBoolean() ? now + HOUR : now - HOUR));
+        }
+        if (random.nextInt(8) == 0) {
+            builder.claim("nbf", now / 1000);
+        }
+        if (random.nextInt(8) == 0) {
+            builder.setHeaderParam("typ", "JWT");
+        }
+        Key signingKey = random.nextInt(8) == 0
+                ? Keys.hmacShaKeyFor(SECRET.replace('s', 'x').getBytes(StandardCharsets.UTF_8))
+                : key;
+        return builder.signWith(signingKey, SignatureAlgorithm.HS256).compact();
+    }
+
+    private String mutate(String token) {
+        StringBuilder sb = new StringBuilder(token);
+        switch (random.nextInt(8)) {
+            case 0, 1, 2 -> {
+                return token;
+            }
+            case 3 -> {
+                int i = random.nextInt(sb.length());
+                sb.setCharAt(i, BASE64URL.charAt(random.nextInt(BASE64URL.length())));
+            }
+            case 4 -> sb.insert(random.nextInt(sb.length()), "A.=+/ ".charAt(random.nextInt(6)));
+            case 5 -> sb.deleteCharAt(random.nextInt(sb.length()));
+            case 6 -> sb.setLength(random.nextInt(sb.length()));
+            default -> {
+                // Son imza karakterinin yalnızca kullanılmayan bitleri değişir.
+                int last = sb.length() - 1;
+                int value = BASE64URL.indexOf(sb.charAt(last));
+                sb.setCharAt(last, BASE64URL.charAt((value & ~3) | random.nextInt(4)));
+            }
+        }
+        return sb.toString();
+    }
+
+    private String randomAscii(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) (0x21 + random.nextInt(0x7E - 0x21)));
+        }
+        return sb.toString().replace("\"", "'").replace("\\", "/");
+    }
+}
@@ -0,0 +1,148 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.services.CustomUserDetailsService;
+import group2.intranet.project.services.jwt.JwtAuthFilter;
+import group2.intranet.project.services.jwt.JwtPrincipal;
+import group2.intranet.project.services.jwt.JwtService;
+import group2.intranet.project.services.jwt.TokenRevocationService;
+import group2.intranet.project.services.jwt.VerifiedToken;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthFilterTests {
+
+    private static final String SECRET = "srgkjhsdtgkjshdae?rl?aeor?hgaelrjgh?ru?ghfhtduky8756hyhsrth435u46";
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private JwtService jwtService;
+    private Employee employee;
+    private String token;
+
+    @BeforeEach
+    void setup() {
+        jwtService = new JwtService(SECRET);
+        employee = Employee.builder()
+                .id(7)
+                .email("john@test.com")
+                .role("HR")
+                .build();
+        token = jwtService.generateToken(employee, 7L);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void JwtAuthFilter_StatelessMode_BuildsPrincipalFromClaimsWithoutDatabase() throws Exception {
+        // Arrange
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userDetailsService, tokenRevocationService, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/news");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Assertions.assertThat(auth.getPrincipal()).isInstanceOf(JwtPrincipal.class);
+        JwtPrincipal principal = (JwtPrincipal) auth.getPrincipal();
+        Assertions.assertThat(principal.getId()).isEqualTo(7);
+        Assertions.assertThat(principal.getEmail()).isEqualTo("john@test.com");
+        Assertions.assertThat(auth.getName()).isEqualTo("john@test.com");
+        Assertions.assertThat(auth.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_HR");
+        verify(userDetailsService, never()).loadPrincipal(anyString());
+    }
+
+    @Test
+    public void JwtAuthFilter_DefaultMode_LoadsCachedPrincipal() throws Exception {
+        // Arrange
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userDetailsService, tokenRevocationService, false);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/news");
+        request.addHeader("Authorization", "Bearer " + token);
+        JwtPrincipal cached = new JwtPrincipal(7, "john@test.com", "HR");
+        when(userDetailsService.loadPrincipal("john@test.com")).thenReturn(cached);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(cached);
+    }
+
+    @Test
+    public void JwtAuthFilter_DefaultMode_LeavesContextEmpty_WhenUserNoLongerExists() throws Exception {
+        // Arrange
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userDetailsService, tokenRevocationService, false);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/news");
+        request.addHeader("Authorization", "Bearer " + token);
+        when(userDetailsService.loadPrincipal("john@test.com")).thenReturn(null);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    public void JwtAuthFilter_DoesNotAuthenticateRevokedToken() throws Exception {
+        // Arrange
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userDetailsService, tokenRevocationService, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/news");
+        request.addHeader("Authorization", "Bearer " + token);
+        when(tokenRevocationService.isRevoked(any(VerifiedToken.class))).thenReturn(true);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    public void JwtAuthFilter_SkipsBearerToken_WhenAlreadyAuthenticated() throws Exception {
+        // Arrange
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userDetailsService, tokenRevocationService, false);
+        Authentication signedUrl = new TestingAuthenticationToken("signed-url", null, "ROLE_SIGNED_URL");
+        SecurityContextHolder.getContext().setAuthentication(signedUrl);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/documents/download/7");
+        request.addHeader("Authorization", "Bearer not-a-jwt");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        Assertions.assertThat(chain.getRequest()).isSameAs(request);
+        Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(signedUrl);
+        verify(userDetailsService, never()).loadPrincipal(anyString());
+    }
+}
@@ -0,0 +1,77 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.services.jwt.JwtService;
+import group2.intranet.project.services.jwt.VerifiedToken;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JwtServiceTests {
+
+    private static final String SECRET = "srgkjhsdtgkjshdae?rl?aeor?hgaelrjgh?ru?ghfhtduky8756hyhsrth435u46";
+
+    private JwtService jwtService;
+    private Employee employee;
+
+    @BeforeEach
+    void setup() {
+        jwtService = new JwtService(SECRET);
+        employee = Employee.builder()
+                .id(42)
+                .email("john@test.com")
+                .role("HR")
+                .build();
+    }
+
+    @Test
+    public void JwtService_Verify_ReturnsAllClaimsFromSingleParse() {
+        // Arrange
+        String token = jwtService.generateToken(employee, 42L);
+
+        // Act
+        VerifiedToken result = jwtService.verify(token);
+
+        // Assert
+        Assertions.assertThat(result.getSubject()).isEqualTo("john@test.com");
+        Assertions.assertThat(result.getRole()).isEqualTo("ROLE_HR");
+        Assertions.assertThat(result.getUserId()).isEqualTo(42L);
+        Assertions.assertThat(result.getIssuedAt()).isNotNull();
+        Assertions.assertThat(result.isExpired()).isFalse();
+    }
+
+    @Test
+    public void JwtService_IsTokenValid_ReturnsFalse_WhenSubjectDiffers() {
+        // Arrange
+        VerifiedToken token = jwtService.verify(jwtService.generateToken(employee, 42L));
+        Employee other = Employee.builder().email("jane@test.com").role("HR").build();
+
+        // Act & Assert
+        Assertions.assertThat(jwtService.isTokenValid(token, employee)).isTrue();
+        Assertions.assertThat(jwtService.isTokenValid(token, other)).isFalse();
+    }
+
+    @Test
+    public void JwtService_Verify_ThrowsWhenSignatureIsTampered() {
+        // Arrange
+        String token = jwtService.generateToken(employee, 42L);
+        int i = token.length() - 10;
+        String tampered = token.substring(0, i) + (token.charAt(i) == 'A' ? 'B' : 'A') + token.substring(i + 1);
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> jwtService.verify(tampered))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Invalid JWT token");
+    }
+
+    @Test
+    public void JwtService_Verify_RejectsTokenSignedWithAnotherKey() {
+        // Arrange
+        JwtService otherService = new JwtService(SECRET.replace('s', 'x'));
+        String foreignToken = otherService.generateToken(employee, 42L);
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> jwtService.verify(foreignToken))
+                .isInstanceOf(RuntimeException.class);
+    }
+}
@@ -0,0 +1,77 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.login.LoginCapacityExceededException;
+import group2.intranet.project.services.login.LoginHashingExecutor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+public class LoginHashingExecutorTests {
+
+    private LoginHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void LoginHashingExecutor_Execute_RethrowsTaskException() {
+        // Arrange
+        executor = new LoginHashingExecutor(1, 1, Duration.ofSeconds(2));
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> executor.execute(() -> {
+            throw new BadCredentialsException("bad");
+        })).isInstanceOf(BadCredentialsException.class);
+        Assertions.assertThat(executor.execute(() -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    public void LoginHashingExecutor_Execute_RejectsWhenQueueIsFull() throws Exception {
+        // Arrange
+        executor = new LoginHashingExecutor(1, 1, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }));
+        started.await();
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "second"));
+        while (executor.queueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> executor.execute(() -> "third"))
+                .isInstanceOf(LoginCapacityExceededException.class);
+        release.countDown();
+        Assertions.assertThat(running.get()).isEqualTo("first");
+        Assertions.assertThat(queued.get()).isEqualTo("second");
+    }
+
+    @Test
+    public void LoginHashingExecutor_Execute_FailsFast_WhenQueuedLongerThanTimeout() throws Exception {
+        // Arrange
+        executor = new LoginHashingExecutor(1, 4, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Object> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            Thread.sleep(300);
+            return "first";
+        }));
+        started.await();
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> executor.execute(() -> "late"))
+                .isInstanceOf(LoginCapacityExceededException.class);
+        Assertions.assertThat(running.get()).isEqualTo("first");
+    }
+}
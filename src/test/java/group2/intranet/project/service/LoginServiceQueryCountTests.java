@@ -0,0 +1,88 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.dtos.LoginResponseDto;
+import group2.intranet.project.domain.entities.Department;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.repositories.DepartmentRepository;
+import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.LoginService;
+import group2.intranet.project.support.SqlStatementCounter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+@SpringBootTest
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=group2.intranet.project.support.SqlStatementCounter")
+public class LoginServiceQueryCountTests {
+
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Department department;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        department = departmentRepository.save(
+                Department.builder()
+                        .name("Login Department")
+                        .location("Test Location")
+                        .email("login@department.com")
+                        .build()
+        );
+        employee = employeeRepository.save(
+                Employee.builder()
+                        .email("login-count@test.com")
+                        .passwordHash(passwordEncoder.encode("secret"))
+                        .firstName("Login")
+                        .lastName("Count")
+                        .department(department)
+                        .dateOfJoining(LocalDate.of(2025, 4, 8))
+                        .role("EMPLOYEE")
+                        .build()
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.delete(employee);
+        departmentRepository.delete(department);
+    }
+
+    @Test
+    public void LoginService_Login_RunsExactlyOneSelectOnEmployees() {
+        // Arrange
+        SqlStatementCounter.reset();
+
+        // Act
+        LoginResponseDto response = loginService.login("login-count@test.com", "secret");
+
+        // Assert
+        Assertions.assertThat(response.getToken()).isNotBlank();
+        Assertions.assertThat(response.getUserId()).isEqualTo(employee.getId());
+        Assertions.assertThat(response.getFirstName()).isEqualTo("Login");
+        Assertions.assertThat(SqlStatementCounter.selectsOn("employees"))
+                .as("statements: %s", SqlStatementCounter.statements())
+                .isEqualTo(1);
+        Assertions.assertThat(SqlStatementCounter.statements())
+                .as("department and manager are joined, not loaded separately")
+                .hasSize(1);
+    }
+}
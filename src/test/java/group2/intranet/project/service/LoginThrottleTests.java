@@ -0,0 +1,99 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.login.LoginThrottle;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class LoginThrottleTests {
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setup() {
+        loginThrottle = new LoginThrottle(Duration.ofMinutes(1), 3, 10, 1000);
+    }
+
+    @Test
+    public void LoginThrottle_TryAcquire_BlocksAccountAfterRepeatedFailures() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertThat(loginThrottle.tryAcquire("john@test.com", "10.0.0." + i)).isZero();
+            loginThrottle.recordFailure("john@test.com");
+        }
+
+        // Act
+        long retryAfter = loginThrottle.tryAcquire("John@Test.com", "10.0.0.99");
+
+        // Assert
+        Assertions.assertThat(retryAfter).isPositive();
+        Assertions.assertThat(loginThrottle.tryAcquire("jane@test.com", "10.0.0.99")).isZero();
+    }
+
+    @Test
+    public void LoginThrottle_RecordSuccess_ClearsAccountFailures() {
+        // Arrange
+        loginThrottle.recordFailure("john@test.com");
+        loginThrottle.recordFailure("john@test.com");
+
+        // Act
+        loginThrottle.recordSuccess("john@test.com");
+        loginThrottle.recordFailure("john@test.com");
+
+        // Assert
+        Assertions.assertThat(loginThrottle.tryAcquire("john@test.com", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    public void LoginThrottle_TryAcquire_BlocksIpAcrossAccounts() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThat(loginThrottle.tryAcquire("user" + i + "@test.com", "10.0.0.1")).isZero();
+        }
+
+        // Act
+        long retryAfter = loginThrottle.tryAcquire("other@test.com", "10.0.0.1");
+
+        // Assert
+        Assertions.assertThat(retryAfter).isBetween(1L, 120L);
+        Assertions.assertThat(loginThrottle.tryAcquire("other@test.com", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    public void LoginThrottle_TryAcquire_ConcurrentAttemptsFromOneIpStayWithinLimit() throws Exception {
+        // Arrange
+        int attempts = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Long>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < attempts; i++) {
+            String email = "user" + i + "@test.com";
+            results.add(pool.submit(() -> {
+                start.await();
+                return loginThrottle.tryAcquire(email, "10.0.0.1");
+            }));
+        }
+        start.countDown();
+        int admitted = 0;
+        for (Future<Long> result : results) {
+            if (result.get(30, TimeUnit.SECONDS) == 0) {
+                admitted++;
+            }
+        }
+        pool.shutdown();
+
+        // Assert
+        Assertions.assertThat(admitted).isEqualTo(10);
+    }
+}
@@ -0,0 +1,93 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.entities.Department;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.domain.entities.News;
+import group2.intranet.project.repositories.DepartmentRepository;
+import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.NewsService;
+import group2.intranet.project.services.migration.NewsImageHashBackfill;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+@SpringBootTest
+public class NewsImageHashBackfillTests {
+
+    @Autowired
+    private NewsImageHashBackfill backfill;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department department;
+    private Employee author;
+
+    @BeforeEach
+    public void setup() {
+        department = departmentRepository.save(
+                Department.builder()
+                        .name("Backfill Department")
+                        .location("Test Location")
+                        .email("backfill@department.com")
+                        .build()
+        );
+        author = employeeRepository.save(
+                Employee.builder()
+                        .email("backfill@test.com")
+                        .passwordHash("secret")
+                        .firstName("test")
+                        .lastName("test")
+                        .department(department)
+                        .dateOfJoining(LocalDate.of(2025, 4, 8))
+                        .role("EMPLOYEE")
+                        .build()
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from news where title = 'legacy'");
+        employeeRepository.delete(author);
+        departmentRepository.delete(department);
+    }
+
+    @Test
+    public void NewsImageHashBackfill_Backfill_FillsMissingCoverImageHash() {
+        // Arrange
+        byte[] image = "legacy cover image".getBytes(StandardCharsets.US_ASCII);
+        jdbcTemplate.update("insert into news (title, cover_image, created_at, created_by) values ('legacy', ?, current_timestamp, ?)",
+                image, author.getId());
+        jdbcTemplate.update("insert into news (title, created_at, created_by) values ('legacy', current_timestamp, ?)",
+                author.getId());
+        Integer id = jdbcTemplate.queryForObject(
+                "select id from news where title = 'legacy' and cover_image is not null", Integer.class);
+
+        // Act
+        int filled = backfill.backfill();
+        int secondRun = backfill.backfill();
+
+        // Assert
+        Assertions.assertThat(filled).isEqualTo(1);
+        Assertions.assertThat(secondRun).isZero();
+        Assertions.assertThat(newsService.getNewsImageHash(id)).isEqualTo(News.sha256Hex(image));
+        Assertions.assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from news where title = 'legacy' and cover_image_hash is null", Integer.class)).isEqualTo(1);
+    }
+}
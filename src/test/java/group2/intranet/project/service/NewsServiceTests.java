@@ -1,6 +1,7 @@
 package group2.intranet.project.service;
 
 import group2.intranet.project.domain.dtos.NewsDTO;
+import group2.intranet.project.domain.dtos.NewsImageContent;
 import group2.intranet.project.domain.entities.News;
 import group2.intranet.project.domain.entities.Employee;
 import group2.intranet.project.mappers.NewsMapper;
@@ -8,6 +9,7 @@ import group2.intranet.project.repositories.DepartmentRepository;
 import group2.intranet.project.repositories.EmployeeRepository;
 import group2.intranet.project.repositories.NewsRepository;
 import group2.intranet.project.services.NewsServiceImpl;
+import group2.intranet.project.services.cache.BinaryContentCache;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,7 +20,9 @@ import org.mapstruct.factory.Mappers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -44,6 +48,8 @@ public class NewsServiceTests {
 
     private NewsServiceImpl newsService;
 
+    private BinaryContentCache contentCache;
+
     private Employee employee1;
     private Employee employee2;
 
@@ -52,7 +58,8 @@ public class NewsServiceTests {
         // Use the real MapStruct mapper
         newsMapper = Mappers.getMapper(NewsMapper.class);
         // Manually inject dependencies
-        newsService = new NewsServiceImpl(newsMapper, newsRepository, employeeRepository, departmentRepository);
+        contentCache = new BinaryContentCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64));
+        newsService = new NewsServiceImpl(newsMapper, newsRepository, employeeRepository, departmentRepository, contentCache);
         
         // Create mock employees
         employee1 = Employee.builder()
@@ -111,6 +118,26 @@ public class NewsServiceTests {
         Assertions.assertThat(result.get(1).getNewsType()).isEqualTo("Urgent");
     }
 
+    @Test
+    public void NewsService_GetAllNews_LeavesCoverImageOutOfList() {
+        // Arrange
+        News news = News.builder()
+                .id(3)
+                .title("News 3")
+                .cover_image(new byte[]{1, 2, 3})
+                .coverImageHash("abc")
+                .createdBy(employee1)
+                .build();
+        when(newsRepository.findAll()).thenReturn(List.of(news));
+
+        // Act
+        List<NewsDTO> result = newsService.getAllNews();
+
+        // Assert
+        Assertions.assertThat(result.get(0).getCover_image()).isNull();
+        Assertions.assertThat(result.get(0).getCoverImageHash()).isEqualTo("abc");
+    }
+
     @Test
     public void NewsService_GetNewsById_ReturnsNewsDTO() {
         // Arrange
@@ -324,4 +351,55 @@ public class NewsServiceTests {
         // Assert
         verify(newsRepository, times(1)).deleteById(newsId);
     }
+
+    @Test
+    public void NewsService_GetNewsImage_ReadsImageColumnOnceForCurrentHash() throws Exception {
+        // Arrange
+        byte[] image = "cover image".getBytes();
+        String hash = News.sha256Hex(image);
+        when(newsRepository.findCoverImageHashById(5)).thenReturn(Optional.of(hash));
+        when(newsRepository.findCoverImageById(5)).thenReturn(Optional.of(image));
+
+        // Act
+        newsService.getNewsImage(5);
+        NewsImageContent cached = newsService.getNewsImage(5);
+
+        // Assert
+        Assertions.assertThat(cached.getHash()).isEqualTo(hash);
+        try (InputStream in = cached.getResource().getInputStream()) {
+            Assertions.assertThat(in.readAllBytes()).isEqualTo(image);
+        }
+        verify(newsRepository, times(1)).findCoverImageById(5);
+        Assertions.assertThat(contentCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void NewsService_GetNewsImage_DoesNotCacheImageUpdatedAfterHashLookup() throws Exception {
+        // Arrange
+        byte[] updated = "updated cover image".getBytes();
+        String staleHash = News.sha256Hex("old cover image".getBytes());
+        when(newsRepository.findCoverImageHashById(6)).thenReturn(Optional.of(staleHash));
+        when(newsRepository.findCoverImageById(6)).thenReturn(Optional.of(updated));
+
+        // Act
+        NewsImageContent result = newsService.getNewsImage(6);
+
+        // Assert
+        Assertions.assertThat(result.getHash()).isEqualTo(News.sha256Hex(updated));
+        try (InputStream in = result.getResource().getInputStream()) {
+            Assertions.assertThat(in.readAllBytes()).isEqualTo(updated);
+        }
+        Assertions.assertThat(contentCache.residentBytes()).isZero();
+    }
+
+    @Test
+    public void NewsService_GetNewsImage_ReturnsNull_WhenNewsDoesNotExist() {
+        // Arrange
+        when(newsRepository.findCoverImageHashById(9)).thenReturn(Optional.empty());
+        when(newsRepository.findCoverImageById(9)).thenReturn(Optional.empty());
+        when(newsRepository.existsById(9)).thenReturn(false);
+
+        // Act & Assert
+        Assertions.assertThat(newsService.getNewsImage(9)).isNull();
+    }
 }
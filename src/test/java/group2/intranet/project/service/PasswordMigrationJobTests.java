@@ -0,0 +1,161 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.entities.Department;
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.repositories.DepartmentRepository;
+import group2.intranet.project.repositories.EmployeeRepository;
+import group2.intranet.project.services.cache.PrincipalCache;
+import group2.intranet.project.services.migration.PasswordMigrationJob;
+import group2.intranet.project.services.migration.PasswordMigrationResult;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+public class PasswordMigrationJobTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    private PasswordMigrationJob job;
+    private Department department;
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate.update("delete from migration_checkpoints");
+        job = new PasswordMigrationJob(jdbcTemplate, transactionManager, passwordEncoder, principalCache, 2, 2);
+        department = departmentRepository.save(
+                Department.builder()
+                        .name("Migration Department")
+                        .location("Test Location")
+                        .email("migration@department.com")
+                        .build()
+        );
+        employees.add(saveEmployee("plain1@test.com", "secret1"));
+        employees.add(saveEmployee("plain2@test.com", "secret2"));
+        employees.add(saveEmployee("hashed@test.com", passwordEncoder.encode("secret3")));
+        employees.add(saveEmployee("plain4@test.com", "secret4"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll(employees);
+        employees.clear();
+        departmentRepository.delete(department);
+        jdbcTemplate.update("delete from migration_checkpoints");
+    }
+
+    @Test
+    public void PasswordMigrationJob_Run_HashesPlainPasswordsAndSkipsBcrypt() {
+        // Act
+        PasswordMigrationResult result = job.run();
+
+        // Assert
+        Assertions.assertThat(result.migrated()).isEqualTo(3);
+        Assertions.assertThat(result.skipped()).isEqualTo(1);
+        for (int i = 0; i < employees.size(); i++) {
+            String stored = passwordOf(employees.get(i));
+            Assertions.assertThat(passwordEncoder.matches("secret" + (i + 1), stored)).isTrue();
+        }
+        Assertions.assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from migration_checkpoints where completed_at is not null", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    public void PasswordMigrationJob_Run_ResumesAfterLastCheckpoint() {
+        // Arrange
+        Integer checkpointId = employees.get(1).getId();
+        jdbcTemplate.update(
+                "insert into migration_checkpoints (job_name, last_id, processed, updated_at) values (?, ?, ?, ?)",
+                "password-bcrypt", checkpointId, 2, Timestamp.valueOf(LocalDateTime.now()));
+
+        // Act
+        PasswordMigrationResult result = job.run();
+
+        // Assert
+        Assertions.assertThat(result.resumedFromId()).isEqualTo(checkpointId.longValue());
+        Assertions.assertThat(passwordOf(employees.get(0))).isEqualTo("secret1");
+        Assertions.assertThat(passwordEncoder.matches("secret4", passwordOf(employees.get(3)))).isTrue();
+        Assertions.assertThat(result.migrated()).isEqualTo(1);
+        Assertions.assertThat(jdbcTemplate.queryForObject(
+                "select processed from migration_checkpoints where job_name = 'password-bcrypt'", Long.class)).isEqualTo(4);
+    }
+
+    @Test
+    public void PasswordMigrationJob_Run_DoesNotCountRowsChangedDuringMigration() {
+        // Arrange
+        Integer changedId = employees.get(1).getId();
+        PasswordEncoder changingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("secret2".contentEquals(rawPassword)) {
+                    // Kullanıcı şifresini hash hesaplanırken değiştirir.
+                    jdbcTemplate.update("update employees set password_hash = ? where id = ?",
+                            passwordEncoder.encode("changed"), changedId);
+                }
+                return passwordEncoder.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return passwordEncoder.matches(rawPassword, encodedPassword);
+            }
+        };
+        PasswordMigrationJob changingJob = new PasswordMigrationJob(jdbcTemplate, transactionManager, changingEncoder, principalCache, 2, 2);
+
+        // Act
+        PasswordMigrationResult result = changingJob.run();
+
+        // Assert
+        Assertions.assertThat(result.migrated()).isEqualTo(2);
+        Assertions.assertThat(result.skipped()).isEqualTo(1);
+        Assertions.assertThat(passwordEncoder.matches("changed", passwordOf(employees.get(1)))).isTrue();
+    }
+
+    private Employee saveEmployee(String email, String password) {
+        return employeeRepository.save(
+                Employee.builder()
+                        .email(email)
+                        .passwordHash(password)
+                        .firstName("test")
+                        .lastName("test")
+                        .department(department)
+                        .dateOfJoining(LocalDate.of(2025, 4, 8))
+                        .role("EMPLOYEE")
+                        .build()
+        );
+    }
+
+    private String passwordOf(Employee employee) {
+        return jdbcTemplate.queryForObject(
+                "select password_hash from employees where id = ?", String.class, employee.getId());
+    }
+}
@@ -0,0 +1,95 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.services.cache.PrincipalCache;
+import group2.intranet.project.services.jwt.JwtPrincipal;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class PrincipalCacheTests {
+
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+    private Function<String, Employee> loader;
+
+    @BeforeEach
+    void setup() {
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            return Employee.builder().id(email.length()).email(email).role("EMPLOYEE").build();
+        };
+    }
+
+    @Test
+    public void PrincipalCache_Get_LoadsOnceAndRecordsHitsAndMisses() {
+        // Act
+        JwtPrincipal first = principalCache.get("john@test.com", loader);
+        JwtPrincipal second = principalCache.get("john@test.com", loader);
+
+        // Assert
+        Assertions.assertThat(second).isSameAs(first);
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+        Assertions.assertThat(principalCache.stats().missCount()).isEqualTo(1);
+        Assertions.assertThat(principalCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void PrincipalCache_Get_CachesSnapshotInsteadOfEntity() {
+        // Arrange
+        Employee employee = Employee.builder().id(3).email("john@test.com").role("EMPLOYEE").build();
+
+        // Act
+        JwtPrincipal cached = principalCache.get("john@test.com", email -> employee);
+        employee.setRole("HR");
+
+        // Assert
+        Assertions.assertThat(cached.getId()).isEqualTo(3);
+        Assertions.assertThat(cached.getRole()).isEqualTo("EMPLOYEE");
+        Assertions.assertThat(principalCache.get("john@test.com", loader).getRole()).isEqualTo("EMPLOYEE");
+    }
+
+    @Test
+    public void PrincipalCache_Get_DoesNotCacheUnknownUsers() {
+        // Act
+        principalCache.get("nobody@test.com", email -> null);
+
+        // Assert
+        Assertions.assertThat(principalCache.size()).isZero();
+    }
+
+    @Test
+    public void PrincipalCache_Evict_RemovesEntryCachedUnderOldEmail() {
+        // Arrange
+        JwtPrincipal cached = principalCache.get("old@test.com", loader);
+        Employee renamed = Employee.builder().id(cached.getId()).email("new@test.com").role("HR").build();
+
+        // Act
+        principalCache.evict(renamed);
+        principalCache.get("old@test.com", loader);
+
+        // Assert
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void PrincipalCache_Get_StaysWithinMaximumSize() {
+        // Arrange
+        PrincipalCache small = new PrincipalCache(10, Duration.ofMinutes(5));
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            small.get("user" + i + "@test.com", loader);
+        }
+
+        // Assert
+        Assertions.assertThat(small.size()).isLessThanOrEqualTo(10);
+        Assertions.assertThat(small.stats().evictionCount()).isGreaterThan(0);
+    }
+}
@@ -0,0 +1,125 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.jwt.JwtPrincipal;
+import group2.intranet.project.services.ratelimit.RateLimitFilter;
+import group2.intranet.project.services.ratelimit.RateLimitProperties;
+import group2.intranet.project.services.ratelimit.TokenBucket;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitFilterTests {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        RateLimitProperties.Rule confessions = new RateLimitProperties.Rule();
+        confessions.setPattern("/confessions/submit");
+        confessions.setScope(RateLimitProperties.Scope.IP);
+        confessions.setPermitsPerMinute(2);
+        confessions.setBurst(2);
+
+        RateLimitProperties.Rule news = new RateLimitProperties.Rule();
+        news.setPattern("/news/**");
+        news.setPermitsPerMinute(60);
+        news.setBurst(3);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(confessions, news));
+        filter = new RateLimitFilter(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void RateLimitFilter_RejectsUserOverBurst_WithRetryAfter() throws Exception {
+        // Arrange
+        authenticateAs(7);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertThat(send("GET", "/news", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+
+        // Act
+        MockHttpServletResponse rejected = send("GET", "/news/1/image", "10.0.0.1");
+
+        // Assert
+        Assertions.assertThat(rejected.getStatus()).isEqualTo(429);
+        Assertions.assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    public void RateLimitFilter_KeysUsersById_NotByAddress() throws Exception {
+        // Arrange
+        authenticateAs(7);
+        for (int i = 0; i < 3; i++) {
+            send("GET", "/news", "10.0.0.1");
+        }
+
+        // Act
+        authenticateAs(8);
+        MockHttpServletResponse otherUser = send("GET", "/news", "10.0.0.1");
+
+        // Assert
+        Assertions.assertThat(otherUser.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void RateLimitFilter_LimitsAnonymousRouteByIp() throws Exception {
+        // Arrange
+        send("POST", "/confessions/submit", "10.0.0.1");
+        send("POST", "/confessions/submit", "10.0.0.1");
+
+        // Act
+        MockHttpServletResponse rejected = send("POST", "/confessions/submit", "10.0.0.1");
+        MockHttpServletResponse otherIp = send("POST", "/confessions/submit", "10.0.0.2");
+        MockHttpServletResponse unmatched = send("GET", "/departments", "10.0.0.1");
+
+        // Assert
+        Assertions.assertThat(rejected.getStatus()).isEqualTo(429);
+        Assertions.assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isBetween(29L, 30L);
+        Assertions.assertThat(otherIp.getStatus()).isEqualTo(200);
+        Assertions.assertThat(unmatched.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void TokenBucket_RefillsAtConfiguredRate() {
+        // Arrange
+        long interval = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(interval, 2);
+        long now = 1_000L;
+
+        // Act & Assert
+        Assertions.assertThat(bucket.tryConsume(now)).isZero();
+        Assertions.assertThat(bucket.tryConsume(now)).isZero();
+        Assertions.assertThat(bucket.tryConsume(now)).isEqualTo(interval);
+        Assertions.assertThat(bucket.tryConsume(now + interval)).isZero();
+        Assertions.assertThat(bucket.tryConsume(now + interval)).isEqualTo(interval);
+    }
+
+    private void authenticateAs(int id) {
+        JwtPrincipal principal = new JwtPrincipal(id, "user" + id + "@test.com", "ROLE_EMPLOYEE");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private MockHttpServletResponse send(String method, String path, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
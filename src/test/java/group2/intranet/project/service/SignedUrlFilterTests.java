@@ -0,0 +1,167 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.signedurl.SignedUrlFilter;
+import group2.intranet.project.services.signedurl.SignedUrlProperties;
+import group2.intranet.project.services.signedurl.SignedUrlSigner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+public class SignedUrlFilterTests {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private SignedUrlSigner signer;
+    private SignedUrlFilter filter;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        signer = new SignedUrlSigner(SignedUrlSigner.deriveKey("test-secret"), Duration.ofMinutes(10), Duration.ofMinutes(5));
+        filter = new SignedUrlFilter(signer, new SignedUrlProperties());
+        registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void SignedUrlFilter_AuthenticatesValidUrl_AndMakesResponsePubliclyCacheable() throws Exception {
+        // Arrange
+        String url = signer.sign("/documents/download/7", HASH);
+        Authentication[] authentication = new Authentication[1];
+
+        // Act
+        MockHttpServletResponse response = send(request(url), (request, res) -> {
+            authentication[0] = SecurityContextHolder.getContext().getAuthentication();
+            ((HttpServletResponse) res).setHeader("Cache-Control", "no-cache, private");
+        });
+
+        // Assert
+        Assertions.assertThat(response.getStatus()).isEqualTo(200);
+        Assertions.assertThat(authentication[0]).isNotNull();
+        Assertions.assertThat(authentication[0].getAuthorities()).extracting(Object::toString).containsExactly("ROLE_SIGNED_URL");
+        Assertions.assertThat(response.getHeader("Cache-Control")).startsWith("public, max-age=");
+        long maxAge = Long.parseLong(response.getHeader("Cache-Control").substring("public, max-age=".length()));
+        Assertions.assertThat(maxAge).isBetween(Duration.ofMinutes(10).toSeconds() - 2, Duration.ofMinutes(15).toSeconds());
+        Assertions.assertThat(registry.get("signed.url.requests").tag("outcome", "valid").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void SignedUrlFilter_KeepsErrorResponsesOutOfPublicCaches() throws Exception {
+        // Arrange
+        String url = signer.sign("/documents/download/7", HASH);
+
+        // Act
+        MockHttpServletResponse gone = send(request(url), (request, res) -> {
+            ((HttpServletResponse) res).setStatus(410);
+            ((HttpServletResponse) res).setHeader("Cache-Control", "no-store");
+        });
+        MockHttpServletResponse missing = send(request(url), (request, res) -> ((HttpServletResponse) res).sendError(404));
+        MockHttpServletResponse notModified = send(request(url), (request, res) -> {
+            ((HttpServletResponse) res).setStatus(304);
+            ((HttpServletResponse) res).setHeader("Cache-Control", "no-cache, private");
+        });
+
+        // Assert
+        Assertions.assertThat(gone.getStatus()).isEqualTo(410);
+        Assertions.assertThat(gone.getHeader("Cache-Control")).isEqualTo("no-store");
+        Assertions.assertThat(missing.getStatus()).isEqualTo(404);
+        Assertions.assertThat(missing.getHeader("Cache-Control")).isEqualTo("no-store");
+        Assertions.assertThat(notModified.getHeader("Cache-Control")).startsWith("public, max-age=");
+    }
+
+    @Test
+    public void SignedUrlFilter_RejectsTamperedOrExpiredUrl_WithoutCallingChain() throws Exception {
+        // Arrange
+        String otherDocument = signer.sign("/documents/download/7", HASH).replace("/7?", "/8?");
+        String otherVersion = signer.sign("/news/3/image", HASH).replace("v=9f", "v=8f");
+        String expired = signer.sign("/news/3/image", HASH, System.currentTimeMillis() - Duration.ofHours(1).toMillis());
+        boolean[] called = new boolean[1];
+
+        // Act
+        MockHttpServletResponse tampered = send(request(otherDocument), (request, response) -> called[0] = true);
+        MockHttpServletResponse changedVersion = send(request(otherVersion), (request, response) -> called[0] = true);
+        MockHttpServletResponse late = send(request(expired), (request, response) -> called[0] = true);
+
+        // Assert
+        Assertions.assertThat(called[0]).isFalse();
+        Assertions.assertThat(tampered.getStatus()).isEqualTo(403);
+        Assertions.assertThat(changedVersion.getStatus()).isEqualTo(403);
+        Assertions.assertThat(late.getStatus()).isEqualTo(403);
+        Assertions.assertThat(late.getHeader("Cache-Control")).isEqualTo("no-store");
+        Assertions.assertThat(registry.get("signed.url.requests").tag("outcome", "invalid").functionCounter().count()).isEqualTo(2);
+        Assertions.assertThat(registry.get("signed.url.requests").tag("outcome", "expired").functionCounter().count()).isEqualTo(1);
+        Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    public void SignedUrlFilter_IgnoresUnsignedRequestsAndOtherRoutes() throws Exception {
+        // Arrange
+        MockHttpServletRequest unsigned = new MockHttpServletRequest("GET", "/documents/download/7");
+        MockHttpServletRequest otherRoute = request(signer.sign("/employee/7", HASH));
+
+        // Act
+        MockHttpServletResponse plain = send(unsigned, (request, response) -> { });
+        MockHttpServletResponse other = send(otherRoute, (request, response) -> { });
+
+        // Assert
+        Assertions.assertThat(plain.getStatus()).isEqualTo(200);
+        Assertions.assertThat(other.getStatus()).isEqualTo(200);
+        Assertions.assertThat(plain.getHeader("Cache-Control")).isNull();
+        Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    public void SignedUrlSigner_Sign_IssuesSameUrlWithinExpiryWindow() {
+        // Arrange
+        long windowStart = 1_767_225_600_000L;
+
+        // Act
+        String first = signer.sign("/documents/download/7", HASH, windowStart + 1_000);
+        String second = signer.sign("/documents/download/7", HASH, windowStart + Duration.ofMinutes(4).toMillis());
+        String next = signer.sign("/documents/download/7", HASH, windowStart + Duration.ofMinutes(5).toMillis() + 1_000);
+
+        // Assert
+        Assertions.assertThat(second).isEqualTo(first);
+        Assertions.assertThat(next).isNotEqualTo(first);
+        Assertions.assertThat(first).contains("expires=" + (windowStart / 1000 + Duration.ofMinutes(15).toSeconds()));
+    }
+
+    private static MockHttpServletRequest request(String url) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(url).build();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri.getPath());
+        for (Map.Entry<String, List<String>> parameter : uri.getQueryParams().entrySet()) {
+            request.addParameter(parameter.getKey(), parameter.getValue().get(0));
+        }
+        request.setQueryString(uri.getQuery());
+        request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        return request;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, FilterChain chain) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,66 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.entities.StoredBlob;
+import group2.intranet.project.repositories.StoredBlobRepository;
+import group2.intranet.project.services.storage.BlobDescriptor;
+import group2.intranet.project.services.storage.StoredBlobRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest
+public class StoredBlobRegistryTests {
+
+    private static final String HASH = "e".repeat(64);
+
+    @Autowired
+    private StoredBlobRegistry storedBlobRegistry;
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    @AfterEach
+    public void tearDown() {
+        storedBlobRepository.findByHash(HASH).ifPresent(storedBlobRepository::delete);
+    }
+
+    @Test
+    public void StoredBlobRegistry_Register_ConcurrentUploadsOfSameContentShareOneRow() throws Exception {
+        // Arrange
+        int uploads = 16;
+        BlobDescriptor blob = new BlobDescriptor(HASH, 1234);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(uploads);
+        List<Future<StoredBlob>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < uploads; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return storedBlobRegistry.register(blob, "application/pdf");
+            }));
+        }
+        start.countDown();
+        List<Integer> ids = new ArrayList<>();
+        for (Future<StoredBlob> result : results) {
+            ids.add(result.get(30, TimeUnit.SECONDS).getId());
+        }
+        pool.shutdown();
+
+        // Assert
+        Assertions.assertThat(ids).hasSize(uploads).containsOnly(ids.get(0));
+        Assertions.assertThat(storedBlobRepository.findAll())
+                .filteredOn(stored -> stored.getHash().equals(HASH))
+                .hasSize(1);
+    }
+}
@@ -0,0 +1,109 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.domain.entities.Employee;
+import group2.intranet.project.domain.entities.RevokedToken;
+import group2.intranet.project.repositories.RevokedTokenRepository;
+import group2.intranet.project.services.jwt.JwtService;
+import group2.intranet.project.services.jwt.RevocationIndex;
+import group2.intranet.project.services.jwt.TokenRevocationService;
+import group2.intranet.project.services.jwt.VerifiedToken;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationServiceTests {
+
+    private static final String SECRET = "srgkjhsdtgkjshdae?rl?aeor?hgaelrjgh?ru?ghfhtduky8756hyhsrth435u46";
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService revocationService;
+    private JwtService jwtService;
+    private Employee employee;
+
+    @BeforeEach
+    void setup() {
+        revocationService = new TokenRevocationService(revokedTokenRepository, 1000, 0.001);
+        jwtService = new JwtService(SECRET);
+        employee = Employee.builder().id(3).email("john@test.com").role("EMPLOYEE").build();
+    }
+
+    @Test
+    public void TokenRevocationService_Revoke_PersistsAndRejectsToken() {
+        // Arrange
+        VerifiedToken token = jwtService.verify(jwtService.generateToken(employee, 3L));
+        VerifiedToken other = jwtService.verify(jwtService.generateToken(employee, 3L));
+
+        // Act
+        boolean revoked = revocationService.revoke(token);
+
+        // Assert
+        Assertions.assertThat(revoked).isTrue();
+        Assertions.assertThat(revocationService.isRevoked(token)).isTrue();
+        Assertions.assertThat(revocationService.isRevoked(other)).isFalse();
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    public void TokenRevocationService_Reload_RestoresOnlyActiveRevocations() {
+        // Arrange
+        VerifiedToken token = jwtService.verify(jwtService.generateToken(employee, 3L));
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(
+                RevokedToken.builder().jti(token.getTokenId()).expiresAt(LocalDateTime.now().plusHours(1)).build(),
+                RevokedToken.builder().jti("expired").expiresAt(LocalDateTime.now().minusSeconds(1)).build()
+        ));
+
+        // Act
+        revocationService.reload();
+
+        // Assert
+        Assertions.assertThat(revocationService.isRevoked(token)).isTrue();
+        Assertions.assertThat(revocationService.activeRevocations()).isEqualTo(1);
+    }
+
+    @Test
+    public void TokenRevocationService_PurgeAndRefresh_DeletesExpiredRows() {
+        // Arrange
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+
+        // Act
+        revocationService.purgeAndRefresh();
+
+        // Assert
+        verify(revokedTokenRepository).deleteExpired(any(LocalDateTime.class));
+        verify(revokedTokenRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    public void RevocationIndex_HandlesHundredThousandEntriesWithoutFalseNegatives() {
+        // Arrange
+        RevocationIndex index = new RevocationIndex(1000, 0.001);
+        long now = System.currentTimeMillis();
+        List<String> revoked = new java.util.ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            revoked.add(jti);
+            index.add(jti, now + 60_000);
+        }
+
+        // Act & Assert
+        Assertions.assertThat(revoked).allMatch(jti -> index.isRevoked(jti, now));
+        Assertions.assertThat(index.isRevoked(UUID.randomUUID().toString(), now)).isFalse();
+        Assertions.assertThat(index.purgeExpired(now + 60_000)).isEqualTo(100_000);
+        Assertions.assertThat(index.isRevoked(revoked.get(0), now)).isFalse();
+    }
+}
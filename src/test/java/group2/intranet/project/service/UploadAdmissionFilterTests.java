@@ -0,0 +1,219 @@
+package group2.intranet.project.service;
+
+import group2.intranet.project.services.jwt.JwtPrincipal;
+import group2.intranet.project.services.ratelimit.UploadAdmissionFilter;
+import group2.intranet.project.services.ratelimit.UploadAdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class UploadAdmissionFilterTests {
+
+    private static final long MB = 1024 * 1024;
+
+    private UploadAdmissionFilter filter;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        useFilter(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void UploadAdmissionFilter_ReservesContentLengthWhileChainRuns() throws Exception {
+        // Arrange
+        long[] inFlightDuringChain = new long[1];
+
+        // Act
+        MockHttpServletResponse response = send(upload("/documents/upload", 3 * MB, "10.0.0.1"),
+                (request, res) -> inFlightDuringChain[0] = filter.inFlightBytes());
+
+        // Assert
+        Assertions.assertThat(response.getStatus()).isEqualTo(200);
+        Assertions.assertThat(inFlightDuringChain[0]).isEqualTo(3 * MB);
+        Assertions.assertThat(filter.inFlightBytes()).isZero();
+        Assertions.assertThat(registry.get("upload.admission.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    public void UploadAdmissionFilter_RejectsUserOverBudget_WithoutWaiting() throws Exception {
+        // Arrange
+        authenticateAs(7);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+
+        // Act
+        MockHttpServletResponse outer = send(upload("/news/create", 4 * MB, "10.0.0.1"), (request, response) -> {
+            nested[0] = send(upload("/news/update/3", 2 * MB, "10.0.0.1"), new MockFilterChain());
+            authenticateAs(8);
+            nested[1] = send(upload("/news/update/3", 2 * MB, "10.0.0.1"), new MockFilterChain());
+            authenticateAs(7);
+        });
+
+        // Assert
+        Assertions.assertThat(outer.getStatus()).isEqualTo(200);
+        Assertions.assertThat(nested[0].getStatus()).isEqualTo(503);
+        Assertions.assertThat(nested[0].getHeader("Retry-After")).isEqualTo("1");
+        Assertions.assertThat(nested[0].getHeader("Connection")).isEqualTo("close");
+        Assertions.assertThat(nested[1].getStatus()).isEqualTo(200);
+        Assertions.assertThat(registry.get("upload.admission.rejected").tag("reason", "user").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void UploadAdmissionFilter_QueuesUntilGlobalCapacityIsReleased() throws Exception {
+        // Arrange
+        useFilter(Duration.ofSeconds(10));
+        CountDownLatch firstAdmitted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() ->
+                sendUnchecked(upload("/documents/upload", 5 * MB, "10.0.0.1"), (request, response) -> {
+                    firstAdmitted.countDown();
+                    await(releaseFirst);
+                }));
+        Assertions.assertThat(firstAdmitted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        CompletableFuture<MockHttpServletResponse> second = CompletableFuture.supplyAsync(() ->
+                sendUnchecked(upload("/documents/upload", 4 * MB, "10.0.0.2"), new MockFilterChain()));
+        while (registry.get("upload.admission.queued").gauge().value() == 0) {
+            Thread.onSpinWait();
+        }
+        releaseFirst.countDown();
+
+        // Assert
+        Assertions.assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        Assertions.assertThat(second.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        Assertions.assertThat(filter.inFlightBytes()).isZero();
+    }
+
+    @Test
+    public void UploadAdmissionFilter_RejectsAfterMaxWait_WhenGlobalBudgetStaysFull() throws Exception {
+        // Arrange
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+        long[] waitedMillis = new long[1];
+
+        // Act
+        MockHttpServletResponse holder = send(upload("/documents/upload", 5 * MB, "10.0.0.1"), (request, response) -> {
+            nested[0] = send(upload("/documents/archive", -1, "10.0.0.2"), new MockFilterChain());
+            long start = System.nanoTime();
+            nested[1] = send(upload("/documents/upload", 4 * MB, "10.0.0.3"), new MockFilterChain());
+            waitedMillis[0] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        });
+
+        // Assert
+        Assertions.assertThat(holder.getStatus()).isEqualTo(200);
+        Assertions.assertThat(nested[0].getStatus()).isEqualTo(200);
+        Assertions.assertThat(nested[1].getStatus()).isEqualTo(503);
+        Assertions.assertThat(waitedMillis[0]).isGreaterThanOrEqualTo(200);
+        Assertions.assertThat(registry.get("upload.admission.rejected").tag("reason", "global").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void UploadAdmissionFilter_RejectsBodyLargerThanBudget_WithPayloadTooLarge() throws Exception {
+        // Act
+        MockHttpServletResponse response = send(upload("/documents/upload", 6 * MB, "10.0.0.1"), new MockFilterChain());
+
+        // Assert
+        Assertions.assertThat(response.getStatus()).isEqualTo(413);
+        Assertions.assertThat(filter.inFlightBytes()).isZero();
+    }
+
+    @Test
+    public void UploadAdmissionFilter_AdmitsArchiveLargerThanUserBudget_ReservingOneEntry() throws Exception {
+        // Arrange
+        authenticateAs(9);
+        long[] inFlightDuringChain = new long[1];
+
+        // Act
+        MockHttpServletResponse response = send(upload("/documents/archive", 12 * MB, "10.0.0.1"),
+                (request, res) -> inFlightDuringChain[0] = filter.inFlightBytes());
+
+        // Assert
+        Assertions.assertThat(response.getStatus()).isEqualTo(200);
+        Assertions.assertThat(inFlightDuringChain[0]).isEqualTo(MB);
+        Assertions.assertThat(filter.inFlightBytes()).isZero();
+    }
+
+    @Test
+    public void UploadAdmissionFilter_IgnoresReadsAndOtherRoutes() throws Exception {
+        // Arrange
+        MockHttpServletRequest download = new MockHttpServletRequest("GET", "/documents/upload");
+        MockHttpServletRequest other = upload("/confessions/submit", 100 * MB, "10.0.0.1");
+
+        // Act & Assert
+        Assertions.assertThat(send(download, new MockFilterChain()).getStatus()).isEqualTo(200);
+        Assertions.assertThat(send(other, new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    private void useFilter(Duration maxWait) {
+        UploadAdmissionProperties properties = new UploadAdmissionProperties();
+        properties.setMaxInFlight(DataSize.ofMegabytes(8));
+        properties.setMaxInFlightPerUser(DataSize.ofMegabytes(5));
+        properties.setUnknownLengthReservation(DataSize.ofMegabytes(2));
+        properties.setStreamingReservation(DataSize.ofMegabytes(1));
+        properties.setMaxWait(maxWait);
+        filter = new UploadAdmissionFilter(properties);
+        registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+    }
+
+    private void authenticateAs(int id) {
+        JwtPrincipal principal = new JwtPrincipal(id, "user" + id + "@test.com", "ROLE_EMPLOYEE");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static MockHttpServletRequest upload(String path, long contentLength, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(remoteAddress);
+        if (contentLength >= 0) {
+            request.setContent(new byte[(int) contentLength]);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, FilterChain chain) throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse sendUnchecked(MockHttpServletRequest request, FilterChain chain) {
+        try {
+            return send(request, chain);
+        } catch (IOException | ServletException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package group2.intranet.project.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/// Sorgu sayısı kontrolleri için her SQL ifadesini kaydeden Hibernate statement inspector'ı.
+/// spring.jpa.properties.hibernate.session_factory.statement_inspector=group2.intranet.project.support.SqlStatementCounter
+/// ile açılır. İfadeler global toplanır; başka thread'lerdeki (ör. giriş hash havuzu) sorgular da sayılır.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    /// FROM/JOIN kısmında tabloya başvuran SELECT sayısı.
+    public static long selectsOn(String table) {
+        String needle = " " + table.toLowerCase(Locale.ROOT) + " ";
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select"))
+                .filter(sql -> sql.contains(" from" + needle) || sql.contains(" join" + needle))
+                .count();
+    }
+}